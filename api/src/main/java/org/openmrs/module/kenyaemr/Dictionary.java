@@ -20,13 +20,35 @@ import org.openmrs.api.context.Context;
 import org.openmrs.module.metadatadeploy.MissingMetadataException;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Dictionary for concepts used by KenyaEMR
  */
 public class Dictionary extends Metadata.Concept {
 
+	/**
+	 * Maximum number of identifiers held by the concept cache
+	 */
+	protected static final int CACHE_MAX_SIZE = 2000;
+
+	/**
+	 * Cache of identifiers to resolved concepts, least recently used entries evicted first
+	 */
+	private static final Map<String, CachedConcept> cache = new LinkedHashMap<String, CachedConcept>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedConcept> eldest) {
+			return size() > CACHE_MAX_SIZE;
+		}
+	};
+
+	private static final AtomicLong cacheHits = new AtomicLong();
+
+	private static final AtomicLong cacheMisses = new AtomicLong();
+
 	/**
 	 * Gets a concept by an identifier (mapping or UUID)
 	 * @param identifier the identifier
@@ -34,6 +56,46 @@ public class Dictionary extends Metadata.Concept {
 	 * @throws org.openmrs.module.metadatadeploy.MissingMetadataException if the concept could not be found
 	 */
 	public static Concept getConcept(String identifier) {
+		CachedConcept cached;
+		synchronized (cache) {
+			cached = cache.get(identifier);
+		}
+
+		if (cached != null) {
+			// Loading by id is served from the session or second level cache
+			Concept concept = cached.numeric
+					? Context.getConceptService().getConceptNumeric(cached.conceptId)
+					: Context.getConceptService().getConcept(cached.conceptId);
+
+			if (concept != null) {
+				cacheHits.incrementAndGet();
+				return concept;
+			}
+
+			// Concept has been removed since it was cached
+			synchronized (cache) {
+				cache.remove(identifier);
+			}
+		}
+
+		cacheMisses.incrementAndGet();
+
+		Concept concept = lookupConcept(identifier);
+
+		synchronized (cache) {
+			cache.put(identifier, new CachedConcept(concept.getConceptId(), concept instanceof ConceptNumeric));
+		}
+
+		return concept;
+	}
+
+	/**
+	 * Looks up a concept by an identifier (mapping or UUID) without using the cache
+	 * @param identifier the identifier
+	 * @return the concept
+	 * @throws org.openmrs.module.metadatadeploy.MissingMetadataException if the concept could not be found
+	 */
+	protected static Concept lookupConcept(String identifier) {
 		Concept concept;
 
 		if (identifier.contains(":")) {
@@ -61,6 +123,43 @@ public class Dictionary extends Metadata.Concept {
 		return concept;
 	}
 
+	/**
+	 * Clears the concept cache and its counters. Called when content is refreshed.
+	 */
+	public static void clearCache() {
+		synchronized (cache) {
+			cache.clear();
+		}
+		cacheHits.set(0);
+		cacheMisses.set(0);
+	}
+
+	/**
+	 * Gets the number of concept lookups served from the cache
+	 * @return the number of hits
+	 */
+	public static long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/**
+	 * Gets the number of concept lookups which required a full lookup
+	 * @return the number of misses
+	 */
+	public static long getCacheMisses() {
+		return cacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of identifiers currently held in the cache
+	 * @return the cache size
+	 */
+	public static int getCacheSize() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
 	/**
 	 * Convenience method to fetch a list of concepts
 	 * @param identifiers the concept identifiers
@@ -74,4 +173,19 @@ public class Dictionary extends Metadata.Concept {
 		}
 		return concepts;
 	}
+
+	/**
+	 * Resolved concept held by the cache. Only the id is held so that instances are never shared across sessions.
+	 */
+	private static class CachedConcept {
+
+		private final Integer conceptId;
+
+		private final boolean numeric;
+
+		public CachedConcept(Integer conceptId, boolean numeric) {
+			this.conceptId = conceptId;
+			this.numeric = numeric;
+		}
+	}
 }
\ No newline at end of file
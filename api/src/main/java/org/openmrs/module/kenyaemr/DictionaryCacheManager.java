@@ -0,0 +1,41 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr;
+
+import org.openmrs.module.kenyacore.ContentManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates the {@link Dictionary} concept cache whenever content is refreshed
+ */
+@Component
+public class DictionaryCacheManager implements ContentManager {
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 5; // Before other managers which may resolve concepts
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public void refresh() {
+		Dictionary.clearCache();
+	}
+}
@@ -21,6 +21,7 @@ import org.apache.log4j.LogManager;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.ModuleActivator;
 import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.kenyaemr.reporting.ReportScheduler;
 import org.openmrs.module.reporting.report.service.ReportService;
 
 /**
@@ -41,6 +42,8 @@ public class EmrActivator implements ModuleActivator {
 	 */
 	public void willRefreshContext() {
 		log.info("KenyaEMR context refreshing...");
+
+		shutdownReportSchedulers();
 	}
 
 	/**
@@ -74,6 +77,7 @@ public class EmrActivator implements ModuleActivator {
 	 */
 	public void started() {
 		Context.getService(ReportService.class).deleteOldReportRequests();
+		requeueAbandonedReportRequests();
 		log.info("KenyaEMR started");
 	}
 
@@ -82,6 +86,8 @@ public class EmrActivator implements ModuleActivator {
 	 */
 	public void willStop() {
 		log.info("KenyaEMR stopping...");
+
+		shutdownReportSchedulers();
 	}
 
 	/**
@@ -90,4 +96,22 @@ public class EmrActivator implements ModuleActivator {
 	public void stopped() {
 		log.info("KenyaEMR stopped");
 	}
+
+	/**
+	 * Hands back report requests which were left waiting for a worker when the server last stopped
+	 */
+	protected void requeueAbandonedReportRequests() {
+		for (ReportScheduler scheduler : Context.getRegisteredComponents(ReportScheduler.class)) {
+			scheduler.requeueAbandonedRequests();
+		}
+	}
+
+	/**
+	 * Stops the report worker threads, as the application context which owns them is about to be closed
+	 */
+	protected void shutdownReportSchedulers() {
+		for (ReportScheduler scheduler : Context.getRegisteredComponents(ReportScheduler.class)) {
+			scheduler.shutdown();
+		}
+	}
 }
\ No newline at end of file
@@ -45,6 +45,8 @@ public class EmrConstants {
 	public static final String GP_SUPPORT_PHONE_NUMBER = MODULE_ID + ".supportPhoneNumber";
 	public static final String GP_SUPPORT_EMAIL_ADDRESS = MODULE_ID + ".supportEmailAddress";
 	public static final String GP_EXTERNAL_HELP_URL = MODULE_ID + ".externalHelpUrl";
+	public static final String GP_REPORT_WORKERS = MODULE_ID + ".reportWorkers";
+	public static final String GP_RECORD_REQUEST_STATEMENTS = MODULE_ID + ".recordRequestStatements";
 
 	/**
 	 * Default global property values
@@ -52,4 +54,6 @@ public class EmrConstants {
 	public static final String DEFAULT_SUPPORT_PHONE_NUMBER = "0800720701";
 	public static final String DEFAULT_SUPPORT_EMAIL_ADDRESS = "help@kenyaemr.org";
 	public static final String DEFAULT_EXTERNAL_HELP_URL = "/help";
+	public static final String DEFAULT_REPORT_WORKERS = "2";
+	public static final String DEFAULT_RECORD_REQUEST_STATEMENTS = "false";
 }
\ No newline at end of file
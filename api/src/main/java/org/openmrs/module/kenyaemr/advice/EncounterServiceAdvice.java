@@ -15,9 +15,18 @@
 package org.openmrs.module.kenyaemr.advice;
 
 import org.openmrs.Encounter;
+import org.openmrs.Obs;
 import org.openmrs.api.context.Context;
 import org.openmrs.api.handler.EncounterVisitHandler;
+import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.kenyaemr.calculation.HivCareStatusStore;
+import org.openmrs.module.kenyaemr.calculation.HivCareSummaryStore;
+import org.openmrs.module.kenyaemr.calculation.PatientFlagCache;
+import org.openmrs.module.kenyaemr.reporting.ReportResultCache;
+import org.openmrs.module.kenyaemr.visit.ActiveVisitIndex;
+import org.openmrs.module.kenyaemr.visit.AppointmentIndex;
 import org.openmrs.module.kenyaemr.visit.ExistingEncounterVisitHandler;
+import org.springframework.aop.AfterReturningAdvice;
 import org.springframework.aop.MethodBeforeAdvice;
 
 import java.lang.reflect.Method;
@@ -25,7 +34,7 @@ import java.lang.reflect.Method;
 /**
  *
  */
-public class EncounterServiceAdvice implements MethodBeforeAdvice {
+public class EncounterServiceAdvice implements MethodBeforeAdvice, AfterReturningAdvice {
 
 	/**
 	 * @see MethodBeforeAdvice#before(java.lang.reflect.Method, Object[], Object)
@@ -38,6 +47,46 @@ public class EncounterServiceAdvice implements MethodBeforeAdvice {
 		}
 	}
 
+	/**
+	 * @see AfterReturningAdvice#afterReturning(Object, java.lang.reflect.Method, Object[], Object)
+	 */
+	@Override
+	public void afterReturning(Object returnValue, Method method, Object[] args, Object o) throws Throwable {
+		String name = method.getName();
+
+		if (name.equals("saveEncounter")) {
+			Encounter encounter = (Encounter) args[0];
+
+			// Visit handlers can create visits without going through the visit service
+			if (encounter.getVisit() != null) {
+				CoreContext.getInstance().getManager(ActiveVisitIndex.class).update(encounter.getVisit());
+			}
+		}
+
+		if (name.equals("saveEncounter") || name.equals("voidEncounter") || name.equals("unvoidEncounter") || name.equals("purgeEncounter")) {
+			Encounter encounter = (Encounter) args[0];
+
+			CoreContext.getInstance().getManager(ReportResultCache.class).markDataChanged();
+
+			if (encounter.getPatient() != null) {
+				CoreContext.getInstance().getManager(PatientFlagCache.class).invalidate(encounter.getPatient().getPatientId());
+				CoreContext.getInstance().getManager(HivCareSummaryStore.class).markStale(encounter.getPatient().getPatientId());
+				CoreContext.getInstance().getManager(HivCareStatusStore.class).markStale(encounter.getPatient().getPatientId());
+			}
+
+			// Obs may be saved by cascade rather than through the obs service
+			AppointmentIndex appointmentIndex = CoreContext.getInstance().getManager(AppointmentIndex.class);
+			for (Obs obs : encounter.getAllObs(true)) {
+				if (name.equals("purgeEncounter")) {
+					appointmentIndex.remove(obs);
+				}
+				else {
+					appointmentIndex.update(obs);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Invoked before any call to save encounter
 	 * @param encounter the encounter
@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.advice;
+
+import org.openmrs.Obs;
+import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.kenyaemr.calculation.HivCareStatusStore;
+import org.openmrs.module.kenyaemr.calculation.HivCareSummaryStore;
+import org.openmrs.module.kenyaemr.calculation.PatientFlagCache;
+import org.openmrs.module.kenyaemr.reporting.ReportResultCache;
+import org.openmrs.module.kenyaemr.visit.AppointmentIndex;
+import org.springframework.aop.AfterReturningAdvice;
+
+import java.lang.reflect.Method;
+
+/**
+ * Keeps the appointment index, cached patient flags, HIV care summaries and statuses and report results current as obs are saved, voided and purged
+ */
+public class ObsServiceAdvice implements AfterReturningAdvice {
+
+	/**
+	 * @see AfterReturningAdvice#afterReturning(Object, java.lang.reflect.Method, Object[], Object)
+	 */
+	@Override
+	public void afterReturning(Object returnValue, Method method, Object[] args, Object target) throws Throwable {
+		String name = method.getName();
+
+		if ((name.equals("saveObs") || name.equals("voidObs") || name.equals("unvoidObs") || name.equals("purgeObs")) && args[0] instanceof Obs) {
+			Obs obs = (Obs) args[0];
+
+			if (name.equals("purgeObs")) {
+				CoreContext.getInstance().getManager(AppointmentIndex.class).remove(obs);
+			}
+			else {
+				CoreContext.getInstance().getManager(AppointmentIndex.class).update(obs);
+
+				// Editing an obs voids it and saves a new one in its place
+				if (returnValue instanceof Obs && returnValue != obs) {
+					CoreContext.getInstance().getManager(AppointmentIndex.class).update((Obs) returnValue);
+				}
+			}
+
+			CoreContext.getInstance().getManager(ReportResultCache.class).markDataChanged();
+
+			if (obs.getPerson() != null) {
+				CoreContext.getInstance().getManager(PatientFlagCache.class).invalidate(obs.getPerson().getPersonId());
+				CoreContext.getInstance().getManager(HivCareSummaryStore.class).markStale(obs.getPerson().getPersonId());
+				CoreContext.getInstance().getManager(HivCareStatusStore.class).markStale(obs.getPerson().getPersonId());
+			}
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.advice;
+
+import org.openmrs.Order;
+import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.kenyaemr.calculation.HivCareStatusStore;
+import org.openmrs.module.kenyaemr.calculation.HivCareSummaryStore;
+import org.openmrs.module.kenyaemr.calculation.PatientFlagCache;
+import org.openmrs.module.kenyaemr.reporting.ReportResultCache;
+import org.springframework.aop.AfterReturningAdvice;
+
+import java.lang.reflect.Method;
+
+/**
+ * Invalidates cached patient flags, HIV care summaries and statuses and report results as orders are saved, discontinued, voided and purged
+ */
+public class OrderServiceAdvice implements AfterReturningAdvice {
+
+	/**
+	 * @see AfterReturningAdvice#afterReturning(Object, java.lang.reflect.Method, Object[], Object)
+	 */
+	@Override
+	public void afterReturning(Object returnValue, Method method, Object[] args, Object target) throws Throwable {
+		String name = method.getName();
+
+		if ((name.equals("saveOrder") || name.equals("discontinueOrder") || name.equals("undiscontinueOrder") || name.equals("voidOrder") || name.equals("unvoidOrder") || name.equals("purgeOrder")) && args[0] instanceof Order) {
+			Order order = (Order) args[0];
+
+			CoreContext.getInstance().getManager(ReportResultCache.class).markDataChanged();
+
+			if (order.getPatient() != null) {
+				CoreContext.getInstance().getManager(PatientFlagCache.class).invalidate(order.getPatient().getPatientId());
+				CoreContext.getInstance().getManager(HivCareSummaryStore.class).markStale(order.getPatient().getPatientId());
+				CoreContext.getInstance().getManager(HivCareStatusStore.class).markStale(order.getPatient().getPatientId());
+			}
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.advice;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openmrs.calculation.patient.PatientCalculation;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
+
+/**
+ * Records the time taken by each calculation evaluated through the patient calculation service
+ */
+public class PatientCalculationServiceAdvice implements MethodInterceptor {
+
+	/**
+	 * @see MethodInterceptor#invoke(org.aopalliance.intercept.MethodInvocation)
+	 */
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		if (!invocation.getMethod().getName().equals("evaluate")) {
+			return invocation.proceed();
+		}
+
+		PatientCalculation calculation = null;
+		for (Object arg : invocation.getArguments()) {
+			if (arg instanceof PatientCalculation) {
+				calculation = (PatientCalculation) arg;
+			}
+		}
+
+		if (calculation == null) {
+			return invocation.proceed();
+		}
+
+		long start = System.currentTimeMillis();
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			PerformanceMonitor.recordSince(PerformanceMonitor.GROUP_CALCULATIONS, calculation.getClass().getName(), start);
+		}
+	}
+}
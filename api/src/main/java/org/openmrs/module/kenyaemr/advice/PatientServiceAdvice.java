@@ -0,0 +1,52 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.advice;
+
+import org.openmrs.Patient;
+import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.kenyaemr.calculation.HivCareStatusStore;
+import org.openmrs.module.kenyaemr.calculation.HivCareSummaryStore;
+import org.openmrs.module.kenyaemr.calculation.PatientFlagCache;
+import org.openmrs.module.kenyaemr.reporting.ReportResultCache;
+import org.springframework.aop.AfterReturningAdvice;
+
+import java.lang.reflect.Method;
+
+/**
+ * Invalidates cached patient flags, HIV care summaries and statuses and report results as patients are saved, voided,
+ * purged, exited from care or marked as dead
+ */
+public class PatientServiceAdvice implements AfterReturningAdvice {
+
+	/**
+	 * @see AfterReturningAdvice#afterReturning(Object, java.lang.reflect.Method, Object[], Object)
+	 */
+	@Override
+	public void afterReturning(Object returnValue, Method method, Object[] args, Object target) throws Throwable {
+		String name = method.getName();
+
+		if ((name.equals("savePatient") || name.equals("voidPatient") || name.equals("unvoidPatient") || name.equals("purgePatient") || name.equals("exitFromCare") || name.equals("processDeath")) && args.length > 0 && args[0] instanceof Patient) {
+			Patient patient = (Patient) args[0];
+
+			CoreContext.getInstance().getManager(ReportResultCache.class).markDataChanged();
+
+			if (patient.getPatientId() != null) {
+				CoreContext.getInstance().getManager(PatientFlagCache.class).invalidate(patient.getPatientId());
+				CoreContext.getInstance().getManager(HivCareSummaryStore.class).markStale(patient.getPatientId());
+				CoreContext.getInstance().getManager(HivCareStatusStore.class).markStale(patient.getPatientId());
+			}
+		}
+	}
+}
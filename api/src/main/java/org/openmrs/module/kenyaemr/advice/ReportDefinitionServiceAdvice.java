@@ -0,0 +1,107 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.advice;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.kenyacore.report.IndicatorReportDescriptor;
+import org.openmrs.module.kenyacore.report.ReportDescriptor;
+import org.openmrs.module.kenyacore.report.ReportManager;
+import org.openmrs.module.kenyaemr.reporting.ReportResultCache;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.evaluation.parameter.Mapped;
+import org.openmrs.module.reporting.report.ReportData;
+import org.openmrs.module.reporting.report.definition.ReportDefinition;
+
+/**
+ * Serves evaluations of indicator reports from the report result cache when the same report has already been
+ * evaluated with the same parameters and the data hasn't changed since. Records the time taken by evaluations which
+ * aren't served from the cache.
+ */
+public class ReportDefinitionServiceAdvice implements MethodInterceptor {
+
+	protected static final Log log = LogFactory.getLog(ReportDefinitionServiceAdvice.class);
+
+	/**
+	 * @see MethodInterceptor#invoke(org.aopalliance.intercept.MethodInvocation)
+	 */
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Object[] args = invocation.getArguments();
+
+		if (!invocation.getMethod().getName().equals("evaluate") || args.length != 2 || !(args[1] instanceof EvaluationContext)) {
+			return invocation.proceed();
+		}
+
+		ReportDefinition definition = null;
+		if (args[0] instanceof ReportDefinition) {
+			definition = (ReportDefinition) args[0];
+		}
+		else if (args[0] instanceof Mapped && ((Mapped) args[0]).getParameterizable() instanceof ReportDefinition) {
+			definition = (ReportDefinition) ((Mapped) args[0]).getParameterizable();
+		}
+
+		if (definition == null) {
+			return invocation.proceed();
+		}
+		else if (!isCacheable(definition)) {
+			return evaluate(invocation, definition);
+		}
+
+		ReportResultCache cache = CoreContext.getInstance().getManager(ReportResultCache.class);
+		String key = cache.getKey(args[0], (EvaluationContext) args[1]);
+
+		ReportData cached = cache.get(key);
+		if (cached != null) {
+			log.info("Using cached result for report '" + definition.getName() + "'");
+			return cached;
+		}
+
+		ReportData data = evaluate(invocation, definition);
+		cache.put(key, data);
+		return data;
+	}
+
+	/**
+	 * Evaluates the report definition, recording the time taken
+	 * @param invocation the method invocation
+	 * @param definition the report definition
+	 * @return the report data
+	 */
+	protected ReportData evaluate(MethodInvocation invocation, ReportDefinition definition) throws Throwable {
+		long start = System.currentTimeMillis();
+		try {
+			return (ReportData) invocation.proceed();
+		}
+		finally {
+			PerformanceMonitor.recordSince(PerformanceMonitor.GROUP_REPORTS, definition.getName(), start);
+		}
+	}
+
+	/**
+	 * Checks whether results of the given report definition can be cached. Only indicator reports are cached, as
+	 * patient lists also depend on demographic data which isn't covered by the data watermark.
+	 * @param definition the report definition
+	 * @return true if cacheable
+	 */
+	protected boolean isCacheable(ReportDefinition definition) {
+		ReportDescriptor report = CoreContext.getInstance().getManager(ReportManager.class).getReportDescriptor(definition);
+		return report instanceof IndicatorReportDescriptor;
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.advice;
+
+import org.openmrs.Visit;
+import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.kenyaemr.visit.ActiveVisitIndex;
+import org.springframework.aop.AfterReturningAdvice;
+
+import java.lang.reflect.Method;
+
+/**
+ * Keeps the active visit index current as visits are saved, ended, voided and purged
+ */
+public class VisitServiceAdvice implements AfterReturningAdvice {
+
+	/**
+	 * @see AfterReturningAdvice#afterReturning(Object, java.lang.reflect.Method, Object[], Object)
+	 */
+	@Override
+	public void afterReturning(Object returnValue, Method method, Object[] args, Object target) throws Throwable {
+		String name = method.getName();
+
+		if (name.equals("saveVisit") || name.equals("endVisit") || name.equals("voidVisit") || name.equals("unvoidVisit")) {
+			CoreContext.getInstance().getManager(ActiveVisitIndex.class).update((Visit) args[0]);
+		}
+		else if (name.equals("purgeVisit")) {
+			CoreContext.getInstance().getManager(ActiveVisitIndex.class).remove((Visit) args[0]);
+		}
+	}
+}
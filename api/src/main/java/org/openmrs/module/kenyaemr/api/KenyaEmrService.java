@@ -14,12 +14,16 @@
 
 package org.openmrs.module.kenyaemr.api;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
+import org.openmrs.Concept;
+import org.openmrs.DrugOrder;
 import org.openmrs.Location;
 import org.openmrs.Patient;
+import org.openmrs.PatientIdentifierType;
 import org.openmrs.Visit;
 import org.openmrs.api.OpenmrsService;
 import org.springframework.transaction.annotation.Transactional;
@@ -86,6 +90,70 @@ public interface KenyaEmrService extends OpenmrsService {
 	@Transactional(readOnly = true)
 	List<Visit> getVisitsByPatientAndDay(Patient patient, Date date);
 
+	/**
+	 * Gets all visits for the given patients in a fixed number of queries
+	 * @param patientIds the patient ids
+	 * @return the visits of each patient, most recent first, keyed by patient id
+	 */
+	@Transactional(readOnly = true)
+	Map<Integer, List<Visit>> getVisitsByPatients(Collection<Integer> patientIds);
+
+	/**
+	 * Gets the datetime values of obs of the given concept recorded in the visits of the given patients. Where a visit
+	 * has more than one such obs, the one from the latest encounter is used.
+	 * @param concept the concept
+	 * @param patientIds the patient ids
+	 * @return the obs values keyed by visit id
+	 */
+	@Transactional(readOnly = true)
+	Map<Integer, Date> getObsValueDatetimesByVisit(Concept concept, Collection<Integer> patientIds);
+
+	/**
+	 * Gets all drug orders of the given drug concepts for the given patients in a fixed number of queries
+	 * @param concepts the drug concepts
+	 * @param patientIds the patient ids
+	 * @return the drug orders of each patient, ordered by start date, keyed by patient id
+	 */
+	@Transactional(readOnly = true)
+	Map<Integer, List<DrugOrder>> getDrugOrdersByPatients(Collection<Concept> concepts, Collection<Integer> patientIds);
+
+	/**
+	 * Gets the non-voided identifiers of the given type whose value is shared with another non-voided identifier of
+	 * that type. The identifier with the lowest id for each value isn't included.
+	 * @param type the identifier type
+	 * @return the ids of the duplicate identifiers
+	 */
+	@Transactional(readOnly = true)
+	List<Integer> getDuplicatePatientIdentifierIds(PatientIdentifierType type);
+
+	/**
+	 * Gets the basic demographics of the given persons in a fixed number of queries, without loading the persons
+	 * @param personIds the person ids
+	 * @return rows of person id, birthdate, birthdate estimated, gender, dead and death date, ordered by person id
+	 */
+	@Transactional(readOnly = true)
+	List<Object[]> getPersonDemographics(Collection<Integer> personIds);
+
+	/**
+	 * Gets the non-voided relationships of the given persons, as either person, in a fixed number of queries
+	 * @param personIds the person ids
+	 * @return rows of relationship id, person A id, person B id and relationship type id, ordered by relationship id
+	 */
+	@Transactional(readOnly = true)
+	List<Object[]> getRelationshipsByPersons(Collection<Integer> personIds);
+
+	/**
+	 * Gets the visits which started in the given period, grouped by patient, in a fixed number of queries. Patients
+	 * are ordered by id and can be paged through.
+	 * @param fromDate the start of the period (inclusive)
+	 * @param toDate the end of the period (inclusive)
+	 * @param firstPatient the index of the first patient to return (or null to start from the first)
+	 * @param maxPatients the maximum number of patients to return (or null for all)
+	 * @return the visits of each patient, earliest first, keyed by patient id
+	 */
+	@Transactional(readOnly = true)
+	Map<Integer, List<Visit>> getVisitsStartedBetween(Date fromDate, Date toDate, Integer firstPatient, Integer maxPatients);
+
 	/**
 	 * Setup the medical record number identifier source
 	 * @param startFrom the base identifier to start from
@@ -14,6 +14,13 @@
 
 package org.openmrs.module.kenyaemr.api.db;
 
+import org.openmrs.Concept;
+import org.openmrs.DrugOrder;
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.Visit;
+
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -23,4 +30,39 @@ import java.util.Map;
 public interface KenyaEmrDAO {
 	public List<Object> executeSqlQuery(String query, Map<String, Object> substitutions);
 	public List<Object> executeHqlQuery(String query, Map<String, Object> substitutions);
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.KenyaEmrService#getVisitsByPatients(java.util.Collection)
+	 */
+	public Map<Integer, List<Visit>> getVisitsByPatients(Collection<Integer> patientIds);
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.KenyaEmrService#getObsValueDatetimesByVisit(org.openmrs.Concept, java.util.Collection)
+	 */
+	public Map<Integer, Date> getObsValueDatetimesByVisit(Concept concept, Collection<Integer> patientIds);
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.KenyaEmrService#getDrugOrdersByPatients(java.util.Collection, java.util.Collection)
+	 */
+	public Map<Integer, List<DrugOrder>> getDrugOrdersByPatients(Collection<Concept> concepts, Collection<Integer> patientIds);
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.KenyaEmrService#getDuplicatePatientIdentifierIds(org.openmrs.PatientIdentifierType)
+	 */
+	public List<Integer> getDuplicatePatientIdentifierIds(PatientIdentifierType type);
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.KenyaEmrService#getPersonDemographics(java.util.Collection)
+	 */
+	public List<Object[]> getPersonDemographics(Collection<Integer> personIds);
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.KenyaEmrService#getRelationshipsByPersons(java.util.Collection)
+	 */
+	public List<Object[]> getRelationshipsByPersons(Collection<Integer> personIds);
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.KenyaEmrService#getVisitsStartedBetween(java.util.Date, java.util.Date, Integer, Integer)
+	 */
+	public Map<Integer, List<Visit>> getVisitsStartedBetween(Date fromDate, Date toDate, Integer firstPatient, Integer maxPatients);
 }
\ No newline at end of file
@@ -19,18 +19,32 @@ import org.hibernate.SQLQuery;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.openmrs.Cohort;
+import org.openmrs.Concept;
+import org.openmrs.DrugOrder;
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.Visit;
 import org.openmrs.module.kenyaemr.api.db.KenyaEmrDAO;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 /**
  * Hibernate specific data access functions. This class should not be used directly.
  */
 public class HibernateKenyaEmrDAO implements KenyaEmrDAO {
 
+	/**
+	 * Maximum number of ids or values passed to a single IN clause
+	 */
+	private static final int ID_BATCH_SIZE = 1000;
+
 	private SessionFactory sessionFactory;
 
 	/**
@@ -103,4 +117,250 @@ public class HibernateKenyaEmrDAO implements KenyaEmrDAO {
 		}
 	}
 
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.db.KenyaEmrDAO#getVisitsByPatients(java.util.Collection)
+	 */
+	@Override
+	public Map<Integer, List<Visit>> getVisitsByPatients(Collection<Integer> patientIds) {
+		Map<Integer, List<Visit>> ret = new HashMap<Integer, List<Visit>>();
+
+		for (List<Integer> batch : batches(patientIds)) {
+			Query q = getCurrentSession().createQuery("select v.patient.patientId, v from Visit v"
+					+ " where v.voided = false and v.patient.patientId in (:patientIds)"
+					+ " order by v.startDatetime desc, v.visitId desc");
+			q.setParameterList("patientIds", batch);
+
+			for (Object row : q.list()) {
+				Object[] values = (Object[]) row;
+				Integer patientId = (Integer) values[0];
+
+				List<Visit> visits = ret.get(patientId);
+				if (visits == null) {
+					visits = new ArrayList<Visit>();
+					ret.put(patientId, visits);
+				}
+				visits.add((Visit) values[1]);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.db.KenyaEmrDAO#getObsValueDatetimesByVisit(org.openmrs.Concept, java.util.Collection)
+	 */
+	@Override
+	public Map<Integer, Date> getObsValueDatetimesByVisit(Concept concept, Collection<Integer> patientIds) {
+		Map<Integer, Date> ret = new HashMap<Integer, Date>();
+
+		for (List<Integer> batch : batches(patientIds)) {
+			// Ordered so that values from later encounters replace those from earlier ones
+			Query q = getCurrentSession().createQuery("select e.visit.visitId, o.valueDatetime from Obs o join o.encounter e"
+					+ " where o.voided = false and e.voided = false and e.visit is not null"
+					+ " and o.concept = :concept and o.person.personId in (:patientIds)"
+					+ " order by e.encounterDatetime asc, o.obsId asc");
+			q.setParameter("concept", concept);
+			q.setParameterList("patientIds", batch);
+			q.setReadOnly(true);
+
+			for (Object row : q.list()) {
+				Object[] values = (Object[]) row;
+				if (values[1] != null) {
+					ret.put((Integer) values[0], (Date) values[1]);
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.db.KenyaEmrDAO#getDrugOrdersByPatients(java.util.Collection, java.util.Collection)
+	 */
+	@Override
+	public Map<Integer, List<DrugOrder>> getDrugOrdersByPatients(Collection<Concept> concepts, Collection<Integer> patientIds) {
+		Map<Integer, List<DrugOrder>> ret = new HashMap<Integer, List<DrugOrder>>();
+
+		if (concepts.isEmpty()) {
+			return ret;
+		}
+
+		for (List<Integer> batch : batches(patientIds)) {
+			Query q = getCurrentSession().createQuery("select o.patient.patientId, o from DrugOrder o"
+					+ " where o.voided = false and o.concept in (:concepts) and o.patient.patientId in (:patientIds)"
+					+ " order by o.startDate asc, o.orderId asc");
+			q.setParameterList("concepts", concepts);
+			q.setParameterList("patientIds", batch);
+
+			for (Object row : q.list()) {
+				Object[] values = (Object[]) row;
+				Integer patientId = (Integer) values[0];
+
+				List<DrugOrder> orders = ret.get(patientId);
+				if (orders == null) {
+					orders = new ArrayList<DrugOrder>();
+					ret.put(patientId, orders);
+				}
+				orders.add((DrugOrder) values[1]);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.db.KenyaEmrDAO#getDuplicatePatientIdentifierIds(org.openmrs.PatientIdentifierType)
+	 */
+	@Override
+	public List<Integer> getDuplicatePatientIdentifierIds(PatientIdentifierType type) {
+		// Duplicated values are found first and then their rows fetched in batches of values, as MySQL would evaluate a
+		// subquery for every identifier. Identifiers of voided patients are ignored, so they are never kept in place of
+		// an active patient's identifier.
+		Query valuesQuery = getCurrentSession().createQuery("select pi.identifier from PatientIdentifier pi"
+				+ " where pi.voided = false and pi.patient.voided = false and pi.identifierType = :type"
+				+ " group by pi.identifier having count(pi.patientIdentifierId) > 1 order by pi.identifier asc");
+		valuesQuery.setParameter("type", type);
+		List<String> values = valuesQuery.list();
+
+		List<Integer> ret = new ArrayList<Integer>();
+
+		// Each batch has every row of its values, ordered so the first of each value can be skipped
+		for (List<String> batch : batches(values)) {
+			Query q = getCurrentSession().createQuery("select pi.identifier, pi.patientIdentifierId from PatientIdentifier pi"
+					+ " where pi.voided = false and pi.patient.voided = false and pi.identifierType = :type and pi.identifier in (:values)"
+					+ " order by pi.identifier asc, pi.patientIdentifierId asc");
+			q.setParameter("type", type);
+			q.setParameterList("values", batch);
+			q.setReadOnly(true);
+
+			String lastValue = null;
+			for (Object row : q.list()) {
+				Object[] columns = (Object[]) row;
+				String value = (String) columns[0];
+
+				if (value.equals(lastValue)) {
+					ret.add((Integer) columns[1]);
+				}
+				lastValue = value;
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.db.KenyaEmrDAO#getPersonDemographics(java.util.Collection)
+	 */
+	@Override
+	public List<Object[]> getPersonDemographics(Collection<Integer> personIds) {
+		List<Object[]> ret = new ArrayList<Object[]>();
+
+		// Batches of sorted ids keep the rows ordered by person id across batches
+		for (List<Integer> batch : batches(new TreeSet<Integer>(personIds))) {
+			Query q = getCurrentSession().createQuery("select p.personId, p.birthdate, p.birthdateEstimated, p.gender, p.dead, p.deathDate"
+					+ " from Person p where p.personId in (:personIds) order by p.personId asc");
+			q.setParameterList("personIds", batch);
+
+			for (Object row : q.list()) {
+				ret.add((Object[]) row);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.db.KenyaEmrDAO#getRelationshipsByPersons(java.util.Collection)
+	 */
+	@Override
+	public List<Object[]> getRelationshipsByPersons(Collection<Integer> personIds) {
+		// Keyed by relationship id as a relationship between persons in different batches is returned twice
+		Map<Integer, Object[]> ret = new TreeMap<Integer, Object[]>();
+
+		for (List<Integer> batch : batches(personIds)) {
+			Query q = getCurrentSession().createQuery("select r.relationshipId, r.personA.personId, r.personB.personId, r.relationshipType.relationshipTypeId"
+					+ " from Relationship r where r.voided = false"
+					+ " and (r.personA.personId in (:personIds) or r.personB.personId in (:personIds))");
+			q.setParameterList("personIds", batch);
+
+			for (Object row : q.list()) {
+				Object[] values = (Object[]) row;
+				ret.put((Integer) values[0], values);
+			}
+		}
+		return new ArrayList<Object[]>(ret.values());
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyaemr.api.db.KenyaEmrDAO#getVisitsStartedBetween(java.util.Date, java.util.Date, Integer, Integer)
+	 */
+	@Override
+	public Map<Integer, List<Visit>> getVisitsStartedBetween(Date fromDate, Date toDate, Integer firstPatient, Integer maxPatients) {
+		Map<Integer, List<Visit>> ret = new LinkedHashMap<Integer, List<Visit>>();
+
+		String criteria = " where v.voided = false and v.patient.voided = false"
+				+ " and v.startDatetime >= :fromDate and v.startDatetime <= :toDate";
+
+		Query q;
+		if (firstPatient != null || maxPatients != null) {
+			// Select the page of patients first so that a patient's visits are never split across pages
+			Query patientQuery = getCurrentSession().createQuery("select distinct v.patient.patientId from Visit v" + criteria
+					+ " order by v.patient.patientId asc");
+			patientQuery.setTimestamp("fromDate", fromDate);
+			patientQuery.setTimestamp("toDate", toDate);
+			if (firstPatient != null) {
+				patientQuery.setFirstResult(firstPatient);
+			}
+			if (maxPatients != null) {
+				patientQuery.setMaxResults(maxPatients);
+			}
+
+			List<Integer> patientIds = patientQuery.list();
+			if (patientIds.isEmpty()) {
+				return ret;
+			}
+
+			q = getCurrentSession().createQuery("select v from Visit v join fetch v.patient" + criteria
+					+ " and v.patient.patientId in (:patientIds)"
+					+ " order by v.patient.patientId asc, v.startDatetime asc, v.visitId asc");
+			q.setParameterList("patientIds", patientIds);
+		}
+		else {
+			q = getCurrentSession().createQuery("select v from Visit v join fetch v.patient" + criteria
+					+ " order by v.patient.patientId asc, v.startDatetime asc, v.visitId asc");
+		}
+
+		q.setTimestamp("fromDate", fromDate);
+		q.setTimestamp("toDate", toDate);
+
+		// Patients are fetched with their visits so callers don't need a query per patient
+		for (Object row : q.list()) {
+			Visit visit = (Visit) row;
+			Integer patientId = visit.getPatient().getPatientId();
+
+			List<Visit> visits = ret.get(patientId);
+			if (visits == null) {
+				visits = new ArrayList<Visit>();
+				ret.put(patientId, visits);
+			}
+			visits.add(visit);
+		}
+		return ret;
+	}
+
+	/**
+	 * Splits a collection of ids or values into batches small enough for an IN clause
+	 * @param ids the ids or values
+	 * @return the batches
+	 */
+	private static <T> List<List<T>> batches(Collection<T> ids) {
+		List<List<T>> batches = new ArrayList<List<T>>();
+		List<T> current = new ArrayList<T>();
+		for (T id : ids) {
+			current.add(id);
+			if (current.size() == ID_BATCH_SIZE) {
+				batches.add(current);
+				current = new ArrayList<T>();
+			}
+		}
+		if (!current.isEmpty()) {
+			batches.add(current);
+		}
+		return batches;
+	}
 }
\ No newline at end of file
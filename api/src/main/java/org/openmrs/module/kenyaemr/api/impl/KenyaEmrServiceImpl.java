@@ -16,6 +16,8 @@ package org.openmrs.module.kenyaemr.api.impl;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.openmrs.Concept;
+import org.openmrs.DrugOrder;
 import org.openmrs.GlobalProperty;
 import org.openmrs.Location;
 import org.openmrs.LocationAttributeType;
@@ -44,6 +46,7 @@ import org.openmrs.util.OpenmrsUtil;
 import org.openmrs.util.PrivilegeConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -186,6 +189,62 @@ public class KenyaEmrServiceImpl extends BaseOpenmrsService implements KenyaEmrS
 		return visits;
 	}
 
+	/**
+	 * @see KenyaEmrService#getVisitsByPatients(java.util.Collection)
+	 */
+	@Override
+	public Map<Integer, List<Visit>> getVisitsByPatients(Collection<Integer> patientIds) {
+		return dao.getVisitsByPatients(patientIds);
+	}
+
+	/**
+	 * @see KenyaEmrService#getObsValueDatetimesByVisit(org.openmrs.Concept, java.util.Collection)
+	 */
+	@Override
+	public Map<Integer, Date> getObsValueDatetimesByVisit(Concept concept, Collection<Integer> patientIds) {
+		return dao.getObsValueDatetimesByVisit(concept, patientIds);
+	}
+
+	/**
+	 * @see KenyaEmrService#getDrugOrdersByPatients(java.util.Collection, java.util.Collection)
+	 */
+	@Override
+	public Map<Integer, List<DrugOrder>> getDrugOrdersByPatients(Collection<Concept> concepts, Collection<Integer> patientIds) {
+		return dao.getDrugOrdersByPatients(concepts, patientIds);
+	}
+
+	/**
+	 * @see KenyaEmrService#getDuplicatePatientIdentifierIds(org.openmrs.PatientIdentifierType)
+	 */
+	@Override
+	public List<Integer> getDuplicatePatientIdentifierIds(PatientIdentifierType type) {
+		return dao.getDuplicatePatientIdentifierIds(type);
+	}
+
+	/**
+	 * @see KenyaEmrService#getPersonDemographics(java.util.Collection)
+	 */
+	@Override
+	public List<Object[]> getPersonDemographics(Collection<Integer> personIds) {
+		return dao.getPersonDemographics(personIds);
+	}
+
+	/**
+	 * @see KenyaEmrService#getRelationshipsByPersons(java.util.Collection)
+	 */
+	@Override
+	public List<Object[]> getRelationshipsByPersons(Collection<Integer> personIds) {
+		return dao.getRelationshipsByPersons(personIds);
+	}
+
+	/**
+	 * @see KenyaEmrService#getVisitsStartedBetween(java.util.Date, java.util.Date, Integer, Integer)
+	 */
+	@Override
+	public Map<Integer, List<Visit>> getVisitsStartedBetween(Date fromDate, Date toDate, Integer firstPatient, Integer maxPatients) {
+		return dao.getVisitsStartedBetween(fromDate, toDate, firstPatient, maxPatients);
+	}
+
 	/**
 	 * @see KenyaEmrService#setupMrnIdentifierSource(String)
 	 */
@@ -0,0 +1,244 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.openmrs.Concept;
+import org.openmrs.Obs;
+import org.openmrs.Program;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.result.CalculationResult;
+import org.openmrs.calculation.result.CalculationResultMap;
+import org.openmrs.calculation.result.ListResult;
+import org.openmrs.module.kenyacore.calculation.Calculations;
+import org.openmrs.module.kenyacore.calculation.Filters;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Versions of the common {@link Calculations} and {@link Filters} methods whose results are kept in the calculation
+ * context cache. All obs of a concept are loaded once per patient and context date, and the last obs is taken from
+ * those rather than queried separately. Calculations sharing a context therefore share these queries.
+ */
+public class CachedCalculations {
+
+	private static final String CACHE_KEY_PREFIX = CachedCalculations.class.getName() + ".";
+
+	/**
+	 * Evaluates all obs of the given concept on or before the context date
+	 * @param concept the obs question
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @return the obs of each patient as list results
+	 * @see Calculations#allObs(org.openmrs.Concept, java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	public static CalculationResultMap allObs(final Concept concept, Collection<Integer> cohort, final PatientCalculationContext context) {
+		String cacheKey = "allObs." + concept.getConceptId();
+
+		return cachedResults(cacheKey, cohort, context, new ResultLoader() {
+			@Override
+			public CalculationResultMap load(Collection<Integer> patientIds) {
+				return Calculations.allObs(concept, patientIds, context);
+			}
+		});
+	}
+
+	/**
+	 * Evaluates the last obs of the given concept on or before the context date. This is taken from the same cached
+	 * results as {@link #allObs(org.openmrs.Concept, java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)}
+	 * @param concept the obs question
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @return the last obs of each patient
+	 * @see Calculations#lastObs(org.openmrs.Concept, java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	public static CalculationResultMap lastObs(Concept concept, Collection<Integer> cohort, PatientCalculationContext context) {
+		CalculationResultMap allObs = allObs(concept, cohort, context);
+
+		CalculationResultMap ret = new CalculationResultMap();
+		for (Integer ptId : cohort) {
+			ret.put(ptId, lastObsResult((ListResult) allObs.get(ptId)));
+		}
+		return ret;
+	}
+
+	/**
+	 * Filters a cohort to the patients who are alive
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @return the patients who are alive
+	 * @see Filters#alive(java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	public static Set<Integer> alive(Collection<Integer> cohort, final PatientCalculationContext context) {
+		return cachedFilter("alive", cohort, context, new FilterLoader() {
+			@Override
+			public Set<Integer> load(Collection<Integer> patientIds) {
+				return Filters.alive(patientIds, context);
+			}
+		});
+	}
+
+	/**
+	 * Filters a cohort to the patients who are female
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @return the patients who are female
+	 * @see Filters#female(java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	public static Set<Integer> female(Collection<Integer> cohort, final PatientCalculationContext context) {
+		return cachedFilter("female", cohort, context, new FilterLoader() {
+			@Override
+			public Set<Integer> load(Collection<Integer> patientIds) {
+				return Filters.female(patientIds, context);
+			}
+		});
+	}
+
+	/**
+	 * Filters a cohort to the patients who are enrolled in the given program on the context date
+	 * @param program the program
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @return the patients who are in the program
+	 * @see Filters#inProgram(org.openmrs.Program, java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	public static Set<Integer> inProgram(final Program program, Collection<Integer> cohort, final PatientCalculationContext context) {
+		return cachedFilter("inProgram." + program.getProgramId(), cohort, context, new FilterLoader() {
+			@Override
+			public Set<Integer> load(Collection<Integer> patientIds) {
+				return Filters.inProgram(program, patientIds, context);
+			}
+		});
+	}
+
+	/**
+	 * Gets the latest obs result from a list of obs results
+	 * @param allObs the obs results (may be null)
+	 * @return the latest obs result or null if list is empty
+	 */
+	protected static CalculationResult lastObsResult(ListResult allObs) {
+		if (allObs == null || allObs.isEmpty()) {
+			return null;
+		}
+
+		CalculationResult last = null;
+		Obs lastObs = null;
+		for (CalculationResult result : allObs.getValues()) {
+			Obs obs = (Obs) result.getValue();
+			if (obs != null && (lastObs == null || !obs.getObsDatetime().before(lastObs.getObsDatetime()))) {
+				last = result;
+				lastObs = obs;
+			}
+		}
+		return last;
+	}
+
+	/**
+	 * Gets results from the context cache, loading those of any patients not yet cached
+	 * @param key the cache key
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @param loader the loader for uncached patients
+	 * @return the results
+	 */
+	protected static CalculationResultMap cachedResults(String key, Collection<Integer> cohort, PatientCalculationContext context, ResultLoader loader) {
+		String cacheKey = CACHE_KEY_PREFIX + key + "." + context.getNow().getTime();
+
+		Map<Integer, CalculationResult> cached = (Map<Integer, CalculationResult>) context.getFromCache(cacheKey);
+		if (cached == null) {
+			cached = new HashMap<Integer, CalculationResult>();
+			context.addToCache(cacheKey, cached);
+		}
+
+		List<Integer> uncached = new ArrayList<Integer>();
+		for (Integer ptId : cohort) {
+			if (!cached.containsKey(ptId)) {
+				uncached.add(ptId);
+			}
+		}
+
+		if (!uncached.isEmpty()) {
+			CalculationResultMap loaded = loader.load(uncached);
+			for (Integer ptId : uncached) {
+				cached.put(ptId, loaded.get(ptId));
+			}
+		}
+
+		CalculationResultMap ret = new CalculationResultMap();
+		for (Integer ptId : cohort) {
+			ret.put(ptId, cached.get(ptId));
+		}
+		return ret;
+	}
+
+	/**
+	 * Applies a filter using the context cache, evaluating it only for patients not yet cached
+	 * @param key the cache key
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @param loader the loader for uncached patients
+	 * @return the patients who pass the filter
+	 */
+	protected static Set<Integer> cachedFilter(String key, Collection<Integer> cohort, PatientCalculationContext context, FilterLoader loader) {
+		String cacheKey = CACHE_KEY_PREFIX + key + "." + context.getNow().getTime();
+
+		Map<Integer, Boolean> cached = (Map<Integer, Boolean>) context.getFromCache(cacheKey);
+		if (cached == null) {
+			cached = new HashMap<Integer, Boolean>();
+			context.addToCache(cacheKey, cached);
+		}
+
+		List<Integer> uncached = new ArrayList<Integer>();
+		for (Integer ptId : cohort) {
+			if (!cached.containsKey(ptId)) {
+				uncached.add(ptId);
+			}
+		}
+
+		if (!uncached.isEmpty()) {
+			Set<Integer> passing = loader.load(uncached);
+			for (Integer ptId : uncached) {
+				cached.put(ptId, passing.contains(ptId));
+			}
+		}
+
+		Set<Integer> ret = new HashSet<Integer>();
+		for (Integer ptId : cohort) {
+			if (cached.get(ptId)) {
+				ret.add(ptId);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Loads calculation results for patients
+	 */
+	protected interface ResultLoader {
+		CalculationResultMap load(Collection<Integer> patientIds);
+	}
+
+	/**
+	 * Loads the patients who pass a filter
+	 */
+	protected interface FilterLoader {
+		Set<Integer> load(Collection<Integer> patientIds);
+	}
+}
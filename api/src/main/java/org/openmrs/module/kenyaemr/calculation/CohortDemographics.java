@@ -0,0 +1,311 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Birthdate, gender, death and relationships of a cohort of patients, loaded in a fixed number of queries rather than
+ * by loading each patient. Values are held in parallel arrays indexed by position in the sorted array of person ids.
+ * Persons related to the cohort patients are included so their demographics can also be looked up, but only the
+ * relationships of the cohort patients themselves are loaded.
+ */
+public class CohortDemographics {
+
+	private static final String CACHE_KEY = CohortDemographics.class.getName();
+
+	private static final int[] NO_RELATIONSHIPS = new int[0];
+
+	private final int[] cohortIds;
+
+	private final int[] personIds;
+	private final Date[] birthdates;
+	private final boolean[] birthdatesEstimated;
+	private final String[] genders;
+	private final boolean[] dead;
+	private final Date[] deathDates;
+	private final boolean[] inCohort;
+
+	private final int[] relationshipPersonAs;
+	private final int[] relationshipPersonBs;
+	private final int[] relationshipTypeIds;
+
+	/**
+	 * Indexes of the relationships of each person, those of person i being from relationshipOffsets[i] up to
+	 * relationshipOffsets[i + 1]
+	 */
+	private final int[] relationshipOffsets;
+	private final int[] relationshipIndexes;
+
+	/**
+	 * Gets the demographics of a cohort of patients. These are cached in the calculation context so that other
+	 * calculations evaluated with the same context and cohort can reuse them.
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @return the demographics
+	 */
+	public static CohortDemographics forCohort(Collection<Integer> cohort, PatientCalculationContext context) {
+		CohortDemographics demographics = (CohortDemographics) context.getFromCache(CACHE_KEY);
+		if (demographics == null || !demographics.includesCohort(cohort)) {
+			demographics = load(cohort);
+			context.addToCache(CACHE_KEY, demographics);
+		}
+		return demographics;
+	}
+
+	/**
+	 * Loads the demographics of a cohort of patients
+	 * @param cohort the patient ids
+	 * @return the demographics
+	 */
+	public static CohortDemographics load(Collection<Integer> cohort) {
+		KenyaEmrService service = Context.getService(KenyaEmrService.class);
+
+		List<Object[]> relationships = service.getRelationshipsByPersons(cohort);
+
+		Set<Integer> persons = new HashSet<Integer>(cohort);
+		for (Object[] relationship : relationships) {
+			persons.add((Integer) relationship[1]);
+			persons.add((Integer) relationship[2]);
+		}
+
+		return new CohortDemographics(cohort, service.getPersonDemographics(persons), relationships);
+	}
+
+	/**
+	 * Constructs demographics from the rows returned by {@link KenyaEmrService#getPersonDemographics(Collection)} and
+	 * {@link KenyaEmrService#getRelationshipsByPersons(Collection)}
+	 * @param cohort the patient ids
+	 * @param personRows the person rows, ordered by person id
+	 * @param relationshipRows the relationship rows
+	 */
+	protected CohortDemographics(Collection<Integer> cohort, List<Object[]> personRows, List<Object[]> relationshipRows) {
+		int size = personRows.size();
+		personIds = new int[size];
+		birthdates = new Date[size];
+		birthdatesEstimated = new boolean[size];
+		genders = new String[size];
+		dead = new boolean[size];
+		deathDates = new Date[size];
+		inCohort = new boolean[size];
+
+		for (int p = 0; p < size; ++p) {
+			Object[] row = personRows.get(p);
+			personIds[p] = (Integer) row[0];
+			birthdates[p] = (Date) row[1];
+			birthdatesEstimated[p] = Boolean.TRUE.equals(row[2]);
+			genders[p] = (String) row[3];
+			dead[p] = Boolean.TRUE.equals(row[4]);
+			deathDates[p] = (Date) row[5];
+		}
+
+		cohortIds = new int[cohort.size()];
+		int c = 0;
+		for (Integer ptId : cohort) {
+			cohortIds[c++] = ptId;
+
+			int p = indexOf(ptId);
+			if (p >= 0) {
+				inCohort[p] = true;
+			}
+		}
+		Arrays.sort(cohortIds);
+
+		int relationships = relationshipRows.size();
+		relationshipPersonAs = new int[relationships];
+		relationshipPersonBs = new int[relationships];
+		relationshipTypeIds = new int[relationships];
+
+		// Count the relationships of each cohort patient, then fill in their indexes
+		relationshipOffsets = new int[size + 1];
+		for (int r = 0; r < relationships; ++r) {
+			Object[] row = relationshipRows.get(r);
+			relationshipPersonAs[r] = (Integer) row[1];
+			relationshipPersonBs[r] = (Integer) row[2];
+			relationshipTypeIds[r] = (Integer) row[3];
+
+			for (int p : relationshipPersonIndexes(r)) {
+				++relationshipOffsets[p + 1];
+			}
+		}
+		for (int p = 0; p < size; ++p) {
+			relationshipOffsets[p + 1] += relationshipOffsets[p];
+		}
+
+		relationshipIndexes = new int[relationshipOffsets[size]];
+		int[] filled = new int[size];
+		for (int r = 0; r < relationships; ++r) {
+			for (int p : relationshipPersonIndexes(r)) {
+				relationshipIndexes[relationshipOffsets[p] + filled[p]++] = r;
+			}
+		}
+	}
+
+	/**
+	 * Gets the ids of the patients the demographics were loaded for
+	 * @return the patient ids, in ascending order
+	 */
+	public int[] getCohortIds() {
+		return cohortIds.clone();
+	}
+
+	/**
+	 * Gets whether the demographics were loaded for all patients of the given cohort
+	 * @param cohort the patient ids
+	 * @return true if all patients are included
+	 */
+	public boolean includesCohort(Collection<Integer> cohort) {
+		for (Integer ptId : cohort) {
+			if (Arrays.binarySearch(cohortIds, ptId) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the birthdate of a person
+	 * @param personId the person id
+	 * @return the birthdate or null if person has none or isn't included
+	 */
+	public Date getBirthdate(Integer personId) {
+		int p = indexOf(personId);
+		return p >= 0 ? birthdates[p] : null;
+	}
+
+	/**
+	 * Gets whether the birthdate of a person is estimated
+	 * @param personId the person id
+	 * @return true if estimated
+	 */
+	public boolean isBirthdateEstimated(Integer personId) {
+		int p = indexOf(personId);
+		return p >= 0 && birthdatesEstimated[p];
+	}
+
+	/**
+	 * Gets the gender of a person
+	 * @param personId the person id
+	 * @return the gender or null if person has none or isn't included
+	 */
+	public String getGender(Integer personId) {
+		int p = indexOf(personId);
+		return p >= 0 ? genders[p] : null;
+	}
+
+	/**
+	 * Gets whether a person is dead
+	 * @param personId the person id
+	 * @return true if dead
+	 */
+	public boolean isDead(Integer personId) {
+		int p = indexOf(personId);
+		return p >= 0 && dead[p];
+	}
+
+	/**
+	 * Gets the death date of a person
+	 * @param personId the person id
+	 * @return the death date or null if person has none or isn't included
+	 */
+	public Date getDeathDate(Integer personId) {
+		int p = indexOf(personId);
+		return p >= 0 ? deathDates[p] : null;
+	}
+
+	/**
+	 * Gets the relationships of a cohort patient, as either person, in order of creation. Use the returned indexes
+	 * with {@link #getRelationshipPersonA(int)}, {@link #getRelationshipPersonB(int)} and
+	 * {@link #getRelationshipTypeId(int)}.
+	 * @param personId the patient id
+	 * @return the relationship indexes
+	 */
+	public int[] getRelationships(Integer personId) {
+		int p = indexOf(personId);
+		if (p < 0) {
+			return NO_RELATIONSHIPS;
+		}
+		return Arrays.copyOfRange(relationshipIndexes, relationshipOffsets[p], relationshipOffsets[p + 1]);
+	}
+
+	/**
+	 * Gets person A of a relationship
+	 * @param relationship the relationship index
+	 * @return the person id
+	 */
+	public int getRelationshipPersonA(int relationship) {
+		return relationshipPersonAs[relationship];
+	}
+
+	/**
+	 * Gets person B of a relationship
+	 * @param relationship the relationship index
+	 * @return the person id
+	 */
+	public int getRelationshipPersonB(int relationship) {
+		return relationshipPersonBs[relationship];
+	}
+
+	/**
+	 * Gets the type of a relationship
+	 * @param relationship the relationship index
+	 * @return the relationship type id
+	 */
+	public int getRelationshipTypeId(int relationship) {
+		return relationshipTypeIds[relationship];
+	}
+
+	/**
+	 * Gets the indexes of the cohort patients who are a party to a relationship
+	 * @param relationship the relationship index
+	 * @return the person indexes
+	 */
+	private int[] relationshipPersonIndexes(int relationship) {
+		int a = indexOf(relationshipPersonAs[relationship]);
+		int b = indexOf(relationshipPersonBs[relationship]);
+		boolean includeA = a >= 0 && inCohort[a];
+		boolean includeB = b >= 0 && inCohort[b] && b != a;
+
+		if (includeA && includeB) {
+			return new int[] { a, b };
+		}
+		else if (includeA) {
+			return new int[] { a };
+		}
+		else if (includeB) {
+			return new int[] { b };
+		}
+		return NO_RELATIONSHIPS;
+	}
+
+	/**
+	 * Gets the index of a person in the columns
+	 * @param personId the person id
+	 * @return the index or a negative value if the person isn't included
+	 */
+	private int indexOf(Integer personId) {
+		return personId != null ? Arrays.binarySearch(personIds, personId) : -1;
+	}
+}
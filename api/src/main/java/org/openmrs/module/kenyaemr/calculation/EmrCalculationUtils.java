@@ -14,8 +14,11 @@
 
 package org.openmrs.module.kenyaemr.calculation;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.joda.time.DateTime;
 import org.joda.time.Days;
+import org.joda.time.LocalDate;
 import org.openmrs.Concept;
 import org.openmrs.Encounter;
 import org.openmrs.Obs;
@@ -23,6 +26,7 @@ import org.openmrs.Patient;
 import org.openmrs.api.context.Context;
 import org.openmrs.calculation.CalculationContext;
 import org.openmrs.calculation.patient.PatientCalculation;
+import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.patient.PatientCalculationService;
 import org.openmrs.calculation.result.CalculationResult;
 import org.openmrs.calculation.result.CalculationResultMap;
@@ -39,8 +43,10 @@ import org.openmrs.util.OpenmrsUtil;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -50,6 +56,10 @@ import java.util.Set;
  */
 public class EmrCalculationUtils {
 
+	protected static final Log log = LogFactory.getLog(EmrCalculationUtils.class);
+
+	private static final LocalDate EPOCH = new LocalDate(1970, 1, 1);
+
 	/**
 	 * Evaluates the specified calculation for a single patient
 	 * @param calculationClass the calculation class
@@ -62,6 +72,62 @@ public class EmrCalculationUtils {
 		return Context.getService(PatientCalculationService.class).evaluate(patient.getId(), calculation);
 	}
 
+	/**
+	 * Evaluates several calculations for a single patient using one shared calculation context
+	 * @param calculationClasses the calculation classes
+	 * @param patient the patient
+	 * @param context the shared calculation context (or null to create one)
+	 * @return the calculation results keyed by calculation class
+	 */
+	public static Map<Class<? extends PatientCalculation>, CalculationResult> evaluateForPatient(List<Class<? extends PatientCalculation>> calculationClasses, Patient patient, PatientCalculationContext context) {
+		Map<Class<? extends PatientCalculation>, CalculationResultMap> resultMaps = evaluateForCohort(calculationClasses, Collections.singleton(patient.getId()), context);
+
+		Map<Class<? extends PatientCalculation>, CalculationResult> results = new LinkedHashMap<Class<? extends PatientCalculation>, CalculationResult>();
+		for (Map.Entry<Class<? extends PatientCalculation>, CalculationResultMap> entry : resultMaps.entrySet()) {
+			results.put(entry.getKey(), entry.getValue().get(patient.getId()));
+		}
+		return results;
+	}
+
+	/**
+	 * Evaluates several calculations for a cohort using one shared calculation context. Each distinct calculation
+	 * class is only evaluated once, and the time taken by each is logged at debug level.
+	 * @param calculationClasses the calculation classes
+	 * @param cohort the patient ids
+	 * @param context the shared calculation context (or null to create one)
+	 * @return the calculation result maps keyed by calculation class
+	 */
+	public static Map<Class<? extends PatientCalculation>, CalculationResultMap> evaluateForCohort(List<Class<? extends PatientCalculation>> calculationClasses, Collection<Integer> cohort, PatientCalculationContext context) {
+		PatientCalculationService service = Context.getService(PatientCalculationService.class);
+
+		if (context == null) {
+			context = service.createCalculationContext();
+		}
+
+		Date now = context.getNow();
+		Map<Class<? extends PatientCalculation>, CalculationResultMap> results = new LinkedHashMap<Class<? extends PatientCalculation>, CalculationResultMap>();
+
+		for (Class<? extends PatientCalculation> calculationClass : calculationClasses) {
+			if (results.containsKey(calculationClass)) {
+				continue;
+			}
+
+			PatientCalculation calculation = CalculationUtils.instantiateCalculation(calculationClass, null);
+			long start = System.currentTimeMillis();
+
+			results.put(calculationClass, service.evaluate(cohort, calculation, context));
+
+			// Calculations are allowed to modify the context date so reset it for the next one
+			context.setNow(now);
+
+			if (log.isDebugEnabled()) {
+				log.debug("Evaluated " + calculationClass.getSimpleName() + " for " + cohort.size() + " patient(s) in " + (System.currentTimeMillis() - start) + "ms");
+			}
+		}
+
+		return results;
+	}
+
 	/**
 	 * Convenience method to fetch a patient result as an obs
 	 * @param results the calculation result map
@@ -190,4 +256,14 @@ public class EmrCalculationUtils {
 		DateTime d2 = new DateTime(calculationContext.getNow().getTime());
 		return Days.daysBetween(d1, d2).getDays();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Gets the number of days since 1970-01-01 of the day of the given date, in the default timezone. Useful for
+	 * comparing the days of many dates as integers.
+	 * @param date the date
+	 * @return the day number
+	 */
+	public static int epochDay(Date date) {
+		return Days.daysBetween(EPOCH, new LocalDate(date.getTime())).getDays();
+	}
+}
@@ -0,0 +1,677 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.joda.time.DateTime;
+import org.joda.time.Days;
+import org.openmrs.Concept;
+import org.openmrs.Obs;
+import org.openmrs.PatientProgram;
+import org.openmrs.Program;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.patient.PatientCalculationService;
+import org.openmrs.calculation.result.CalculationResultMap;
+import org.openmrs.calculation.result.ListResult;
+import org.openmrs.module.kenyacore.ContentManager;
+import org.openmrs.module.kenyacore.calculation.CalculationUtils;
+import org.openmrs.module.kenyacore.calculation.Calculations;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.HivConstants;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+import org.openmrs.module.kenyaemr.metadata.HivMetadata;
+import org.openmrs.module.kenyaemr.regimen.RegimenChange;
+import org.openmrs.module.kenyaemr.regimen.RegimenChangeHistory;
+import org.openmrs.module.kenyaemr.util.EmrUtils;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
+import org.openmrs.module.kenyaemr.util.UserContextSnapshot;
+import org.openmrs.module.metadatadeploy.MetadataUtils;
+import org.openmrs.module.reporting.common.DateUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Store of HIV care status timelines, i.e. for each patient the periods during which they were in care, on ART, lost
+ * to follow up, transferred out or dead. Statuses follow the same rules as the corresponding calculations (e.g.
+ * {@link org.openmrs.module.kenyaemr.calculation.library.hiv.LostToFollowUpCalculation}) but are worked out for every
+ * date at once, so that a cohort such as "on ART on date X" is a lookup rather than a calculation. Timelines are
+ * computed for whole batches of patients in one calculation context from all of their recorded data, so they don't
+ * depend on the day they were computed. They are recomputed when the patient's encounters, obs, orders or program
+ * enrollments change (see the service advice classes), and when new rows are found for the patient which weren't
+ * created through those services, e.g. by a direct SQL import. All stored timelines are recomputed once a day in the
+ * background, and the previous timelines are used until their replacements are ready.
+ */
+@Component
+public class HivCareStatusStore implements ContentManager {
+
+	protected static final Log log = LogFactory.getLog(HivCareStatusStore.class);
+
+	/**
+	 * The HIV care statuses. A patient can have more than one status at once, e.g. in care and on ART.
+	 */
+	public enum Status {
+		IN_CARE,
+		ON_ART,
+		LOST_TO_FOLLOW_UP,
+		TRANSFERRED_OUT,
+		DEAD
+	}
+
+	/**
+	 * Maximum number of patients whose timelines are computed in one calculation context
+	 */
+	private static final int BATCH_SIZE = 500;
+
+	/**
+	 * Date used as the calculation context date when computing timelines, so that future dated data is included
+	 */
+	private static final Date END_OF_TIME = new DateTime(9999, 12, 31, 0, 0, 0, 0).toDate();
+
+	/**
+	 * Maximum number of patient changes remembered while timelines are being computed
+	 */
+	private static final int MAX_REMEMBERED_CHANGES = 10000;
+
+	/**
+	 * Queries for the highest id of each kind of data, and for the patients who have data with a higher id than the
+	 * given one
+	 */
+	private static final String[][] NEW_DATA_QUERIES = {
+			{ "select max(e.encounterId) from Encounter e", "select distinct e.patient.patientId from Encounter e where e.encounterId > :since" },
+			{ "select max(o.obsId) from Obs o", "select distinct o.person.personId from Obs o where o.obsId > :since" },
+			{ "select max(o.orderId) from Order o", "select distinct o.patient.patientId from Order o where o.orderId > :since" },
+			{ "select max(pp.patientProgramId) from PatientProgram pp", "select distinct pp.patient.patientId from PatientProgram pp where pp.patientProgramId > :since" },
+			{ "select max(p.personId) from Person p", "select p.personId from Person p where p.personId > :since" }
+	};
+
+	/**
+	 * Timelines are only a few periods per patient, so these aren't limited like the HIV care summaries
+	 */
+	private Map<Integer, List<StatusPeriod>> timelines = new HashMap<Integer, List<StatusPeriod>>();
+
+	private PatientVersions versions = new PatientVersions(MAX_REMEMBERED_CHANGES);
+
+	private Date computedOn;
+
+	/**
+	 * The highest id of each kind of data when last checked, in the order of {@link #NEW_DATA_QUERIES}
+	 */
+	private Integer[] lastIds;
+
+	/**
+	 * Single thread which recomputes the stored timelines at the start of each day
+	 */
+	private ExecutorService recomputer;
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 200;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public synchronized void refresh() {
+		timelines.clear(); // Metadata may have changed
+		versions.changedAll();
+	}
+
+	/**
+	 * Gets the timeline of a single patient, computing it if it isn't stored
+	 * @param patientId the patient id
+	 * @return the status periods
+	 */
+	public List<StatusPeriod> getTimeline(Integer patientId) {
+		return getTimelines(Collections.singleton(patientId)).get(patientId);
+	}
+
+	/**
+	 * Gets the timelines of a cohort of patients, computing those which aren't stored
+	 * @param cohort the patient ids
+	 * @return the status periods keyed by patient id
+	 */
+	public Map<Integer, List<StatusPeriod>> getTimelines(Collection<Integer> cohort) {
+		Map<Integer, List<StatusPeriod>> ret = new HashMap<Integer, List<StatusPeriod>>();
+		List<Integer> toCompute = new ArrayList<Integer>();
+		long version;
+
+		synchronized (this) {
+			checkCurrent();
+			version = versions.getCurrent();
+
+			for (Integer patientId : cohort) {
+				List<StatusPeriod> timeline = timelines.get(patientId);
+				if (timeline != null) {
+					ret.put(patientId, timeline);
+				}
+				else {
+					toCompute.add(patientId);
+				}
+			}
+		}
+
+		PerformanceMonitor.recordCacheLookups("hivCareStatuses", ret.size(), toCompute.size());
+
+		ret.putAll(computeAndStore(toCompute, version));
+		return ret;
+	}
+
+	/**
+	 * Gets the patients in a cohort who had the given status on the given date
+	 * @param cohort the patient ids
+	 * @param status the status
+	 * @param onDate the date
+	 * @return the patient ids
+	 */
+	public Set<Integer> getPatientsWithStatus(Collection<Integer> cohort, Status status, Date onDate) {
+		Set<Integer> ret = new HashSet<Integer>();
+		for (Map.Entry<Integer, List<StatusPeriod>> entry : getTimelines(cohort).entrySet()) {
+			for (StatusPeriod period : entry.getValue()) {
+				if (period.getStatus().equals(status) && period.covers(onDate)) {
+					ret.add(entry.getKey());
+					break;
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Gets the patients who could have the given status on some date, i.e. those with the data that status depends on
+	 * @param status the status
+	 * @return the patient ids
+	 */
+	public Set<Integer> getPossiblePatients(Status status) {
+		String query;
+		Map<String, Object> substitutions = new HashMap<String, Object>();
+
+		switch (status) {
+			case ON_ART:
+				query = "select distinct o.patient.patientId from DrugOrder o where o.voided = false and o.concept in (:concepts)";
+				substitutions.put("concepts", Dictionary.getConcept(Dictionary.ANTIRETROVIRAL_DRUGS).getSetMembers());
+				break;
+			case TRANSFERRED_OUT:
+				query = "select distinct o.person.personId from Obs o where o.voided = false and o.concept in (:concepts)";
+				substitutions.put("concepts", Arrays.asList(Dictionary.getConcept(Dictionary.DATE_TRANSFERRED_OUT), Dictionary.getConcept(Dictionary.REASON_FOR_PROGRAM_DISCONTINUATION)));
+				break;
+			case DEAD:
+				query = "select p.patientId from Patient p where p.voided = false and p.dead = true";
+				break;
+			default:
+				query = "select distinct pp.patient.patientId from PatientProgram pp where pp.voided = false and pp.program = :program";
+				substitutions.put("program", MetadataUtils.existing(Program.class, HivMetadata._Program.HIV));
+		}
+
+		Set<Integer> ret = new HashSet<Integer>();
+		for (Object patientId : Context.getService(KenyaEmrService.class).executeHqlQuery(query, substitutions)) {
+			ret.add((Integer) patientId);
+		}
+		return ret;
+	}
+
+	/**
+	 * Marks the timeline of the given patient as stale so that it is recomputed when next requested. It is marked
+	 * again once the current transaction has committed, in case it was recomputed from the old data in the meantime.
+	 * @param patientId the patient id
+	 */
+	public void markStale(final Integer patientId) {
+		if (patientId != null) {
+			changed(patientId);
+
+			EmrUtils.runAfterCommit(new Runnable() {
+				@Override
+				public void run() {
+					changed(patientId);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Records a change to the given patient and removes their timeline
+	 * @param patientId the patient id
+	 */
+	protected synchronized void changed(Integer patientId) {
+		versions.changed(patientId);
+		timelines.remove(patientId);
+	}
+
+	/**
+	 * Removes the timelines of patients who have new data since the last check. New data is found whether or not it was
+	 * also marked by {@link #markStale(Integer)}, so data created outside of the services alongside changes made through
+	 * them isn't missed. If the day has changed, the remaining timelines are recomputed in the background and are used
+	 * until then.
+	 */
+	protected synchronized void checkCurrent() {
+		Date today = getToday();
+		Integer[] ids = getLastIds();
+
+		if (lastIds == null) {
+			timelines.clear();
+			versions.changedAll();
+		}
+		else {
+			for (Integer patientId : getPatientsWithNewData(lastIds, ids)) {
+				changed(patientId);
+			}
+
+			if (!today.equals(computedOn) && !timelines.isEmpty()) {
+				recomputeInBackground(new ArrayList<Integer>(timelines.keySet()), versions.getCurrent());
+			}
+		}
+
+		computedOn = today;
+		lastIds = ids;
+	}
+
+	/**
+	 * Gets the start of the current day
+	 * @return the date
+	 */
+	protected Date getToday() {
+		return DateUtil.getStartOfDay(new Date());
+	}
+
+	/**
+	 * Recomputes the timelines of the given patients on the recomputer thread, as the current user
+	 * @param patientIds the patient ids
+	 * @param version the version when the timelines were last current
+	 */
+	protected void recomputeInBackground(final List<Integer> patientIds, final long version) {
+		final UserContextSnapshot userContext = new UserContextSnapshot(Context.getUserContext());
+
+		getRecomputer().execute(new Runnable() {
+			@Override
+			public void run() {
+				Context.openSession();
+				try {
+					Context.setUserContext(userContext.createUserContext());
+					computeAndStore(patientIds, version);
+				}
+				catch (Exception ex) {
+					log.error("Unable to recompute HIV care status timelines", ex);
+				}
+				finally {
+					Context.closeSession();
+					Context.clearUserContext();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Gets the recomputer thread, creating it if necessary
+	 * @return the executor
+	 */
+	protected synchronized ExecutorService getRecomputer() {
+		if (recomputer == null) {
+			recomputer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "kenyaemr-hiv-care-statuses");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return recomputer;
+	}
+
+	/**
+	 * Computes timelines in batches, storing those of patients who haven't changed since the given version
+	 * @param patientIds the patient ids
+	 * @param version the version when the timelines were requested
+	 * @return the status periods keyed by patient id
+	 */
+	protected Map<Integer, List<StatusPeriod>> computeAndStore(List<Integer> patientIds, long version) {
+		Map<Integer, List<StatusPeriod>> ret = new HashMap<Integer, List<StatusPeriod>>();
+
+		for (int from = 0; from < patientIds.size(); from += BATCH_SIZE) {
+			List<Integer> batch = patientIds.subList(from, Math.min(from + BATCH_SIZE, patientIds.size()));
+			Map<Integer, List<StatusPeriod>> computed = compute(batch);
+
+			synchronized (this) {
+				for (Map.Entry<Integer, List<StatusPeriod>> entry : computed.entrySet()) {
+					if (!versions.changedSince(entry.getKey(), version)) {
+						timelines.put(entry.getKey(), entry.getValue());
+					}
+				}
+			}
+			ret.putAll(computed);
+		}
+		return ret;
+	}
+
+	/**
+	 * Gets the highest id of each kind of data
+	 * @return the ids, in the order of {@link #NEW_DATA_QUERIES}
+	 */
+	protected Integer[] getLastIds() {
+		KenyaEmrService service = Context.getService(KenyaEmrService.class);
+		Map<String, Object> noSubstitutions = Collections.emptyMap();
+
+		Integer[] ids = new Integer[NEW_DATA_QUERIES.length];
+		for (int q = 0; q < NEW_DATA_QUERIES.length; ++q) {
+			List<Object> result = service.executeHqlQuery(NEW_DATA_QUERIES[q][0], noSubstitutions);
+			ids[q] = result.isEmpty() ? null : (Integer) result.get(0);
+		}
+		return ids;
+	}
+
+	/**
+	 * Gets the patients who have data with higher ids than those previously checked
+	 * @param previousIds the highest ids when previously checked
+	 * @param currentIds the highest ids now
+	 * @return the patient ids
+	 */
+	protected Set<Integer> getPatientsWithNewData(Integer[] previousIds, Integer[] currentIds) {
+		KenyaEmrService service = Context.getService(KenyaEmrService.class);
+
+		Set<Integer> ret = new HashSet<Integer>();
+		for (int q = 0; q < NEW_DATA_QUERIES.length; ++q) {
+			if (currentIds[q] == null || currentIds[q].equals(previousIds[q])) {
+				continue;
+			}
+
+			Map<String, Object> substitutions = new HashMap<String, Object>();
+			substitutions.put("since", previousIds[q] != null ? previousIds[q] : 0);
+
+			for (Object patientId : service.executeHqlQuery(NEW_DATA_QUERIES[q][1], substitutions)) {
+				ret.add((Integer) patientId);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Computes timelines for a batch of patients in one shared calculation context
+	 * @param batch the patient ids
+	 * @return the status periods keyed by patient id
+	 */
+	protected Map<Integer, List<StatusPeriod>> compute(Collection<Integer> batch) {
+		long start = System.currentTimeMillis();
+
+		PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
+		context.setNow(END_OF_TIME);
+
+		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
+		Concept transferredOut = Dictionary.getConcept(Dictionary.TRANSFERRED_OUT);
+
+		CalculationResultMap enrollments = Calculations.allEnrollments(hivProgram, batch, context);
+		Map<Integer, RegimenChangeHistory> regimenHistories = RegimenChangeHistory.forCohort(batch, Dictionary.getConcept(Dictionary.ANTIRETROVIRAL_DRUGS), context);
+		CalculationResultMap returnVisitObss = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), batch, context);
+		CalculationResultMap transferOutDateObss = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.DATE_TRANSFERRED_OUT), batch, context);
+		CalculationResultMap discontinuationObss = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.REASON_FOR_PROGRAM_DISCONTINUATION), batch, context);
+		CohortDemographics demographics = CohortDemographics.forCohort(batch, context);
+
+		Map<Integer, List<StatusPeriod>> computed = new HashMap<Integer, List<StatusPeriod>>();
+		for (Integer patientId : batch) {
+			PatientData data = new PatientData(transferredOut);
+			data.enrollments = CalculationUtils.extractResultValues((ListResult) enrollments.get(patientId));
+			data.regimenHistory = regimenHistories.get(patientId);
+			data.returnVisitObss = CalculationUtils.extractResultValues((ListResult) returnVisitObss.get(patientId));
+			data.transferOutDateObss = CalculationUtils.extractResultValues((ListResult) transferOutDateObss.get(patientId));
+			data.discontinuationObss = CalculationUtils.extractResultValues((ListResult) discontinuationObss.get(patientId));
+			data.dead = demographics.isDead(patientId);
+			data.deathDate = demographics.getDeathDate(patientId);
+
+			computed.put(patientId, data.getTimeline());
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Computed HIV care status timelines for " + batch.size() + " patient(s) in " + (System.currentTimeMillis() - start) + "ms");
+		}
+
+		return computed;
+	}
+
+	/**
+	 * Period during which a patient had a status
+	 */
+	public static class StatusPeriod {
+
+		private final Status status;
+		private final Date from;
+		private final Date to;
+
+		public StatusPeriod(Status status, Date from, Date to) {
+			this.status = status;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * Gets the status
+		 * @return the status
+		 */
+		public Status getStatus() {
+			return status;
+		}
+
+		/**
+		 * Gets the start of the period (inclusive)
+		 * @return the start or null if the status has no known start
+		 */
+		public Date getFrom() {
+			return from;
+		}
+
+		/**
+		 * Gets the end of the period (exclusive)
+		 * @return the end or null if the status is ongoing
+		 */
+		public Date getTo() {
+			return to;
+		}
+
+		/**
+		 * Gets whether the given date is within this period
+		 * @param date the date
+		 * @return true if within
+		 */
+		public boolean covers(Date date) {
+			return (from == null || !date.before(from)) && (to == null || date.before(to));
+		}
+
+		/**
+		 * @see Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return status + " [" + from + ", " + to + ")";
+		}
+	}
+
+	/**
+	 * The data of a single patient which their statuses depend on
+	 */
+	private static class PatientData {
+
+		private final Concept transferredOut;
+
+		private List<PatientProgram> enrollments;
+		private RegimenChangeHistory regimenHistory;
+		private List<Obs> returnVisitObss;
+		private List<Obs> transferOutDateObss;
+		private List<Obs> discontinuationObss;
+		private boolean dead;
+		private Date deathDate;
+
+		public PatientData(Concept transferredOut) {
+			this.transferredOut = transferredOut;
+		}
+
+		/**
+		 * Gets the timeline by working out the statuses on each date where they may change
+		 * @return the status periods
+		 */
+		public List<StatusPeriod> getTimeline() {
+			List<StatusPeriod> periods = new ArrayList<StatusPeriod>();
+			Map<Status, Date> openSince = new EnumMap<Status, Date>(Status.class);
+
+			if (dead && deathDate == null) {
+				openSince.put(Status.DEAD, null);
+			}
+
+			for (Date date : getChangeDates()) {
+				Set<Status> statuses = getStatusesOn(date);
+
+				for (Status status : Status.values()) {
+					boolean open = openSince.containsKey(status);
+					if (open && !statuses.contains(status)) {
+						periods.add(new StatusPeriod(status, openSince.remove(status), date));
+					}
+					else if (!open && statuses.contains(status)) {
+						openSince.put(status, date);
+					}
+				}
+			}
+
+			for (Map.Entry<Status, Date> entry : openSince.entrySet()) {
+				periods.add(new StatusPeriod(entry.getKey(), entry.getValue(), null));
+			}
+			return periods;
+		}
+
+		/**
+		 * Gets the dates where the statuses may change
+		 * @return the dates in order
+		 */
+		protected Set<Date> getChangeDates() {
+			Set<Date> dates = new TreeSet<Date>();
+			for (PatientProgram enrollment : enrollments) {
+				addDate(dates, enrollment.getDateEnrolled());
+				if (enrollment.getDateCompleted() != null) {
+					dates.add(new Date(enrollment.getDateCompleted().getTime() + 1)); // Still enrolled on the completion date
+				}
+			}
+			for (RegimenChange change : regimenHistory.getChanges()) {
+				addDate(dates, change.getDate());
+			}
+			for (Obs obs : returnVisitObss) {
+				addDate(dates, obs.getObsDatetime());
+				if (obs.getValueDatetime() != null) {
+					dates.add(new DateTime(obs.getValueDatetime()).plusDays(HivConstants.LOST_TO_FOLLOW_UP_THRESHOLD_DAYS + 1).toDate());
+				}
+			}
+			for (Obs obs : transferOutDateObss) {
+				addDate(dates, obs.getObsDatetime());
+			}
+			for (Obs obs : discontinuationObss) {
+				addDate(dates, obs.getObsDatetime());
+			}
+			if (dead) {
+				addDate(dates, deathDate);
+			}
+			return dates;
+		}
+
+		/**
+		 * Gets the statuses on the given date
+		 * @param date the date
+		 * @return the statuses
+		 */
+		protected Set<Status> getStatusesOn(Date date) {
+			Set<Status> statuses = EnumSet.noneOf(Status.class);
+
+			boolean deceased = dead && (deathDate == null || !deathDate.after(date));
+			boolean enrolled = false;
+			for (PatientProgram enrollment : enrollments) {
+				if (enrollment.getDateEnrolled() != null && !enrollment.getDateEnrolled().after(date) && (enrollment.getDateCompleted() == null || !date.after(enrollment.getDateCompleted()))) {
+					enrolled = true;
+				}
+			}
+
+			RegimenChange regimenChange = regimenHistory.getLastChangeBeforeDate(date);
+			if (regimenChange != null && regimenChange.getStarted() != null) {
+				statuses.add(Status.ON_ART);
+			}
+
+			Obs discontinuation = lastObsOn(discontinuationObss, date);
+			boolean discontinuedByTransfer = discontinuation != null && transferredOut.equals(discontinuation.getValueCoded());
+
+			Obs transferOutDate = lastObsOn(transferOutDateObss, date);
+			boolean transferOutDated = transferOutDate != null && transferOutDate.getValueDatetime() != null;
+			if ((transferOutDated || discontinuedByTransfer) && !enrolled) {
+				statuses.add(Status.TRANSFERRED_OUT);
+			}
+
+			boolean lost = false;
+			if (enrolled && !deceased && !discontinuedByTransfer) {
+				Obs returnVisit = lastObsOn(returnVisitObss, date);
+				if (returnVisit != null && returnVisit.getValueDatetime() != null) {
+					int daysSinceReturnDate = Days.daysBetween(new DateTime(returnVisit.getValueDatetime()), new DateTime(date)).getDays();
+					lost = daysSinceReturnDate > HivConstants.LOST_TO_FOLLOW_UP_THRESHOLD_DAYS;
+				}
+			}
+
+			if (lost) {
+				statuses.add(Status.LOST_TO_FOLLOW_UP);
+			}
+			else if (enrolled && !deceased) {
+				statuses.add(Status.IN_CARE);
+			}
+
+			if (deceased) {
+				statuses.add(Status.DEAD);
+			}
+			return statuses;
+		}
+
+		/**
+		 * Gets the last of the given obs which was recorded on or before the given date
+		 * @param obss the obs
+		 * @param date the date
+		 * @return the obs or null
+		 */
+		protected static Obs lastObsOn(List<Obs> obss, Date date) {
+			Obs last = null;
+			for (Obs obs : obss) {
+				if (!obs.getObsDatetime().after(date) && (last == null || !obs.getObsDatetime().before(last.getObsDatetime()))) {
+					last = obs;
+				}
+			}
+			return last;
+		}
+
+		private static void addDate(Set<Date> dates, Date date) {
+			if (date != null) {
+				dates.add(date);
+			}
+		}
+	}
+}
@@ -0,0 +1,393 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.DrugOrder;
+import org.openmrs.Obs;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculation;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.patient.PatientCalculationService;
+import org.openmrs.calculation.result.CalculationResult;
+import org.openmrs.calculation.result.CalculationResultMap;
+import org.openmrs.calculation.result.SimpleResult;
+import org.openmrs.module.kenyacore.ContentManager;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.LastCd4CountCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.LastCd4PercentageCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.LastWhoStageCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.CD4AtARTInitiationCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.CurrentArtRegimenCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.DateOfEnrollmentArtCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.InitialArtRegimenCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.InitialArtStartDateCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.TransferInDateCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.TransferOutDateCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.ViralLoadAndLdlCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.WeightAtArtInitiationCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.WhoStageAtArtStartCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.rdqa.DateOfDeathCalculation;
+import org.openmrs.module.kenyaemr.regimen.RegimenOrder;
+import org.openmrs.module.kenyaemr.util.EmrUtils;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
+import org.openmrs.module.reporting.common.DateUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Store of precomputed HIV care summaries, i.e. one row per patient holding the results of the summary calculations
+ * (ART start date, initial regimen, CD4 at ART start, last viral load, WHO stage, transfer in/out and death dates).
+ * Rows are computed for whole batches of patients in one calculation context, and are marked stale when the patient's
+ * encounters, obs, orders, program enrollments or demographics change (see the service advice classes) or the day
+ * changes. Stale rows are recomputed when next requested. Rows only hold detached values (dates, numbers, strings and
+ * ids), so entities are loaded in the requesting session when a result is read.
+ */
+@Component
+public class HivCareSummaryStore implements ContentManager {
+
+	protected static final Log log = LogFactory.getLog(HivCareSummaryStore.class);
+
+	/**
+	 * The calculations whose results make up each summary row
+	 */
+	public static final List<Class<? extends PatientCalculation>> SUMMARY_CALCULATIONS = Collections.unmodifiableList(Arrays.<Class<? extends PatientCalculation>>asList(
+			DateOfEnrollmentArtCalculation.class,
+			InitialArtStartDateCalculation.class,
+			InitialArtRegimenCalculation.class,
+			CurrentArtRegimenCalculation.class,
+			CD4AtARTInitiationCalculation.class,
+			WeightAtArtInitiationCalculation.class,
+			WhoStageAtArtStartCalculation.class,
+			LastWhoStageCalculation.class,
+			LastCd4CountCalculation.class,
+			LastCd4PercentageCalculation.class,
+			ViralLoadAndLdlCalculation.class,
+			TransferInDateCalculation.class,
+			TransferOutDateCalculation.class,
+			DateOfDeathCalculation.class
+	));
+
+	/**
+	 * Maximum number of patients whose summaries are computed in one calculation context
+	 */
+	private static final int BATCH_SIZE = 500;
+
+	/**
+	 * Maximum number of patients whose summaries are kept
+	 */
+	private static final int MAX_STORED_PATIENTS = 10000;
+
+	private Map<Integer, HivCareSummary> rows = new LinkedHashMap<Integer, HivCareSummary>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, HivCareSummary> eldest) {
+			return size() > MAX_STORED_PATIENTS;
+		}
+	};
+
+	private PatientVersions versions = new PatientVersions(MAX_STORED_PATIENTS);
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 200;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public synchronized void refresh() {
+		rows.clear(); // Calculations may have changed
+		versions.changedAll();
+	}
+
+	/**
+	 * Gets the summary of a single patient, computing it if it isn't stored or is stale
+	 * @param patientId the patient id
+	 * @return the summary
+	 */
+	public HivCareSummary getSummary(Integer patientId) {
+		return getSummaries(Collections.singleton(patientId)).get(patientId);
+	}
+
+	/**
+	 * Gets the summaries of a cohort of patients, computing those which aren't stored or are stale
+	 * @param cohort the patient ids
+	 * @return the summaries keyed by patient id
+	 */
+	public Map<Integer, HivCareSummary> getSummaries(Collection<Integer> cohort) {
+		Date today = DateUtil.getStartOfDay(new Date());
+
+		Map<Integer, HivCareSummary> ret = new HashMap<Integer, HivCareSummary>();
+		List<Integer> toCompute = new ArrayList<Integer>();
+		long version;
+
+		synchronized (this) {
+			version = versions.getCurrent();
+
+			for (Integer patientId : cohort) {
+				HivCareSummary row = rows.get(patientId);
+				if (row != null && !row.isStale() && row.computedOn.equals(today)) {
+					ret.put(patientId, row);
+				}
+				else {
+					toCompute.add(patientId);
+				}
+			}
+		}
+
+		PerformanceMonitor.recordCacheLookups("hivCareSummaries", ret.size(), toCompute.size());
+
+		for (int from = 0; from < toCompute.size(); from += BATCH_SIZE) {
+			List<Integer> batch = toCompute.subList(from, Math.min(from + BATCH_SIZE, toCompute.size()));
+			Map<Integer, HivCareSummary> computed = compute(batch, today);
+
+			// Rows of patients marked stale while they were being computed may hold old data so aren't kept
+			synchronized (this) {
+				for (Map.Entry<Integer, HivCareSummary> entry : computed.entrySet()) {
+					if (!versions.changedSince(entry.getKey(), version)) {
+						rows.put(entry.getKey(), entry.getValue());
+					}
+				}
+			}
+			ret.putAll(computed);
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Marks the summary of the given patient as stale so that it is recomputed when next requested. It is marked again
+	 * once the current transaction has committed, in case it was recomputed from the old data in the meantime.
+	 * @param patientId the patient id
+	 */
+	public void markStale(final Integer patientId) {
+		if (patientId != null) {
+			changed(patientId);
+
+			EmrUtils.runAfterCommit(new Runnable() {
+				@Override
+				public void run() {
+					changed(patientId);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Records a change to the given patient and marks their summary as stale
+	 * @param patientId the patient id
+	 */
+	protected synchronized void changed(Integer patientId) {
+		versions.changed(patientId);
+
+		HivCareSummary row = rows.get(patientId);
+		if (row != null) {
+			row.stale = true;
+		}
+	}
+
+	/**
+	 * Computes summaries for a batch of patients in one shared calculation context
+	 * @param batch the patient ids
+	 * @param today the start of today
+	 * @return the summaries keyed by patient id
+	 */
+	protected Map<Integer, HivCareSummary> compute(Collection<Integer> batch, Date today) {
+		long start = System.currentTimeMillis();
+
+		PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
+		Map<Class<? extends PatientCalculation>, CalculationResultMap> resultMaps = EmrCalculationUtils.evaluateForCohort(SUMMARY_CALCULATIONS, batch, context);
+
+		Map<Integer, HivCareSummary> computed = new HashMap<Integer, HivCareSummary>();
+		for (Integer patientId : batch) {
+			Map<Class<? extends PatientCalculation>, CalculationResult> results = new HashMap<Class<? extends PatientCalculation>, CalculationResult>();
+			for (Map.Entry<Class<? extends PatientCalculation>, CalculationResultMap> entry : resultMaps.entrySet()) {
+				results.put(entry.getKey(), entry.getValue().get(patientId));
+			}
+			computed.put(patientId, new HivCareSummary(today, results));
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Computed HIV care summaries for " + batch.size() + " patient(s) in " + (System.currentTimeMillis() - start) + "ms");
+		}
+
+		return computed;
+	}
+
+	/**
+	 * Precomputed HIV care summary of a single patient
+	 */
+	public static class HivCareSummary {
+
+		private final Date computedOn;
+		private final Map<Class<? extends PatientCalculation>, Object> values = new HashMap<Class<? extends PatientCalculation>, Object>();
+		private volatile boolean stale = false;
+
+		/**
+		 * Creates a summary from calculation results, keeping only detached copies of their values
+		 * @param computedOn the day on which the results were calculated
+		 * @param results the results keyed by calculation class
+		 */
+		public HivCareSummary(Date computedOn, Map<Class<? extends PatientCalculation>, CalculationResult> results) {
+			this.computedOn = computedOn;
+
+			for (Map.Entry<Class<? extends PatientCalculation>, CalculationResult> entry : results.entrySet()) {
+				if (entry.getValue() != null) {
+					values.put(entry.getKey(), detach(entry.getValue().getValue()));
+				}
+			}
+		}
+
+		/**
+		 * Gets the day on which this summary was computed
+		 * @return the day
+		 */
+		public Date getComputedOn() {
+			return computedOn;
+		}
+
+		/**
+		 * Gets whether the patient's data has changed since this summary was computed
+		 * @return true if stale
+		 */
+		public boolean isStale() {
+			return stale;
+		}
+
+		/**
+		 * Gets the result of one of the summary calculations
+		 * @param calculationClass the calculation class
+		 * @return the result (may be null)
+		 * @throws IllegalArgumentException if the calculation isn't one of the summary calculations
+		 */
+		public CalculationResult getResult(Class<? extends PatientCalculation> calculationClass) {
+			if (!SUMMARY_CALCULATIONS.contains(calculationClass)) {
+				throw new IllegalArgumentException(calculationClass.getSimpleName() + " is not a summary calculation");
+			}
+			return values.containsKey(calculationClass) ? new SimpleResult(attach(values.get(calculationClass)), null) : null;
+		}
+
+		/**
+		 * Gets the value of one of the summary calculations
+		 * @param calculationClass the calculation class
+		 * @return the value or null if the result is null or empty
+		 */
+		public <T> T getValue(Class<? extends PatientCalculation> calculationClass) {
+			CalculationResult result = getResult(calculationClass);
+			return result != null && !result.isEmpty() ? (T) result.getValue() : null;
+		}
+	}
+
+	/**
+	 * Converts a summary value to one which doesn't reference any entity or session
+	 * @param value the value
+	 * @return the detached value
+	 * @throws IllegalArgumentException if value is of a type which can't be detached
+	 */
+	protected static Object detach(Object value) {
+		if (value == null || value instanceof Number || value instanceof String || value instanceof Boolean) {
+			return value;
+		}
+		else if (value instanceof Date) {
+			return ((Date) value).clone(); // Keeps any java.sql subclass
+		}
+		else if (value instanceof Obs) {
+			return new ObsReference(((Obs) value).getObsId());
+		}
+		else if (value instanceof RegimenOrder) {
+			List<Integer> drugOrderIds = new ArrayList<Integer>();
+			for (DrugOrder drugOrder : ((RegimenOrder) value).getDrugOrders()) {
+				drugOrderIds.add(drugOrder.getOrderId());
+			}
+			return new RegimenReference(drugOrderIds);
+		}
+		else if (value instanceof Map) {
+			Map<Object, Object> detached = new LinkedHashMap<Object, Object>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				detached.put(detach(entry.getKey()), detach(entry.getValue()));
+			}
+			return detached;
+		}
+		throw new IllegalArgumentException("Can't store summary value of type " + value.getClass().getName());
+	}
+
+	/**
+	 * Converts a detached summary value back to its original type, loading any entities in the current session
+	 * @param value the detached value
+	 * @return the value
+	 */
+	protected static Object attach(Object value) {
+		if (value instanceof Date) {
+			return ((Date) value).clone();
+		}
+		else if (value instanceof ObsReference) {
+			return Context.getObsService().getObs(((ObsReference) value).obsId);
+		}
+		else if (value instanceof RegimenReference) {
+			Set<DrugOrder> drugOrders = new HashSet<DrugOrder>();
+			for (Integer drugOrderId : ((RegimenReference) value).drugOrderIds) {
+				drugOrders.add(Context.getOrderService().getOrder(drugOrderId, DrugOrder.class));
+			}
+			return new RegimenOrder(drugOrders);
+		}
+		else if (value instanceof Map) {
+			Map<Object, Object> attached = new LinkedHashMap<Object, Object>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				attached.put(attach(entry.getKey()), attach(entry.getValue()));
+			}
+			return attached;
+		}
+		return value;
+	}
+
+	/**
+	 * Detached reference to an obs
+	 */
+	private static class ObsReference {
+
+		private final Integer obsId;
+
+		public ObsReference(Integer obsId) {
+			this.obsId = obsId;
+		}
+	}
+
+	/**
+	 * Detached reference to the drug orders of a regimen
+	 */
+	private static class RegimenReference {
+
+		private final List<Integer> drugOrderIds;
+
+		public RegimenReference(List<Integer> drugOrderIds) {
+			this.drugOrderIds = drugOrderIds;
+		}
+	}
+}
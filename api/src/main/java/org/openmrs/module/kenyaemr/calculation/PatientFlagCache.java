@@ -0,0 +1,210 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.api.APIException;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.patient.PatientCalculationService;
+import org.openmrs.calculation.result.CalculationResult;
+import org.openmrs.module.kenyacore.ContentManager;
+import org.openmrs.module.kenyacore.calculation.PatientFlagCalculation;
+import org.openmrs.module.kenyaemr.util.EmrUtils;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
+import org.openmrs.module.reporting.common.DateUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of patient flag messages keyed by patient id. All flags for a patient are evaluated together in one shared
+ * calculation context, and the result is kept until the patient's encounters, obs, orders or program enrollments
+ * change (see the service advice classes) or the day changes. Flags evaluated while any patient was invalidated aren't
+ * cached, as they may have been evaluated from data which was about to change.
+ */
+@Component
+public class PatientFlagCache implements ContentManager {
+
+	protected static final Log log = LogFactory.getLog(PatientFlagCache.class);
+
+	/**
+	 * Maximum number of patients whose flags are kept
+	 */
+	private static final int MAX_CACHED_PATIENTS = 1000;
+
+	private Map<Integer, Entry> entries = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+			return size() > MAX_CACHED_PATIENTS;
+		}
+	};
+
+	private long invalidations = 0;
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 200;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public synchronized void refresh() {
+		entries.clear(); // Flag calculations may have changed
+		invalidations++;
+	}
+
+	/**
+	 * Gets the messages of all flags which are set for the given patient, evaluating them if they aren't cached
+	 * @param patientId the patient id
+	 * @param calculations the flag calculations
+	 * @return the flag messages
+	 * @throws FlagEvaluationException if any of the calculations fails
+	 */
+	public List<String> getFlagMessages(Integer patientId, Collection<PatientFlagCalculation> calculations) {
+		Date today = DateUtil.getStartOfDay(new Date());
+		long version;
+
+		synchronized (this) {
+			version = invalidations;
+
+			Entry entry = entries.get(patientId);
+			if (entry != null && entry.day.equals(today)) {
+				PerformanceMonitor.recordCacheLookups("patientFlags", 1, 0);
+				return entry.messages;
+			}
+		}
+
+		PerformanceMonitor.recordCacheLookups("patientFlags", 0, 1);
+
+		List<String> messages = Collections.unmodifiableList(evaluate(patientId, calculations));
+
+		synchronized (this) {
+			if (invalidations == version) {
+				entries.put(patientId, new Entry(today, messages));
+			}
+		}
+		return messages;
+	}
+
+	/**
+	 * Removes the cached flags of the given patient, now and again once the current transaction has committed
+	 * @param patientId the patient id
+	 */
+	public void invalidate(final Integer patientId) {
+		if (patientId != null) {
+			remove(patientId);
+
+			EmrUtils.runAfterCommit(new Runnable() {
+				@Override
+				public void run() {
+					remove(patientId);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Removes the cached flags of the given patient
+	 * @param patientId the patient id
+	 */
+	protected synchronized void remove(Integer patientId) {
+		entries.remove(patientId);
+		invalidations++;
+	}
+
+	/**
+	 * Evaluates flag calculations for a patient in one shared calculation context
+	 * @param patientId the patient id
+	 * @param calculations the flag calculations
+	 * @return the messages of the flags which are set
+	 */
+	protected List<String> evaluate(Integer patientId, Collection<PatientFlagCalculation> calculations) {
+		PatientCalculationService service = Context.getService(PatientCalculationService.class);
+		PatientCalculationContext context = service.createCalculationContext();
+		Date now = context.getNow();
+
+		List<String> messages = new ArrayList<String>();
+
+		for (PatientFlagCalculation calc : calculations) {
+			long start = System.currentTimeMillis();
+			try {
+				CalculationResult result = service.evaluate(Collections.singleton(patientId), calc, context).get(patientId);
+				if (result != null && (Boolean) result.getValue()) {
+					messages.add(calc.getFlagMessage());
+				}
+			}
+			catch (Exception ex) {
+				throw new FlagEvaluationException(calc, ex);
+			}
+
+			// Calculations are allowed to modify the context date so reset it for the next one
+			context.setNow(now);
+
+			if (log.isDebugEnabled()) {
+				log.debug("Evaluated " + calc.getClass().getSimpleName() + " for patient #" + patientId + " in " + (System.currentTimeMillis() - start) + "ms");
+			}
+		}
+
+		return messages;
+	}
+
+	/**
+	 * Cached flags of a single patient
+	 */
+	private static class Entry {
+
+		private final Date day;
+		private final List<String> messages;
+
+		public Entry(Date day, List<String> messages) {
+			this.day = day;
+			this.messages = messages;
+		}
+	}
+
+	/**
+	 * Thrown when a flag calculation fails
+	 */
+	public static class FlagEvaluationException extends APIException {
+
+		private final PatientFlagCalculation calculation;
+
+		public FlagEvaluationException(PatientFlagCalculation calculation, Throwable cause) {
+			super("Error evaluating " + calculation.getClass(), cause);
+			this.calculation = calculation;
+		}
+
+		/**
+		 * Gets the calculation which failed
+		 * @return the calculation
+		 */
+		public PatientFlagCalculation getCalculation() {
+			return calculation;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the version at which each patient was last changed, so that a store which computes patient data outside of
+ * its lock can tell whether a patient changed while their data was being computed. Only the most recent changes are
+ * remembered, and once a change has been forgotten every patient is treated as having changed since any earlier
+ * version. Not thread-safe, so should only be used while holding the owning store's lock.
+ */
+public class PatientVersions {
+
+	private final int maxRemembered;
+
+	private long current = 0;
+
+	private long forgotten = 0;
+
+	private final Map<Integer, Long> changes = new LinkedHashMap<Integer, Long>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+			if (size() > maxRemembered) {
+				forgotten = eldest.getValue();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * Creates a new version record
+	 * @param maxRemembered the maximum number of patient changes to remember
+	 */
+	public PatientVersions(int maxRemembered) {
+		this.maxRemembered = maxRemembered;
+	}
+
+	/**
+	 * Gets the current version
+	 * @return the version
+	 */
+	public long getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Records a change to the given patient
+	 * @param patientId the patient id
+	 */
+	public void changed(Integer patientId) {
+		changes.remove(patientId); // Keeps entries in version order
+		changes.put(patientId, ++current);
+	}
+
+	/**
+	 * Records a change to all patients
+	 */
+	public void changedAll() {
+		changes.clear();
+		forgotten = ++current;
+	}
+
+	/**
+	 * Checks whether the given patient has changed since the given version
+	 * @param patientId the patient id
+	 * @param version the version
+	 * @return true if patient may have changed
+	 */
+	public boolean changedSince(Integer patientId, long version) {
+		if (forgotten > version) {
+			return true;
+		}
+		Long changedAt = changes.get(patientId);
+		return changedAt != null && changedAt > version;
+	}
+}
@@ -0,0 +1,169 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.openmrs.RelationshipType;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.module.kenyaemr.metadata.CommonMetadata;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parent and guardian relationships of a cohort of patients, indexed by the id of the child or dependant. Built from
+ * the relationships loaded by {@link CohortDemographics} so no further queries are needed to find the mothers, fathers
+ * or guardians of patients in the cohort.
+ */
+public class RelationshipGraph {
+
+	private static final String CACHE_KEY = RelationshipGraph.class.getName();
+
+	public static final String PARENT_RELATIONSHIP = "Parent";
+
+	private final CohortDemographics demographics;
+
+	private final Map<Integer, Set<Integer>> parentsByChild = new HashMap<Integer, Set<Integer>>();
+
+	private final Map<Integer, Set<Integer>> guardiansByDependant = new HashMap<Integer, Set<Integer>>();
+
+	/**
+	 * Gets the relationship graph of a cohort of patients. This is cached in the calculation context so that other
+	 * calculations evaluated with the same context and cohort can reuse it. The graph covers every patient of the
+	 * cached demographics, which may be more than the given cohort.
+	 * @param cohort the patient ids
+	 * @param context the calculation context
+	 * @return the relationship graph
+	 */
+	public static RelationshipGraph forCohort(Collection<Integer> cohort, PatientCalculationContext context) {
+		CohortDemographics demographics = CohortDemographics.forCohort(cohort, context);
+
+		RelationshipGraph graph = (RelationshipGraph) context.getFromCache(CACHE_KEY);
+		if (graph == null || graph.demographics != demographics) {
+			graph = new RelationshipGraph(demographics);
+			context.addToCache(CACHE_KEY, graph);
+		}
+		return graph;
+	}
+
+	/**
+	 * Loads the relationship graph of a cohort of patients
+	 * @param cohort the patient ids
+	 * @return the relationship graph
+	 */
+	public static RelationshipGraph load(Collection<Integer> cohort) {
+		return new RelationshipGraph(CohortDemographics.load(cohort));
+	}
+
+	/**
+	 * Constructs the relationship graph of the patients whose demographics were loaded. A parent relationship may have
+	 * the parent as either person, according to which side of the relationship type is named "Parent". A guardian is
+	 * always person A.
+	 * @param demographics the demographics of the cohort
+	 */
+	protected RelationshipGraph(CohortDemographics demographics) {
+		this.demographics = demographics;
+
+		Map<Integer, RelationshipType> relationshipTypes = new HashMap<Integer, RelationshipType>();
+		for (RelationshipType type : Context.getPersonService().getAllRelationshipTypes(true)) {
+			relationshipTypes.put(type.getRelationshipTypeId(), type);
+		}
+
+		for (int ptId : demographics.getCohortIds()) {
+			for (int relationship : demographics.getRelationships(ptId)) {
+				RelationshipType type = relationshipTypes.get(demographics.getRelationshipTypeId(relationship));
+				int personA = demographics.getRelationshipPersonA(relationship);
+				int personB = demographics.getRelationshipPersonB(relationship);
+
+				if (PARENT_RELATIONSHIP.equals(type.getaIsToB()) && personB == ptId) {
+					addEdge(parentsByChild, personB, personA);
+				}
+				else if (PARENT_RELATIONSHIP.equals(type.getbIsToA()) && personA == ptId) {
+					addEdge(parentsByChild, personA, personB);
+				}
+				else if (CommonMetadata._RelationshipType.GUARDIAN_DEPENDANT.equals(type.getUuid()) && personB == ptId) {
+					addEdge(guardiansByDependant, personB, personA);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the mothers of a patient, i.e. parents who are female
+	 * @param childId the patient id
+	 * @return the person ids of the mothers
+	 */
+	public Set<Integer> getMothers(Integer childId) {
+		return getParents(childId, "F");
+	}
+
+	/**
+	 * Gets the fathers of a patient, i.e. parents who are male
+	 * @param childId the patient id
+	 * @return the person ids of the fathers
+	 */
+	public Set<Integer> getFathers(Integer childId) {
+		return getParents(childId, "M");
+	}
+
+	/**
+	 * Gets the guardians of a patient
+	 * @param dependantId the patient id
+	 * @return the person ids of the guardians
+	 */
+	public Set<Integer> getGuardians(Integer dependantId) {
+		Set<Integer> guardians = guardiansByDependant.get(dependantId);
+		return guardians != null ? Collections.unmodifiableSet(guardians) : Collections.<Integer>emptySet();
+	}
+
+	/**
+	 * Gets the parents of a patient of the given gender
+	 * @param childId the patient id
+	 * @param gender the gender
+	 * @return the person ids of the parents
+	 */
+	protected Set<Integer> getParents(Integer childId, String gender) {
+		Set<Integer> ret = new LinkedHashSet<Integer>();
+		Set<Integer> parents = parentsByChild.get(childId);
+		if (parents != null) {
+			for (Integer parentId : parents) {
+				if (gender.equals(demographics.getGender(parentId))) {
+					ret.add(parentId);
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Adds an edge to an adjacency map
+	 * @param adjacency the adjacency map
+	 * @param from the person id the edge is from
+	 * @param to the person id the edge is to
+	 */
+	private static void addEdge(Map<Integer, Set<Integer>> adjacency, Integer from, Integer to) {
+		Set<Integer> edges = adjacency.get(from);
+		if (edges == null) {
+			edges = new LinkedHashSet<Integer>();
+			adjacency.put(from, edges);
+		}
+		edges.add(to);
+	}
+}
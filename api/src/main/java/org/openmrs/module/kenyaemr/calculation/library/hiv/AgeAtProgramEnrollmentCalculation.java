@@ -1,10 +1,10 @@
 package org.openmrs.module.kenyaemr.calculation.library.hiv;
 
-import org.openmrs.api.context.Context;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
+import org.openmrs.module.kenyaemr.calculation.CohortDemographics;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.DateOfEnrollmentArtCalculation;
 import org.openmrs.module.reporting.common.Age;
@@ -22,11 +22,12 @@ public class AgeAtProgramEnrollmentCalculation extends AbstractPatientCalculatio
     public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
 
         CalculationResultMap dateEnrolled = calculate(new DateOfEnrollmentArtCalculation(), cohort, context);
+        CohortDemographics demographics = CohortDemographics.forCohort(cohort, context);
         CalculationResultMap ret = new CalculationResultMap();
         for(Integer ptId:cohort){
             Integer ageAtEnrollment = null;
             Date encounterDate = EmrCalculationUtils.resultForPatient(dateEnrolled, ptId);
-            Date birthDate = Context.getPatientService().getPatient(ptId).getBirthdate();
+            Date birthDate = demographics.getBirthdate(ptId);
 
             if (encounterDate != null && birthDate != null){
                 ageAtEnrollment = ageInYearsAtDate(birthDate, encounterDate);
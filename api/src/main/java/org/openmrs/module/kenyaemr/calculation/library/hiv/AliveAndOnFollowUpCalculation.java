@@ -6,7 +6,7 @@ import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Filters;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.library.MissedLastAppointmentCalculation;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
@@ -25,8 +25,8 @@ public class AliveAndOnFollowUpCalculation extends AbstractPatientCalculation {
 
         Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
 
-        Set<Integer> alive = Filters.alive(cohort, context);
-        Set<Integer> inHivProgram = Filters.inProgram(hivProgram, alive, context);
+        Set<Integer> alive = CachedCalculations.alive(cohort, context);
+        Set<Integer> inHivProgram = CachedCalculations.inProgram(hivProgram, alive, context);
 
         Set<Integer> ltfu = CalculationUtils.patientsThatPass(calculate(new LostToFollowUpCalculation(), cohort, context));
         Set<Integer> defaulted = CalculationUtils.patientsThatPass(calculate(new MissedLastAppointmentCalculation(), cohort, context));
@@ -17,8 +17,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.calculation.BaseEmrCalculation;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.library.DeceasedPatientsCalculation;
 
 import java.util.Collection;
@@ -34,7 +34,7 @@ public class AllPatientsCalculation extends BaseEmrCalculation {
 	@Override
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
 
-		Set<Integer> alive = Filters.alive(cohort, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
 		Set<Integer> deceased = CalculationUtils.patientsThatPass(calculate(new DeceasedPatientsCalculation(), cohort, context));
 		Set<Integer> aliveAndDeaths = new HashSet<Integer>();
 		aliveAndDeaths.addAll(alive);
@@ -9,9 +9,9 @@ import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.CoreUtils;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.HivConstants;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
@@ -33,11 +33,11 @@ public class Cd4DueDateCalculation extends AbstractPatientCalculation {
 
         Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
 
-        Set<Integer> alive = Filters.alive(cohort, context);
+        Set<Integer> alive = CachedCalculations.alive(cohort, context);
         CalculationResultMap inHivProgram = Calculations.firstEnrollments(hivProgram, alive, context);
 
-        CalculationResultMap lastObsCount = Calculations.lastObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
-        CalculationResultMap lastObsPercent = Calculations.lastObs(Dictionary.getConcept(Dictionary.CD4_PERCENT), cohort, context);
+        CalculationResultMap lastObsCount = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
+        CalculationResultMap lastObsPercent = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.CD4_PERCENT), cohort, context);
 
         for(Integer ptId: cohort) {
             Date dueDate = null;
@@ -10,8 +10,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.reporting.common.DateUtil;
 import org.openmrs.module.reporting.common.DurationUnit;
@@ -28,12 +28,12 @@ public class CtxFromAListOfMedicationOrdersCalculation extends AbstractPatientCa
 
         CalculationResultMap ret = new CalculationResultMap();
 
-        CalculationResultMap medOrdersObss = Calculations.allObs(Dictionary.getConcept(Dictionary.MEDICATION_ORDERS), cohort, context);
-        CalculationResultMap medDuration = Calculations.allObs(Dictionary.getConcept(Dictionary.MEDICATION_DURATION), cohort, context);
-        CalculationResultMap medDurationunits = Calculations.allObs(Dictionary.getConcept(Dictionary.DURATION_UNITS), cohort, context);
+        CalculationResultMap medOrdersObss = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.MEDICATION_ORDERS), cohort, context);
+        CalculationResultMap medDuration = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.MEDICATION_DURATION), cohort, context);
+        CalculationResultMap medDurationunits = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.DURATION_UNITS), cohort, context);
         Set<Integer> hasTCA = CalculationUtils.patientsThatPass(calculate(new NextOfVisitHigherThanContextCalculation(), cohort, context));
-        CalculationResultMap medicationDispensed = Calculations.lastObs(Dictionary.getConcept(Dictionary.COTRIMOXAZOLE_DISPENSED), cohort, context);
-        CalculationResultMap nextAppointmentMap = Calculations.lastObs(Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), cohort, context);
+        CalculationResultMap medicationDispensed = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.COTRIMOXAZOLE_DISPENSED), cohort, context);
+        CalculationResultMap nextAppointmentMap = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), cohort, context);
 
 
         Concept ctx = Dictionary.getConcept(Dictionary.SULFAMETHOXAZOLE_TRIMETHOPRIM);
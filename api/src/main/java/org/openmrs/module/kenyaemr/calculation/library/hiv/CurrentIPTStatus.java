@@ -5,8 +5,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -22,7 +22,7 @@ public class CurrentIPTStatus extends AbstractPatientCalculation {
 
 		CalculationResultMap ret = new CalculationResultMap();
 
-		CalculationResultMap lastIpt = Calculations.lastObs(Dictionary.getConcept(Dictionary.ISONIAZID_DISPENSED), cohort, context);
+		CalculationResultMap lastIpt = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.ISONIAZID_DISPENSED), cohort, context);
 
 		for(Integer ptId: cohort) {
 			boolean onINH = false;
@@ -14,8 +14,8 @@ import org.openmrs.module.kenyacore.CoreUtils;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.OnArtCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.models.PatientEligibility;
@@ -43,7 +43,7 @@ public class EligibleForArtDateAndReasonCalculation extends AbstractPatientCalcu
         Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
         Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 
-        Set<Integer> alive = Filters.alive(cohort, context);
+        Set<Integer> alive = CachedCalculations.alive(cohort, context);
         CalculationResultMap inHivProgram = Calculations.activeEnrollment(hivProgram, alive, context);
 
         // need to exclude those on ART already
@@ -56,17 +56,17 @@ public class EligibleForArtDateAndReasonCalculation extends AbstractPatientCalcu
         CalculationResultMap lastCd4 = calculate(new LastCd4CountCalculation(), cohort, context);
 
         //find hepatits status
-        CalculationResultMap hepatitisMap = Calculations.lastObs(Dictionary.getConcept(Dictionary.PROBLEM_ADDED), cohort, context);
+        CalculationResultMap hepatitisMap = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.PROBLEM_ADDED), cohort, context);
         //in tb program
         CalculationResultMap inTbProgram = Calculations.activeEnrollment(tbProgram, alive, context);
         //find those who have status for tb
-        CalculationResultMap tbStatus = Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
+        CalculationResultMap tbStatus = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
 
         //finding those at risk for hiv
-        CalculationResultMap hivRiskFactor = Calculations.allObs(Dictionary.getConcept(Dictionary.HIV_RISK_FACTOR), cohort, context);
+        CalculationResultMap hivRiskFactor = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.HIV_RISK_FACTOR), cohort, context);
 
         //find breast feeding map
-        CalculationResultMap breastFeedingMap = Calculations.lastObs(Dictionary.getConcept(Dictionary.INFANT_FEEDING_METHOD), cohort, context);
+        CalculationResultMap breastFeedingMap = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.INFANT_FEEDING_METHOD), cohort, context);
         Concept hepatitisB = Dictionary.getConcept(Dictionary.HEPATITIS_B);
         Concept acuteTypeBViralHepatitis = Dictionary.getConcept(Dictionary.ACUTE_TYPE_B_VIRAL_HEPATITIS);
         Concept acuteFulminatingTypeBViralHepatitis = Dictionary.getConcept(Dictionary.ACUTE_FULMINATING_TYPE_B_VIRAL_HEPATITIS);
@@ -74,11 +74,11 @@ public class EligibleForArtDateAndReasonCalculation extends AbstractPatientCalcu
 
 
         //pregnancy status
-        Set<Integer> aliveAndFemale = Filters.female(Filters.alive(cohort, context), context);
+        Set<Integer> aliveAndFemale = CachedCalculations.female(CachedCalculations.alive(cohort, context), context);
         EncounterType mchEnrollment = MetadataUtils.existing(EncounterType.class, MchMetadata._EncounterType.MCHMS_ENROLLMENT);
 
         Concept yes = Dictionary.getConcept(Dictionary.YES);
-        CalculationResultMap pregStatusObss = Calculations.lastObs(Dictionary.getConcept(Dictionary.PREGNANCY_STATUS), aliveAndFemale, context);
+        CalculationResultMap pregStatusObss = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.PREGNANCY_STATUS), aliveAndFemale, context);
         CalculationResultMap enrollmentMap = Calculations.lastEncounter(mchEnrollment, aliveAndFemale, context);
 
         for (Integer ptId : cohort) {
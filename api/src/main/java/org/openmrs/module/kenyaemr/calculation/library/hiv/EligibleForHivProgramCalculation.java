@@ -17,8 +17,8 @@ package org.openmrs.module.kenyaemr.calculation.library.hiv;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 import java.util.Collection;
 import java.util.Map;
@@ -32,7 +32,7 @@ public class EligibleForHivProgramCalculation extends AbstractPatientCalculation
 	@Override
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> params, PatientCalculationContext context) {
 		CalculationResultMap ret = new CalculationResultMap();
-		Set<Integer> alive = Filters.alive(cohort, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
 
 		for (int ptId : cohort) {
 			boolean eligible = alive.contains(ptId);
@@ -22,7 +22,7 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
-import org.openmrs.module.kenyacore.calculation.Filters;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 
@@ -44,7 +44,7 @@ public class InCareHasAtLeast2VisitsCalculation extends AbstractPatientCalculati
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> params, PatientCalculationContext context) {
 
 		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
-		Set<Integer> inHivProgram = Filters.inProgram(hivProgram, cohort, context);
+		Set<Integer> inHivProgram = CachedCalculations.inProgram(hivProgram, cohort, context);
 		CalculationResultMap ret = new CalculationResultMap();
 
 		for (Integer ptId: cohort){
@@ -10,6 +10,7 @@ import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.models.TransferInAndDate;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
@@ -32,8 +33,8 @@ public class IsTransferInAndHasDateCalculation extends AbstractPatientCalculatio
         Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
         CalculationResultMap enrollmentDateMap = Calculations.firstEnrollments(hivProgram, cohort, context);
 
-        CalculationResultMap transferInStatusMap = Calculations.lastObs(transferInStatus, cohort, context);
-        CalculationResultMap transferInDateMap = Calculations.lastObs(transferInDate, cohort, context);
+        CalculationResultMap transferInStatusMap = CachedCalculations.lastObs(transferInStatus, cohort, context);
+        CalculationResultMap transferInDateMap = CachedCalculations.lastObs(transferInDate, cohort, context);
 
         for(Integer ptId : cohort) {
             TransferInAndDate transferInAndDate = null;
@@ -17,8 +17,8 @@ package org.openmrs.module.kenyaemr.calculation.library.hiv;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 import java.util.Collection;
 import java.util.Map;
@@ -35,6 +35,6 @@ public class LastCd4CountCalculation extends AbstractPatientCalculation {
 	 */
 	@Override
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
-		return Calculations.lastObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
+		return CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
 	}
 }
\ No newline at end of file
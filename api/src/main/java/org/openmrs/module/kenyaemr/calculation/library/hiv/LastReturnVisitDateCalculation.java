@@ -8,8 +8,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
@@ -28,7 +28,7 @@ public class LastReturnVisitDateCalculation extends AbstractPatientCalculation {
 
         Concept returnVisitDateConcept = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
 
-        CalculationResultMap returnVisitDateMap = Calculations.lastObs(returnVisitDateConcept, cohort, context);
+        CalculationResultMap returnVisitDateMap = CachedCalculations.lastObs(returnVisitDateConcept, cohort, context);
 
         CalculationResultMap ret = new CalculationResultMap();
 
@@ -8,8 +8,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 import java.util.Collection;
 import java.util.Date;
@@ -26,7 +26,7 @@ public class LastReturnVisitDateNthPositionCalculation extends AbstractPatientCa
 
         Concept returnVisitDateConcept = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
 
-        CalculationResultMap returnVisitDateMap = Calculations.allObs(returnVisitDateConcept, cohort, context);
+        CalculationResultMap returnVisitDateMap = CachedCalculations.allObs(returnVisitDateConcept, cohort, context);
 
         CalculationResultMap ret = new CalculationResultMap();
         for(Integer ptId: cohort){
@@ -18,8 +18,8 @@ import org.openmrs.Concept;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 import java.util.Collection;
 import java.util.Map;
@@ -37,8 +37,8 @@ public class LastWhoStageCalculation extends AbstractPatientCalculation {
     public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
         Concept whoQuestion = Dictionary.getConcept(Dictionary.Initial_World_Health_Organization_HIV_stage);
         CalculationResultMap ret = new CalculationResultMap();
-        CalculationResultMap map1 = Calculations.lastObs(Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), cohort, context);
-        CalculationResultMap map2 = Calculations.lastObs(whoQuestion, cohort, context);
+        CalculationResultMap map1 = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), cohort, context);
+        CalculationResultMap map2 = CachedCalculations.lastObs(whoQuestion, cohort, context);
 
         if(map1 != null) {
             ret.putAll(map1);
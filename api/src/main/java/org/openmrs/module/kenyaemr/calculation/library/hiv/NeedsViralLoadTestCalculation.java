@@ -10,10 +10,9 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyacore.calculation.PatientFlagCalculation;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.InitialArtStartDateCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.OnArtCalculation;
@@ -47,31 +46,31 @@ public class NeedsViralLoadTestCalculation extends AbstractPatientCalculation im
     public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
         Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
 
-        Set<Integer> alive = Filters.alive(cohort, context);
-        Set<Integer> inHivProgram = Filters.inProgram(hivProgram, alive, context);
+        Set<Integer> alive = CachedCalculations.alive(cohort, context);
+        Set<Integer> inHivProgram = CachedCalculations.inProgram(hivProgram, alive, context);
 
-        Set<Integer> aliveAndFemale = Filters.female(Filters.alive(cohort, context), context);
+        Set<Integer> aliveAndFemale = CachedCalculations.female(CachedCalculations.alive(cohort, context), context);
 
         CalculationResultMap ret = new CalculationResultMap();
 
         // need to exclude those on ART already
         Set<Integer> onArt = CalculationUtils.patientsThatPass(calculate(new OnArtCalculation(), cohort, context));
         //find the observation for viral load recorded
-        CalculationResultMap viralLoad = Calculations.lastObs(Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), cohort, context);
+        CalculationResultMap viralLoad = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), cohort, context);
         //get a list of all the viral load
-        CalculationResultMap viralLoadList = Calculations.allObs(Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), cohort, context);
+        CalculationResultMap viralLoadList = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), cohort, context);
         //check for non detectables
-        CalculationResultMap ldlViralLoad = Calculations.allObs(Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD_QUALITATIVE), cohort, context);
+        CalculationResultMap ldlViralLoad = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD_QUALITATIVE), cohort, context);
 
         //check for test orders
-        CalculationResultMap testOrders = Calculations.allObs(Dictionary.getConcept(Dictionary.TESTS_ORDERED), cohort, context);
+        CalculationResultMap testOrders = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.TESTS_ORDERED), cohort, context);
 
         //check for last ldl
-        CalculationResultMap ldlLast = Calculations.lastObs(Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD_QUALITATIVE), cohort, context);
+        CalculationResultMap ldlLast = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD_QUALITATIVE), cohort, context);
 
         //find for prgnant females
 
-        CalculationResultMap pregStatusObss = Calculations.lastObs(Dictionary.getConcept(Dictionary.PREGNANCY_STATUS), aliveAndFemale, context);
+        CalculationResultMap pregStatusObss = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.PREGNANCY_STATUS), aliveAndFemale, context);
 
         //get the initial art start date
         CalculationResultMap artStartDate = calculate(new InitialArtStartDateCalculation(), cohort, context);
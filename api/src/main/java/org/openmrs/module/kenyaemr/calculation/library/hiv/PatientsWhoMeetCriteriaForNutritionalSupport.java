@@ -5,8 +5,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Calendar;
@@ -32,9 +32,9 @@ public class PatientsWhoMeetCriteriaForNutritionalSupport extends AbstractPatien
 		calendar.add(Calendar.MONTH, -6);
 
 		//find the last observations recorded for those concepts
-		CalculationResultMap weightMap = Calculations.lastObs(weight, cohort, context);
-		CalculationResultMap heightMap = Calculations.lastObs(height, cohort, context);
-		CalculationResultMap muacMap = Calculations.lastObs(muac, cohort, context);
+		CalculationResultMap weightMap = CachedCalculations.lastObs(weight, cohort, context);
+		CalculationResultMap heightMap = CachedCalculations.lastObs(height, cohort, context);
+		CalculationResultMap muacMap = CachedCalculations.lastObs(muac, cohort, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for(Integer ptId:cohort){
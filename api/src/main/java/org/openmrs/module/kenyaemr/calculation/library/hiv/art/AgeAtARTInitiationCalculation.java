@@ -13,12 +13,12 @@
  */
 package org.openmrs.module.kenyaemr.calculation.library.hiv.art;
 
-import org.openmrs.api.context.Context;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.patient.PatientCalculationService;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
+import org.openmrs.module.kenyaemr.calculation.CohortDemographics;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.reporting.common.Age;
 
@@ -48,10 +48,11 @@ public class AgeAtARTInitiationCalculation extends AbstractPatientCalculation {
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
 
 		CalculationResultMap artStartDateMap = calculate(new InitialArtStartDateCalculation(), cohort, context);
+		CohortDemographics demographics = CohortDemographics.forCohort(cohort, context);
 		CalculationResultMap ret = new CalculationResultMap();
 		for(Integer ptId:cohort){
 			Integer ageAtARTStart = null;
-			Date birthDate = Context.getPatientService().getPatient(ptId).getBirthdate();
+			Date birthDate = demographics.getBirthdate(ptId);
 			Date artStartDate = EmrCalculationUtils.datetimeResultForPatient(artStartDateMap, ptId);
 			if (artStartDate != null && birthDate != null){
 				ageAtARTStart = ageInYearsAtDate(birthDate, artStartDate);
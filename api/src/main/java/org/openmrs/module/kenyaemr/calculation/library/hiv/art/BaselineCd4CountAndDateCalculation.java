@@ -7,8 +7,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.models.Cd4ValueAndDate;
 import org.openmrs.module.reporting.common.DateUtil;
@@ -35,7 +35,7 @@ public class BaselineCd4CountAndDateCalculation extends AbstractPatientCalculati
         if(outcomePeriod != null) {
             context.setNow(DateUtil.adjustDate(context.getNow(), outcomePeriod, DurationUnit.MONTHS));
         }
-        CalculationResultMap allCd4 = Calculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
+        CalculationResultMap allCd4 = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
 
         for(Integer ptId: cohort) {
             Cd4ValueAndDate cd4ValueAndDate = null;
@@ -21,8 +21,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -53,7 +53,7 @@ public class CD4AtARTInitiationCalculation  extends AbstractPatientCalculation {
 
 		CalculationResultMap ret = new CalculationResultMap();
 		CalculationResultMap artStartDateMap = calculate(new InitialArtStartDateCalculation(), cohort, context);
-		CalculationResultMap cd4Counts = Calculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
+		CalculationResultMap cd4Counts = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
 		for(Integer ptId: cohort) {
 			SimpleResult result = null;
 			Date artStartDate = EmrCalculationUtils.datetimeResultForPatient(artStartDateMap, ptId);
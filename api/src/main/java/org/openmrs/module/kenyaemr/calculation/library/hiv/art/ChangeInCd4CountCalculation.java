@@ -7,8 +7,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.models.Cd4ValueAndDate;
 import org.openmrs.module.reporting.common.DateUtil;
@@ -70,7 +70,7 @@ public class ChangeInCd4CountCalculation extends AbstractPatientCalculation {
     }
     CalculationResultMap currentCd4(Collection<Integer> cohort, PatientCalculationContext context, Integer outcomePeriod){
         CalculationResultMap artInitiationDate = calculate(new InitialArtStartDateCalculation(), cohort, context);
-        CalculationResultMap allCd4s = Calculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
+        CalculationResultMap allCd4s = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
         CalculationResultMap ret = new CalculationResultMap();
         for (Integer ptId : cohort) {
             Date artInitiationDt = EmrCalculationUtils.datetimeResultForPatient(artInitiationDate, ptId);
@@ -14,18 +14,16 @@
 package org.openmrs.module.kenyaemr.calculation.library.hiv.art;
 
 import org.openmrs.Concept;
-import org.openmrs.DrugOrder;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
-import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
-import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.calculation.BaseEmrCalculation;
+import org.openmrs.module.kenyaemr.regimen.RegimenChange;
+import org.openmrs.module.kenyaemr.regimen.RegimenChangeHistory;
 import org.openmrs.module.kenyaemr.regimen.RegimenOrder;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Map;
 
 /**
@@ -41,14 +39,14 @@ public class CurrentArtRegimenCalculation extends BaseEmrCalculation {
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues,
 	                                     PatientCalculationContext context) {
 		Concept arvs = Dictionary.getConcept(Dictionary.ANTIRETROVIRAL_DRUGS);
-		CalculationResultMap currentARVDrugOrders = activeDrugOrders(arvs, cohort, context);
+		Map<Integer, RegimenChangeHistory> histories = RegimenChangeHistory.forCohort(cohort, arvs, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for (Integer ptId : cohort) {
-			ListResult patientDrugOrders = (ListResult) currentARVDrugOrders.get(ptId);
+			RegimenChange lastChange = histories.get(ptId).getLastChangeBeforeDate(context.getNow());
+			RegimenOrder regimen = (lastChange != null) ? lastChange.getStarted() : null;
 
-			if (patientDrugOrders != null) {
-				RegimenOrder regimen = new RegimenOrder(new HashSet<DrugOrder>(CalculationUtils.<DrugOrder>extractResultValues(patientDrugOrders)));
+			if (regimen != null) {
 				ret.put(ptId, new SimpleResult(regimen, this, context));
 			}
 			else {
@@ -12,8 +12,8 @@ import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.models.PatientEligibility;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
@@ -45,7 +45,7 @@ public class DaysFromArtEligibilityToArtInitiationCalculation extends AbstractPa
         Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
         CalculationResultMap ages = calculate(new AgeAtARTInitiationCalculation(), cohort, context);
 
-        Set<Integer> female = Filters.female(cohort, context);
+        Set<Integer> female = CachedCalculations.female(cohort, context);
 
         CalculationResultMap hivEnrollmenMap = Calculations.firstEnrollments(hivProgram, cohort, context);
         CalculationResultMap tbEnrollmentMap = Calculations.firstEnrollments(tbProgram, cohort, context);
@@ -58,20 +58,20 @@ public class DaysFromArtEligibilityToArtInitiationCalculation extends AbstractPa
         }
 
 
-        CalculationResultMap allWhoStage = Calculations.allObs(Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), cohort, context);
-        CalculationResultMap allWhoStageInitial = Calculations.allObs(Dictionary.getConcept(Dictionary.Initial_World_Health_Organization_HIV_stage), cohort, context);
-        CalculationResultMap allCd4 = Calculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
+        CalculationResultMap allWhoStage = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), cohort, context);
+        CalculationResultMap allWhoStageInitial = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.Initial_World_Health_Organization_HIV_stage), cohort, context);
+        CalculationResultMap allCd4 = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
         CalculationResultMap artStartDateMap = calculate(new InitialArtStartDateCalculation(), cohort, context);
         //find hepatits status
-        CalculationResultMap hepatitisMap = Calculations.lastObs(Dictionary.getConcept(Dictionary.PROBLEM_ADDED), cohort, context);
+        CalculationResultMap hepatitisMap = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.PROBLEM_ADDED), cohort, context);
 
         //find pregnant women
-        CalculationResultMap pregStatusObss = Calculations.lastObs(Dictionary.getConcept(Dictionary.PREGNANCY_STATUS), female, context);
+        CalculationResultMap pregStatusObss = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.PREGNANCY_STATUS), female, context);
         //finding those at risk for hiv
-        CalculationResultMap hivRiskFactor = Calculations.lastObs(Dictionary.getConcept(Dictionary.HIV_RISK_FACTOR), cohort, context);
+        CalculationResultMap hivRiskFactor = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.HIV_RISK_FACTOR), cohort, context);
 
         //find those who have status for tb
-        CalculationResultMap tbStatus = Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
+        CalculationResultMap tbStatus = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
 
         CalculationResultMap artInitiationDate = calculate(new InitialArtStartDateCalculation(), cohort, context);
 
@@ -22,9 +22,9 @@ import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyacore.calculation.PatientFlagCalculation;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.IsPregnantCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.LastCd4CountCalculation;
@@ -64,8 +64,8 @@ public class EligibleForArtCalculation extends AbstractPatientCalculation implem
 		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
 		Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inHivProgram = Filters.inProgram(hivProgram, alive, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inHivProgram = CachedCalculations.inProgram(hivProgram, alive, context);
 		Concept tca = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
 		
 		// need to exclude those on ART already
@@ -82,18 +82,18 @@ public class EligibleForArtCalculation extends AbstractPatientCalculation implem
 		CalculationResultMap lastCd4 = calculate(new LastCd4CountCalculation(), cohort, context);
 
 		//find hepatits status
-		CalculationResultMap hepatitisMap = Calculations.lastObs(Dictionary.getConcept(Dictionary.PROBLEM_ADDED), cohort, context);
+		CalculationResultMap hepatitisMap = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.PROBLEM_ADDED), cohort, context);
 		//in tb program
-		Set<Integer> inTbProgram = Filters.inProgram(tbProgram, alive, context);
+		Set<Integer> inTbProgram = CachedCalculations.inProgram(tbProgram, alive, context);
 		//find those who have status for tb
-		CalculationResultMap tbStatus = Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
+		CalculationResultMap tbStatus = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
 		//find pregnant women
 		Set<Integer> pregnantWomen = CalculationUtils.patientsThatPass(calculate(new IsPregnantCalculation(), cohort, context));
 		//finding those at risk for hiv
-		CalculationResultMap hivRiskFactor = Calculations.lastObs(Dictionary.getConcept(Dictionary.HIV_RISK_FACTOR), cohort, context);
+		CalculationResultMap hivRiskFactor = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.HIV_RISK_FACTOR), cohort, context);
 
 		//find breast feeding map
-		CalculationResultMap breastFeedingMap = Calculations.lastObs(Dictionary.getConcept(Dictionary.INFANT_FEEDING_METHOD), cohort, context);
+		CalculationResultMap breastFeedingMap = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.INFANT_FEEDING_METHOD), cohort, context);
 		Concept hepatitisB = Dictionary.getConcept(Dictionary.HEPATITIS_B);
 		Concept acuteTypeBViralHepatitis = Dictionary.getConcept(Dictionary.ACUTE_TYPE_B_VIRAL_HEPATITIS);
 		Concept acuteFulminatingTypeBViralHepatitis = Dictionary.getConcept(Dictionary.ACUTE_FULMINATING_TYPE_B_VIRAL_HEPATITIS);
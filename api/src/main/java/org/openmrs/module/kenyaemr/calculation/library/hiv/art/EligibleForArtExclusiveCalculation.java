@@ -8,8 +8,8 @@ import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.IsPregnantCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.LastCd4CountCalculation;
@@ -40,7 +40,7 @@ public class EligibleForArtExclusiveCalculation extends AbstractPatientCalculati
 		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
 		Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 
-		Set<Integer> inHivProgram = Filters.inProgram(hivProgram, cohort, context);
+		Set<Integer> inHivProgram = CachedCalculations.inProgram(hivProgram, cohort, context);
 
 		CalculationResultMap ages = Calculations.ages(cohort, context);
 
@@ -49,18 +49,18 @@ public class EligibleForArtExclusiveCalculation extends AbstractPatientCalculati
 		CalculationResultMap lastCd4Percent = calculate(new LastCd4PercentageCalculation(), cohort, context);
 
 		//find hepatits status
-		CalculationResultMap hepatitisMap = Calculations.lastObs(Dictionary.getConcept(Dictionary.PROBLEM_ADDED), cohort, context);
+		CalculationResultMap hepatitisMap = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.PROBLEM_ADDED), cohort, context);
 		//in tb program
-		Set<Integer> inTbProgram = Filters.inProgram(tbProgram, cohort, context);
+		Set<Integer> inTbProgram = CachedCalculations.inProgram(tbProgram, cohort, context);
 		//find those who have status for tb
-		CalculationResultMap tbStatus = Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
+		CalculationResultMap tbStatus = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
 		//find pregnant women
 		Set<Integer> pregnantWomen = CalculationUtils.patientsThatPass(calculate(new IsPregnantCalculation(), cohort, context));
 		//finding those at risk for hiv
-		CalculationResultMap hivRiskFactor = Calculations.lastObs(Dictionary.getConcept(Dictionary.HIV_RISK_FACTOR), cohort, context);
+		CalculationResultMap hivRiskFactor = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.HIV_RISK_FACTOR), cohort, context);
 		//DNA PCR
-		CalculationResultMap dnaPcrQualitative = Calculations.lastObs(Dictionary.getConcept(Dictionary.HIV_DNA_POLYMERASE_CHAIN_REACTION_QUALITATIVE), cohort, context);
-		CalculationResultMap dnaPcrReaction = Calculations.lastObs(Dictionary.getConcept(Dictionary.HIV_DNA_POLYMERASE_CHAIN_REACTION), cohort, context);
+		CalculationResultMap dnaPcrQualitative = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.HIV_DNA_POLYMERASE_CHAIN_REACTION_QUALITATIVE), cohort, context);
+		CalculationResultMap dnaPcrReaction = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.HIV_DNA_POLYMERASE_CHAIN_REACTION), cohort, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for (Integer ptId : cohort) {
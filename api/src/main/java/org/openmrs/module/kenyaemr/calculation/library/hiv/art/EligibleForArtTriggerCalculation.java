@@ -21,8 +21,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.ObsResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.util.EmrUtils;
 import org.openmrs.module.reporting.common.Age;
 import org.openmrs.util.OpenmrsUtil;
@@ -48,10 +48,10 @@ public class EligibleForArtTriggerCalculation extends AbstractPatientCalculation
 	                                     PatientCalculationContext context) {
 
 		// Gather all relevant obs that can be trigger events
-		CalculationResultMap confirmedPositives = Calculations.allObs(Dictionary.getConcept(Dictionary.DATE_OF_HIV_DIAGNOSIS), cohort, context);
-		CalculationResultMap whoStages = Calculations.allObs(Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), cohort, context);
-		CalculationResultMap cdCounts = Calculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
-		CalculationResultMap cdPercents = Calculations.allObs(Dictionary.getConcept(Dictionary.CD4_PERCENT), cohort, context);
+		CalculationResultMap confirmedPositives = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.DATE_OF_HIV_DIAGNOSIS), cohort, context);
+		CalculationResultMap whoStages = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), cohort, context);
+		CalculationResultMap cdCounts = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
+		CalculationResultMap cdPercents = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.CD4_PERCENT), cohort, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for (Integer ptId : cohort) {
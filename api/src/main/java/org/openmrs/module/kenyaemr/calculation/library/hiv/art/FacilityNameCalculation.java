@@ -9,8 +9,8 @@ import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 
@@ -29,7 +29,7 @@ public class FacilityNameCalculation extends AbstractPatientCalculation {
 
 		EncounterType hivEnrollment = MetadataUtils.existing(EncounterType.class, HivMetadata._EncounterType.HIV_ENROLLMENT);
 
-		Set<Integer> inHivProgram = Filters.inProgram(hivProgram, cohort, context);
+		Set<Integer> inHivProgram = CachedCalculations.inProgram(hivProgram, cohort, context);
 
 		CalculationResultMap havingHivEnrollment = Calculations.lastEncounter(hivEnrollment, cohort, context);
 
@@ -15,18 +15,16 @@
 package org.openmrs.module.kenyaemr.calculation.library.hiv.art;
 
 import org.openmrs.Concept;
-import org.openmrs.DrugOrder;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
-import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
-import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.calculation.BaseEmrCalculation;
+import org.openmrs.module.kenyaemr.regimen.RegimenChange;
+import org.openmrs.module.kenyaemr.regimen.RegimenChangeHistory;
 import org.openmrs.module.kenyaemr.regimen.RegimenOrder;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Map;
 
 /**
@@ -42,14 +40,22 @@ public class InitialArtRegimenCalculation extends BaseEmrCalculation {
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues,
 	                                     PatientCalculationContext context) {
 		Concept arvs = Dictionary.getConcept(Dictionary.ANTIRETROVIRAL_DRUGS);
-		CalculationResultMap initialARVDrugOrders = firstDrugOrders(arvs, cohort, context);
+		Map<Integer, RegimenChangeHistory> histories = RegimenChangeHistory.forCohort(cohort, arvs, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for (Integer ptId : cohort) {
-			ListResult patientDrugOrders = (ListResult) initialARVDrugOrders.get(ptId);
+			RegimenOrder regimen = null;
+			for (RegimenChange change : histories.get(ptId).getChanges()) {
+				if (change.getDate().after(context.getNow())) {
+					break;
+				}
+				if (change.getStarted() != null) {
+					regimen = change.getStarted();
+					break;
+				}
+			}
 
-			if (patientDrugOrders != null) {
-				RegimenOrder regimen = new RegimenOrder(new HashSet<DrugOrder>(CalculationUtils.<DrugOrder>extractResultValues(patientDrugOrders)));
+			if (regimen != null) {
 				ret.put(ptId, new SimpleResult(regimen, this, context));
 			}
 			else {
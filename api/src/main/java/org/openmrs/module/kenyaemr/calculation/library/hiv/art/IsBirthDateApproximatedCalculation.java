@@ -13,14 +13,12 @@
  */
 package org.openmrs.module.kenyaemr.calculation.library.hiv.art;
 
-import org.openmrs.Patient;
-import org.openmrs.api.context.Context;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.patient.PatientCalculationService;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
-import org.openmrs.module.reporting.common.Birthdate;
+import org.openmrs.module.kenyaemr.calculation.CohortDemographics;
 
 import java.util.Collection;
 import java.util.Map;
@@ -45,14 +43,10 @@ public class IsBirthDateApproximatedCalculation extends AbstractPatientCalculati
 	 */
 	@Override
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> params, PatientCalculationContext context) {
+		CohortDemographics demographics = CohortDemographics.forCohort(cohort, context);
 		CalculationResultMap ret = new CalculationResultMap();
 		for(Integer ptId:cohort){
-			boolean isEstimated = false;
-			Patient patient = Context.getPatientService().getPatient(ptId);
-			Birthdate birthdate = new Birthdate(patient.getBirthdate());
-			if(birthdate != null && patient.getBirthdateEstimated().equals(true)) {
-				isEstimated = true;
-			}
+			boolean isEstimated = demographics.isBirthdateEstimated(ptId);
 			ret.put(ptId, new BooleanResult(isEstimated, this, context));
 		}
 		return ret;
@@ -18,8 +18,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -34,7 +34,7 @@ public class LastCd4CountDateCalculation extends AbstractPatientCalculation {
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues,
 										 PatientCalculationContext context) {
 
-		CalculationResultMap lastCd4 = Calculations.lastObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
+		CalculationResultMap lastCd4 = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.CD4_COUNT), cohort, context);
 		CalculationResultMap result = new CalculationResultMap();
 		for (Integer ptId : cohort) {
 			Obs  cd4Obs = EmrCalculationUtils.obsResultForPatient(lastCd4, ptId);
@@ -4,7 +4,6 @@ import org.joda.time.DateTime;
 import org.joda.time.Days;
 import org.openmrs.Concept;
 import org.openmrs.Encounter;
-import org.openmrs.Obs;
 import org.openmrs.Visit;
 import org.openmrs.api.context.Context;
 import org.openmrs.calculation.patient.PatientCalculationContext;
@@ -12,14 +11,16 @@ import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.reporting.common.DateUtil;
 import org.openmrs.module.reporting.common.DurationUnit;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -44,8 +45,11 @@ public class LastReturnVisitDateArtAnalysisCalculation extends AbstractPatientCa
         }
 
 
-        Set<Integer> alive = Filters.alive(cohort, context);
+        Set<Integer> alive = CachedCalculations.alive(cohort, context);
         Concept RETURN_VISIT_DATE = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
+        KenyaEmrService kenyaEmrService = Context.getService(KenyaEmrService.class);
+        Map<Integer, List<Visit>> visitsByPatient = kenyaEmrService.getVisitsByPatients(cohort);
+        Map<Integer, Date> returnVisitDates = kenyaEmrService.getObsValueDatetimesByVisit(RETURN_VISIT_DATE, cohort);
         CalculationResultMap transferredOutMap = calculate(new TransferOutDateCalculation(), cohort, context);
         CalculationResultMap dateLastSeen = dateLastSeen(cohort, context);
 
@@ -53,7 +57,7 @@ public class LastReturnVisitDateArtAnalysisCalculation extends AbstractPatientCa
         for(Integer ptId: cohort) {
             Date artStartDate = EmrCalculationUtils.resultForPatient(initialArtStart, ptId);
             Date returnVisitDate = null;
-            List<Visit> allVisits = Context.getVisitService().getVisitsByPatient(Context.getPatientService().getPatient(ptId));
+            List<Visit> allVisits = visitsByPatient.containsKey(ptId) ? visitsByPatient.get(ptId) : Collections.<Visit>emptyList();
             List<Visit> requiredVisits = new ArrayList<Visit>();
             Date lastSeenDate = EmrCalculationUtils.datetimeResultForPatient(dateLastSeen, ptId);
             Date transferOutDate = EmrCalculationUtils.datetimeResultForPatient(transferredOutMap, ptId);
@@ -67,43 +71,18 @@ public class LastReturnVisitDateArtAnalysisCalculation extends AbstractPatientCa
                 }
                 if(requiredVisits.size() > 0) {
                     //pick the last visit
-                    Set<Encounter> lastVisitEncounters = requiredVisits.get(0).getEncounters();
-                    if(lastVisitEncounters.size() > 0) {
-                        Set<Obs> allObs;
-                        for(Encounter encounter: lastVisitEncounters) {
-                            allObs = encounter.getAllObs();
-                            for(Obs obs: allObs){
-                                if(obs.getConcept().equals(RETURN_VISIT_DATE)) {
-                                    returnVisitDate = obs.getValueDatetime();
-                                    break;
-                                }
-                            }
-                        }
-                        if(returnVisitDate != null && lastSeenDate != null && returnVisitDate.before(lastSeenDate)){
-                            returnVisitDate = null;
-                        }
+                    returnVisitDate = returnVisitDates.get(requiredVisits.get(0).getVisitId());
+                    if(returnVisitDate != null && lastSeenDate != null && returnVisitDate.before(lastSeenDate)){
+                        returnVisitDate = null;
                     }
                     if(returnVisitDate == null && requiredVisits.size() > 1){
                         Date lastVisitDate = requiredVisits.get(0).getStartDatetime();
                         Date priorVisitDate1 = requiredVisits.get(1).getStartDatetime();
                         int dayDiff = daysBetweenDates(lastVisitDate, priorVisitDate1);
                         //get the prior visit
-                        Set<Encounter> priorVisitEncounters = requiredVisits.get(1).getEncounters();
-                        Date priorReturnDate1 = null;
-                        if (priorVisitEncounters.size() > 0) {
-                            Set<Obs> allObs;
-                            for (Encounter encounter : priorVisitEncounters) {
-                                allObs = encounter.getAllObs();
-                                for (Obs obs : allObs) {
-                                    if (obs.getConcept().equals(RETURN_VISIT_DATE)) {
-                                        priorReturnDate1 = obs.getValueDatetime();
-                                        break;
-                                    }
-                                }
-                            }
-                            if (priorReturnDate1 != null) {
-                                returnVisitDate = DateUtil.adjustDate(priorReturnDate1, dayDiff, DurationUnit.DAYS);
-                            }
+                        Date priorReturnDate1 = returnVisitDates.get(requiredVisits.get(1).getVisitId());
+                        if (priorReturnDate1 != null) {
+                            returnVisitDate = DateUtil.adjustDate(priorReturnDate1, dayDiff, DurationUnit.DAYS);
                         }
                         if(returnVisitDate != null && lastSeenDate != null && returnVisitDate.before(lastSeenDate)){
                             returnVisitDate = DateUtil.adjustDate(lastSeenDate, 30, DurationUnit.DAYS);
@@ -17,7 +17,6 @@ import org.joda.time.DateTime;
 import org.joda.time.Days;
 import org.openmrs.Concept;
 import org.openmrs.Encounter;
-import org.openmrs.Obs;
 import org.openmrs.PatientProgram;
 import org.openmrs.Program;
 import org.openmrs.Visit;
@@ -29,9 +28,10 @@ import org.openmrs.module.kenyacore.CoreUtils;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
 import org.openmrs.module.kenyaemr.HivConstants;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.rdqa.DateOfDeathCalculation;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
@@ -44,6 +44,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -72,8 +73,9 @@ public class PatientPreArtOutComeCalculation extends AbstractPatientCalculation
 		CalculationResultMap onART = calculate(new InitialArtStartDateCalculation(), cohort, context);
 		CalculationResultMap deadPatients = calculate(new DateOfDeathCalculation(), cohort, context);
 		CalculationResultMap transferredOut = calculate(new TransferOutDateCalculation(), cohort, context);
-		CalculationResultMap defaulted = defaultedMap(cohort, context, outcomePeriod);
-		CalculationResultMap ltfu = ltfuMap(cohort, context, outcomePeriod);
+		CalculationResultMap returnVisitDateMap = returnVisitDate(cohort, context, outcomePeriod);
+		CalculationResultMap defaulted = defaultedMap(cohort, context, returnVisitDateMap);
+		CalculationResultMap ltfu = ltfuMap(cohort, context, returnVisitDateMap);
 
 		CalculationResultMap ret = new CalculationResultMap();
 
@@ -160,9 +162,8 @@ public class PatientPreArtOutComeCalculation extends AbstractPatientCalculation
 		 return  ret;
 	}
 
-	CalculationResultMap ltfuMap(Collection<Integer> cohort, PatientCalculationContext context, Integer period) {
+	CalculationResultMap ltfuMap(Collection<Integer> cohort, PatientCalculationContext context, CalculationResultMap resultMap) {
 		CalculationResultMap ret = new CalculationResultMap();
-		CalculationResultMap resultMap = returnVisitDate(cohort, context, period);
 		Set<Integer> isTransferOut = CalculationUtils.patientsThatPass(calculate(new IsTransferOutCalculation(), cohort, context));
 		for (Integer ptId : cohort) {
 			Date dateLost = null;
@@ -183,13 +184,16 @@ public class PatientPreArtOutComeCalculation extends AbstractPatientCalculation
 		CalculationResultMap enrolledHere = Calculations.firstEnrollments(hivProgram, cohort, context);
 		CalculationResultMap dateLastSeen = dateLastSeen(cohort, context);
 
-		Set<Integer> alive = Filters.alive(cohort, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
 		Concept RETURN_VISIT_DATE = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
+		KenyaEmrService kenyaEmrService = Context.getService(KenyaEmrService.class);
+		Map<Integer, List<Visit>> visitsByPatient = kenyaEmrService.getVisitsByPatients(cohort);
+		Map<Integer, Date> returnVisitDates = kenyaEmrService.getObsValueDatetimesByVisit(RETURN_VISIT_DATE, cohort);
 		Set<Integer> transferredOut = CalculationUtils.patientsThatPass(calculate(new IsTransferOutCalculation(), cohort, context));
 		for(Integer ptId: cohort) {
 			PatientProgram patientProgram = EmrCalculationUtils.resultForPatient(enrolledHere, ptId);
 			Date returnVisitDate = null;
-			List<Visit> allVisits = Context.getVisitService().getVisitsByPatient(Context.getPatientService().getPatient(ptId));
+			List<Visit> allVisits = visitsByPatient.containsKey(ptId) ? visitsByPatient.get(ptId) : Collections.<Visit>emptyList();
 			Date lastSeenDate = EmrCalculationUtils.datetimeResultForPatient(dateLastSeen, ptId);
 			List<Visit> requiredVisits = new ArrayList<Visit>();
 			if(alive.contains(ptId) && !(transferredOut.contains(ptId)) && period != null && patientProgram != null) {
@@ -202,22 +206,9 @@ public class PatientPreArtOutComeCalculation extends AbstractPatientCalculation
 				if (requiredVisits.size() > 0) {
 
 					//pick the last visit
-					Set<Encounter> lastVisitEncounters = requiredVisits.get(0).getEncounters();
-					if (lastVisitEncounters.size() > 0) {
-						Set<Obs> allObs;
-						for (Encounter encounter : lastVisitEncounters) {
-							allObs = encounter.getAllObs();
-							for (Obs obs : allObs) {
-								if (obs.getConcept().equals(RETURN_VISIT_DATE)) {
-									returnVisitDate = obs.getValueDatetime();
-									break;
-								}
-							}
-						}
-						if(returnVisitDate != null && lastSeenDate != null && returnVisitDate.before(lastSeenDate)){
-							returnVisitDate =null;
-
-						}
+					returnVisitDate = returnVisitDates.get(requiredVisits.get(0).getVisitId());
+					if(returnVisitDate != null && lastSeenDate != null && returnVisitDate.before(lastSeenDate)){
+						returnVisitDate = null;
 					}
 
 					if(returnVisitDate == null && requiredVisits.size() > 1){
@@ -225,22 +216,9 @@ public class PatientPreArtOutComeCalculation extends AbstractPatientCalculation
 						Date priorVisitDate1 = requiredVisits.get(1).getStartDatetime();
 						int dayDiff = daysBetweenDates(lastVisitDate, priorVisitDate1);
 						//get the prior visit
-						Set<Encounter> priorVisitEncounters = requiredVisits.get(1).getEncounters();
-						Date priorReturnDate1 = null;
-						if (priorVisitEncounters.size() > 0) {
-							Set<Obs> allObs;
-							for (Encounter encounter : priorVisitEncounters) {
-								allObs = encounter.getAllObs();
-								for (Obs obs : allObs) {
-									if (obs.getConcept().equals(RETURN_VISIT_DATE)) {
-										priorReturnDate1 = obs.getValueDatetime();
-										break;
-									}
-								}
-							}
-							if (priorReturnDate1 != null) {
-								returnVisitDate = DateUtil.adjustDate(priorReturnDate1, dayDiff, DurationUnit.DAYS);
-							}
+						Date priorReturnDate1 = returnVisitDates.get(requiredVisits.get(1).getVisitId());
+						if (priorReturnDate1 != null) {
+							returnVisitDate = DateUtil.adjustDate(priorReturnDate1, dayDiff, DurationUnit.DAYS);
 						}
 						if(returnVisitDate != null && lastSeenDate != null && returnVisitDate.before(lastSeenDate)){
 							returnVisitDate = DateUtil.adjustDate(lastSeenDate, 30, DurationUnit.DAYS);
@@ -256,9 +234,8 @@ public class PatientPreArtOutComeCalculation extends AbstractPatientCalculation
 		}
 		return ret;
 	}
-	CalculationResultMap defaultedMap(Collection<Integer> cohort, PatientCalculationContext context, Integer period) {
+	CalculationResultMap defaultedMap(Collection<Integer> cohort, PatientCalculationContext context, CalculationResultMap resultMap) {
 		CalculationResultMap ret = new CalculationResultMap();
-		CalculationResultMap resultMap = returnVisitDate(cohort, context, period);
 		Set<Integer> isTransferOut = CalculationUtils.patientsThatPass(calculate(new IsTransferOutCalculation(), cohort, context));
 		for (Integer ptId : cohort) {
 			Date dateDefaulted = null;
@@ -21,10 +21,9 @@ import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -44,12 +43,12 @@ public class PregnantAtArtStartCalculation extends AbstractPatientCalculation {
 	@Override
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
 
-		Set<Integer> female = Filters.female(cohort, context);
+		Set<Integer> female = CachedCalculations.female(cohort, context);
 
 		Concept yes = Dictionary.getConcept(Dictionary.YES);
 		Concept pregnancyStatus = Dictionary.getConcept(Dictionary.PREGNANCY_STATUS);
 		CalculationResultMap artStartDates = calculate(new InitialArtStartDateCalculation(), female, context);
-		CalculationResultMap pregnancyObss = Calculations.allObs(pregnancyStatus, female, context);
+		CalculationResultMap pregnancyObss = CachedCalculations.allObs(pregnancyStatus, female, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for (Integer ptId : cohort) {
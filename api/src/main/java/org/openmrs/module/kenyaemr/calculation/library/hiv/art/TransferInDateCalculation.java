@@ -20,8 +20,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -42,9 +42,9 @@ public class TransferInDateCalculation extends AbstractPatientCalculation {
 
 		Concept transferInDate = Dictionary.getConcept(Dictionary.TRANSFER_IN_DATE);
 		Concept transferInStatus = Dictionary.getConcept(Dictionary.TRANSFER_IN);
-		CalculationResultMap transferInStatusResults = Calculations.lastObs(transferInStatus,cohort,context);
+		CalculationResultMap transferInStatusResults = CachedCalculations.lastObs(transferInStatus,cohort,context);
 
-		CalculationResultMap transferInDateResults = Calculations.lastObs(transferInDate, cohort, context);
+		CalculationResultMap transferInDateResults = CachedCalculations.lastObs(transferInDate, cohort, context);
 
 		CalculationResultMap result = new CalculationResultMap();
 		for (Integer ptId : cohort) {
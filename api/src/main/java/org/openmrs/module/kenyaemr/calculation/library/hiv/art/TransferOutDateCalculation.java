@@ -19,8 +19,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -43,8 +43,8 @@ public class TransferOutDateCalculation extends AbstractPatientCalculation {
 		Concept transferOutDate = Dictionary.getConcept(Dictionary.DATE_TRANSFERRED_OUT);
 		Concept discontinueQuestion = Dictionary.getConcept(Dictionary.REASON_FOR_PROGRAM_DISCONTINUATION);
 		Concept transferOut = Dictionary.getConcept(Dictionary.TRANSFERRED_OUT);
-		CalculationResultMap transferOutDateResults = Calculations.lastObs(transferOutDate, cohort, context);
-		CalculationResultMap discontinueObs = Calculations.lastObs(discontinueQuestion, cohort, context);
+		CalculationResultMap transferOutDateResults = CachedCalculations.lastObs(transferOutDate, cohort, context);
+		CalculationResultMap discontinueObs = CachedCalculations.lastObs(discontinueQuestion, cohort, context);
 
 		CalculationResultMap result = new CalculationResultMap();
 		for(int ptId : cohort){
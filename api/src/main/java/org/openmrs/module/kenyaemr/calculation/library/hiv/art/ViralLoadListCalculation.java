@@ -8,8 +8,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -29,7 +29,7 @@ public class ViralLoadListCalculation extends AbstractPatientCalculation {
 
 		CalculationResultMap ret = new CalculationResultMap();
 		Concept HIV_VIRAL_LOAD = Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD);
-		CalculationResultMap patientsVL = Calculations.allObs(HIV_VIRAL_LOAD, cohort, context);
+		CalculationResultMap patientsVL = CachedCalculations.allObs(HIV_VIRAL_LOAD, cohort, context);
 
 		for (Integer ptId : cohort) {
 
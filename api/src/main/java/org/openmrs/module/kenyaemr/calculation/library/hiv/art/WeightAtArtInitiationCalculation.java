@@ -8,8 +8,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -30,7 +30,7 @@ public class WeightAtArtInitiationCalculation extends AbstractPatientCalculation
 
         Concept currentWeight = Dictionary.getConcept(Dictionary.WEIGHT_KG);
         CalculationResultMap artStartDates = calculate(new InitialArtStartDateCalculation(), cohort, context);
-        CalculationResultMap weightObss = Calculations.allObs(currentWeight, cohort, context);
+        CalculationResultMap weightObss = CachedCalculations.allObs(currentWeight, cohort, context);
 
         CalculationResultMap ret = new CalculationResultMap();
         for (Integer ptId : cohort) {
@@ -22,8 +22,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.util.EmrUtils;
 
@@ -45,7 +45,7 @@ public class WhoStageAtArtStartCalculation extends AbstractPatientCalculation {
 
 		Concept currentWhoStage = Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE);
 		CalculationResultMap artStartDates = calculate(new InitialArtStartDateCalculation(), cohort, context);
-		CalculationResultMap whoStageObss = Calculations.allObs(currentWhoStage, cohort, context);
+		CalculationResultMap whoStageObss = CachedCalculations.allObs(currentWhoStage, cohort, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for (Integer ptId : cohort) {
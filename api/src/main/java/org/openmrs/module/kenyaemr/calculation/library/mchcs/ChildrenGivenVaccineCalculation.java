@@ -14,8 +14,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 public class ChildrenGivenVaccineCalculation extends AbstractPatientCalculation {
 	private final static Logger logger = Logger.getLogger(ChildrenGivenVaccineCalculation.class);
@@ -35,7 +35,7 @@ public class ChildrenGivenVaccineCalculation extends AbstractPatientCalculation
 		logger.info("Getting children vaccine with Parameter values " + parameterValues.toString());
 
 		CalculationResultMap ret = new CalculationResultMap();
-		CalculationResultMap immunizationsHistoryObsMap = Calculations.allObs(immunizationsHistoryConcept, cohort, context);
+		CalculationResultMap immunizationsHistoryObsMap = CachedCalculations.allObs(immunizationsHistoryConcept, cohort, context);
 
 		for (Integer ptId : cohort) {
 
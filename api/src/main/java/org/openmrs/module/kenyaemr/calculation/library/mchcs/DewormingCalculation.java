@@ -18,9 +18,8 @@ import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.metadata.MchMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
@@ -38,11 +37,11 @@ public class DewormingCalculation extends AbstractPatientCalculation {
 		Program mchcsProgram = MetadataUtils.existing(Program.class, MchMetadata._Program.MCHCS);
 
 		// Get all patients who are alive and in MCH-CS program
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inMchcsProgram = Filters.inProgram(mchcsProgram, alive, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inMchcsProgram = CachedCalculations.inProgram(mchcsProgram, alive, context);
 
 		// Get medicatio orders
-		CalculationResultMap medicationOrders = Calculations.allObs(Dictionary.getConcept(Dictionary.MEDICATION_ORDERS),
+		CalculationResultMap medicationOrders = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.MEDICATION_ORDERS),
 				inMchcsProgram, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
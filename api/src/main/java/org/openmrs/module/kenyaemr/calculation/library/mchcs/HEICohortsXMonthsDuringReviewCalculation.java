@@ -14,12 +14,11 @@
 
 package org.openmrs.module.kenyaemr.calculation.library.mchcs;
 
-import org.openmrs.api.PatientService;
-import org.openmrs.api.context.Context;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
+import org.openmrs.module.kenyaemr.calculation.CohortDemographics;
 
 import java.util.Calendar;
 import java.util.Collection;
@@ -42,7 +41,7 @@ public class HEICohortsXMonthsDuringReviewCalculation extends AbstractPatientCal
 
 		Integer turnedMonths = (Integer)parameterValues.get("turnedMonths"); // age (in months) of interest
 		Integer reviewMonths = (Integer)parameterValues.get("reviewMonths"); // no of months ago within which search should consider
-		PatientService service = Context.getPatientService();
+		CohortDemographics demographics = CohortDemographics.forCohort(cohort, context);
 
 		Calendar upper_boundary = setCalendarTime(context.getNow());
 
@@ -51,7 +50,7 @@ public class HEICohortsXMonthsDuringReviewCalculation extends AbstractPatientCal
 
 		for (Integer ptId : cohort) {
 			boolean eligibility = false;
-			Date dob = service.getPatient(ptId).getBirthdate();
+			Date dob = demographics.getBirthdate(ptId);
 
 			if (dob != null) {
 
@@ -20,10 +20,9 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.metadata.MchMetadata;
 
@@ -45,11 +44,11 @@ public class InfantFeedingOptionsCalculation extends AbstractPatientCalculation
 		Program mchcsProgram = MetadataUtils.existing(Program.class, MchMetadata._Program.MCHCS);
 
 		// Get all patients who are alive and in MCH-CS program
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inMchcsProgram = Filters.inProgram(mchcsProgram, alive, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inMchcsProgram = CachedCalculations.inProgram(mchcsProgram, alive, context);
 
 		// Get whether  the child has a feeding option
-		CalculationResultMap lastChildFeedingOption = Calculations.lastObs(Dictionary.getConcept(Dictionary.INFANT_FEEDING_METHOD), inMchcsProgram, context);
+		CalculationResultMap lastChildFeedingOption = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.INFANT_FEEDING_METHOD), inMchcsProgram, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 
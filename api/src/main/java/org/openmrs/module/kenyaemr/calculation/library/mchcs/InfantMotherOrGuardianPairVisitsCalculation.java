@@ -23,11 +23,11 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
+import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
+import org.openmrs.module.kenyaemr.calculation.RelationshipGraph;
 
-import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -49,58 +49,51 @@ public class InfantMotherOrGuardianPairVisitsCalculation extends AbstractPatient
 		Integer reviewPeriod = (Integer)parameterValues.get("reviewPeriod");
 		params.put("reviewPeriod", reviewPeriod);
 
-		CalculationResultMap motherGuardianVisits = Context.getService(PatientCalculationService.class).evaluate(cohort, new MotherGuardianVisitsCalculation(), params, context );
-		CalculationResultMap infantVisits = Context.getService(PatientCalculationService.class).evaluate(cohort, new VisitsWithinAPeriodCalculation(), params, context );
-		CalculationResultMap infantRelations = calculate(new InfantMotherGuardianRelationsCalculation(), cohort, context);
+		RelationshipGraph graph = RelationshipGraph.forCohort(cohort, context);
 
-		//extract infant and mother/guardian ids from calculation map
-		Set<Integer> infantIds = infantVisits.keySet();
+		// collect mothers/guardians of every cohort member so visits of infants and mothers/guardians are fetched together
+		Map<Integer, Set<Integer>> motherGuardianIds = new HashMap<Integer, Set<Integer>>();
+		Set<Integer> allIds = new HashSet<Integer>(cohort);
+		for (Integer ptid : cohort) {
+			Set<Integer> ids = new HashSet<Integer>(graph.getMothers(ptid));
+			ids.addAll(graph.getGuardians(ptid));
+			motherGuardianIds.put(ptid, ids);
+			allIds.addAll(ids);
+		}
+
+		CalculationResultMap allVisits = Context.getService(PatientCalculationService.class).evaluate(allIds, new VisitsWithinAPeriodCalculation(), params, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for (Integer ptid : cohort){
-			// create containers for infant and mother/guardian visits for every cohort member
-			Set<Date> infantVisitDates = new HashSet<Date>();
-			Set<Date> motherVisitDates = new HashSet<Date>();
-
-			boolean result = false;
-			if (infantIds.contains(ptid)){
-				ListResult infantData = (ListResult)infantVisits.get(ptid);
-				List<Visit> ivisits = CalculationUtils.extractResultValues(infantData);
-				for (Visit iv: ivisits){
-					infantVisitDates.add(extractDateFromDateTime(iv.getStartDatetime()));
-				}
-
-				Set<Integer> mother_guardian_ids = (Set<Integer>)infantRelations.get(ptid).getValue();
-
-				for(Integer id : mother_guardian_ids) {
-					ListResult mother_visits_data = (ListResult)motherGuardianVisits.get(id);
-					List<Visit> mother_visits = CalculationUtils.extractResultValues(mother_visits_data);
-
-					for (Visit mv : mother_visits){
-						motherVisitDates.add(extractDateFromDateTime(mv.getStartDatetime()));
-					}
-				}
-
-				if (!Collections.disjoint(infantVisitDates, motherVisitDates)){
-					result = true;
-				}
-				ret.put(ptid, new BooleanResult(result, this));
+			// compare visit days as day numbers rather than dates
+			Set<Integer> infantVisitDays = visitDays(allVisits, ptid);
+			Set<Integer> motherVisitDays = new HashSet<Integer>();
 
+			for (Integer id : motherGuardianIds.get(ptid)) {
+				motherVisitDays.addAll(visitDays(allVisits, id));
 			}
+
+			ret.put(ptid, new BooleanResult(!Collections.disjoint(infantVisitDays, motherVisitDays), this));
 		}
-		
-		CalculationUtils.ensureEmptyListResults(ret, cohort);
+
 		return ret;
 	}
 
-	private Date extractDateFromDateTime(Date date){
-		Calendar cal = Calendar.getInstance();
-		cal.setTime(date);
-		cal.clear(Calendar.HOUR);
-		cal.clear(Calendar.MINUTE);
-		cal.clear(Calendar.MILLISECOND);
-		return cal.getTime();
-
+	/**
+	 * Gets the days of the visits of a patient
+	 * @param visits the visit results
+	 * @param ptId the patient id
+	 * @return the visit days
+	 */
+	private Set<Integer> visitDays(CalculationResultMap visits, Integer ptId) {
+		Set<Integer> days = new HashSet<Integer>();
+		ListResult data = (ListResult) visits.get(ptId);
+		if (data != null) {
+			List<Visit> patientVisits = CalculationUtils.extractResultValues(data);
+			for (Visit visit : patientVisits) {
+				days.add(EmrCalculationUtils.epochDay(visit.getStartDatetime()));
+			}
+		}
+		return days;
 	}
-
 }
@@ -23,8 +23,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 import java.util.Calendar;
 import java.util.Collection;
@@ -45,7 +45,7 @@ public class InfantsDNAPCRCalculation extends AbstractPatientCalculation {
 
 
 		// Get whether  the child has dna pcr test obs
-		CalculationResultMap infantsWithDNAPCR = Calculations.allObs(Dictionary.getConcept(Dictionary.HIV_DNA_POLYMERASE_CHAIN_REACTION),cohort, context);
+		CalculationResultMap infantsWithDNAPCR = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.HIV_DNA_POLYMERASE_CHAIN_REACTION),cohort, context);
 		CalculationResultMap ret = new CalculationResultMap();
 
 		//get param val for age
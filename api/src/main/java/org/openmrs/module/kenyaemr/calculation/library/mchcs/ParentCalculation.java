@@ -4,14 +4,14 @@ import java.util.Collection;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
-import org.openmrs.Patient;
 import org.openmrs.Person;
-import org.openmrs.Relationship;
+import org.openmrs.RelationshipType;
 import org.openmrs.api.context.Context;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
+import org.openmrs.module.kenyaemr.calculation.CohortDemographics;
 
 public class ParentCalculation extends AbstractPatientCalculation {
 	private final static Logger logger = Logger.getLogger(ChildrenGivenVaccineCalculation.class);
@@ -28,26 +28,29 @@ public class ParentCalculation extends AbstractPatientCalculation {
 
 		CalculationResultMap ret = new CalculationResultMap();
 
+		CohortDemographics demographics = CohortDemographics.forCohort(cohort, context);
+
 		for (Integer ptId : cohort) {
 			Person parentObj = null;
 
-			Patient patient = Context.getPatientService().getPatient(ptId);
-			parentSearch: for (Relationship relationship : Context.getPersonService().getRelationshipsByPerson(patient)) {
+			parentSearch: for (int relationship : demographics.getRelationships(ptId)) {
+				RelationshipType relationshipType = Context.getPersonService().getRelationshipType(demographics.getRelationshipTypeId(relationship));
+				int personB = demographics.getRelationshipPersonB(relationship);
 				logger.info("Relationship found. Enumerating ...");
-				logger.info("Relationship type. " + relationship.getRelationshipType().getbIsToA());
+				logger.info("Relationship type. " + relationshipType.getbIsToA());
 				
-				if (relationship.getRelationshipType().getbIsToA().toLowerCase().equals("parent")) {
+				if (relationshipType.getbIsToA().toLowerCase().equals("parent")) {
 					if (this.parentToSearch.equals("Father")) {
 						
-						if (relationship.getPersonB().getGender().equals("M")) {
-							parentObj = relationship.getPersonB();
+						if ("M".equals(demographics.getGender(personB))) {
+							parentObj = Context.getPersonService().getPerson(personB);
 							break parentSearch;
 						}
 						
 					} else if (this.parentToSearch.equals("Mother")) {
 						
-						if (relationship.getPersonB().getGender().equals("F")) {
-							parentObj = relationship.getPersonB();
+						if ("F".equals(demographics.getGender(personB))) {
+							parentObj = Context.getPersonService().getPerson(personB);
 							break parentSearch;
 						}
 
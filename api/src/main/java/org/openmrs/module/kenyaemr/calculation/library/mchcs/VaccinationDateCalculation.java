@@ -15,8 +15,8 @@ import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 public class VaccinationDateCalculation extends AbstractPatientCalculation{
 	private final static Logger logger = Logger.getLogger(ChildrenGivenVaccineCalculation.class);
@@ -40,7 +40,7 @@ public class VaccinationDateCalculation extends AbstractPatientCalculation{
 		Concept vaccinationSequenceNumberConcept = Dictionary.getConcept(Dictionary.IMMUNIZATION_SEQUENCE_NUMBER);
 		
 		CalculationResultMap ret = new CalculationResultMap();
-		CalculationResultMap immunizationsHistoryObsMap = Calculations.allObs(immunizationsHistoryConcept, cohort, context);
+		CalculationResultMap immunizationsHistoryObsMap = CachedCalculations.allObs(immunizationsHistoryConcept, cohort, context);
 
 		for (Integer ptId : cohort) {
 
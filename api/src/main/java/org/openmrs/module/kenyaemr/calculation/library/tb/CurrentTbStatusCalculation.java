@@ -5,8 +5,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -22,7 +22,7 @@ public class CurrentTbStatusCalculation extends AbstractPatientCalculation {
 
 		CalculationResultMap ret = new CalculationResultMap();
 		Concept tbDiseaseStatus = Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS);
-		CalculationResultMap tbStatus = Calculations.lastObs(tbDiseaseStatus, cohort, context);
+		CalculationResultMap tbStatus = CachedCalculations.lastObs(tbDiseaseStatus, cohort, context);
 
 		for(Integer ptId:cohort) {
 			Concept value = null;
@@ -22,8 +22,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.metadata.TbMetadata;
 
 /**
@@ -36,6 +36,6 @@ public class InTbProgramCalculation extends AbstractPatientCalculation {
 	 */
 	@Override
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> params, PatientCalculationContext context) {
-		return passing(Calculations.activeEnrollment(MetadataUtils.existing(Program.class, TbMetadata._Program.TB), Filters.alive(cohort, context), context));
+		return passing(Calculations.activeEnrollment(MetadataUtils.existing(Program.class, TbMetadata._Program.TB), CachedCalculations.alive(cohort, context), context));
 	}
 }
\ No newline at end of file
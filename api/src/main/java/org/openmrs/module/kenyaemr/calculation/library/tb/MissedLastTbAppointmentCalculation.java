@@ -8,9 +8,9 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.calculation.BaseEmrCalculation;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.metadata.TbMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
@@ -42,9 +42,9 @@ public class MissedLastTbAppointmentCalculation extends BaseEmrCalculation imple
 
 		Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inTbProgram = Filters.inProgram(tbProgram, alive, context);
-		CalculationResultMap lastReturnDateObss = Calculations.lastObs(Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), inTbProgram, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inTbProgram = CachedCalculations.inProgram(tbProgram, alive, context);
+		CalculationResultMap lastReturnDateObss = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), inTbProgram, context);
 		CalculationResultMap lastEncounters = Calculations.lastEncounter(MetadataUtils.existing(EncounterType.class, TbMetadata._EncounterType.TB_CONSULTATION), inTbProgram, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
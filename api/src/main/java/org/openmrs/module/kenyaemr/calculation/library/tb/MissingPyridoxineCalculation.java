@@ -14,10 +14,9 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyacore.calculation.PatientFlagCalculation;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.metadata.TbMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 
@@ -35,12 +34,12 @@ public class MissingPyridoxineCalculation extends AbstractPatientCalculation imp
 		Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 		
 		// Get all patients who are alive and initiated into IPT
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inTbProgram = Filters.inProgram(tbProgram, alive, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inTbProgram = CachedCalculations.inProgram(tbProgram, alive, context);
 		
 		Concept pyridoxine = Dictionary.getConcept(Dictionary.PYRIDOXINE);
 				
-		CalculationResultMap nutritionSupportObs = Calculations.allObs(Dictionary.getConcept(Dictionary.NUTRITIONAL_SUPPORT), inTbProgram, context); 	
+		CalculationResultMap nutritionSupportObs = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.NUTRITIONAL_SUPPORT), inTbProgram, context); 	
 		CalculationResultMap ret = new CalculationResultMap();
 		
 		for(Integer ptId: cohort){
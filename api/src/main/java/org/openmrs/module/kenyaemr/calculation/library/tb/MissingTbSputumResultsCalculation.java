@@ -24,12 +24,11 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.ObsResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyacore.calculation.PatientFlagCalculation;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.metadata.TbMetadata;
 
 /**
@@ -58,14 +57,14 @@ public class MissingTbSputumResultsCalculation extends AbstractPatientCalculatio
 		Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 
 		// Get all patients who are alive and in TB program
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inTbProgram = Filters.inProgram(tbProgram, alive, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inTbProgram = CachedCalculations.inProgram(tbProgram, alive, context);
 		
 		//get last disease classification
-		CalculationResultMap lastDiseaseClassiffication = Calculations.lastObs(Dictionary.getConcept(Dictionary.SITE_OF_TUBERCULOSIS_DISEASE), inTbProgram, context);
+		CalculationResultMap lastDiseaseClassiffication = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.SITE_OF_TUBERCULOSIS_DISEASE), inTbProgram, context);
 		
 		//get the results for pulmonary tb that is either positive or negative
-		CalculationResultMap lastTbPulmonayResult = Calculations.lastObs(Dictionary.getConcept(Dictionary.RESULTS_TUBERCULOSIS_CULTURE), inTbProgram, context);
+		CalculationResultMap lastTbPulmonayResult = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.RESULTS_TUBERCULOSIS_CULTURE), inTbProgram, context);
 		
 		//get concepts for positive and negative
 		Concept smearPositive = Dictionary.getConcept(Dictionary.POSITIVE);
@@ -73,7 +72,7 @@ public class MissingTbSputumResultsCalculation extends AbstractPatientCalculatio
 		Concept pulmonaryTb = Dictionary.getConcept(Dictionary.PULMONARY_TB);
 		
 		//get the last encounter which might have recorded sputum results
-		CalculationResultMap lastSputumResults = Calculations.lastObs(Dictionary.getConcept(Dictionary.SPUTUM_FOR_ACID_FAST_BACILLI), inTbProgram, context);
+		CalculationResultMap lastSputumResults = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.SPUTUM_FOR_ACID_FAST_BACILLI), inTbProgram, context);
 		
 		CalculationResultMap ret = new CalculationResultMap();
 		
@@ -9,8 +9,8 @@ import org.openmrs.calculation.result.SimpleResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.metadata.TbMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
@@ -36,8 +36,8 @@ public class NeedsTbSputumTestDateCalculation extends AbstractPatientCalculation
         Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 
         // Get all patients who are alive and in TB program
-        Set<Integer> alive = Filters.alive(cohort, context);
-        Set<Integer> inTbProgram = Filters.inProgram(tbProgram, alive, context);
+        Set<Integer> alive = CachedCalculations.alive(cohort, context);
+        Set<Integer> inTbProgram = CachedCalculations.inProgram(tbProgram, alive, context);
 
         // Get concepts
         Concept tbsuspect = Dictionary.getConcept(Dictionary.DISEASE_SUSPECTED);
@@ -47,18 +47,18 @@ public class NeedsTbSputumTestDateCalculation extends AbstractPatientCalculation
         Concept SPUTUM_FOR_ACID_FAST_BACILLI = Dictionary.getConcept(Dictionary.SPUTUM_FOR_ACID_FAST_BACILLI);
 
         // check if there is any observation recorded per the tuberculosis disease status
-        CalculationResultMap lastObsTbDiseaseStatus = Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
+        CalculationResultMap lastObsTbDiseaseStatus = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), cohort, context);
 
         // get last observations for disease classification, patient classification
         // and pulmonary tb positive to determine when sputum will be due for patients in future
-        CalculationResultMap lastDiseaseClassiffication = Calculations.lastObs(Dictionary.getConcept(Dictionary.SITE_OF_TUBERCULOSIS_DISEASE), inTbProgram, context);
-        CalculationResultMap lastTbPulmonayResult = Calculations.lastObs(Dictionary.getConcept(Dictionary.RESULTS_TUBERCULOSIS_CULTURE), inTbProgram, context);
+        CalculationResultMap lastDiseaseClassiffication = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.SITE_OF_TUBERCULOSIS_DISEASE), inTbProgram, context);
+        CalculationResultMap lastTbPulmonayResult = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.RESULTS_TUBERCULOSIS_CULTURE), inTbProgram, context);
 
         // get the first observation ever the patient had a sputum results for month 0
-        CalculationResultMap lastSputumResults = Calculations.lastObs(SPUTUM_FOR_ACID_FAST_BACILLI, cohort, context);
+        CalculationResultMap lastSputumResults = CachedCalculations.lastObs(SPUTUM_FOR_ACID_FAST_BACILLI, cohort, context);
 
         // get the date when Tb treatment was started, the patient should be in tb program to have this date
-        CalculationResultMap tbStartTreatmentDate = Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DRUG_TREATMENT_START_DATE), cohort, context);
+        CalculationResultMap tbStartTreatmentDate = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DRUG_TREATMENT_START_DATE), cohort, context);
 
         //find only those patients who are due for tb sputum test
         Set<Integer> dueForTbSputumPatients = CalculationUtils.patientsThatPass(calculate(new NeedsTbSputumTestCalculation(), cohort, context));
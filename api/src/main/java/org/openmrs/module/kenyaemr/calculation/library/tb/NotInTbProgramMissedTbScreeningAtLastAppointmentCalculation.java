@@ -14,8 +14,8 @@ import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyacore.calculation.PatientFlagCalculation;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.metadata.TbMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
@@ -34,8 +34,8 @@ public class NotInTbProgramMissedTbScreeningAtLastAppointmentCalculation extends
 		Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 		EncounterType tbScreening = MetadataUtils.existing(EncounterType.class, TbMetadata._EncounterType.TB_SCREENING);
 
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inTbProgram = Filters.inProgram(tbProgram, alive, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inTbProgram = CachedCalculations.inProgram(tbProgram, alive, context);
 		
 		CalculationResultMap ret = new CalculationResultMap();
 		CalculationResultMap lastEncounterMap =  Calculations.lastEncounter(null, alive, context);
@@ -22,9 +22,8 @@ import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.LostToFollowUpCalculation;
 import org.openmrs.module.kenyaemr.metadata.TbMetadata;
@@ -45,8 +44,8 @@ public class OnCPTCalculation extends AbstractPatientCalculation {
 	@Override
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> params, PatientCalculationContext context) {
 		//only deal with the alive patients
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inTbProgram = Filters.inProgram(MetadataUtils.existing(Program.class, TbMetadata._Program.TB), alive, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inTbProgram = CachedCalculations.inProgram(MetadataUtils.existing(Program.class, TbMetadata._Program.TB), alive, context);
 		//a list of lost to follow up patients
 		Set<Integer> ltfu = CalculationUtils.patientsThatPass(calculate(new LostToFollowUpCalculation(), cohort, context));
 		//declare the concepts required to check whether a patient is hiv positive
@@ -54,10 +53,10 @@ public class OnCPTCalculation extends AbstractPatientCalculation {
 		Concept hivInfected = Dictionary.getConcept(Dictionary.HIV_INFECTED);
 		Concept hivPositive = Dictionary.getConcept(Dictionary.POSITIVE);
 		//get the several map representation of the results
-		CalculationResultMap hivStatusMap = Calculations.lastObs(hivStatus, alive, context);
+		CalculationResultMap hivStatusMap = CachedCalculations.lastObs(hivStatus, alive, context);
 		//get maps for ctx
-		CalculationResultMap medOrdersObss = Calculations.allObs(Dictionary.getConcept(Dictionary.MEDICATION_ORDERS), alive, context);
-		CalculationResultMap ctxProphylaxisObss = Calculations.allObs(Dictionary.getConcept(Dictionary.COTRIMOXAZOLE_DISPENSED), alive, context);
+		CalculationResultMap medOrdersObss = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.MEDICATION_ORDERS), alive, context);
+		CalculationResultMap ctxProphylaxisObss = CachedCalculations.allObs(Dictionary.getConcept(Dictionary.COTRIMOXAZOLE_DISPENSED), alive, context);
 		//concepts to allow manipulate teh ctx
 		Concept yes = Dictionary.getConcept(Dictionary.YES);
 		Concept ctx = Dictionary.getConcept(Dictionary.SULFAMETHOXAZOLE_TRIMETHOPRIM);
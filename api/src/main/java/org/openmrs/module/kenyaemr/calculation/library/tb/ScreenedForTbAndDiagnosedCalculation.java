@@ -5,8 +5,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -25,7 +25,7 @@ public class ScreenedForTbAndDiagnosedCalculation extends AbstractPatientCalcula
 		Concept tbDiseaseStatus = Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS);
 		Concept diseaseDiagnosed = Dictionary.getConcept(Dictionary.DISEASE_DIAGNOSED);
 		Concept diseaseSuspect = Dictionary.getConcept(Dictionary.DISEASE_SUSPECTED);
-		 CalculationResultMap tbStatus = Calculations.lastObs(tbDiseaseStatus, cohort, context);
+		 CalculationResultMap tbStatus = CachedCalculations.lastObs(tbDiseaseStatus, cohort, context);
 
 		for(Integer ptId:cohort) {
 			boolean suspect = false;
@@ -11,9 +11,8 @@ import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.ObsResult;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.metadata.TbMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 
@@ -26,12 +25,12 @@ public class TbSuspectCalculation extends AbstractPatientCalculation{
 		Program tbProgram = MetadataUtils.existing(Program.class, TbMetadata._Program.TB);
 		
 		//Get all patients who are alive and not in TB Program
-		Set<Integer> alive = Filters.alive(cohort, context);
-		Set<Integer> inTbProgram = Filters.inProgram(tbProgram, cohort, context);
+		Set<Integer> alive = CachedCalculations.alive(cohort, context);
+		Set<Integer> inTbProgram = CachedCalculations.inProgram(tbProgram, cohort, context);
 		
 		Concept tbSuspect = Dictionary.getConcept(Dictionary.DISEASE_SUSPECTED);
 		
-		CalculationResultMap lastTbDiseaseStatus = Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), alive, context); 
+		CalculationResultMap lastTbDiseaseStatus = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DISEASE_STATUS), alive, context); 
 		
 		CalculationResultMap ret = new CalculationResultMap();
 		
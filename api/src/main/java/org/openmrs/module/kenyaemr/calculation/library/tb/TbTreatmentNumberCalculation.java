@@ -17,8 +17,8 @@ package org.openmrs.module.kenyaemr.calculation.library.tb;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
-import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 
 import java.util.Collection;
 import java.util.Map;
@@ -33,6 +33,6 @@ public class TbTreatmentNumberCalculation extends AbstractPatientCalculation {
 	 */
 	@Override
 	public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> arg1, PatientCalculationContext context) {
-		return Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_TREATMENT_NUMBER), cohort, context);
+		return CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_TREATMENT_NUMBER), cohort, context);
 	}
 }
\ No newline at end of file
@@ -17,9 +17,8 @@ import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
 import org.openmrs.module.kenyacore.calculation.BooleanResult;
-import org.openmrs.module.kenyacore.calculation.Calculations;
-import org.openmrs.module.kenyacore.calculation.Filters;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.CachedCalculations;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
 
 import java.util.Collection;
@@ -43,9 +42,9 @@ public class TbTreatmentStartDateCalculation extends AbstractPatientCalculation
 		//get the parameter from the cohort definition
 		Integer months = (parameterValues != null && parameterValues.containsKey("months")) ? (Integer) parameterValues.get("months") : null;
 
-		Set<Integer> alive = Filters.alive(cohort,context);
+		Set<Integer> alive = CachedCalculations.alive(cohort,context);
 		//get the date of tb start as a calculation map
-		CalculationResultMap tbStartDate = Calculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DRUG_TREATMENT_START_DATE), alive, context);
+		CalculationResultMap tbStartDate = CachedCalculations.lastObs(Dictionary.getConcept(Dictionary.TUBERCULOSIS_DRUG_TREATMENT_START_DATE), alive, context);
 
 		CalculationResultMap ret = new CalculationResultMap();
 		for(int ptId : cohort){
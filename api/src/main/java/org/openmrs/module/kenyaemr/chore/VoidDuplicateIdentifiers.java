@@ -19,15 +19,12 @@ import org.openmrs.PatientIdentifierType;
 import org.openmrs.api.PatientService;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.kenyacore.chore.AbstractChore;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.PrintWriter;
-import java.lang.String;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Prior to 13.3.1, the EditPatientFragmentController let users double submit causing duplicate patient records, often
@@ -36,9 +33,17 @@ import java.util.Set;
 @Component("kenyaemr.chore.voidDuplicateIdentifiers")
 public class VoidDuplicateIdentifiers extends AbstractChore {
 
+	/**
+	 * Number of identifiers voided between each flush and clear of the session
+	 */
+	private static final int BATCH_SIZE = 100;
+
 	@Autowired
 	private PatientService patientService;
 
+	@Autowired
+	private KenyaEmrService kenyaEmrService;
+
 	/**
 	 * @see org.openmrs.module.kenyacore.chore.AbstractChore#perform(java.io.PrintWriter)
 	 */
@@ -50,24 +55,33 @@ public class VoidDuplicateIdentifiers extends AbstractChore {
 	}
 
 	/**
-	 * Voids all duplicate identifiers of the given type
+	 * Voids all duplicate identifiers of the given type. Only the duplicates are loaded, and the session is flushed
+	 * and cleared after each batch so that memory use doesn't grow with the number of identifiers.
 	 * @param type the patient identifier type
 	 */
 	protected void voidDuplicatesOfType(PatientIdentifierType type, PrintWriter output) {
-		List<PatientIdentifier> allOfType = patientService.getPatientIdentifiers(null, Collections.singletonList(type), null, null, null);
-		Set<String> values = new HashSet<String>();
+		String typeName = type.getName();
+		List<Integer> duplicateIds = kenyaEmrService.getDuplicatePatientIdentifierIds(type);
 		int voided = 0;
 
-		for (PatientIdentifier identifier : allOfType) {
-			if (values.contains(identifier.getIdentifier())) {
+		for (int from = 0; from < duplicateIds.size(); from += BATCH_SIZE) {
+			List<Integer> batch = duplicateIds.subList(from, Math.min(from + BATCH_SIZE, duplicateIds.size()));
+
+			for (Integer identifierId : batch) {
+				PatientIdentifier identifier = patientService.getPatientIdentifier(identifierId);
 				patientService.voidPatientIdentifier(identifier, "Duplicate");
 				voided++;
 			}
-			else {
-				values.add(identifier.getIdentifier());
+
+			Context.flushSession();
+			Context.clearSession();
+
+			if (voided < duplicateIds.size()) {
+				output.println("Voided " + voided + " of " + duplicateIds.size() + " duplicate '" + typeName + "' identifiers");
+				output.flush();
 			}
 		}
 
-		output.println("Voided " + voided + " duplicate '" + type.getName() + "' identifiers");
+		output.println("Voided " + voided + " duplicate '" + typeName + "' identifiers");
 	}
 }
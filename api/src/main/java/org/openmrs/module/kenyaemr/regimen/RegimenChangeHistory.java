@@ -15,7 +15,10 @@
 package org.openmrs.module.kenyaemr.regimen;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -29,6 +32,8 @@ import org.openmrs.Concept;
 import org.openmrs.DrugOrder;
 import org.openmrs.Patient;
 import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
 import org.openmrs.util.OpenmrsUtil;
 
 /**
@@ -54,6 +59,46 @@ public class RegimenChangeHistory {
 		List<DrugOrder> allDrugOrders = Context.getOrderService().getDrugOrdersByPatient(patient);
 		return new RegimenChangeHistory(relevantGenerics, allDrugOrders);
 	}
+
+	/**
+	 * Generates regimen order histories for a cohort of patients, loading their drug orders in a fixed number of
+	 * queries. Histories are cached in the calculation context so that other calculations evaluated with the same
+	 * context can reuse them.
+	 * @param cohort the patient ids
+	 * @param medSet the medset concept defining the list of relevant drug concepts
+	 * @param context the calculation context
+	 * @return the regimen histories keyed by patient id
+	 */
+	public static Map<Integer, RegimenChangeHistory> forCohort(Collection<Integer> cohort, Concept medSet, PatientCalculationContext context) {
+		String cacheKey = RegimenChangeHistory.class.getName() + "." + medSet.getConceptId();
+
+		@SuppressWarnings("unchecked")
+		Map<Integer, RegimenChangeHistory> histories = (Map<Integer, RegimenChangeHistory>) context.getFromCache(cacheKey);
+		if (histories == null) {
+			histories = new HashMap<Integer, RegimenChangeHistory>();
+			context.addToCache(cacheKey, histories);
+		}
+
+		// Only load orders for patients not already covered by an earlier calculation
+		List<Integer> missing = new ArrayList<Integer>();
+		for (Integer ptId : cohort) {
+			if (!histories.containsKey(ptId)) {
+				missing.add(ptId);
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			Set<Concept> relevantGenerics = new HashSet<Concept>(medSet.getSetMembers());
+			Map<Integer, List<DrugOrder>> ordersByPatient = Context.getService(KenyaEmrService.class).getDrugOrdersByPatients(relevantGenerics, missing);
+
+			for (Integer ptId : missing) {
+				List<DrugOrder> orders = ordersByPatient.get(ptId);
+				histories.put(ptId, new RegimenChangeHistory(relevantGenerics, orders != null ? orders : Collections.<DrugOrder>emptyList()));
+			}
+		}
+
+		return histories;
+	}
 	
 	/**
 	 * Constructs a regimen order history
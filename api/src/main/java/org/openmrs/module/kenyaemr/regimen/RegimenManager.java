@@ -34,7 +34,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,6 +55,11 @@ public class RegimenManager implements ContentManager {
 
 	private Map<String, List<RegimenDefinitionGroup>> regimenGroups = new LinkedHashMap<String, List<RegimenDefinitionGroup>>();
 
+	/**
+	 * Definitions of each category indexed by their distinct component drugs, in group and definition order
+	 */
+	private Map<String, Map<Set<DrugReference>, List<RegimenDefinition>>> definitionIndex = new HashMap<String, Map<Set<DrugReference>, List<RegimenDefinition>>>();
+
 	/**
 	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
 	 */
@@ -69,6 +76,7 @@ public class RegimenManager implements ContentManager {
 		masterSetConcepts.clear();
 		drugs.clear();
 		regimenGroups.clear();
+		definitionIndex.clear();
 
 		for (RegimenConfiguration configuration : Context.getRegisteredComponents(RegimenConfiguration.class)) {
 			try {
@@ -111,6 +119,16 @@ public class RegimenManager implements ContentManager {
 		return (drugsForCategory != null) ? drugsForCategory.values() : null;
 	}
 
+	/**
+	 * Gets the individual drugs for the given category by their codes
+	 * @param category the category, e.g. "ARV"
+	 * @return the drugs keyed by code, in definition order, or null if category isn't defined
+	 */
+	public Map<String, DrugReference> getDrugsByCode(String category) {
+		Map<String, DrugReference> drugsForCategory = drugs.get(category);
+		return (drugsForCategory != null) ? Collections.unmodifiableMap(drugsForCategory) : null;
+	}
+
 	/**
 	 * Gets the regimen groups for the given category
 	 * @param category the category, e.g. "ARV"
@@ -128,53 +146,88 @@ public class RegimenManager implements ContentManager {
 	 * @return the definitions
 	 */
 	public List<RegimenDefinition> findDefinitions(String category, RegimenOrder regimenOrder, boolean exact) {
-		List<RegimenDefinitionGroup> groups = regimenGroups.get(category);
-		if (groups == null) {
+		Map<Set<DrugReference>, List<RegimenDefinition>> index = definitionIndex.get(category);
+		if (index == null) {
 			throw new IllegalArgumentException("No such category: " + category);
 		}
 
-		List<RegimenDefinition> matches = new ArrayList<RegimenDefinition>();
+		List<DrugOrder> orders = new ArrayList<DrugOrder>(regimenOrder.getDrugOrders());
+		List<DrugReference> orderDrugRefs = new ArrayList<DrugReference>(orders.size());
+		for (DrugOrder order : orders) {
+			orderDrugRefs.add(DrugReference.fromDrugOrder(order));
+		}
 
-		for (RegimenDefinitionGroup group : groups) {
-			outer:
-			for (RegimenDefinition definition : group.getRegimens()) {
-				List<RegimenComponent> regimen = definition.getComponents();
-				Set<DrugOrder> orders = regimenOrder.getDrugOrders();
+		List<RegimenDefinition> candidates = index.get(new HashSet<DrugReference>(orderDrugRefs));
+		if (candidates == null) {
+			return new ArrayList<RegimenDefinition>();
+		}
 
-				// Skip if regimen doesn't have same number of orders
-				if (regimen.size() != orders.size()) {
-					continue;
-				}
+		List<RegimenDefinition> matches = new ArrayList<RegimenDefinition>();
+
+		for (RegimenDefinition definition : candidates) {
+			// Skip if regimen doesn't have same number of orders
+			if (definition.getComponents().size() != orders.size()) {
+				continue;
+			}
 
-				// Check each component has an equivalent drug order
-				for (RegimenComponent component : regimen) {
+			if (!exact || componentsMatchExactly(definition, orders, orderDrugRefs)) {
+				matches.add(definition);
+			}
+		}
 
-					// Does regimen have a drug order for this component?
-					boolean regimenHasComponent = false;
-					for (DrugOrder order : orders) {
-						DrugReference componentDrugRef = component.getDrugRef();
-						DrugReference orderDrugRef = DrugReference.fromDrugOrder(order);
+		return matches;
+	}
 
-						if (componentDrugRef.equals(orderDrugRef)) {
+	/**
+	 * Checks that each component of a definition has an order for the same drug with the same dose, units and frequency
+	 * @param definition the regimen definition
+	 * @param orders the drug orders
+	 * @param orderDrugRefs the drug references of the orders (same order as orders)
+	 * @return true if all components are matched
+	 */
+	protected boolean componentsMatchExactly(RegimenDefinition definition, List<DrugOrder> orders, List<DrugReference> orderDrugRefs) {
+		outer:
+		for (RegimenComponent component : definition.getComponents()) {
+			for (int o = 0; o < orders.size(); o++) {
+				DrugOrder order = orders.get(o);
+
+				if (component.getDrugRef().equals(orderDrugRefs.get(o))
+						&& ObjectUtils.equals(order.getDose(), component.getDose())
+						&& StringUtils.equals(order.getUnits(), component.getUnits())
+						&& StringUtils.equals(order.getFrequency(), component.getFrequency())) {
+					continue outer;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
 
-							if (!exact || (ObjectUtils.equals(order.getDose(), component.getDose()) && StringUtils.equals(order.getUnits(), component.getUnits()) && StringUtils.equals(order.getFrequency(), component.getFrequency()))) {
-								regimenHasComponent = true;
-								break;
-							}
-						}
-					}
+	/**
+	 * Indexes the definitions in the given groups by their distinct component drugs
+	 * @param groups the regimen groups
+	 * @return the index
+	 */
+	protected static Map<Set<DrugReference>, List<RegimenDefinition>> indexDefinitions(List<RegimenDefinitionGroup> groups) {
+		Map<Set<DrugReference>, List<RegimenDefinition>> index = new HashMap<Set<DrugReference>, List<RegimenDefinition>>();
 
-					if (!regimenHasComponent) {
-						continue outer;
-					}
+		for (RegimenDefinitionGroup group : groups) {
+			for (RegimenDefinition definition : group.getRegimens()) {
+				Set<DrugReference> key = new HashSet<DrugReference>();
+				for (RegimenComponent component : definition.getComponents()) {
+					key.add(component.getDrugRef());
 				}
 
-				// Regimen has all components of the definition
-				matches.add(definition);
+				List<RegimenDefinition> definitions = index.get(key);
+				if (definitions == null) {
+					definitions = new ArrayList<RegimenDefinition>();
+					index.put(Collections.unmodifiableSet(key), definitions);
+				}
+				definitions.add(definition);
 			}
 		}
 
-		return matches;
+		return index;
 	}
 
 	/**
@@ -202,7 +255,7 @@ public class RegimenManager implements ContentManager {
 			Concept masterSetConcept = MetadataUtils.existing(Concept.class, masterSetUuid);
 			masterSetConcepts.put(categoryCode, masterSetConcept.getConceptId());
 
-			Map<String, DrugReference> categoryDrugs = new HashMap<String, DrugReference>();
+			Map<String, DrugReference> categoryDrugs = new LinkedHashMap<String, DrugReference>();
 			List<RegimenDefinitionGroup> categoryGroups = new ArrayList<RegimenDefinitionGroup>();
 
 			// Parse all drug concepts for this category
@@ -259,6 +312,7 @@ public class RegimenManager implements ContentManager {
 
 			drugs.put(categoryCode, categoryDrugs);
 			regimenGroups.put(categoryCode, categoryGroups);
+			definitionIndex.put(categoryCode, indexDefinitions(categoryGroups));
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.regimen;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openmrs.Concept;
+import org.openmrs.DrugOrder;
+import org.openmrs.module.kenyacore.ContentManager;
+import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.metadatadeploy.MissingMetadataException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the standard abbreviated names of regimens (e.g. "AZT+3TC+NVP") for reports. The standard regimens are
+ * the ARV regimen definitions loaded by the {@link RegimenManager}, plus older standard regimens which those don't
+ * include. They are indexed once by the concept ids of their drugs, so resolving a regimen is a hash lookup rather
+ * than a comparison of drug names against every regimen.
+ */
+@Component
+public class RegimenNameResolver implements ContentManager {
+
+	/**
+	 * Standard regimens which aren't defined in the regimen definitions, as drug codes. These take precedence over
+	 * defined regimens with the same drugs so that names used by existing reports don't change.
+	 */
+	private static final Map<String, List<String>> LEGACY_REGIMENS = new LinkedHashMap<String, List<String>>();
+
+	static {
+		LEGACY_REGIMENS.put("TDF+3TC+ABC", Arrays.asList("TDF", "3TC", "ABC"));
+		LEGACY_REGIMENS.put("ABC+3TC+AZT", Arrays.asList("ABC", "3TC", "AZT"));
+		LEGACY_REGIMENS.put("d4T+ABC+LPV/r", Arrays.asList("D4T", "ABC", "LPV", "RTV"));
+		LEGACY_REGIMENS.put("AZT+ddI+LPV/r", Arrays.asList("AZT", "DDI", "LPV", "RTV"));
+		LEGACY_REGIMENS.put("TDF+AZT+LPV/r", Arrays.asList("TDF", "AZT", "LPV", "RTV"));
+		LEGACY_REGIMENS.put("AZT+ABC+LPV/r", Arrays.asList("AZT", "ABC", "LPV", "RTV"));
+		LEGACY_REGIMENS.put("AZT+3TC+DRV/r", Arrays.asList("AZT", "3TC", "DRV", "RTV"));
+		LEGACY_REGIMENS.put("ABC+3TC+DRV/r", Arrays.asList("ABC", "3TC", "DRV", "RTV"));
+	}
+
+	/**
+	 * Protease inhibitors which are abbreviated with "/r" when boosted with ritonavir
+	 */
+	private static final List<String> BOOSTED_DRUGS = Arrays.asList("LPV", "ATV", "DRV");
+
+	private static final String RITONAVIR = "RTV";
+
+	/**
+	 * Standard regimen names by the concept ids of their drugs
+	 */
+	private Map<Set<Integer>, String> regimensByDrugs = null;
+
+	/**
+	 * ARV drug codes by concept id, in definition order
+	 */
+	private Map<Integer, String> codesByDrug = null;
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 200;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public synchronized void refresh() {
+		regimensByDrugs = null; // Concepts and regimen definitions may have changed
+		codesByDrug = null;
+	}
+
+	/**
+	 * Gets the standard name of a regimen. Where no standard regimen has exactly the same drugs, the regimen is named
+	 * by the codes of its own drugs (e.g. "AZT+3TC"), so that it is never named with drugs the patient isn't taking.
+	 * @param regimen the regimen
+	 * @return the name or null if the regimen is empty or includes drugs which aren't ARVs
+	 */
+	public String getRegimenName(RegimenOrder regimen) {
+		Set<Integer> drugs = new HashSet<Integer>();
+		for (DrugOrder order : regimen.getDrugOrders()) {
+			drugs.add(order.getConcept().getConceptId());
+		}
+
+		if (drugs.isEmpty()) {
+			return null;
+		}
+
+		synchronized (this) {
+			buildIndexIfNecessary();
+
+			String name = regimensByDrugs.get(drugs);
+			if (name != null) {
+				return name;
+			}
+
+			if (!codesByDrug.keySet().containsAll(drugs)) {
+				return null;
+			}
+
+			List<String> codes = new ArrayList<String>();
+			for (Map.Entry<Integer, String> entry : codesByDrug.entrySet()) {
+				if (drugs.contains(entry.getKey())) {
+					codes.add(entry.getValue());
+				}
+			}
+			return getAbbreviatedName(codes);
+		}
+	}
+
+	/**
+	 * Builds the standard regimen index if it hasn't been built since the last refresh. Regimens which reference drug
+	 * concepts that don't exist are skipped.
+	 */
+	protected void buildIndexIfNecessary() {
+		if (regimensByDrugs != null) {
+			return;
+		}
+
+		RegimenManager regimenManager = CoreContext.getInstance().getManager(RegimenManager.class);
+		Map<String, Integer> drugsByCode = new HashMap<String, Integer>();
+		Map<Integer, String> byDrug = new LinkedHashMap<Integer, String>();
+
+		Map<String, DrugReference> drugRefs = regimenManager.getDrugsByCode("ARV");
+		if (drugRefs != null) {
+			for (Map.Entry<String, DrugReference> entry : drugRefs.entrySet()) {
+				try {
+					Integer conceptId = entry.getValue().getConcept().getConceptId();
+					drugsByCode.put(entry.getKey(), conceptId);
+					if (!byDrug.containsKey(conceptId)) {
+						byDrug.put(conceptId, entry.getKey());
+					}
+				}
+				catch (MissingMetadataException ex) {
+					// Drug concept doesn't exist so can't be part of any regimen
+				}
+			}
+		}
+
+		Map<Set<Integer>, String> byDrugs = new HashMap<Set<Integer>, String>();
+
+		legacy:
+		for (Map.Entry<String, List<String>> entry : LEGACY_REGIMENS.entrySet()) {
+			Set<Integer> drugs = new HashSet<Integer>();
+			for (String code : entry.getValue()) {
+				Integer conceptId = drugsByCode.get(code);
+				if (conceptId == null) {
+					continue legacy;
+				}
+				drugs.add(conceptId);
+			}
+			byDrugs.put(Collections.unmodifiableSet(drugs), entry.getKey());
+		}
+
+		List<RegimenDefinitionGroup> groups = regimenManager.getRegimenGroups("ARV");
+		if (groups != null) {
+			for (RegimenDefinitionGroup group : groups) {
+				regimens:
+				for (RegimenDefinition definition : group.getRegimens()) {
+					Set<Integer> drugs = new HashSet<Integer>();
+					for (RegimenComponent component : definition.getComponents()) {
+						try {
+							Concept drug = component.getDrugRef().getConcept();
+							drugs.add(drug.getConceptId());
+						}
+						catch (MissingMetadataException ex) {
+							continue regimens;
+						}
+					}
+
+					// Definitions which only differ by dosing share a name
+					drugs = Collections.unmodifiableSet(drugs);
+					if (!byDrugs.containsKey(drugs)) {
+						byDrugs.put(drugs, getAbbreviatedName(definition));
+					}
+				}
+			}
+		}
+
+		regimensByDrugs = byDrugs;
+		codesByDrug = byDrug;
+	}
+
+	/**
+	 * Gets the abbreviated name of a regimen definition, i.e. its name without dosing details or spaces, e.g.
+	 * "D4T + 3TC + NVP(BD) (30mg BD/150mg BD/200mg BD)" becomes "d4T+3TC+NVP"
+	 * @param definition the regimen definition
+	 * @return the abbreviated name
+	 */
+	protected static String getAbbreviatedName(RegimenDefinition definition) {
+		String name = definition.getName().replaceAll("\\([^)]*\\)", "").replaceAll("\\s+", "");
+		return abbreviate(name);
+	}
+
+	/**
+	 * Gets the abbreviated name of a regimen from its drug codes, e.g. "AZT", "3TC", "LPV", "RTV" becomes
+	 * "AZT+3TC+LPV/r"
+	 * @param codes the drug codes
+	 * @return the abbreviated name
+	 */
+	protected static String getAbbreviatedName(List<String> codes) {
+		List<String> parts = new ArrayList<String>(codes);
+		if (parts.contains(RITONAVIR)) {
+			for (int p = 0; p < parts.size(); ++p) {
+				if (BOOSTED_DRUGS.contains(parts.get(p))) {
+					parts.set(p, parts.get(p) + "/r");
+					parts.remove(RITONAVIR);
+					break;
+				}
+			}
+		}
+		return abbreviate(StringUtils.join(parts, "+"));
+	}
+
+	/**
+	 * Converts upper case drug codes to their usual abbreviations
+	 * @param name the regimen name
+	 * @return the abbreviated name
+	 */
+	private static String abbreviate(String name) {
+		return name.replace("D4T", "d4T").replace("DDI", "ddI");
+	}
+}
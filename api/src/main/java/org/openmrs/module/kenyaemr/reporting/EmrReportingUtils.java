@@ -1,13 +1,28 @@
 package org.openmrs.module.kenyaemr.reporting;
 
+import org.openmrs.OpenmrsObject;
+import org.openmrs.calculation.Calculation;
 import org.openmrs.module.reporting.cohort.definition.CohortDefinition;
 import org.openmrs.module.reporting.dataset.definition.CohortIndicatorDataSetDefinition;
+import org.openmrs.module.reporting.definition.DefinitionUtil;
+import org.openmrs.module.reporting.definition.configuration.Property;
+import org.openmrs.module.reporting.evaluation.Definition;
 import org.openmrs.module.reporting.evaluation.parameter.Mapped;
 import org.openmrs.module.reporting.evaluation.parameter.Parameter;
 import org.openmrs.module.reporting.indicator.CohortIndicator;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Utility methods for reporting
@@ -71,4 +86,111 @@ public class EmrReportingUtils {
 			cohortDsd.addColumn(name, label, indicator, column.getDimensions());
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Gets a fingerprint of a value which is equal for equivalently configured definitions, ignoring names and
+	 * descriptions. Calculations, and other objects which don't describe themselves with {@link Object#toString()},
+	 * are identified by their class and the fingerprints of their instance fields.
+	 * @param value the value
+	 * @return the fingerprint
+	 */
+	public static String getFingerprint(Object value) {
+		return getFingerprint(value, Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+	}
+
+	/**
+	 * Gets a fingerprint of a value
+	 * @param value the value
+	 * @param visiting the objects whose fields are being fingerprinted, so that cyclic references end
+	 * @return the fingerprint
+	 */
+	private static String getFingerprint(Object value, Set<Object> visiting) {
+		if (value == null) {
+			return "null";
+		}
+		else if (value instanceof Definition) {
+			Map<String, String> properties = new TreeMap<String, String>();
+			for (Property property : DefinitionUtil.getConfigurationProperties((Definition) value)) {
+				properties.put(property.getField().getName(), getFingerprint(property.getValue(), visiting));
+			}
+			return value.getClass().getName() + properties;
+		}
+		else if (value instanceof OpenmrsObject) {
+			return value.getClass().getName() + "#" + ((OpenmrsObject) value).getUuid();
+		}
+		else if (value instanceof Collection) {
+			List<String> items = new ArrayList<String>();
+			for (Object item : (Collection<?>) value) {
+				items.add(getFingerprint(item, visiting));
+			}
+			return items.toString();
+		}
+		else if (value instanceof Map) {
+			Map<String, String> entries = new TreeMap<String, String>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				entries.put(getFingerprint(entry.getKey(), visiting), getFingerprint(entry.getValue(), visiting));
+			}
+			return entries.toString();
+		}
+		else if (value.getClass().isArray()) {
+			List<String> items = new ArrayList<String>();
+			for (int i = 0; i < Array.getLength(value); ++i) {
+				items.add(getFingerprint(Array.get(value, i), visiting));
+			}
+			return value.getClass().getComponentType().getName() + items;
+		}
+		else if (value instanceof Calculation || !hasOwnToString(value)) {
+			return value.getClass().getName() + getFieldFingerprints(value, visiting);
+		}
+		return value.getClass().getName() + ":" + value;
+	}
+
+	/**
+	 * Gets the fingerprints of all non-transient instance fields of an object, including those declared by its
+	 * superclasses
+	 * @param object the object
+	 * @param visiting the objects whose fields are being fingerprinted
+	 * @return the fingerprints keyed by declaring class and field name
+	 */
+	private static Map<String, String> getFieldFingerprints(Object object, Set<Object> visiting) {
+		Map<String, String> fields = new TreeMap<String, String>();
+		if (!visiting.add(object)) {
+			fields.put("cycle", String.valueOf(visiting.size()));
+			return fields;
+		}
+
+		try {
+			for (Class<?> clazz = object.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+						continue;
+					}
+
+					field.setAccessible(true);
+					fields.put(clazz.getName() + "." + field.getName(), getFingerprint(field.get(object), visiting));
+				}
+			}
+		}
+		catch (IllegalAccessException ex) {
+			throw new IllegalStateException("Unable to read fields of " + object.getClass().getName(), ex);
+		}
+		finally {
+			visiting.remove(object);
+		}
+		return fields;
+	}
+
+	/**
+	 * Checks whether an object's class overrides {@link Object#toString()}
+	 * @param object the object
+	 * @return true if it does
+	 */
+	private static boolean hasOwnToString(Object object) {
+		try {
+			return object.getClass().getMethod("toString").getDeclaringClass() != Object.class;
+		}
+		catch (NoSuchMethodException ex) {
+			return false;
+		}
+	}
+}
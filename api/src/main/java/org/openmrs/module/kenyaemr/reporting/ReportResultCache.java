@@ -0,0 +1,302 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting;
+
+import org.openmrs.Cohort;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.ContentManager;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+import org.openmrs.module.kenyaemr.util.EmrUtils;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
+import org.openmrs.module.reporting.common.DateUtil;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.evaluation.parameter.Mapped;
+import org.openmrs.module.reporting.report.ReportData;
+import org.openmrs.module.reporting.report.definition.ReportDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Cache of evaluated report data keyed by report definition, parameter values, base cohort and the state of the
+ * clinical data. Changes made through the advised services (see the service advice classes) move a data generation
+ * counter. Rows inserted by other means (e.g. SQL imports) move a watermark of the largest primary keys. Both are part
+ * of the key, so a cached result is only served while the data it was evaluated from is unchanged, and results under
+ * older keys are left to be evicted once the cache is full or they are too old. Cached report data is shared between
+ * all requests for the same key so must be treated as read-only.
+ */
+@Component
+public class ReportResultCache implements ContentManager {
+
+	/**
+	 * Maximum number of cached results
+	 */
+	private static final int MAX_ENTRIES = 20;
+
+	/**
+	 * Maximum age of a cached result
+	 */
+	private static final long MAX_AGE = 24 * 60 * 60 * 1000L;
+
+	/**
+	 * Queries for the parts of the data watermark. These only read primary keys so are answered from the index. Edits
+	 * and voids don't create rows, so those are tracked by {@link #markDataChanged()} instead.
+	 */
+	private static final String[] WATERMARK_QUERIES = {
+			"select max(e.encounterId) from Encounter e",
+			"select max(o.obsId) from Obs o",
+			"select max(o.orderId) from Order o",
+			"select max(pp.patientProgramId) from PatientProgram pp",
+			"select max(p.personId) from Person p"
+	};
+
+	private Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			if (size() > MAX_ENTRIES) {
+				++evictions;
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private long hits = 0, misses = 0, evictions = 0;
+
+	private long dataGeneration = 0;
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 200;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public synchronized void refresh() {
+		entries.clear(); // Report definitions may have changed
+	}
+
+	/**
+	 * Moves the data generation, now and again once the current transaction has committed, so that existing results
+	 * and those of evaluations which are already running aren't served under a current key
+	 */
+	public void markDataChanged() {
+		dataChanged();
+
+		EmrUtils.runAfterCommit(new Runnable() {
+			@Override
+			public void run() {
+				dataChanged();
+			}
+		});
+	}
+
+	/**
+	 * Moves the data generation
+	 */
+	protected synchronized void dataChanged() {
+		++dataGeneration;
+	}
+
+	/**
+	 * Gets the data generation, which is moved whenever data is changed through the advised services
+	 * @return the generation
+	 */
+	public synchronized long getDataGeneration() {
+		return dataGeneration;
+	}
+
+	/**
+	 * Gets a cached result. The same report data is returned to every caller so it must not be modified.
+	 * @param key the cache key
+	 * @return the report data or null if there is no current result
+	 */
+	public synchronized ReportData get(String key) {
+		Entry entry = entries.get(key);
+
+		if (entry != null && System.currentTimeMillis() - entry.created > MAX_AGE) {
+			entries.remove(key);
+			++evictions;
+			entry = null;
+		}
+
+		if (entry != null) {
+			++hits;
+			PerformanceMonitor.recordCacheLookups("reportResults", 1, 0);
+			return entry.data;
+		}
+
+		++misses;
+		PerformanceMonitor.recordCacheLookups("reportResults", 0, 1);
+		return null;
+	}
+
+	/**
+	 * Caches a result. The report data must not be modified once cached.
+	 * @param key the cache key
+	 * @param data the report data
+	 */
+	public synchronized void put(String key, ReportData data) {
+		entries.put(key, new Entry(data));
+	}
+
+	/**
+	 * Gets the cache key for evaluating a report definition in the given context
+	 * @param definition the report definition or mapped report definition
+	 * @param context the evaluation context
+	 * @return the key
+	 */
+	public String getKey(Object definition, EvaluationContext context) {
+		StringBuilder sb = new StringBuilder();
+
+		if (definition instanceof Mapped) {
+			Mapped<?> mapped = (Mapped<?>) definition;
+			sb.append(((ReportDefinition) mapped.getParameterizable()).getUuid());
+			sb.append(describe(mapped.getParameterMappings()));
+		}
+		else {
+			sb.append(((ReportDefinition) definition).getUuid());
+		}
+
+		sb.append(describe(context.getParameterValues()));
+		sb.append("|").append(describeCohort(context.getBaseCohort()));
+		sb.append("|").append(DateUtil.getStartOfDay(context.getEvaluationDate()).getTime());
+		sb.append("|").append(getDataGeneration());
+		sb.append("|").append(getDataWatermark());
+		return sb.toString();
+	}
+
+	/**
+	 * Gets a value which changes whenever encounters, obs, orders, enrollments or patients are created
+	 * @return the watermark
+	 */
+	public String getDataWatermark() {
+		KenyaEmrService service = Context.getService(KenyaEmrService.class);
+		Map<String, Object> noSubstitutions = Collections.emptyMap();
+
+		List<Object> parts = new ArrayList<Object>();
+		for (String query : WATERMARK_QUERIES) {
+			parts.add(describe(service.executeHqlQuery(query, noSubstitutions)));
+		}
+		return parts.toString();
+	}
+
+	/**
+	 * Gets a description of a value which is stable between evaluations
+	 * @param value the value
+	 * @return the description
+	 */
+	protected static String describe(Object value) {
+		if (value == null) {
+			return "null";
+		}
+		else if (value instanceof OpenmrsObject) {
+			return ((OpenmrsObject) value).getUuid();
+		}
+		else if (value instanceof Date) {
+			return String.valueOf(((Date) value).getTime());
+		}
+		else if (value instanceof Object[]) {
+			List<String> items = new ArrayList<String>();
+			for (Object item : (Object[]) value) {
+				items.add(describe(item));
+			}
+			return items.toString();
+		}
+		else if (value instanceof Collection) {
+			List<String> items = new ArrayList<String>();
+			for (Object item : (Collection<?>) value) {
+				items.add(describe(item));
+			}
+			return items.toString();
+		}
+		else if (value instanceof Map) {
+			Map<String, String> items = new TreeMap<String, String>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				items.put(String.valueOf(entry.getKey()), describe(entry.getValue()));
+			}
+			return items.toString();
+		}
+		return String.valueOf(value);
+	}
+
+	/**
+	 * Gets a description of a base cohort, i.e. its sorted member ids
+	 * @param cohort the cohort (may be null)
+	 * @return the description
+	 */
+	protected static String describeCohort(Cohort cohort) {
+		return cohort != null ? new TreeSet<Integer>(cohort.getMemberIds()).toString() : "all";
+	}
+
+	/**
+	 * Gets the number of cached results
+	 * @return the number of results
+	 */
+	public synchronized int getSize() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of cache hits since startup
+	 * @return the number of hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of cache misses since startup
+	 * @return the number of misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Gets the number of results evicted since startup
+	 * @return the number of evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * A cached result
+	 */
+	private static class Entry {
+
+		private final ReportData data;
+		private final long created = System.currentTimeMillis();
+
+		public Entry(ReportData data) {
+			this.data = data;
+		}
+	}
+}
@@ -0,0 +1,395 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.ContentManager;
+import org.openmrs.module.kenyaemr.EmrConstants;
+import org.openmrs.module.kenyaemr.util.UserContextSnapshot;
+import org.openmrs.module.reporting.report.ReportRequest;
+import org.openmrs.module.reporting.report.service.ReportService;
+import org.openmrs.util.OpenmrsUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs queued report requests on a pool of worker threads, so that one slow report doesn't hold up every other
+ * request. Requests are taken by priority and then in the order they were submitted. Requests are saved as already
+ * processing, so the reporting module's own queue never picks them up as well. Evaluation, status updates and
+ * persisting of results are left to the reporting module, so requests show in the report queue as usual.
+ */
+@Component
+public class ReportScheduler implements ContentManager {
+
+	protected static final Log log = LogFactory.getLog(ReportScheduler.class);
+
+	private ThreadPoolExecutor executor;
+
+	protected final ConcurrentMap<Integer, Task> tasks = new ConcurrentHashMap<Integer, Task>();
+
+	private final AtomicLong submitted = new AtomicLong();
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 200;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public synchronized void refresh() {
+		if (executor != null) {
+			int workers = getConfiguredWorkers();
+
+			// Pool size can't be lowered below the maximum, nor the maximum below the core size
+			if (workers > executor.getMaximumPoolSize()) {
+				executor.setMaximumPoolSize(workers);
+				executor.setCorePoolSize(workers);
+			}
+			else {
+				executor.setCorePoolSize(workers);
+				executor.setMaximumPoolSize(workers);
+			}
+		}
+	}
+
+	/**
+	 * Stops the worker pool, interrupting any running requests. Requests which were still waiting are handed back to
+	 * the reporting module's own queue so that they aren't lost.
+	 */
+	public synchronized void shutdown() {
+		if (executor == null) {
+			return;
+		}
+
+		List<Runnable> waiting = executor.shutdownNow();
+		executor = null;
+
+		ReportService reportService = Context.getService(ReportService.class);
+		for (Runnable runnable : waiting) {
+			Task task = (Task) runnable;
+			tasks.remove(task.requestId, task);
+
+			ReportRequest request = reportService.getReportRequest(task.requestId);
+			if (request != null && ReportRequest.Status.PROCESSING.equals(request.getStatus())) {
+				request.setStatus(ReportRequest.Status.REQUESTED);
+				reportService.saveReportRequest(request);
+			}
+		}
+	}
+
+	/**
+	 * Hands back to the reporting module's own queue any requests which were saved by a scheduler but never started,
+	 * e.g. because the server was stopped without shutting down the worker pool. No scheduler has any waiting requests
+	 * after a restart, so these would otherwise never be run.
+	 * @return the number of requests handed back
+	 */
+	public int requeueAbandonedRequests() {
+		ReportService reportService = Context.getService(ReportService.class);
+
+		int requeued = 0;
+		for (ReportRequest request : reportService.getReportRequests(null, null, null, ReportRequest.Status.PROCESSING)) {
+			if (request.getEvaluateStartDatetime() == null && !tasks.containsKey(request.getId())) {
+				request.setStatus(ReportRequest.Status.REQUESTED);
+				reportService.saveReportRequest(request);
+				++requeued;
+			}
+		}
+
+		if (requeued > 0) {
+			log.info("Requeued " + requeued + " report request(s) which were never started");
+		}
+		return requeued;
+	}
+
+	/**
+	 * Queues a report request and schedules it to run on the worker pool
+	 * @param request the report request
+	 * @return the saved report request
+	 */
+	public ReportRequest submit(ReportRequest request) {
+		request = save(request);
+
+		Task task = new Task(request.getId(), request.getPriority(), submitted.incrementAndGet(), new UserContextSnapshot(Context.getUserContext()));
+		tasks.put(request.getId(), task);
+		getExecutor().execute(task);
+
+		return request;
+	}
+
+	/**
+	 * Cancels a report request and purges it. A request which is already running is interrupted and then purged by its
+	 * worker once it has stopped.
+	 * @param request the report request
+	 */
+	public void cancel(ReportRequest request) {
+		Task task = tasks.remove(request.getId());
+		if (task != null && !getExecutor().remove(task) && task.cancel()) {
+			return;
+		}
+
+		Context.getService(ReportService.class).purgeReportRequest(request);
+	}
+
+	/**
+	 * Gets the position of a request in the queue of requests waiting for a worker
+	 * @param requestId the report request id
+	 * @return the position, starting at 1, or null if the request is running or isn't queued here
+	 */
+	public Integer getQueuePosition(Integer requestId) {
+		Task task = tasks.get(requestId);
+		if (task == null || task.isStarted()) {
+			return null;
+		}
+
+		int position = 1;
+		for (Task other : tasks.values()) {
+			if (!other.isStarted() && other.compareTo(task) < 0) {
+				++position;
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Gets the number of requests being run
+	 * @return the number of requests
+	 */
+	public int getRunningCount() {
+		return getExecutor().getActiveCount();
+	}
+
+	/**
+	 * Gets the number of requests waiting for a worker
+	 * @return the number of requests
+	 */
+	public int getWaitingCount() {
+		return getExecutor().getQueue().size();
+	}
+
+	/**
+	 * Gets the number of worker threads
+	 * @return the number of workers
+	 */
+	public int getWorkerCount() {
+		return getExecutor().getMaximumPoolSize();
+	}
+
+	/**
+	 * Gets the worker pool, creating it if necessary
+	 * @return the executor
+	 */
+	protected synchronized ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			int workers = getConfiguredWorkers();
+
+			executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "kenyaemr-report-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return executor;
+	}
+
+	/**
+	 * Saves a new report request with a status that the reporting module's own queue skips. The reporting module only
+	 * takes requests which are still REQUESTED, and it checks and updates that status in separate steps.
+	 * @param request the report request
+	 * @return the saved report request
+	 */
+	protected ReportRequest save(ReportRequest request) {
+		if (request.getRequestedBy() == null) {
+			request.setRequestedBy(Context.getAuthenticatedUser());
+		}
+		request.setRequestDate(new Date());
+		request.setStatus(ReportRequest.Status.PROCESSING);
+
+		return Context.getService(ReportService.class).saveReportRequest(request);
+	}
+
+	/**
+	 * Gets the configured number of worker threads
+	 * @return the number of workers
+	 */
+	protected int getConfiguredWorkers() {
+		String value = Context.getAdministrationService().getGlobalProperty(EmrConstants.GP_REPORT_WORKERS, EmrConstants.DEFAULT_REPORT_WORKERS);
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		}
+		catch (NumberFormatException ex) {
+			log.warn("Invalid value for " + EmrConstants.GP_REPORT_WORKERS + ": " + value);
+			return Integer.parseInt(EmrConstants.DEFAULT_REPORT_WORKERS);
+		}
+	}
+
+	/**
+	 * Runs a single report request in its own session as the user who submitted it, with its own user context
+	 */
+	protected class Task implements Runnable, Comparable<Task> {
+
+		private final Integer requestId;
+		private final ReportRequest.Priority priority;
+		private final long sequence;
+		private final UserContextSnapshot userContext;
+
+		private Thread runner;
+		private volatile boolean started = false;
+		private boolean cancelled = false;
+		private boolean finished = false;
+
+		public Task(Integer requestId, ReportRequest.Priority priority, long sequence, UserContextSnapshot userContext) {
+			this.requestId = requestId;
+			this.priority = priority;
+			this.sequence = sequence;
+			this.userContext = userContext;
+		}
+
+		/**
+		 * @see Runnable#run()
+		 */
+		@Override
+		public void run() {
+			Context.openSession();
+			try {
+				Context.setUserContext(userContext.createUserContext());
+				execute();
+			}
+			finally {
+				Context.closeSession();
+				Context.clearUserContext();
+				tasks.remove(requestId, this);
+			}
+		}
+
+		/**
+		 * Runs the report request in the current session, or purges it if the task has been cancelled
+		 */
+		protected void execute() {
+			boolean run;
+
+			synchronized (this) {
+				run = !cancelled;
+				if (run) {
+					runner = Thread.currentThread();
+					started = true;
+				}
+			}
+
+			long start = System.currentTimeMillis();
+			ReportService reportService = Context.getService(ReportService.class);
+
+			try {
+				ReportRequest request = run ? reportService.getReportRequest(requestId) : null;
+
+				// Only requests saved by this scheduler are in the processing state without having started
+				if (request != null && ReportRequest.Status.PROCESSING.equals(request.getStatus()) && request.getEvaluateStartDatetime() == null) {
+					reportService.runReport(request);
+
+					if (log.isDebugEnabled()) {
+						log.debug("Ran report request #" + requestId + " in " + (System.currentTimeMillis() - start) + "ms");
+					}
+				}
+			}
+			catch (Exception ex) {
+				log.error("Unable to run report request #" + requestId, ex);
+			}
+			finally {
+				boolean purge;
+
+				synchronized (this) {
+					runner = null;
+					finished = true;
+					purge = cancelled;
+					Thread.interrupted(); // Don't let a cancellation interrupt the purge or the next task on this thread
+				}
+
+				if (purge) {
+					purge(reportService);
+				}
+			}
+		}
+
+		/**
+		 * Purges the report request if it still exists
+		 * @param reportService the report service
+		 */
+		protected void purge(ReportService reportService) {
+			try {
+				ReportRequest request = reportService.getReportRequest(requestId);
+				if (request != null) {
+					reportService.purgeReportRequest(request);
+				}
+			}
+			catch (Exception ex) {
+				log.error("Unable to purge cancelled report request #" + requestId, ex);
+			}
+		}
+
+		/**
+		 * Gets whether this task has been taken by a worker
+		 * @return true if started
+		 */
+		public boolean isStarted() {
+			return started;
+		}
+
+		/**
+		 * Cancels this task, interrupting it if it's running. Its worker will purge the request once it has stopped.
+		 * @return true if the worker will purge the request, false if the task has already finished
+		 */
+		public synchronized boolean cancel() {
+			if (finished) {
+				return false;
+			}
+
+			cancelled = true;
+			if (runner != null) {
+				runner.interrupt();
+			}
+			return true;
+		}
+
+		/**
+		 * Orders tasks by priority (the priority constants are declared from highest to lowest) then submission order
+		 * @see Comparable#compareTo(Object)
+		 */
+		@Override
+		public int compareTo(Task other) {
+			int byPriority = OpenmrsUtil.compareWithNullAsGreatest(priority, other.priority);
+			return byPriority != 0 ? byPriority : (sequence < other.sequence ? -1 : (sequence > other.sequence ? 1 : 0));
+		}
+	}
+}
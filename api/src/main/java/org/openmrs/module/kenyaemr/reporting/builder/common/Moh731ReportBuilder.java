@@ -192,6 +192,7 @@ public class Moh731ReportBuilder extends AbstractReportBuilder {
 		mergedDsd.addDataSetDefinition(cohortDsd);
 		mergedDsd.addDataSetDefinition(nonCohortDsd);
 		mergedDsd.setMergeOrder(MergingDataSetDefinition.MergeOrder.NAME);
+		mergedDsd.setParallel(true);
 
 		ColumnParameters colInfants = new ColumnParameters(null, "<1", "age=<1");
 		ColumnParameters colMPeds = new ColumnParameters(null, "<15, Male", "gender=M|age=<15");
@@ -15,14 +15,15 @@ import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.calculation.library.mchcs.ParentCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.mchcs.PersonAddressCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.mchcs.PersonAttributeCalculation;
-import org.openmrs.module.kenyaemr.calculation.library.mchcs.VaccinationDateCalculation;
 import org.openmrs.module.kenyaemr.metadata.MchMetadata;
 import org.openmrs.module.kenyaemr.reporting.calculation.converter.ConceptNamesDataConverter;
-import org.openmrs.module.kenyaemr.reporting.calculation.converter.CustomDateConverter;
 import org.openmrs.module.kenyaemr.reporting.calculation.converter.GenderConverter;
 import org.openmrs.module.kenyaemr.reporting.calculation.converter.ObsDatetimeConverter;
 import org.openmrs.module.kenyaemr.reporting.calculation.converter.ObsValueDatetimeConverter;
 import org.openmrs.module.kenyaemr.reporting.calculation.converter.RDQACalculationResultConverter;
+import org.openmrs.module.kenyaemr.reporting.data.converter.VaccinationDateConverter;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.CachedPatientDataDefinition;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.ImmunizationTimelineDataDefinition;
 import org.openmrs.module.kenyaemr.reporting.library.moh510.Moh510CohortLibrary;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 import org.openmrs.module.reporting.cohort.definition.CohortDefinition;
@@ -107,25 +108,28 @@ public class Moh510ReportBuilder extends AbstractHybridReportBuilder{
         dsd.addColumn("Village_Estate_Landmark", new CalculationDataDefinition("Village/Estate/Landmark", new PersonAddressCalculation()), "", new RDQACalculationResultConverter());       
         dsd.addColumn("Telephone Number", new CalculationDataDefinition("Telephone Number", new PersonAttributeCalculation("Telephone contact")), "", new RDQACalculationResultConverter());
 
+        // Vaccine dose columns share one evaluation of the immunization history
+        DataDefinition immunizationTimeline = new CachedPatientDataDefinition(new ImmunizationTimelineDataDefinition("Immunization timeline"));
+
         dsd.addColumn("BCG", new ObsForPersonDataDefinition("BCG", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.BACILLE_CAMILE_GUERIN_VACCINATION), null, null), "", new ObsDatetimeConverter());
-        dsd.addColumn("Polio birth Dose", new CalculationDataDefinition("Polio birth Dose", new VaccinationDateCalculation(Dictionary.POLIO_VACCINATION_ORAL, 0)), "", new ObsDatetimeConverter());
-        dsd.addColumn("OPV 1", new CalculationDataDefinition("OPV 1", new VaccinationDateCalculation(Dictionary.POLIO_VACCINATION_ORAL, 1)), "", new CustomDateConverter());
-        dsd.addColumn("OPV 2", new CalculationDataDefinition("OPV 2", new VaccinationDateCalculation(Dictionary.POLIO_VACCINATION_ORAL, 2)), "", new CustomDateConverter());
-        dsd.addColumn("OPV 3", new CalculationDataDefinition("OPV 3", new VaccinationDateCalculation(Dictionary.POLIO_VACCINATION_ORAL, 3)), "", new CustomDateConverter());
+        dsd.addColumn("Polio birth Dose", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.POLIO_VACCINATION_ORAL, 0));
+        dsd.addColumn("OPV 1", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.POLIO_VACCINATION_ORAL, 1));
+        dsd.addColumn("OPV 2", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.POLIO_VACCINATION_ORAL, 2));
+        dsd.addColumn("OPV 3", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.POLIO_VACCINATION_ORAL, 3));
         dsd.addColumn("IPV", new ObsForPersonDataDefinition("IPV", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.POLIO_VACCINATION_INACTIVATED), null, null), "", new ObsDatetimeConverter());
-        dsd.addColumn("DPT_HepB_Hib 1", new CalculationDataDefinition("DPT/Hep.B/Hib 1", new VaccinationDateCalculation(Dictionary.DIPHTHERIA_TETANUS_AND_PERTUSSIS_VACCINATION, 1)), "", new CustomDateConverter());
-        dsd.addColumn("DPT_HepB_Hib 2", new CalculationDataDefinition("DPT/Hep.B/Hib 2", new VaccinationDateCalculation(Dictionary.DIPHTHERIA_TETANUS_AND_PERTUSSIS_VACCINATION, 2)), "", new CustomDateConverter());
-        dsd.addColumn("DPT_HepB_Hib 3", new CalculationDataDefinition("DPT/Hep.B/Hib 3", new VaccinationDateCalculation(Dictionary.DIPHTHERIA_TETANUS_AND_PERTUSSIS_VACCINATION, 3)), "", new CustomDateConverter());
-        dsd.addColumn("PCV 10(Pneumococcal) 1", new CalculationDataDefinition("PCV 10(Pneumococcal) 1", new VaccinationDateCalculation(Dictionary.PNEUMOCOCCAL_CONJUGATE_VACCINE, 1)), "", new CustomDateConverter());
-        dsd.addColumn("PCV 10(Pneumococcal) 2", new CalculationDataDefinition("PCV 10(Pneumococcal) 2", new VaccinationDateCalculation(Dictionary.PNEUMOCOCCAL_CONJUGATE_VACCINE, 2)), "", new CustomDateConverter());
-        dsd.addColumn("PCV 10(Pneumococcal) 3", new CalculationDataDefinition("PCV 10(Pneumococcal) 3", new VaccinationDateCalculation(Dictionary.PNEUMOCOCCAL_CONJUGATE_VACCINE, 3)), "", new CustomDateConverter());
-        dsd.addColumn("ROTA 1", new CalculationDataDefinition("ROTA 1", new VaccinationDateCalculation(Dictionary.ROTA_VIRUS_VACCINE, 1)), "", new CustomDateConverter());
-        dsd.addColumn("ROTA 2", new CalculationDataDefinition("ROTA 2", new VaccinationDateCalculation(Dictionary.ROTA_VIRUS_VACCINE, 2)), "", new CustomDateConverter());
+        dsd.addColumn("DPT_HepB_Hib 1", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.DIPHTHERIA_TETANUS_AND_PERTUSSIS_VACCINATION, 1));
+        dsd.addColumn("DPT_HepB_Hib 2", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.DIPHTHERIA_TETANUS_AND_PERTUSSIS_VACCINATION, 2));
+        dsd.addColumn("DPT_HepB_Hib 3", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.DIPHTHERIA_TETANUS_AND_PERTUSSIS_VACCINATION, 3));
+        dsd.addColumn("PCV 10(Pneumococcal) 1", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.PNEUMOCOCCAL_CONJUGATE_VACCINE, 1));
+        dsd.addColumn("PCV 10(Pneumococcal) 2", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.PNEUMOCOCCAL_CONJUGATE_VACCINE, 2));
+        dsd.addColumn("PCV 10(Pneumococcal) 3", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.PNEUMOCOCCAL_CONJUGATE_VACCINE, 3));
+        dsd.addColumn("ROTA 1", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.ROTA_VIRUS_VACCINE, 1));
+        dsd.addColumn("ROTA 2", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.ROTA_VIRUS_VACCINE, 2));
         dsd.addColumn("Vitamin A", new ObsForPersonDataDefinition("Vitamin A", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.ADMINISTRATION_OF_VITAMIN_A), null, null), "", new ObsDatetimeConverter());
-        dsd.addColumn("Measles 1", new CalculationDataDefinition("Measles 1", new VaccinationDateCalculation(Dictionary.MEASLES_RUBELLA_VACCINE, 1)), "", new CustomDateConverter());
+        dsd.addColumn("Measles 1", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.MEASLES_RUBELLA_VACCINE, 1));
         dsd.addColumn("Yellow Fever", new ObsForPersonDataDefinition("Yellow Fever", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.YELLOW_FEVER_VACCINE), null, null), "", new ObsDatetimeConverter());
         dsd.addColumn("Fully Immunized Child", new ObsForPersonDataDefinition("Fully Immunized Child", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.FULLY_IMMUNIZED_CHILD), null, null), "", new ConceptNamesDataConverter());
-        dsd.addColumn("Measles 2", new CalculationDataDefinition("Measles 2", new VaccinationDateCalculation(Dictionary.MEASLES_RUBELLA_VACCINE, 2)), "", new CustomDateConverter());
+        dsd.addColumn("Measles 2", immunizationTimeline, "", new VaccinationDateConverter(Dictionary.MEASLES_RUBELLA_VACCINE, 2));
         
         return dsd;
     }
@@ -40,6 +40,7 @@ import org.openmrs.module.kenyaemr.reporting.data.converter.BirthdateConverter;
 import org.openmrs.module.kenyaemr.reporting.data.converter.CalculationResultConverter;
 import org.openmrs.module.kenyaemr.reporting.data.converter.Cd4ValueAndDateConverter;
 import org.openmrs.module.kenyaemr.reporting.data.converter.IdentifierConverter;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.CachedPatientDataDefinition;
 import org.openmrs.module.kenyaemr.reporting.library.shared.hiv.art.ArtCohortLibrary;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 import org.openmrs.module.reporting.cohort.definition.CohortDefinition;
@@ -155,7 +156,7 @@ public class ArtCohortAnalysisReportBuilder extends AbstractHybridReportBuilder
         CalculationDataDefinition cd = new CalculationDataDefinition("baselinecd4", new BaselineCd4CountAndDateCalculation());
         cd.addCalculationParameter("outcomePeriod", months);
         cd.addParameter(new Parameter("onDate", "On Date", Date.class));
-        return cd;
+        return new CachedPatientDataDefinition(cd);
 
     }
 
@@ -169,7 +170,7 @@ public class ArtCohortAnalysisReportBuilder extends AbstractHybridReportBuilder
         CalculationDataDefinition cd = new CalculationDataDefinition("viral load", new ViralLoadCalculation());
         cd.addCalculationParameter("outcomePeriod", Integer.parseInt(descriptor.getId().split("\\.")[7]));
         cd.addParameter(new Parameter("onDate", "On Date", Date.class));
-        return cd;
+        return new CachedPatientDataDefinition(cd);
     }
 
     private DataDefinition death(HybridReportDescriptor descriptor) {
@@ -183,13 +184,13 @@ public class ArtCohortAnalysisReportBuilder extends AbstractHybridReportBuilder
         CalculationDataDefinition cd = new CalculationDataDefinition("to", new IsArtTransferOutAndHasDateCalculation());
         cd.addParameter(new Parameter("onDate", "On Date", Date.class));
         cd.addCalculationParameter("outcomePeriod", Integer.parseInt(descriptor.getId().split("\\.")[7]));
-        return cd;
+        return new CachedPatientDataDefinition(cd);
     }
 
     private DataDefinition ti() {
         CalculationDataDefinition cd = new CalculationDataDefinition("tiAndDate", new IsTransferInAndHasDateCalculation());
         cd.addParameter(new Parameter("onDate", "On Date", Date.class));
-        return cd;
+        return new CachedPatientDataDefinition(cd);
     }
 
     private DataDefinition fromEligibilityToArtStart(HybridReportDescriptor descriptor) {
@@ -203,21 +204,21 @@ public class ArtCohortAnalysisReportBuilder extends AbstractHybridReportBuilder
         CalculationDataDefinition cd = new CalculationDataDefinition("date and reason", new DateAndReasonFirstMedicallyEligibleForArtARTCalculation());
         cd.addParameter(new Parameter("onDate", "On Date", Date.class));
         cd.addCalculationParameter("outcomePeriod", Integer.parseInt(descriptor.getId().split("\\.")[7]));
-        return cd;
+        return new CachedPatientDataDefinition(cd);
     }
 
     private DataDefinition currentARTRegimen(HybridReportDescriptor descriptor) {
         CalculationDataDefinition cd = new CalculationDataDefinition("currentRegimen", new CurrentArtRegimenCohortAnalysisCalculation());
         cd.addParameter(new Parameter("onDate", "On Date", Date.class));
         cd.addCalculationParameter("outcomePeriod", Integer.parseInt(descriptor.getId().split("\\.")[7]));
-        return cd;
+        return new CachedPatientDataDefinition(cd);
     }
 
     private DataDefinition currentCd4Count(HybridReportDescriptor descriptor) {
         CalculationDataDefinition cd = new CalculationDataDefinition("currentCd4", new LastCd4Calculation());
         cd.addParameter(new Parameter("onDate", "On Date", Date.class));
         cd.addCalculationParameter("outcomePeriod", Integer.parseInt(descriptor.getId().split("\\.")[7]));
-        return cd;
+        return new CachedPatientDataDefinition(cd);
     }
 
     private DataDefinition changeInCd4Count(HybridReportDescriptor descriptor) {
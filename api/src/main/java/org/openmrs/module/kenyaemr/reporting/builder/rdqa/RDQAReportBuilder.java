@@ -56,6 +56,7 @@ import org.openmrs.module.kenyaemr.reporting.calculation.converter.WeightConvert
 import org.openmrs.module.kenyaemr.reporting.cohort.definition.RDQAActiveCohortDefinition;
 import org.openmrs.module.kenyaemr.reporting.cohort.definition.RDQACohortDefinition;
 import org.openmrs.module.kenyaemr.reporting.data.converter.Cd4OrVLValueAndDateConverter;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.CachedPatientDataDefinition;
 import org.openmrs.module.kenyaemr.reporting.library.rdqa.RDQAIndicatorLibrary;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 import org.openmrs.module.reporting.cohort.definition.CohortDefinition;
@@ -116,8 +117,8 @@ public class RDQAReportBuilder extends AbstractHybridReportBuilder {
 		dsd.addColumn("id", new PersonIdDataDefinition(), "");
 		dsd.addColumn("Name", nameDef, "");
 		dsd.addColumn("Unique Patient No", identifierDef, "");
-		dsd.addColumn("Enrollment into Program", new CalculationDataDefinition("Enrollment into Program", new PatientProgramEnrollmentCalculation()), "", new PatientProgramEnrollmentConverter());
-		dsd.addColumn("Enrollment Date", new CalculationDataDefinition("Enrollment Date", new PatientProgramEnrollmentCalculation()), "", new PatientProgramEnrollmentDateConverter());
+		dsd.addColumn("Enrollment into Program", new CachedPatientDataDefinition(new CalculationDataDefinition("Enrollment into Program", new PatientProgramEnrollmentCalculation())), "", new PatientProgramEnrollmentConverter());
+		dsd.addColumn("Enrollment Date", new CachedPatientDataDefinition(new CalculationDataDefinition("Enrollment Date", new PatientProgramEnrollmentCalculation())), "", new PatientProgramEnrollmentDateConverter());
 		dsd.addColumn("Entry Point", new ObsForPersonDataDefinition("Entry Point", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.METHOD_OF_ENROLLMENT), null, null), "", new PatientEntryPointDataConverter());
         dsd.addColumn("Sex", new GenderDataDefinition(), "", new GenderConverter());
 		dsd.addColumn("Date of Birth", new BirthdateDataDefinition(), "", new BirthdateConverter(DATE_FORMAT));
@@ -126,15 +127,15 @@ public class RDQAReportBuilder extends AbstractHybridReportBuilder {
 		dsd.addColumn("Art Start Date", new CalculationDataDefinition("Art Start Date", new InitialArtStartDateCalculation()), "", new DateArtStartDateConverter());
 		dsd.addColumn("Weight at Art Start", new CalculationDataDefinition("Weight at Art Start", new WeightAtArtStartDateCalculation()), "", new WeightConverter());
 
-		dsd.addColumn("First CD4 Count", new ObsForPersonDataDefinition("First CD4 Count", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null), "", new ObsValueNumericConverter(1));
-		dsd.addColumn("First CD4 Count Date", new ObsForPersonDataDefinition("First CD4 Count Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null), "", new ObsDatetimeConverter());
-		dsd.addColumn("Last CD4 Count", new ObsForPersonDataDefinition("Last CD4 Count", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null), "", new ObsValueNumericConverter(1));
-		dsd.addColumn("Last CD4 Count Date", new ObsForPersonDataDefinition("Last CD4 Count Date", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null), "", new ObsDatetimeConverter());
+		dsd.addColumn("First CD4 Count", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First CD4 Count", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null)), "", new ObsValueNumericConverter(1));
+		dsd.addColumn("First CD4 Count Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First CD4 Count Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null)), "", new ObsDatetimeConverter());
+		dsd.addColumn("Last CD4 Count", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last CD4 Count", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null)), "", new ObsValueNumericConverter(1));
+		dsd.addColumn("Last CD4 Count Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last CD4 Count Date", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null)), "", new ObsDatetimeConverter());
 
-		dsd.addColumn("First WHO Stage", new ObsForPersonDataDefinition("First WHO Stage", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new WHOStageDataConverter());
-		dsd.addColumn("First WHO Stage Date", new ObsForPersonDataDefinition("First WHO Stage Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new ObsDatetimeConverter());
-		dsd.addColumn("Last WHO Stage", new ObsForPersonDataDefinition("Last WHO Stage", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new WHOStageDataConverter());
-		dsd.addColumn("Last WHO Stage Date", new ObsForPersonDataDefinition("Last WHO Stage Date", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new ObsDatetimeConverter());
+		dsd.addColumn("First WHO Stage", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First WHO Stage", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new WHOStageDataConverter());
+		dsd.addColumn("First WHO Stage Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First WHO Stage Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new ObsDatetimeConverter());
+		dsd.addColumn("Last WHO Stage", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last WHO Stage", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new WHOStageDataConverter());
+		dsd.addColumn("Last WHO Stage Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last WHO Stage Date", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new ObsDatetimeConverter());
 
 		dsd.addColumn("Current Regimen", new CalculationDataDefinition("Current Regimen", new CurrentArtRegimenCalculation()), "", new RegimenConverter());
 
@@ -232,7 +233,7 @@ public class RDQAReportBuilder extends AbstractHybridReportBuilder {
         dsd.addColumn("id", new PersonIdDataDefinition(), "");
         dsd.addColumn("Name", nameDef, "");
         dsd.addColumn("Unique Patient No", identifierDef, "");
-        dsd.addColumn("Enrollment Date", new CalculationDataDefinition("Enrollment Date", new PatientProgramEnrollmentCalculation()), "", new PatientProgramEnrollmentDateConverter());
+        dsd.addColumn("Enrollment Date", new CachedPatientDataDefinition(new CalculationDataDefinition("Enrollment Date", new PatientProgramEnrollmentCalculation())), "", new PatientProgramEnrollmentDateConverter());
         dsd.addColumn("Entry Point", new ObsForPersonDataDefinition("Entry Point", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.METHOD_OF_ENROLLMENT), null, null), "", new PatientEntryPointDataConverter());
         dsd.addColumn("Date confirmed positive", new ObsForPersonDataDefinition("Date Confirmed Positive", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.DATE_OF_HIV_DIAGNOSIS), null, null), "", new ObsDatetimeConverter());
         dsd.addColumn("Sex", new GenderDataDefinition(), "", new GenderConverter());
@@ -242,15 +243,15 @@ public class RDQAReportBuilder extends AbstractHybridReportBuilder {
         dsd.addColumn("Art Start Date", new CalculationDataDefinition("Art Start Date", new InitialArtStartDateCalculation()), "", new DateArtStartDateConverter());
         dsd.addColumn("Weight at Art Start", new CalculationDataDefinition("Weight at Art Start", new WeightAtArtStartDateCalculation()), "", new WeightConverter());
 
-        dsd.addColumn("First CD4 Count", new ObsForPersonDataDefinition("First CD4 Count", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null), "", new ObsValueNumericConverter(1));
-        dsd.addColumn("First CD4 Count Date", new ObsForPersonDataDefinition("First CD4 Count Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null), "", new ObsDatetimeConverter());
-        dsd.addColumn("Last CD4 Count", new CalculationDataDefinition("Last CD4 Count", new LastCD4OrVLResultCalculation()), "", new Cd4OrVLValueAndDateConverter("value"));
-        dsd.addColumn("Last CD4 Count Date", new CalculationDataDefinition("Last CD4 Count Date", new LastCD4OrVLResultCalculation()), "", new Cd4OrVLValueAndDateConverter("date"));
+        dsd.addColumn("First CD4 Count", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First CD4 Count", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null)), "", new ObsValueNumericConverter(1));
+        dsd.addColumn("First CD4 Count Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First CD4 Count Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null)), "", new ObsDatetimeConverter());
+        dsd.addColumn("Last CD4 Count", new CachedPatientDataDefinition(new CalculationDataDefinition("Last CD4 Count", new LastCD4OrVLResultCalculation())), "", new Cd4OrVLValueAndDateConverter("value"));
+        dsd.addColumn("Last CD4 Count Date", new CachedPatientDataDefinition(new CalculationDataDefinition("Last CD4 Count Date", new LastCD4OrVLResultCalculation())), "", new Cd4OrVLValueAndDateConverter("date"));
 
-        dsd.addColumn("First WHO Stage", new ObsForPersonDataDefinition("First WHO Stage", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new WHOStageDataConverter());
-        dsd.addColumn("First WHO Stage Date", new ObsForPersonDataDefinition("First WHO Stage Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new ObsDatetimeConverter());
-        dsd.addColumn("Last WHO Stage", new ObsForPersonDataDefinition("Last WHO Stage", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new WHOStageDataConverter());
-        dsd.addColumn("Last WHO Stage Date", new ObsForPersonDataDefinition("Last WHO Stage Date", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new ObsDatetimeConverter());
+        dsd.addColumn("First WHO Stage", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First WHO Stage", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new WHOStageDataConverter());
+        dsd.addColumn("First WHO Stage Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First WHO Stage Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new ObsDatetimeConverter());
+        dsd.addColumn("Last WHO Stage", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last WHO Stage", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new WHOStageDataConverter());
+        dsd.addColumn("Last WHO Stage Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last WHO Stage Date", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new ObsDatetimeConverter());
 
         dsd.addColumn("Current Regimen", new CalculationDataDefinition("Current Regimen", new CurrentArtRegimenCalculation()), "", new RegimenConverter());
 
@@ -312,7 +313,7 @@ public class RDQAReportBuilder extends AbstractHybridReportBuilder {
         dsd.addColumn("id", new PersonIdDataDefinition(), "");
         dsd.addColumn("Name", nameDef, "");
         dsd.addColumn("Unique Patient No", identifierDef, "");
-        dsd.addColumn("Enrollment Date", new CalculationDataDefinition("Enrollment Date", new PatientProgramEnrollmentCalculation()), "", new PatientProgramEnrollmentDateConverter());
+        dsd.addColumn("Enrollment Date", new CachedPatientDataDefinition(new CalculationDataDefinition("Enrollment Date", new PatientProgramEnrollmentCalculation())), "", new PatientProgramEnrollmentDateConverter());
         dsd.addColumn("Entry Point", new ObsForPersonDataDefinition("Entry Point", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.METHOD_OF_ENROLLMENT), null, null), "", new PatientEntryPointDataConverter());
         dsd.addColumn("Date confirmed positive", new ObsForPersonDataDefinition("Date Confirmed Positive", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.DATE_OF_HIV_DIAGNOSIS), null, null), "", new ObsDatetimeConverter());
         dsd.addColumn("Sex", new GenderDataDefinition(), "", new GenderConverter());
@@ -322,20 +323,20 @@ public class RDQAReportBuilder extends AbstractHybridReportBuilder {
         dsd.addColumn("Art Start Date", new CalculationDataDefinition("Art Start Date", new InitialArtStartDateCalculation()), "", new DateArtStartDateConverter());
         dsd.addColumn("Weight at Art Start", new CalculationDataDefinition("Weight at Art Start", new WeightAtArtStartDateCalculation()), "", new WeightConverter());
 
-        dsd.addColumn("First CD4 Count", new ObsForPersonDataDefinition("First CD4 Count", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null), "", new ObsValueNumericConverter(1));
-        dsd.addColumn("First CD4 Count Date", new ObsForPersonDataDefinition("First CD4 Count Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null), "", new ObsDatetimeConverter());
-        dsd.addColumn("Last CD4 Count", new CalculationDataDefinition("Last CD4 Count", new LastCD4OrVLResultCalculation()), "", new Cd4OrVLValueAndDateConverter("value"));
-        dsd.addColumn("Last CD4 Count Date", new CalculationDataDefinition("Last CD4 Count Date", new LastCD4OrVLResultCalculation()), "", new Cd4OrVLValueAndDateConverter("date"));
+        dsd.addColumn("First CD4 Count", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First CD4 Count", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null)), "", new ObsValueNumericConverter(1));
+        dsd.addColumn("First CD4 Count Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First CD4 Count Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CD4_COUNT), null, null)), "", new ObsDatetimeConverter());
+        dsd.addColumn("Last CD4 Count", new CachedPatientDataDefinition(new CalculationDataDefinition("Last CD4 Count", new LastCD4OrVLResultCalculation())), "", new Cd4OrVLValueAndDateConverter("value"));
+        dsd.addColumn("Last CD4 Count Date", new CachedPatientDataDefinition(new CalculationDataDefinition("Last CD4 Count Date", new LastCD4OrVLResultCalculation())), "", new Cd4OrVLValueAndDateConverter("date"));
 
-        dsd.addColumn("First Viral Load Result", new ObsForPersonDataDefinition("First Viral Load Result", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), null, null), "", new ObsValueNumericConverter(1));
-        dsd.addColumn("First Viral Load Result Date", new ObsForPersonDataDefinition("First Viral Load Result Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), null, null), "", new ObsDatetimeConverter());
-        dsd.addColumn("Recent Viral Load Result", new ObsForPersonDataDefinition("Recent Viral Load Result", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), null, null), "", new ObsValueNumericConverter(1));
-        dsd.addColumn("Recent Viral Load Result Date", new ObsForPersonDataDefinition("Recent Viral Load Result Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), null, null), "", new ObsDatetimeConverter());
+        dsd.addColumn("First Viral Load Result", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First Viral Load Result", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), null, null)), "", new ObsValueNumericConverter(1));
+        dsd.addColumn("First Viral Load Result Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First Viral Load Result Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), null, null)), "", new ObsDatetimeConverter());
+        dsd.addColumn("Recent Viral Load Result", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Recent Viral Load Result", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), null, null)), "", new ObsValueNumericConverter(1));
+        dsd.addColumn("Recent Viral Load Result Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Recent Viral Load Result Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.HIV_VIRAL_LOAD), null, null)), "", new ObsDatetimeConverter());
 
-        dsd.addColumn("First WHO Stage", new ObsForPersonDataDefinition("First WHO Stage", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new WHOStageDataConverter());
-        dsd.addColumn("First WHO Stage Date", new ObsForPersonDataDefinition("First WHO Stage Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new ObsDatetimeConverter());
-        dsd.addColumn("Last WHO Stage", new ObsForPersonDataDefinition("Last WHO Stage", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new WHOStageDataConverter());
-        dsd.addColumn("Last WHO Stage Date", new ObsForPersonDataDefinition("Last WHO Stage Date", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null), "", new ObsDatetimeConverter());
+        dsd.addColumn("First WHO Stage", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First WHO Stage", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new WHOStageDataConverter());
+        dsd.addColumn("First WHO Stage Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First WHO Stage Date", TimeQualifier.FIRST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new ObsDatetimeConverter());
+        dsd.addColumn("Last WHO Stage", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last WHO Stage", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new WHOStageDataConverter());
+        dsd.addColumn("Last WHO Stage Date", new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last WHO Stage Date", TimeQualifier.LAST, Dictionary.getConcept(Dictionary.CURRENT_WHO_STAGE), null, null)), "", new ObsDatetimeConverter());
 
         dsd.addColumn("Current Regimen", new CalculationDataDefinition("Current Regimen", new CurrentArtRegimenCalculation()), "", new RegimenConverter());
 
@@ -0,0 +1,35 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting.cohort.definition;
+
+import org.openmrs.calculation.patient.PatientCalculation;
+import org.openmrs.module.kenyacore.report.cohort.definition.CalculationCohortDefinition;
+import org.openmrs.module.reporting.evaluation.caching.Caching;
+
+/**
+ * Calculation based cohort definition whose results are cached in the evaluation context, so that the same
+ * calculation with the same parameters is only evaluated once per report, however many times it is used
+ */
+@Caching(strategy = CalculationCachingStrategy.class)
+public class CachedCalculationCohortDefinition extends CalculationCohortDefinition {
+
+	/**
+	 * Constructs a new calculation based cohort definition
+	 * @param calculation the calculation
+	 */
+	public CachedCalculationCohortDefinition(PatientCalculation calculation) {
+		super(calculation);
+	}
+}
@@ -0,0 +1,38 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting.cohort.definition;
+
+import org.openmrs.module.kenyaemr.reporting.EmrReportingUtils;
+import org.openmrs.module.reporting.definition.configuration.ConfigurationPropertyCachingStrategy;
+import org.openmrs.module.reporting.evaluation.Definition;
+
+/**
+ * Caching strategy which keys definitions by the same fingerprint used for cached patient data definitions, so a
+ * calculation property is identified by its class rather than by instance (unless the calculation holds state of its
+ * own). Separately constructed definitions of the same calculation therefore share a cached result.
+ */
+public class CalculationCachingStrategy extends ConfigurationPropertyCachingStrategy {
+
+	/**
+	 * @see ConfigurationPropertyCachingStrategy#getCacheKey(Object)
+	 */
+	@Override
+	public String getCacheKey(Object obj) {
+		if (!(obj instanceof Definition)) {
+			return super.getCacheKey(obj);
+		}
+		return EmrReportingUtils.getFingerprint(obj);
+	}
+}
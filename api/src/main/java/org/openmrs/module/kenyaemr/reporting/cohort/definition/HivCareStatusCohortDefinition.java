@@ -0,0 +1,63 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting.cohort.definition;
+
+import org.openmrs.module.kenyaemr.calculation.HivCareStatusStore;
+import org.openmrs.module.reporting.cohort.definition.BaseCohortDefinition;
+import org.openmrs.module.reporting.definition.configuration.ConfigurationProperty;
+
+import java.util.Date;
+
+/**
+ * Cohort definition based on the HIV care status of patients on a date, as held in the HIV care status store
+ */
+public class HivCareStatusCohortDefinition extends BaseCohortDefinition {
+
+	@ConfigurationProperty(required = true)
+	private HivCareStatusStore.Status status;
+
+	@ConfigurationProperty(required = false)
+	private Date onDate;
+
+	/**
+	 * Default constructor
+	 */
+	public HivCareStatusCohortDefinition() {
+	}
+
+	/**
+	 * Constructs a cohort definition for the given status
+	 * @param status the status
+	 */
+	public HivCareStatusCohortDefinition(HivCareStatusStore.Status status) {
+		this.status = status;
+	}
+
+	public HivCareStatusStore.Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(HivCareStatusStore.Status status) {
+		this.status = status;
+	}
+
+	public Date getOnDate() {
+		return onDate;
+	}
+
+	public void setOnDate(Date onDate) {
+		this.onDate = onDate;
+	}
+}
@@ -0,0 +1,55 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting.cohort.definition.evaluator;
+
+import org.openmrs.Cohort;
+import org.openmrs.annotation.Handler;
+import org.openmrs.module.kenyacore.CoreContext;
+import org.openmrs.module.kenyaemr.calculation.HivCareStatusStore;
+import org.openmrs.module.kenyaemr.reporting.cohort.definition.HivCareStatusCohortDefinition;
+import org.openmrs.module.reporting.cohort.EvaluatedCohort;
+import org.openmrs.module.reporting.cohort.definition.CohortDefinition;
+import org.openmrs.module.reporting.cohort.definition.evaluator.CohortDefinitionEvaluator;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.evaluation.EvaluationException;
+
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Evaluator for HIV care status based cohorts. Only patients who could have the status are looked up in the store.
+ */
+@Handler(supports = HivCareStatusCohortDefinition.class)
+public class HivCareStatusCohortDefinitionEvaluator implements CohortDefinitionEvaluator {
+
+	/**
+	 * @see org.openmrs.module.reporting.cohort.definition.evaluator.CohortDefinitionEvaluator#evaluate(org.openmrs.module.reporting.cohort.definition.CohortDefinition, org.openmrs.module.reporting.evaluation.EvaluationContext)
+	 */
+	@Override
+	public EvaluatedCohort evaluate(CohortDefinition cohortDefinition, EvaluationContext context) throws EvaluationException {
+
+		HivCareStatusCohortDefinition cd = (HivCareStatusCohortDefinition) cohortDefinition;
+		HivCareStatusStore store = CoreContext.getInstance().getManager(HivCareStatusStore.class);
+
+		Date onDate = cd.getOnDate() != null ? cd.getOnDate() : context.getEvaluationDate();
+
+		Set<Integer> patientIds = store.getPossiblePatients(cd.getStatus());
+		if (context.getBaseCohort() != null) {
+			patientIds.retainAll(context.getBaseCohort().getMemberIds());
+		}
+
+		return new EvaluatedCohort(new Cohort(store.getPatientsWithStatus(patientIds, cd.getStatus(), onDate)), cd, context);
+	}
+}
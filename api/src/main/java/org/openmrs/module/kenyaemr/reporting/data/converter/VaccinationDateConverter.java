@@ -0,0 +1,66 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.reporting.data.converter;
+
+import org.openmrs.module.kenyaemr.reporting.RDQAReportUtils;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.ImmunizationTimelineDataDefinition;
+import org.openmrs.module.reporting.data.converter.DataConverter;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Converts an immunization timeline to the formatted date of one vaccine dose
+ */
+public class VaccinationDateConverter implements DataConverter {
+
+	private String key;
+
+	/**
+	 * Constructs a new converter
+	 * @param vaccineUuid the vaccine concept UUID
+	 * @param sequence the dose sequence number
+	 */
+	public VaccinationDateConverter(String vaccineUuid, Integer sequence) {
+		this.key = ImmunizationTimelineDataDefinition.getKey(vaccineUuid, sequence);
+	}
+
+	/**
+	 * @see DataConverter#convert(Object)
+	 */
+	@Override
+	public Object convert(Object obj) {
+		Date date = obj != null ? (Date) ((Map<?, ?>) obj).get(key) : null;
+
+		return RDQAReportUtils.formatdates(date, RDQAReportUtils.DATE_FORMAT);
+	}
+
+	/**
+	 * @see DataConverter#getInputDataType()
+	 */
+	@Override
+	public Class<?> getInputDataType() {
+		return Map.class;
+	}
+
+	/**
+	 * @see DataConverter#getDataType()
+	 */
+	@Override
+	public Class<?> getDataType() {
+		return String.class;
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting.data.patient.definition;
+
+import org.openmrs.module.reporting.data.BaseDataDefinition;
+import org.openmrs.module.reporting.data.patient.definition.PatientDataDefinition;
+import org.openmrs.module.reporting.data.patient.definition.PersonToPatientDataDefinition;
+import org.openmrs.module.reporting.data.person.definition.PersonDataDefinition;
+import org.openmrs.module.reporting.definition.configuration.ConfigurationProperty;
+import org.openmrs.module.reporting.evaluation.parameter.Parameter;
+
+/**
+ * Patient data definition which wraps another so that columns built from equivalent definitions share one evaluation.
+ * The wrapped definition is evaluated once per distinct configuration, parameter values and base cohort during a
+ * report evaluation, however many columns use it.
+ */
+public class CachedPatientDataDefinition extends BaseDataDefinition implements PatientDataDefinition {
+
+	@ConfigurationProperty
+	private PatientDataDefinition definition;
+
+	/**
+	 * Default constructor
+	 */
+	public CachedPatientDataDefinition() {
+	}
+
+	/**
+	 * Constructs a new cached definition. The wrapper takes the name and parameters of the wrapped definition.
+	 * @param definition the patient data definition
+	 */
+	public CachedPatientDataDefinition(PatientDataDefinition definition) {
+		setDefinition(definition);
+		setName(definition.getName());
+
+		for (Parameter parameter : definition.getParameters()) {
+			addParameter(parameter);
+		}
+	}
+
+	/**
+	 * Constructs a new cached definition of person data
+	 * @param definition the person data definition
+	 */
+	public CachedPatientDataDefinition(PersonDataDefinition definition) {
+		this(new PersonToPatientDataDefinition(definition));
+		setName(definition.getName());
+	}
+
+	/**
+	 * @see org.openmrs.module.reporting.data.DataDefinition#getDataType()
+	 */
+	@Override
+	public Class<?> getDataType() {
+		return definition.getDataType();
+	}
+
+	/**
+	 * Gets the wrapped definition
+	 * @return the definition
+	 */
+	public PatientDataDefinition getDefinition() {
+		return definition;
+	}
+
+	/**
+	 * Sets the wrapped definition
+	 * @param definition the definition
+	 */
+	public void setDefinition(PatientDataDefinition definition) {
+		this.definition = definition;
+	}
+}
@@ -0,0 +1,61 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.reporting.data.patient.definition;
+
+import org.openmrs.module.reporting.data.BaseDataDefinition;
+import org.openmrs.module.reporting.data.patient.definition.PatientDataDefinition;
+
+import java.util.Map;
+
+/**
+ * Patient data definition of the dates of each vaccine dose recorded in a patient's immunization history. The value
+ * for each patient is a map of dose keys (see {@link #getKey(String, Integer)}) to the date of the earliest record of
+ * that dose, so all vaccine columns of a register can be read from one evaluation.
+ */
+public class ImmunizationTimelineDataDefinition extends BaseDataDefinition implements PatientDataDefinition {
+
+	/**
+	 * Default constructor
+	 */
+	public ImmunizationTimelineDataDefinition() {
+	}
+
+	/**
+	 * Constructs a new definition with the given name
+	 * @param name the name
+	 */
+	public ImmunizationTimelineDataDefinition(String name) {
+		super(name);
+	}
+
+	/**
+	 * @see org.openmrs.module.reporting.data.DataDefinition#getDataType()
+	 */
+	@Override
+	public Class<?> getDataType() {
+		return Map.class;
+	}
+
+	/**
+	 * Gets the key of a vaccine dose in the timeline
+	 * @param vaccineUuid the vaccine concept UUID
+	 * @param sequence the dose sequence number
+	 * @return the key
+	 */
+	public static String getKey(String vaccineUuid, Integer sequence) {
+		return vaccineUuid + ":" + sequence;
+	}
+}
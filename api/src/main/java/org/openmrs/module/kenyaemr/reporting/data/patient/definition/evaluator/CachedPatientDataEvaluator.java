@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting.data.patient.definition.evaluator;
+
+import org.openmrs.Cohort;
+import org.openmrs.annotation.Handler;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyaemr.reporting.EmrReportingUtils;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.CachedPatientDataDefinition;
+import org.openmrs.module.reporting.data.patient.EvaluatedPatientData;
+import org.openmrs.module.reporting.data.patient.definition.PatientDataDefinition;
+import org.openmrs.module.reporting.data.patient.evaluator.PatientDataEvaluator;
+import org.openmrs.module.reporting.data.patient.service.PatientDataService;
+import org.openmrs.module.reporting.evaluation.Definition;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.evaluation.EvaluationException;
+import org.openmrs.module.reporting.evaluation.parameter.Parameter;
+import org.openmrs.util.OpenmrsUtil;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Evaluator for cached patient data definitions. Results are kept in the evaluation context cache keyed by a
+ * fingerprint of the wrapped definition (see {@link EmrReportingUtils#getFingerprint(Object)}), so equivalent definitions in different columns are only evaluated once.
+ */
+@Handler(supports = CachedPatientDataDefinition.class)
+public class CachedPatientDataEvaluator implements PatientDataEvaluator {
+
+	private static final String CACHE_KEY_PREFIX = CachedPatientDataEvaluator.class.getName() + ":";
+
+	/**
+	 * @see PatientDataEvaluator#evaluate(org.openmrs.module.reporting.data.patient.definition.PatientDataDefinition, org.openmrs.module.reporting.evaluation.EvaluationContext)
+	 */
+	@Override
+	public EvaluatedPatientData evaluate(PatientDataDefinition definition, EvaluationContext context) throws EvaluationException {
+		PatientDataDefinition wrapped = ((CachedPatientDataDefinition) definition).getDefinition();
+
+		String cacheKey = CACHE_KEY_PREFIX + EmrReportingUtils.getFingerprint(wrapped) + getParameterValues(wrapped, context);
+		Cohort baseCohort = context.getBaseCohort();
+
+		CachedData cached = (CachedData) context.getFromCache(cacheKey);
+		if (cached != null && sameCohort(cached.baseCohort, baseCohort)) {
+			return cached.data;
+		}
+
+		EvaluatedPatientData data = Context.getService(PatientDataService.class).evaluate(wrapped, context);
+		context.addToCache(cacheKey, new CachedData(baseCohort, data));
+		return data;
+	}
+
+	/**
+	 * Gets the values of a definition's parameters from the evaluation context
+	 * @param definition the definition
+	 * @param context the evaluation context
+	 * @return the parameter values as a fingerprint
+	 */
+	protected static String getParameterValues(Definition definition, EvaluationContext context) {
+		Map<String, String> values = new TreeMap<String, String>();
+		for (Parameter parameter : definition.getParameters()) {
+			values.put(parameter.getName(), EmrReportingUtils.getFingerprint(context.getParameterValue(parameter.getName())));
+		}
+		return values.toString();
+	}
+
+	/**
+	 * Checks whether two base cohorts are the same
+	 * @param cohort1 the first cohort (may be null)
+	 * @param cohort2 the second cohort (may be null)
+	 * @return true if cohorts have the same members
+	 */
+	protected static boolean sameCohort(Cohort cohort1, Cohort cohort2) {
+		if (cohort1 == null || cohort2 == null) {
+			return cohort1 == cohort2;
+		}
+		return OpenmrsUtil.nullSafeEquals(cohort1.getMemberIds(), cohort2.getMemberIds());
+	}
+
+	/**
+	 * Evaluated data with the base cohort it was evaluated for
+	 */
+	private static class CachedData {
+
+		private final Cohort baseCohort;
+		private final EvaluatedPatientData data;
+
+		public CachedData(Cohort baseCohort, EvaluatedPatientData data) {
+			this.baseCohort = baseCohort;
+			this.data = data;
+		}
+	}
+}
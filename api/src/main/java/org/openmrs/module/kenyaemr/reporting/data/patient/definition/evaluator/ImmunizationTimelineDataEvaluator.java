@@ -0,0 +1,145 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.reporting.data.patient.definition.evaluator;
+
+import org.apache.commons.lang.time.DateUtils;
+import org.openmrs.Cohort;
+import org.openmrs.annotation.Handler;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.ImmunizationTimelineDataDefinition;
+import org.openmrs.module.reporting.common.DateUtil;
+import org.openmrs.module.reporting.data.patient.EvaluatedPatientData;
+import org.openmrs.module.reporting.data.patient.definition.PatientDataDefinition;
+import org.openmrs.module.reporting.data.patient.evaluator.PatientDataEvaluator;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.evaluation.EvaluationException;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluator for immunization timelines. The members of all immunization history obs groups of the cohort are loaded
+ * in a single query per batch of patients, rather than once per vaccine column.
+ */
+@Handler(supports = ImmunizationTimelineDataDefinition.class)
+public class ImmunizationTimelineDataEvaluator implements PatientDataEvaluator {
+
+	/**
+	 * Maximum number of patient ids passed to a single query
+	 */
+	private static final int BATCH_SIZE = 1000;
+
+	/**
+	 * @see PatientDataEvaluator#evaluate(org.openmrs.module.reporting.data.patient.definition.PatientDataDefinition, org.openmrs.module.reporting.evaluation.EvaluationContext)
+	 */
+	@Override
+	public EvaluatedPatientData evaluate(PatientDataDefinition definition, EvaluationContext context) throws EvaluationException {
+		EvaluatedPatientData data = new EvaluatedPatientData(definition, context);
+
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("history", Dictionary.getConcept(Dictionary.IMMUNIZATION_HISTORY));
+		params.put("before", DateUtils.addDays(DateUtil.getStartOfDay(context.getEvaluationDate()), 1));
+
+		// Groups are ordered by date so that the earliest record of each dose is kept
+		String hql = "select g.person.personId, g.obsId, m.concept.conceptId, vc.uuid, m.valueNumeric, m.obsDatetime"
+				+ " from Obs m join m.obsGroup g left join m.valueCoded vc"
+				+ " where m.voided = false and g.voided = false and g.concept = :history and g.obsDatetime < :before";
+
+		Cohort baseCohort = context.getBaseCohort();
+		if (baseCohort == null) {
+			addTimelines(data, query(hql, params));
+		}
+		else {
+			List<Integer> patientIds = new ArrayList<Integer>(baseCohort.getMemberIds());
+			for (int from = 0; from < patientIds.size(); from += BATCH_SIZE) {
+				params.put("patientIds", patientIds.subList(from, Math.min(from + BATCH_SIZE, patientIds.size())));
+				addTimelines(data, query(hql + " and g.person.personId in (:patientIds)", params));
+			}
+		}
+
+		return data;
+	}
+
+	/**
+	 * Runs the obs group member query
+	 * @param hql the query without its ordering
+	 * @param params the query parameters
+	 * @return the rows
+	 */
+	protected List<Object> query(String hql, Map<String, Object> params) {
+		return Context.getService(KenyaEmrService.class).executeHqlQuery(hql + " order by g.obsDatetime asc, g.obsId asc", params);
+	}
+
+	/**
+	 * Adds the doses recorded by each obs group to the timelines of their patients. A group records a dose if it has
+	 * both a vaccine and a sequence number member.
+	 * @param data the evaluated data
+	 * @param rows the obs group member rows, ordered by group
+	 */
+	@SuppressWarnings("unchecked")
+	protected void addTimelines(EvaluatedPatientData data, List<Object> rows) {
+		Integer vaccineQuestionId = Dictionary.getConcept(Dictionary.IMMUNIZATIONS).getConceptId();
+		Integer sequenceQuestionId = Dictionary.getConcept(Dictionary.IMMUNIZATION_SEQUENCE_NUMBER).getConceptId();
+
+		Integer groupId = null, patientId = null, sequence = null;
+		Map<String, Date> vaccineDates = new HashMap<String, Date>();
+
+		for (int r = 0; r <= rows.size(); ++r) {
+			Object[] values = r < rows.size() ? (Object[]) rows.get(r) : null;
+
+			// Record the previous group's doses once all its members are read
+			if (groupId != null && (values == null || !groupId.equals(values[1]))) {
+				if (sequence != null && !vaccineDates.isEmpty()) {
+					Map<String, Date> timeline = (Map<String, Date>) data.getData().get(patientId);
+					if (timeline == null) {
+						timeline = new HashMap<String, Date>();
+						data.addData(patientId, timeline);
+					}
+
+					for (Map.Entry<String, Date> vaccineDate : vaccineDates.entrySet()) {
+						String key = ImmunizationTimelineDataDefinition.getKey(vaccineDate.getKey(), sequence);
+						if (!timeline.containsKey(key)) {
+							timeline.put(key, vaccineDate.getValue());
+						}
+					}
+				}
+
+				sequence = null;
+				vaccineDates.clear();
+			}
+
+			if (values == null) {
+				break;
+			}
+
+			patientId = (Integer) values[0];
+			groupId = (Integer) values[1];
+
+			Integer conceptId = (Integer) values[2];
+			if (conceptId.equals(vaccineQuestionId) && values[3] != null) {
+				vaccineDates.put((String) values[3], (Date) values[5]);
+			}
+			else if (conceptId.equals(sequenceQuestionId) && values[4] != null) {
+				sequence = ((Double) values[4]).intValue();
+			}
+		}
+	}
+}
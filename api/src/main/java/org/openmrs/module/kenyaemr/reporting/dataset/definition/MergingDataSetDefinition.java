@@ -41,6 +41,9 @@ public class MergingDataSetDefinition extends BaseDataSetDefinition {
 	@ConfigurationProperty
 	private MergeOrder mergeOrder;
 
+	@ConfigurationProperty
+	private Boolean parallel;
+
 	/**
 	 * Gets the contained data set definitions
 	 * @return the data set definitions
@@ -83,4 +86,20 @@ public class MergingDataSetDefinition extends BaseDataSetDefinition {
 	public void setMergeOrder(MergeOrder mergeOrder) {
 		this.mergeOrder = mergeOrder;
 	}
+
+	/**
+	 * Gets whether the contained data sets should be evaluated in parallel. They must not depend on each other.
+	 * @return true if parallel
+	 */
+	public Boolean getParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Sets whether the contained data sets should be evaluated in parallel
+	 * @param parallel true if parallel
+	 */
+	public void setParallel(Boolean parallel) {
+		this.parallel = parallel;
+	}
 }
\ No newline at end of file
@@ -14,9 +14,12 @@
 
 package org.openmrs.module.kenyaemr.reporting.dataset.definition.evaluator;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.openmrs.annotation.Handler;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.kenyaemr.reporting.dataset.definition.MergingDataSetDefinition;
+import org.openmrs.module.kenyaemr.util.UserContextSnapshot;
 import org.openmrs.module.reporting.dataset.DataSet;
 import org.openmrs.module.reporting.dataset.DataSetColumn;
 import org.openmrs.module.reporting.dataset.MapDataSet;
@@ -30,7 +33,17 @@ import org.openmrs.util.OpenmrsUtil;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Evaluator for merged data sets
@@ -38,6 +51,27 @@ import java.util.List;
 @Handler(supports = MergingDataSetDefinition.class)
 public class MergingDataSetEvaluator implements DataSetEvaluator {
 
+	protected static final Log log = LogFactory.getLog(MergingDataSetEvaluator.class);
+
+	/**
+	 * Maximum number of data sets evaluated at the same time across all parallel merges
+	 */
+	protected static final int MAX_PARALLEL_EVALUATIONS = 4;
+
+	/**
+	 * Limits evaluations across all parallel merges. Each merge has its own worker threads, which are stopped when it
+	 * finishes, so no threads outlive an evaluation.
+	 */
+	private static final Semaphore evaluationPermits = new Semaphore(MAX_PARALLEL_EVALUATIONS);
+
+	/**
+	 * Set in worker threads so that nested parallel merges are evaluated in that thread rather than waiting on the
+	 * pool which is running them
+	 */
+	private static final ThreadLocal<Boolean> inWorker = new ThreadLocal<Boolean>();
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
 	/**
 	 * @see DataSetEvaluator#evaluate(org.openmrs.module.reporting.dataset.definition.DataSetDefinition, org.openmrs.module.reporting.evaluation.EvaluationContext)
 	 */
@@ -45,22 +79,160 @@ public class MergingDataSetEvaluator implements DataSetEvaluator {
 	public MapDataSet evaluate(DataSetDefinition dataSetDefinition, EvaluationContext context) throws EvaluationException {
 		MergingDataSetDefinition dsd = (MergingDataSetDefinition) dataSetDefinition;
 
-		List<MapDataSet> dataSets = new ArrayList<MapDataSet>();
+		List<DataSet> dataSets;
 
-		DataSetDefinitionService dss = Context.getService(DataSetDefinitionService.class);
+		if (Boolean.TRUE.equals(dsd.getParallel()) && dsd.getDataSetDefinitions().size() > 1 && inWorker.get() == null) {
+			dataSets = evaluateInParallel(dsd.getDataSetDefinitions(), context);
+		}
+		else {
+			dataSets = new ArrayList<DataSet>();
+
+			DataSetDefinitionService dss = Context.getService(DataSetDefinitionService.class);
 
-		for (DataSetDefinition childDsd : dsd.getDataSetDefinitions()) {
-			DataSet dataSet = dss.evaluate(childDsd, context);
+			for (DataSetDefinition childDsd : dsd.getDataSetDefinitions()) {
+				dataSets.add(dss.evaluate(childDsd, context));
+			}
+		}
 
+		List<MapDataSet> mapDataSets = new ArrayList<MapDataSet>();
+		for (DataSet dataSet : dataSets) {
 			if (dataSet instanceof MapDataSet) {
-				dataSets.add((MapDataSet) dataSet);
+				mapDataSets.add((MapDataSet) dataSet);
 			}
 			else {
 				throw new EvaluationException("Can only merge single dimension data sets");
 			}
 		}
 
-		return mergeDataSets(dataSets, dsd, context);
+		return mergeDataSets(mapDataSets, dsd, context);
+	}
+
+	/**
+	 * Evaluates data sets on worker threads. Each is evaluated in its own session, as the current user but with its own
+	 * new user context, and with its own copy of the evaluation context.
+	 * @param dataSetDefinitions the data set definitions
+	 * @param context the evaluation context
+	 * @return the data sets in the same order as their definitions
+	 * @throws EvaluationException if any data set couldn't be evaluated
+	 */
+	protected List<DataSet> evaluateInParallel(List<DataSetDefinition> dataSetDefinitions, EvaluationContext context) throws EvaluationException {
+		ExecutorService executor = createExecutor(Math.min(MAX_PARALLEL_EVALUATIONS, dataSetDefinitions.size()));
+		try {
+			return evaluateInParallel(dataSetDefinitions, context, executor);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Evaluates data sets on the given worker threads
+	 * @param dataSetDefinitions the data set definitions
+	 * @param context the evaluation context
+	 * @param executor the worker threads
+	 * @return the data sets in the same order as their definitions
+	 * @throws EvaluationException if any data set couldn't be evaluated
+	 */
+	private List<DataSet> evaluateInParallel(List<DataSetDefinition> dataSetDefinitions, EvaluationContext context, ExecutorService executor) throws EvaluationException {
+		List<Future<DataSet>> futures = new ArrayList<Future<DataSet>>();
+		final UserContextSnapshot userContext = new UserContextSnapshot(Context.getUserContext());
+
+		for (final DataSetDefinition childDsd : dataSetDefinitions) {
+			final EvaluationContext childContext = copyContext(context);
+
+			futures.add(executor.submit(new Callable<DataSet>() {
+				@Override
+				public DataSet call() throws Exception {
+					evaluationPermits.acquire();
+
+					long start = System.currentTimeMillis();
+
+					Context.openSession();
+					Context.setUserContext(userContext.createUserContext());
+					inWorker.set(Boolean.TRUE);
+					try {
+						return Context.getService(DataSetDefinitionService.class).evaluate(childDsd, childContext);
+					}
+					finally {
+						inWorker.remove();
+						Context.closeSession();
+						Context.clearUserContext();
+						evaluationPermits.release();
+
+						if (log.isDebugEnabled()) {
+							log.debug("Evaluated data set '" + childDsd.getName() + "' in " + (System.currentTimeMillis() - start) + "ms");
+						}
+					}
+				}
+			}));
+		}
+
+		List<DataSet> dataSets = new ArrayList<DataSet>();
+		try {
+			for (Future<DataSet> future : futures) {
+				dataSets.add(future.get());
+			}
+		}
+		catch (InterruptedException ex) {
+			cancelAll(futures);
+			Thread.currentThread().interrupt();
+			throw new EvaluationException("Interrupted while evaluating data sets", ex);
+		}
+		catch (ExecutionException ex) {
+			cancelAll(futures);
+			if (ex.getCause() instanceof EvaluationException) {
+				throw (EvaluationException) ex.getCause();
+			}
+			throw new EvaluationException("Unable to evaluate data set", ex.getCause());
+		}
+
+		return dataSets;
+	}
+
+	/**
+	 * Copies an evaluation context so that it can be used by another thread. Parameter and context values are copied,
+	 * and the copy starts with the entries already cached in the original, e.g. cohorts shared by several data sets
+	 * which were evaluated before the merge. Entries cached by the copy aren't added to the original.
+	 * @param context the evaluation context
+	 * @return the copy
+	 */
+	protected static EvaluationContext copyContext(EvaluationContext context) {
+		EvaluationContext ret = new EvaluationContext(context.getEvaluationDate());
+		ret.setParameterValues(new HashMap<String, Object>(context.getParameterValues()));
+		ret.setContextValues(new HashMap<String, Object>(context.getContextValues()));
+		ret.setBaseCohort(context.getBaseCohort());
+		ret.setLimit(context.getLimit());
+
+		for (Map.Entry<String, Object> entry : context.getCache().entrySet()) {
+			ret.addToCache(entry.getKey(), entry.getValue());
+		}
+		return ret;
+	}
+
+	/**
+	 * Cancels any unfinished evaluations
+	 * @param futures the evaluations
+	 */
+	private static void cancelAll(List<Future<DataSet>> futures) {
+		for (Future<DataSet> future : futures) {
+			future.cancel(true);
+		}
+	}
+
+	/**
+	 * Creates the worker threads for one parallel merge
+	 * @param threads the number of threads
+	 * @return the executor
+	 */
+	private static ExecutorService createExecutor(int threads) {
+		return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "kenyaemr-dataset-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
 	}
 
 	/**
@@ -16,13 +16,12 @@ package org.openmrs.module.kenyaemr.reporting.library.moh731;
 
 import org.openmrs.EncounterType;
 import org.openmrs.module.kenyacore.report.ReportUtils;
-import org.openmrs.module.kenyacore.report.cohort.definition.CalculationCohortDefinition;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.calculation.library.MissedLastAppointmentCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.CtxFromAListOfMedicationOrdersCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.NextAppointmentPlus90DaysCalculation;
-import org.openmrs.module.kenyaemr.calculation.library.hiv.NextOfVisitHigherThanContextCalculation;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
+import org.openmrs.module.kenyaemr.reporting.cohort.definition.CachedCalculationCohortDefinition;
 import org.openmrs.module.kenyaemr.reporting.library.shared.common.CommonCohortLibrary;
 import org.openmrs.module.kenyaemr.reporting.library.shared.hiv.HivCohortLibrary;
 import org.openmrs.module.kenyaemr.reporting.library.shared.hiv.art.ArtCohortLibrary;
@@ -30,6 +29,7 @@ import org.openmrs.module.metadatadeploy.MetadataUtils;
 import org.openmrs.module.reporting.cohort.definition.CohortDefinition;
 import org.openmrs.module.reporting.cohort.definition.CompositionCohortDefinition;
 import org.openmrs.module.reporting.cohort.definition.DateObsCohortDefinition;
+import org.openmrs.module.reporting.cohort.definition.SqlCohortDefinition;
 import org.openmrs.module.reporting.evaluation.parameter.Parameter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -59,12 +59,7 @@ public class Moh731CohortLibrary {
 		EncounterType hivEnroll = MetadataUtils.existing(EncounterType.class, HivMetadata._EncounterType.HIV_ENROLLMENT);
 		EncounterType hivConsult = MetadataUtils.existing(EncounterType.class, HivMetadata._EncounterType.HIV_CONSULTATION);
 
-		//find those patients who have next of appointment date
-		CalculationCohortDefinition nextAppointment = new CalculationCohortDefinition(new NextOfVisitHigherThanContextCalculation());
-		nextAppointment.setName("Have date of next visit");
-		nextAppointment.addParameter(new Parameter("onDate", "On Date", Date.class));
-
-		CalculationCohortDefinition ctxFromAListOfMedicationOrders = new CalculationCohortDefinition(new CtxFromAListOfMedicationOrdersCalculation());
+		CachedCalculationCohortDefinition ctxFromAListOfMedicationOrders = new CachedCalculationCohortDefinition(new CtxFromAListOfMedicationOrdersCalculation());
 		ctxFromAListOfMedicationOrders.setName("ctxFromAListOfMedicationOrders");
 		ctxFromAListOfMedicationOrders.addParameter(new Parameter("OnDate", "On Date", Date.class));
 
@@ -72,7 +67,7 @@ public class Moh731CohortLibrary {
 		cd.addParameter(new Parameter("onDate", "On Date", Date.class));
 
 		cd.addSearch("recentEncounter", ReportUtils.map(commonCohorts.hasEncounter(hivEnroll, hivConsult), "onOrAfter=${onDate-90d},onOrBefore=${onDate}"));
-		cd.addSearch("appointmentHigher", ReportUtils.map(nextAppointment, "onDate=${onDate}"));
+		cd.addSearch("appointmentHigher", ReportUtils.map(nextAppointmentAfterDate(), "onDate=${onDate}"));
 		cd.addSearch("hasCtx", ReportUtils.map(ctxFromAListOfMedicationOrders, "onDate=${onDate}"));
 		cd.addSearch("inHivProgram", ReportUtils.map(hivCohortLibrary.enrolled(), "enrolledOnOrBefore=${onDate}"));
 		cd.addSearch("ltfDeadTo", ReportUtils.map(hivCohortLibrary.transferredOutDeadAndLtf(), "onOrBefore=${onDate}"));
@@ -80,11 +75,33 @@ public class Moh731CohortLibrary {
 		return cd;
 	}
 
+	/**
+	 * Patients whose last recorded return visit date, as of the given date, is after that date. This is the SQL
+	 * equivalent of NextOfVisitHigherThanContextCalculation, so it doesn't need to load obs for every patient.
+	 * @return the cohort definition
+	 */
+	public CohortDefinition nextAppointmentAfterDate() {
+		int returnVisitDate = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE).getConceptId();
+
+		String sql = "SELECT o.person_id FROM obs o" +
+				" INNER JOIN (" +
+				"  SELECT person_id, MAX(obs_datetime) AS last_obs_datetime FROM obs" +
+				"  WHERE concept_id = " + returnVisitDate + " AND voided = 0 AND obs_datetime <= :onDate" +
+				"  GROUP BY person_id" +
+				" ) l ON l.person_id = o.person_id AND l.last_obs_datetime = o.obs_datetime" +
+				" WHERE o.concept_id = " + returnVisitDate + " AND o.voided = 0 AND o.value_datetime > :onDate";
+
+		SqlCohortDefinition cd = new SqlCohortDefinition(sql);
+		cd.setName("Have date of next visit");
+		cd.addParameter(new Parameter("onDate", "On Date", Date.class));
+		return cd;
+	}
+
 	/**
 	 *
 	 */
 	public CohortDefinition missedAppointment(){
-		CalculationCohortDefinition cdMissed = new CalculationCohortDefinition(new MissedLastAppointmentCalculation());
+		CachedCalculationCohortDefinition cdMissed = new CachedCalculationCohortDefinition(new MissedLastAppointmentCalculation());
 		cdMissed.setName("Missed appointment patients");
 		cdMissed.addParameter(new Parameter("OnDate", "On Date", Date.class));
 		return cdMissed;
@@ -110,15 +127,11 @@ public class Moh731CohortLibrary {
 	 * Has appointment date and started art
 	 */
 	public CohortDefinition hasAppointmentDateAndStartedArt() {
-		CalculationCohortDefinition hasAppointmentDate = new CalculationCohortDefinition( new NextOfVisitHigherThanContextCalculation());
-		hasAppointmentDate.setName("Having appointment higher than context");
-		hasAppointmentDate.addParameter(new Parameter("onDate", "On Date", Date.class));
-
 		CompositionCohortDefinition cd = new CompositionCohortDefinition();
 		cd.setName("Appointment and started art");
 		cd.addParameter(new Parameter("onOrBefore", "Before Date", Date.class));
 		cd.addSearch("startedArt", ReportUtils.map(artCohorts.startedArt(), "onOrBefore=${onOrBefore}"));
-		cd.addSearch("hasAppointmentDate", ReportUtils.map(hasAppointmentDate, "onDate=${onOrBefore}"));
+		cd.addSearch("hasAppointmentDate", ReportUtils.map(nextAppointmentAfterDate(), "onDate=${onOrBefore}"));
 		cd.setCompositionString("startedArt AND hasAppointmentDate");
 		return cd;
 	}
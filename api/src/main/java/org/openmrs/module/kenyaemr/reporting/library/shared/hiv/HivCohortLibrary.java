@@ -23,13 +23,13 @@ import org.openmrs.module.kenyacore.report.cohort.definition.CalculationCohortDe
 import org.openmrs.module.kenyacore.report.cohort.definition.DateCalculationCohortDefinition;
 import org.openmrs.module.kenyacore.report.cohort.definition.DateObsValueBetweenCohortDefinition;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.calculation.HivCareStatusStore;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.CtxFromAListOfMedicationOrdersCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.FirstProgramEnrollment;
-import org.openmrs.module.kenyaemr.calculation.library.hiv.LostToFollowUpCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.OnCtxWithinDurationCalculation;
-import org.openmrs.module.kenyaemr.calculation.library.hiv.art.IsTransferOutCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.pre_art.TransferredInAfterEnrollmentCalculation;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
+import org.openmrs.module.kenyaemr.reporting.cohort.definition.HivCareStatusCohortDefinition;
 import org.openmrs.module.kenyaemr.reporting.library.moh731.Moh731CohortLibrary;
 import org.openmrs.module.kenyaemr.reporting.library.shared.common.CommonCohortLibrary;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
@@ -216,20 +216,20 @@ public class HivCohortLibrary {
 	 * @return the cohort definition
 	 */
 	public CohortDefinition transferredOutDeadAndLtf(){
-		CalculationCohortDefinition calcLtf = new CalculationCohortDefinition(new LostToFollowUpCalculation());
-		calcLtf.setName("lost to follow up");
-		calcLtf.addParameter(new Parameter("onDate", "On Date", Date.class));
+		HivCareStatusCohortDefinition ltf = new HivCareStatusCohortDefinition(HivCareStatusStore.Status.LOST_TO_FOLLOW_UP);
+		ltf.setName("lost to follow up");
+		ltf.addParameter(new Parameter("onDate", "On Date", Date.class));
 
-		CalculationCohortDefinition calcTout = new CalculationCohortDefinition(new IsTransferOutCalculation());
-		calcTout.setName("to patients");
-		calcTout.addParameter(new Parameter("onDate", "On Date", Date.class));
+		HivCareStatusCohortDefinition transferredOut = new HivCareStatusCohortDefinition(HivCareStatusStore.Status.TRANSFERRED_OUT);
+		transferredOut.setName("to patients");
+		transferredOut.addParameter(new Parameter("onDate", "On Date", Date.class));
 
 		CompositionCohortDefinition cd = new CompositionCohortDefinition();
 		cd.addParameter(new Parameter("onOrBefore", "Before Date", Date.class));
 
 		cd.addSearch("deceased", ReportUtils.map(commonCohorts.deceasedPatients(), "onDate=${onOrBefore}"));
-		cd.addSearch("ltf", ReportUtils.map(calcLtf, "onDate=${onOrBefore}"));
-		cd.addSearch("to", ReportUtils.map(calcTout, "onDate=${onOrBefore}"));
+		cd.addSearch("ltf", ReportUtils.map(ltf, "onDate=${onOrBefore}"));
+		cd.addSearch("to", ReportUtils.map(transferredOut, "onDate=${onOrBefore}"));
 		cd.addSearch("missedAppointment", ReportUtils.map(moh731CohortLibrary.missedAppointment(), "onDate=${onOrBefore}"));
 		cd.setCompositionString("deceased OR ltf OR to OR missedAppointment");
 
@@ -19,13 +19,12 @@ import org.openmrs.Program;
 import org.openmrs.module.kenyacore.report.ReportUtils;
 import org.openmrs.module.kenyacore.report.cohort.definition.CalculationCohortDefinition;
 import org.openmrs.module.kenyacore.report.cohort.definition.DateCalculationCohortDefinition;
+import org.openmrs.module.kenyaemr.calculation.HivCareStatusStore;
 import org.openmrs.module.kenyaemr.calculation.library.MissedLastAppointmentCalculation;
-import org.openmrs.module.kenyaemr.calculation.library.hiv.LostToFollowUpCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.EligibleForArtCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.EligibleForArtExclusiveCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.InitialArtStartDateCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.OnAlternateFirstLineArtCalculation;
-import org.openmrs.module.kenyaemr.calculation.library.hiv.art.OnArtCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.OnOriginalFirstLineArtCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.OnSecondLineArtCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.PregnantAtArtStartCalculation;
@@ -34,6 +33,7 @@ import org.openmrs.module.kenyaemr.calculation.library.hiv.art.TransferredInAfte
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.WhoStageAtArtStartCalculation;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.module.kenyaemr.regimen.RegimenManager;
+import org.openmrs.module.kenyaemr.reporting.cohort.definition.HivCareStatusCohortDefinition;
 import org.openmrs.module.kenyaemr.reporting.cohort.definition.RegimenOrderCohortDefinition;
 import org.openmrs.module.kenyaemr.reporting.library.shared.common.CommonCohortLibrary;
 import org.openmrs.module.kenyaemr.reporting.library.shared.hiv.HivCohortLibrary;
@@ -96,7 +96,7 @@ public class ArtCohortLibrary {
 	 * @return the cohort definition
 	 */
 	public CohortDefinition lostToFollowUpPatients() {
-		CalculationCohortDefinition cd = new CalculationCohortDefinition(new LostToFollowUpCalculation());
+		HivCareStatusCohortDefinition cd = new HivCareStatusCohortDefinition(HivCareStatusStore.Status.LOST_TO_FOLLOW_UP);
 		cd.setName("lost to follow on date");
 		cd.addParameter(new Parameter("onDate", "On Date", Date.class));
 		return cd;
@@ -107,7 +107,7 @@ public class ArtCohortLibrary {
 	 * @return the cohort definition
 	 */
 	public CohortDefinition onArt() {
-		CalculationCohortDefinition cd = new CalculationCohortDefinition(new OnArtCalculation());
+		HivCareStatusCohortDefinition cd = new HivCareStatusCohortDefinition(HivCareStatusStore.Status.ON_ART);
 		cd.setName("on ART on date");
 		cd.addParameter(new Parameter("onDate", "On Date", Date.class));
 		return cd;
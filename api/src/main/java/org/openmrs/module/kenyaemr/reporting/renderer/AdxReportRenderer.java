@@ -59,6 +59,7 @@ public class AdxReportRenderer extends ReportDesignRenderer {
     }
 
     /**
+     * Data values are written as they are generated and flushed after each group, so the output is never held in memory
      * @see ReportRenderer#render(ReportData, String, OutputStream)
      */
     public void render(ReportData reportData, String argument, OutputStream out) throws IOException, RenderingException {
@@ -92,10 +93,15 @@ public class AdxReportRenderer extends ReportDesignRenderer {
                 for (DataSetColumn column : columns) {
                     String name = column.getName();
                     Object value = row.getColumnValue(column);
-                    w.write("<dataValue dataElement=\"" + name + "\" value=\"" + value.toString() + "\"/>\n");
+                    w.write("<dataValue dataElement=\"");
+                    w.write(name);
+                    w.write("\" value=\"");
+                    w.write(value.toString());
+                    w.write("\"/>\n");
                 }
             }
             w.write("</group>\n");
+            w.flush();
         }
         w.write("</adx>\n");
         w.flush();
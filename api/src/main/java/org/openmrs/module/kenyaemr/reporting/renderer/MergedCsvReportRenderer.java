@@ -70,6 +70,7 @@ public class MergedCsvReportRenderer implements ReportRenderer {
 	}
 
 	/**
+	 * Rows are written as they are generated and flushed after each dataset, so the output is never held in memory
 	 * @see ReportRenderer#render(org.openmrs.module.reporting.report.ReportData, String, java.io.OutputStream)
 	 */
 	@Override
@@ -91,6 +92,8 @@ public class MergedCsvReportRenderer implements ReportRenderer {
 				w.write(prepareVal(ds.getData(column)));
 				w.write("\n");
 			}
+
+			w.flush();
 		}
 
 		w.flush();
@@ -22,6 +22,8 @@ import org.openmrs.Provider;
 import org.openmrs.User;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.kenyaemr.Dictionary;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -126,4 +128,24 @@ public class EmrUtils {
 		Collection<Provider> providers = Context.getProviderService().getProvidersByPerson(person);
 		return providers.size() > 0 ? providers.iterator().next() : null;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Runs a task once the current transaction has committed, or straight away if there is no transaction. Caches
+	 * which are invalidated from inside a transaction use this to invalidate again once the changes are visible to
+	 * other sessions, so that nothing computed from the old data in the meantime is kept.
+	 * @param task the task
+	 */
+	public static void runAfterCommit(final Runnable task) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					task.run();
+				}
+			});
+		}
+		else {
+			task.run();
+		}
+	}
+}
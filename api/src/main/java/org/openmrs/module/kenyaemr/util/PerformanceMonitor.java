@@ -0,0 +1,209 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Lightweight instrumentation of hot paths such as calculations, report evaluations and searches. Each measured value
+ * is counted into a fixed set of histogram buckets, so memory use doesn't grow with the number of measurements.
+ * Measurements are kept in memory since startup.
+ */
+public class PerformanceMonitor {
+
+	public static final String GROUP_CALCULATIONS = "calculations";
+	public static final String GROUP_REPORTS = "reports";
+	public static final String GROUP_SEARCHES = "searches";
+	public static final String GROUP_REQUEST_STATEMENTS = "requestStatements";
+
+	/**
+	 * Upper bounds of the histogram buckets. Larger values go into an overflow bucket.
+	 */
+	private static final long[] BUCKET_BOUNDS = { 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000 };
+
+	/**
+	 * Maximum number of distinct names in a group, after which measurements are recorded as {@link #OTHER_NAME}
+	 */
+	private static final int MAX_NAMES_PER_GROUP = 500;
+
+	private static final String OTHER_NAME = "other";
+
+	private static final ConcurrentMap<String, ConcurrentMap<String, Measurement>> groups = new ConcurrentHashMap<String, ConcurrentMap<String, Measurement>>();
+
+	private static final ConcurrentMap<String, CacheUsage> caches = new ConcurrentHashMap<String, CacheUsage>();
+
+	/**
+	 * Records a measured value, e.g. a duration in milliseconds
+	 * @param group the group, e.g. {@link #GROUP_CALCULATIONS}
+	 * @param name the name of what was measured, e.g. the calculation class name
+	 * @param value the value
+	 */
+	public static void record(String group, String name, long value) {
+		ConcurrentMap<String, Measurement> measurements = groups.get(group);
+		if (measurements == null) {
+			groups.putIfAbsent(group, new ConcurrentHashMap<String, Measurement>());
+			measurements = groups.get(group);
+		}
+
+		Measurement measurement = measurements.get(name);
+		if (measurement == null) {
+			if (measurements.size() >= MAX_NAMES_PER_GROUP) {
+				name = OTHER_NAME;
+			}
+			measurements.putIfAbsent(name, new Measurement());
+			measurement = measurements.get(name);
+		}
+
+		measurement.add(value);
+	}
+
+	/**
+	 * Records the time elapsed since the given start time
+	 * @param group the group
+	 * @param name the name of what was timed
+	 * @param startMillis the start time from {@link System#currentTimeMillis()}
+	 */
+	public static void recordSince(String group, String name, long startMillis) {
+		record(group, name, System.currentTimeMillis() - startMillis);
+	}
+
+	/**
+	 * Records lookups on a cache
+	 * @param cache the cache name
+	 * @param hits the number of lookups which were served from the cache
+	 * @param misses the number of lookups which weren't
+	 */
+	public static void recordCacheLookups(String cache, long hits, long misses) {
+		CacheUsage usage = caches.get(cache);
+		if (usage == null) {
+			caches.putIfAbsent(cache, new CacheUsage());
+			usage = caches.get(cache);
+		}
+
+		usage.add(hits, misses);
+	}
+
+	/**
+	 * Gets all measurements and cache usage
+	 * @return the simplified metrics
+	 */
+	public static Map<String, Object> getAllMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+
+		for (Map.Entry<String, ConcurrentMap<String, Measurement>> group : new TreeMap<String, ConcurrentMap<String, Measurement>>(groups).entrySet()) {
+			Map<String, Object> measurements = new TreeMap<String, Object>();
+			for (Map.Entry<String, Measurement> measurement : group.getValue().entrySet()) {
+				measurements.put(measurement.getKey(), measurement.getValue().simplify());
+			}
+			metrics.put(group.getKey(), measurements);
+		}
+
+		Map<String, Object> cacheUsages = new TreeMap<String, Object>();
+		for (Map.Entry<String, CacheUsage> cache : caches.entrySet()) {
+			cacheUsages.put(cache.getKey(), cache.getValue().simplify());
+		}
+		metrics.put("caches", cacheUsages);
+
+		return metrics;
+	}
+
+	/**
+	 * Clears all measurements and cache usage
+	 */
+	public static void reset() {
+		groups.clear();
+		caches.clear();
+	}
+
+	/**
+	 * Count, total, maximum and histogram of the values recorded for one name
+	 */
+	protected static class Measurement {
+
+		private long count = 0, total = 0, max = 0;
+		private final long[] buckets = new long[BUCKET_BOUNDS.length + 1];
+
+		public synchronized void add(long value) {
+			int bucket = 0;
+			while (bucket < BUCKET_BOUNDS.length && value > BUCKET_BOUNDS[bucket]) {
+				++bucket;
+			}
+
+			++buckets[bucket];
+			++count;
+			total += value;
+			max = Math.max(max, value);
+		}
+
+		/**
+		 * Estimates a percentile as the upper bound of the bucket which contains it
+		 * @param percent the percentile, e.g. 95
+		 * @return the estimated value
+		 */
+		public synchronized long getPercentile(int percent) {
+			long rank = (count * percent + 99) / 100;
+			long cumulative = 0;
+			for (int bucket = 0; bucket < BUCKET_BOUNDS.length; ++bucket) {
+				cumulative += buckets[bucket];
+				if (cumulative >= rank) {
+					return Math.min(BUCKET_BOUNDS[bucket], max);
+				}
+			}
+			return max;
+		}
+
+		public synchronized Map<String, Object> simplify() {
+			Map<String, Object> histogram = new LinkedHashMap<String, Object>();
+			for (int bucket = 0; bucket < BUCKET_BOUNDS.length; ++bucket) {
+				histogram.put("<=" + BUCKET_BOUNDS[bucket], buckets[bucket]);
+			}
+			histogram.put(">" + BUCKET_BOUNDS[BUCKET_BOUNDS.length - 1], buckets[BUCKET_BOUNDS.length]);
+
+			return ServerInformation.map(
+					"count", count,
+					"total", total,
+					"max", max,
+					"p95", getPercentile(95),
+					"histogram", histogram
+			);
+		}
+	}
+
+	/**
+	 * Hit and miss counts of one cache
+	 */
+	protected static class CacheUsage {
+
+		private long hits = 0, misses = 0;
+
+		public synchronized void add(long hits, long misses) {
+			this.hits += hits;
+			this.misses += misses;
+		}
+
+		public synchronized Map<String, Object> simplify() {
+			long lookups = hits + misses;
+			return ServerInformation.map(
+					"hits", hits,
+					"misses", misses,
+					"hitRate", lookups > 0 ? (double) hits / lookups : null
+			);
+		}
+	}
+}
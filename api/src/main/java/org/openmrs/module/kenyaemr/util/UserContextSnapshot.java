@@ -0,0 +1,80 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.util;
+
+import org.openmrs.User;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+
+import java.lang.reflect.Field;
+import java.util.Locale;
+
+/**
+ * The user, locale and location of a user context, captured so that work can be run as the same user on another
+ * thread. Each thread gets its own new user context, so logging out or changing proxy privileges or location in one
+ * doesn't affect the other, and no Hibernate entities are shared between their sessions.
+ */
+public class UserContextSnapshot {
+
+	private final Integer userId;
+
+	private final Locale locale;
+
+	private final Integer locationId;
+
+	/**
+	 * Captures the given user context
+	 * @param userContext the user context
+	 */
+	public UserContextSnapshot(UserContext userContext) {
+		User user = userContext.getAuthenticatedUser();
+		this.userId = user != null ? user.getUserId() : null;
+		this.locale = userContext.getLocale();
+		this.locationId = userContext.getLocationId();
+	}
+
+	/**
+	 * Creates a new user context for the captured user, loading the user in the current session. OpenMRS only lets
+	 * superusers become another user, so the loaded user is set on the new context directly.
+	 * @return the user context
+	 */
+	public UserContext createUserContext() {
+		UserContext userContext = new UserContext();
+
+		if (userId != null) {
+			User user = Context.getUserService().getUser(userId);
+			try {
+				Field field = UserContext.class.getDeclaredField("user");
+				field.setAccessible(true);
+				field.set(userContext, user);
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException("Unable to set user of user context", ex);
+			}
+		}
+
+		userContext.setLocale(locale);
+		userContext.setLocationId(locationId);
+		return userContext;
+	}
+
+	/**
+	 * Gets the id of the captured user
+	 * @return the user id or null if no user was authenticated
+	 */
+	public Integer getUserId() {
+		return userId;
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.visit;
+
+import org.openmrs.Patient;
+import org.openmrs.Visit;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.ContentManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of active visits keyed by patient id. Built from the database on first use and then kept current
+ * by the visit and encounter service advice. Only ids are held so that visits are always loaded in the current session.
+ */
+@Component
+public class ActiveVisitIndex implements ContentManager {
+
+	private Map<Integer, Set<Integer>> visitIdsByPatient = null;
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 200;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public synchronized void refresh() {
+		visitIdsByPatient = null; // Rebuilt on next use
+	}
+
+	/**
+	 * Gets the ids of all patients with an active visit
+	 * @return the patient ids
+	 */
+	public synchronized Set<Integer> getPatientIds() {
+		return new HashSet<Integer>(getIndex().keySet());
+	}
+
+	/**
+	 * Gets the most recently started active visit of the given patient
+	 * @param patient the patient
+	 * @return the visit or null if patient has no active visit
+	 */
+	public Visit getActiveVisit(Patient patient) {
+		List<Integer> visitIds;
+		synchronized (this) {
+			Set<Integer> ids = getIndex().get(patient.getPatientId());
+			if (ids == null) {
+				return null;
+			}
+			visitIds = new ArrayList<Integer>(ids);
+		}
+
+		Visit activeVisit = null;
+		for (Integer visitId : visitIds) {
+			Visit visit = Context.getVisitService().getVisit(visitId);
+
+			if (visit == null) {
+				remove(patient.getPatientId(), visitId);
+			}
+			else if (!isActive(visit)) {
+				update(visit); // Change was made without going through the service
+			}
+			else if (activeVisit == null || visit.getStartDatetime().after(activeVisit.getStartDatetime())) {
+				activeVisit = visit;
+			}
+		}
+		return activeVisit;
+	}
+
+	/**
+	 * Updates the index for a visit which has been saved, ended, voided or unvoided
+	 * @param visit the visit
+	 */
+	public synchronized void update(Visit visit) {
+		if (visitIdsByPatient == null || visit.getVisitId() == null || visit.getPatient() == null) {
+			return; // Nothing to update as index will be built on next use
+		}
+
+		Integer patientId = visit.getPatient().getPatientId();
+
+		if (isActive(visit)) {
+			Set<Integer> ids = visitIdsByPatient.get(patientId);
+			if (ids == null) {
+				ids = new HashSet<Integer>();
+				visitIdsByPatient.put(patientId, ids);
+			}
+			ids.add(visit.getVisitId());
+		}
+		else {
+			remove(patientId, visit.getVisitId());
+		}
+	}
+
+	/**
+	 * Removes a visit which has been purged from the index
+	 * @param visit the visit
+	 */
+	public synchronized void remove(Visit visit) {
+		if (visitIdsByPatient != null && visit.getVisitId() != null && visit.getPatient() != null) {
+			remove(visit.getPatient().getPatientId(), visit.getVisitId());
+		}
+	}
+
+	/**
+	 * Removes a visit from the index
+	 * @param patientId the patient id
+	 * @param visitId the visit id
+	 */
+	protected synchronized void remove(Integer patientId, Integer visitId) {
+		if (visitIdsByPatient == null) {
+			return;
+		}
+
+		Set<Integer> ids = visitIdsByPatient.get(patientId);
+		if (ids != null) {
+			ids.remove(visitId);
+
+			if (ids.isEmpty()) {
+				visitIdsByPatient.remove(patientId);
+			}
+		}
+	}
+
+	/**
+	 * Gets the index, building it if necessary
+	 * @return the index
+	 */
+	protected synchronized Map<Integer, Set<Integer>> getIndex() {
+		if (visitIdsByPatient == null) {
+			Map<Integer, Set<Integer>> index = new HashMap<Integer, Set<Integer>>();
+
+			for (Visit visit : Context.getVisitService().getVisits(null, null, null, null, null, null, null, null, null, false, false)) {
+				Integer patientId = visit.getPatient().getPatientId();
+				Set<Integer> ids = index.get(patientId);
+				if (ids == null) {
+					ids = new HashSet<Integer>();
+					index.put(patientId, ids);
+				}
+				ids.add(visit.getVisitId());
+			}
+
+			visitIdsByPatient = index;
+		}
+		return visitIdsByPatient;
+	}
+
+	/**
+	 * Checks whether a visit is active, i.e. not voided and not yet stopped
+	 * @param visit the visit
+	 * @return true if visit is active
+	 */
+	protected static boolean isActive(Visit visit) {
+		return !visit.isVoided() && visit.getStopDatetime() == null;
+	}
+}
@@ -0,0 +1,188 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.visit;
+
+import org.openmrs.Concept;
+import org.openmrs.Obs;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.ContentManager;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of return visit date obs ordered by appointment date. Built from the database on first use and
+ * then kept current by the obs and encounter service advice. Only ids are held so that finding who is scheduled on a
+ * day is a range lookup rather than a query over every patient.
+ */
+@Component
+public class AppointmentIndex implements ContentManager {
+
+	private Map<Integer, Appointment> appointmentsByObs = null;
+
+	private TreeMap<Date, Set<Integer>> obsIdsByDate = null;
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return 200;
+	}
+
+	/**
+	 * @see org.openmrs.module.kenyacore.ContentManager#refresh()
+	 */
+	@Override
+	public synchronized void refresh() {
+		appointmentsByObs = null; // Rebuilt on next use
+		obsIdsByDate = null;
+	}
+
+	/**
+	 * Gets the ids of patients with a return visit date within the given range
+	 * @param fromDate the start of the range (inclusive)
+	 * @param toDate the end of the range (inclusive)
+	 * @return the patient ids
+	 */
+	public synchronized Set<Integer> getPatientIdsScheduledBetween(Date fromDate, Date toDate) {
+		buildIndex();
+
+		Set<Integer> patientIds = new HashSet<Integer>();
+		for (Set<Integer> obsIds : obsIdsByDate.subMap(fromDate, true, toDate, true).values()) {
+			for (Integer obsId : obsIds) {
+				patientIds.add(appointmentsByObs.get(obsId).patientId);
+			}
+		}
+		return patientIds;
+	}
+
+	/**
+	 * Updates the index for an obs which has been saved, voided or unvoided
+	 * @param obs the obs
+	 */
+	public synchronized void update(Obs obs) {
+		if (appointmentsByObs == null || obs.getObsId() == null || !isReturnVisitDate(obs)) {
+			return; // Nothing to update as index will be built on next use
+		}
+
+		remove(obs.getObsId());
+
+		if (!obs.isVoided() && obs.getValueDatetime() != null && obs.getPerson() != null) {
+			add(obs.getObsId(), obs.getPerson().getPersonId(), obs.getValueDatetime());
+		}
+	}
+
+	/**
+	 * Removes an obs which has been purged from the index
+	 * @param obs the obs
+	 */
+	public synchronized void remove(Obs obs) {
+		if (appointmentsByObs != null && obs.getObsId() != null) {
+			remove(obs.getObsId());
+		}
+	}
+
+	/**
+	 * Adds an appointment to the index
+	 * @param obsId the obs id
+	 * @param patientId the patient id
+	 * @param date the appointment date
+	 */
+	protected void add(Integer obsId, Integer patientId, Date date) {
+		date = new Date(date.getTime()); // Hibernate may give us timestamps which don't compare cleanly with dates
+
+		appointmentsByObs.put(obsId, new Appointment(patientId, date));
+
+		Set<Integer> obsIds = obsIdsByDate.get(date);
+		if (obsIds == null) {
+			obsIds = new HashSet<Integer>();
+			obsIdsByDate.put(date, obsIds);
+		}
+		obsIds.add(obsId);
+	}
+
+	/**
+	 * Removes an appointment from the index
+	 * @param obsId the obs id
+	 */
+	protected void remove(Integer obsId) {
+		Appointment appointment = appointmentsByObs.remove(obsId);
+		if (appointment == null) {
+			return;
+		}
+
+		Set<Integer> obsIds = obsIdsByDate.get(appointment.date);
+		if (obsIds != null) {
+			obsIds.remove(obsId);
+
+			if (obsIds.isEmpty()) {
+				obsIdsByDate.remove(appointment.date);
+			}
+		}
+	}
+
+	/**
+	 * Builds the index if necessary
+	 */
+	protected void buildIndex() {
+		if (appointmentsByObs != null) {
+			return;
+		}
+
+		appointmentsByObs = new HashMap<Integer, Appointment>();
+		obsIdsByDate = new TreeMap<Date, Set<Integer>>();
+
+		Concept returnVisitDate = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
+		String hql = "select o.obsId, o.person.personId, o.valueDatetime from Obs o"
+				+ " where o.voided = false and o.concept = :concept and o.valueDatetime is not null";
+
+		for (Object row : Context.getService(KenyaEmrService.class).executeHqlQuery(hql, Collections.<String, Object>singletonMap("concept", returnVisitDate))) {
+			Object[] values = (Object[]) row;
+			add((Integer) values[0], (Integer) values[1], (Date) values[2]);
+		}
+	}
+
+	/**
+	 * Checks whether an obs records a return visit date
+	 * @param obs the obs
+	 * @return true if obs is a return visit date
+	 */
+	protected static boolean isReturnVisitDate(Obs obs) {
+		return obs.getConcept() != null && obs.getConcept().equals(Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE));
+	}
+
+	/**
+	 * An indexed appointment
+	 */
+	private static class Appointment {
+
+		private final Integer patientId;
+		private final Date date;
+
+		public Appointment(Integer patientId, Date date) {
+			this.patientId = patientId;
+			this.date = date;
+		}
+	}
+}
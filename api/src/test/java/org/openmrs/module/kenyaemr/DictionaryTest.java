@@ -55,6 +55,28 @@ public class DictionaryTest extends BaseModuleContextSensitiveTest {
 		Assert.assertThat(fetched, is(instanceOf(ConceptNumeric.class)));
 	}
 
+	/**
+	 * @see Dictionary#getConcept(String)
+	 */
+	@Test
+	public void getConcept_shouldUseCacheForRepeatedLookups() {
+		Dictionary.clearCache();
+
+		Concept cd4 = Dictionary.getConcept(Dictionary.CD4_COUNT);
+		Assert.assertThat(Dictionary.getCacheMisses(), is(1l));
+		Assert.assertThat(Dictionary.getCacheHits(), is(0l));
+
+		Concept cached = Dictionary.getConcept(Dictionary.CD4_COUNT);
+		Assert.assertThat(cached, is(cd4));
+		Assert.assertThat(cached, is(instanceOf(ConceptNumeric.class)));
+		Assert.assertThat(Dictionary.getCacheMisses(), is(1l));
+		Assert.assertThat(Dictionary.getCacheHits(), is(1l));
+		Assert.assertThat(Dictionary.getCacheSize(), is(1));
+
+		Dictionary.clearCache();
+		Assert.assertThat(Dictionary.getCacheSize(), is(0));
+	}
+
 	/**
 	 * @see Dictionary#getConcept(String)
 	 */
@@ -17,12 +17,16 @@ package org.openmrs.module.kenyaemr.api.impl;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.openmrs.Concept;
+import org.openmrs.EncounterType;
 import org.openmrs.Location;
 import org.openmrs.LocationAttributeType;
 import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
 import org.openmrs.Visit;
 import org.openmrs.VisitType;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.metadata.FacilityMetadata;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 import org.openmrs.module.kenyaemr.api.KenyaEmrService;
@@ -32,7 +36,10 @@ import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
 
@@ -203,4 +210,85 @@ public class KenyaEmrServiceImplTest extends BaseModuleContextSensitiveTest {
 		Assert.assertEquals(1, visits.size());
 		Assert.assertEquals(visit2, visits.get(0));
 	}
+
+	/**
+	 * @see KenyaEmrServiceImpl#getVisitsByPatients(java.util.Collection)
+	 */
+	@Test
+	public void getVisitsByPatients_shouldGetVisitsOfEachPatientMostRecentFirst() {
+		VisitType outpatientType = MetadataUtils.existing(VisitType.class, CommonMetadata._VisitType.OUTPATIENT);
+
+		Visit visit1 = TestUtils.saveVisit(TestUtils.getPatient(7), outpatientType, TestUtils.date(2012, 1, 1, 10, 0, 0), TestUtils.date(2012, 1, 1, 11, 0, 0));
+		Visit visit2 = TestUtils.saveVisit(TestUtils.getPatient(7), outpatientType, TestUtils.date(2012, 2, 1, 10, 0, 0), TestUtils.date(2012, 2, 1, 11, 0, 0));
+		Visit visit3 = TestUtils.saveVisit(TestUtils.getPatient(8), outpatientType, TestUtils.date(2012, 1, 1, 10, 0, 0), TestUtils.date(2012, 1, 1, 11, 0, 0));
+
+		Map<Integer, List<Visit>> visits = service.getVisitsByPatients(Arrays.asList(7, 8));
+
+		Assert.assertThat(visits.get(7), hasItems(visit1, visit2));
+		Assert.assertThat(visits.get(7).indexOf(visit2), lessThan(visits.get(7).indexOf(visit1)));
+		Assert.assertThat(visits.get(8), hasItem(visit3));
+		Assert.assertThat(visits.get(8), not(hasItem(visit1)));
+	}
+
+	/**
+	 * @see KenyaEmrServiceImpl#getObsValueDatetimesByVisit(org.openmrs.Concept, java.util.Collection)
+	 */
+	@Test
+	public void getObsValueDatetimesByVisit_shouldGetValuesKeyedByVisit() {
+		VisitType outpatientType = MetadataUtils.existing(VisitType.class, CommonMetadata._VisitType.OUTPATIENT);
+		EncounterType consultationType = MetadataUtils.existing(EncounterType.class, CommonMetadata._EncounterType.CONSULTATION);
+		Concept returnVisitDate = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
+
+		Visit visit1 = TestUtils.saveVisit(TestUtils.getPatient(7), outpatientType, TestUtils.date(2012, 1, 1, 10, 0, 0), TestUtils.date(2012, 1, 1, 11, 0, 0),
+				TestUtils.saveEncounter(TestUtils.getPatient(7), consultationType, TestUtils.date(2012, 1, 1, 10, 30, 0),
+						TestUtils.saveObs(TestUtils.getPatient(7), returnVisitDate, TestUtils.date(2012, 2, 1), TestUtils.date(2012, 1, 1, 10, 30, 0))
+				)
+		);
+		Visit visit2 = TestUtils.saveVisit(TestUtils.getPatient(7), outpatientType, TestUtils.date(2012, 2, 1, 10, 0, 0), TestUtils.date(2012, 2, 1, 11, 0, 0));
+
+		Map<Integer, Date> values = service.getObsValueDatetimesByVisit(returnVisitDate, Arrays.asList(7));
+
+		Assert.assertThat(values.get(visit1.getVisitId()), is(TestUtils.date(2012, 2, 1)));
+		Assert.assertThat(values.containsKey(visit2.getVisitId()), is(false));
+	}
+
+	/**
+	 * @see KenyaEmrServiceImpl#getDuplicatePatientIdentifierIds(org.openmrs.PatientIdentifierType)
+	 */
+	@Test
+	public void getDuplicatePatientIdentifierIds_shouldGetAllButFirstIdentifierOfEachDuplicatedValue() {
+		PatientIdentifier identifier = Context.getPatientService().getPatientIdentifier(5);
+		Assert.assertThat(service.getDuplicatePatientIdentifierIds(identifier.getIdentifierType()), is(empty()));
+
+		// Make OpenMRS ID of patient #8 a duplicate of that of patient #7
+		identifier.setIdentifier("6TS-4");
+		Context.flushSession();
+
+		Assert.assertThat(service.getDuplicatePatientIdentifierIds(identifier.getIdentifierType()), contains(5));
+	}
+
+	/**
+	 * @see KenyaEmrServiceImpl#getVisitsStartedBetween(java.util.Date, java.util.Date, Integer, Integer)
+	 */
+	@Test
+	public void getVisitsStartedBetween_shouldGetVisitsInPeriodGroupedByPatient() {
+		VisitType outpatientType = MetadataUtils.existing(VisitType.class, CommonMetadata._VisitType.OUTPATIENT);
+
+		Visit visit1 = TestUtils.saveVisit(TestUtils.getPatient(7), outpatientType, TestUtils.date(2012, 1, 1, 10, 0, 0), TestUtils.date(2012, 1, 1, 11, 0, 0));
+		Visit visit2 = TestUtils.saveVisit(TestUtils.getPatient(7), outpatientType, TestUtils.date(2012, 1, 1, 14, 0, 0), TestUtils.date(2012, 1, 1, 15, 0, 0));
+		Visit visit3 = TestUtils.saveVisit(TestUtils.getPatient(8), outpatientType, TestUtils.date(2012, 1, 1, 10, 0, 0), TestUtils.date(2012, 1, 1, 11, 0, 0));
+		Visit visit4 = TestUtils.saveVisit(TestUtils.getPatient(8), outpatientType, TestUtils.date(2012, 1, 2, 10, 0, 0), TestUtils.date(2012, 1, 2, 11, 0, 0));
+
+		Map<Integer, List<Visit>> visits = service.getVisitsStartedBetween(TestUtils.date(2012, 1, 1), TestUtils.date(2012, 1, 1, 23, 59, 59), null, null);
+
+		Assert.assertThat(visits.keySet(), contains(7, 8));
+		Assert.assertThat(visits.get(7), contains(visit1, visit2));
+		Assert.assertThat(visits.get(8), contains(visit3));
+		Assert.assertThat(visits.get(8), not(hasItem(visit4)));
+
+		// Check paging by patient
+		visits = service.getVisitsStartedBetween(TestUtils.date(2012, 1, 1), TestUtils.date(2012, 1, 1, 23, 59, 59), 1, 1);
+
+		Assert.assertThat(visits.keySet(), contains(8));
+	}
 }
\ No newline at end of file
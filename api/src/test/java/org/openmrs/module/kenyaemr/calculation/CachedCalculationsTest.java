@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Concept;
+import org.openmrs.Obs;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.patient.PatientCalculationService;
+import org.openmrs.calculation.result.CalculationResultMap;
+import org.openmrs.calculation.result.ListResult;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link CachedCalculations}
+ */
+public class CachedCalculationsTest extends BaseModuleContextSensitiveTest {
+
+	private Concept cd4;
+
+	@Before
+	public void setup() throws Exception {
+		executeDataSet("dataset/test-concepts.xml");
+
+		cd4 = Dictionary.getConcept(Dictionary.CD4_COUNT);
+
+		// Give patient #7 some CD4 obs
+		TestUtils.saveObs(TestUtils.getPatient(7), cd4, 150d, TestUtils.date(2010, 11, 1));
+		TestUtils.saveObs(TestUtils.getPatient(7), cd4, 123d, TestUtils.date(2012, 12, 1));
+	}
+
+	/**
+	 * @see CachedCalculations#lastObs(org.openmrs.Concept, java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	@Test
+	public void lastObs_shouldGetLastObsFromAllObs() {
+		List<Integer> cohort = Arrays.asList(6, 7);
+		PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
+
+		CalculationResultMap resultMap = CachedCalculations.lastObs(cd4, cohort, context);
+		Assert.assertThat(resultMap.get(6), nullValue()); // has no recorded CD4
+		Assert.assertThat(((Obs) resultMap.get(7).getValue()).getValueNumeric(), is(123d));
+
+		CalculationResultMap allObs = CachedCalculations.allObs(cd4, cohort, context);
+		Assert.assertThat(((ListResult) allObs.get(7)).getValues(), hasSize(2));
+	}
+
+	/**
+	 * @see CachedCalculations#allObs(org.openmrs.Concept, java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	@Test
+	public void allObs_shouldReuseResultsForSameContextDate() {
+		PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
+		context.setNow(TestUtils.date(2011, 1, 1));
+
+		Assert.assertThat(((ListResult) CachedCalculations.allObs(cd4, Collections.singleton(7), context).get(7)).getValues(), hasSize(1));
+
+		// Obs saved after first load isn't seen whilst context date is unchanged
+		TestUtils.saveObs(TestUtils.getPatient(7), cd4, 200d, TestUtils.date(2010, 12, 1));
+		Assert.assertThat(((ListResult) CachedCalculations.allObs(cd4, Collections.singleton(7), context).get(7)).getValues(), hasSize(1));
+
+		// But is if context date changes
+		context.setNow(TestUtils.date(2011, 1, 2));
+		Assert.assertThat(((ListResult) CachedCalculations.allObs(cd4, Collections.singleton(7), context).get(7)).getValues(), hasSize(2));
+	}
+
+	/**
+	 * @see CachedCalculations#female(java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	@Test
+	public void female_shouldFilterCohortUsingCachedResults() {
+		PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
+
+		// Patient #7 is female, #6 is male
+		Assert.assertThat(CachedCalculations.female(Arrays.asList(6, 7), context), contains(7));
+		Assert.assertThat(CachedCalculations.female(Arrays.asList(7, 8), context), hasItem(7));
+	}
+}
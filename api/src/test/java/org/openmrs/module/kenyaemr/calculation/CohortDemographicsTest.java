@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Patient;
+import org.openmrs.Relationship;
+import org.openmrs.RelationshipType;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.patient.PatientCalculationService;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link CohortDemographics}
+ */
+public class CohortDemographicsTest extends BaseModuleContextSensitiveTest {
+
+	private Relationship relationship;
+
+	@Before
+	public void setup() {
+		Patient patient7 = TestUtils.getPatient(7);
+		patient7.setBirthdate(TestUtils.date(2010, 3, 1));
+		patient7.setBirthdateEstimated(true);
+
+		Patient patient8 = TestUtils.getPatient(8);
+		patient8.setGender("F");
+
+		RelationshipType childParent = new RelationshipType();
+		childParent.setaIsToB("Child");
+		childParent.setbIsToA("Parent");
+		Context.getPersonService().saveRelationshipType(childParent);
+
+		relationship = new Relationship(patient7, patient8, childParent);
+		Context.getPersonService().saveRelationship(relationship);
+	}
+
+	/**
+	 * @see CohortDemographics#load(java.util.Collection)
+	 */
+	@Test
+	public void load_shouldLoadDemographicsAndRelationshipsOfCohort() {
+		CohortDemographics demographics = CohortDemographics.load(Arrays.asList(7, 6, 999));
+
+		Assert.assertThat(demographics.getBirthdate(7), is(TestUtils.date(2010, 3, 1)));
+		Assert.assertThat(demographics.isBirthdateEstimated(7), is(true));
+		Assert.assertThat(demographics.getGender(6), is(TestUtils.getPatient(6).getGender()));
+		Assert.assertThat(demographics.isDead(7), is(false));
+		Assert.assertThat(demographics.getDeathDate(7), nullValue());
+
+		// Person related to a cohort patient is included
+		Assert.assertThat(demographics.getGender(8), is("F"));
+
+		Integer relatedPerson = null;
+		for (int r : demographics.getRelationships(7)) {
+			if (demographics.getRelationshipTypeId(r) == relationship.getRelationshipType().getRelationshipTypeId()) {
+				Assert.assertThat(demographics.getRelationshipPersonA(r), is(7));
+				relatedPerson = demographics.getRelationshipPersonB(r);
+			}
+		}
+		Assert.assertThat(relatedPerson, is(8));
+
+		// Person not in cohort or related to it
+		Assert.assertThat(demographics.getGender(12345), nullValue());
+		Assert.assertThat(demographics.getRelationships(12345).length, is(0));
+	}
+
+	/**
+	 * @see CohortDemographics#forCohort(java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	@Test
+	public void forCohort_shouldReuseDemographicsWhichIncludeCohort() {
+		PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
+
+		CohortDemographics demographics = CohortDemographics.forCohort(Arrays.asList(6, 7, 999), context);
+
+		Assert.assertThat(CohortDemographics.forCohort(Arrays.asList(7, 999), context), sameInstance(demographics));
+		Assert.assertThat(CohortDemographics.forCohort(Arrays.asList(7, 8), context), not(sameInstance(demographics)));
+	}
+}
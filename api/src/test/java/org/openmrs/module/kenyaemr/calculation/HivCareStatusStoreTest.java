@@ -0,0 +1,216 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Concept;
+import org.openmrs.Obs;
+import org.openmrs.Program;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.metadata.CommonMetadata;
+import org.openmrs.module.kenyaemr.metadata.HivMetadata;
+import org.openmrs.module.metadatadeploy.MetadataUtils;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link HivCareStatusStore}
+ */
+public class HivCareStatusStoreTest extends BaseModuleContextSensitiveTest {
+
+	@Autowired
+	private CommonMetadata commonMetadata;
+
+	@Autowired
+	private HivMetadata hivMetadata;
+
+	/**
+	 * Setup each test
+	 */
+	@Before
+	public void setup() throws Exception {
+		executeDataSet("dataset/test-concepts.xml");
+
+		commonMetadata.install();
+		hivMetadata.install();
+	}
+
+	/**
+	 * @see HivCareStatusStore#getPatientsWithStatus(java.util.Collection, HivCareStatusStore.Status, java.util.Date)
+	 */
+	@Test
+	public void getPatientsWithStatus_shouldFindPatientsWithStatusOnDate() {
+		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
+		Concept returnVisitDate = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
+		Concept reasonForDiscontinuation = Dictionary.getConcept(Dictionary.REASON_FOR_PROGRAM_DISCONTINUATION);
+		Concept transferredOut = Dictionary.getConcept(Dictionary.TRANSFERRED_OUT);
+		Concept stavudine = Dictionary.getConcept(Dictionary.STAVUDINE);
+
+		// Patient #6 is enrolled and misses their appointment on April 1st
+		TestUtils.enrollInProgram(TestUtils.getPatient(6), hivProgram, TestUtils.date(2011, 1, 1));
+		TestUtils.saveObs(TestUtils.getPatient(6), returnVisitDate, TestUtils.date(2011, 4, 1), TestUtils.date(2011, 1, 1));
+
+		// Patient #7 is enrolled and transferred out on June 1st
+		TestUtils.enrollInProgram(TestUtils.getPatient(7), hivProgram, TestUtils.date(2011, 1, 1), TestUtils.date(2011, 6, 1));
+		TestUtils.saveObs(TestUtils.getPatient(7), reasonForDiscontinuation, transferredOut, TestUtils.date(2011, 6, 1));
+
+		// Patient #8 takes Stavudine during February
+		TestUtils.saveDrugOrder(TestUtils.getPatient(8), stavudine, TestUtils.date(2011, 2, 1), TestUtils.date(2011, 3, 1));
+
+		HivCareStatusStore store = new HivCareStatusStore();
+		List<Integer> cohort = Arrays.asList(6, 7, 8);
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.IN_CARE, TestUtils.date(2011, 3, 1)), containsInAnyOrder(6, 7));
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 6, 30)), empty());
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), contains(6));
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.IN_CARE, TestUtils.date(2011, 7, 1)), empty());
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.TRANSFERRED_OUT, TestUtils.date(2011, 6, 1)), empty());
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.TRANSFERRED_OUT, TestUtils.date(2011, 6, 2)), contains(7));
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.ON_ART, TestUtils.date(2011, 2, 15)), hasItem(8));
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.ON_ART, TestUtils.date(2011, 3, 15)), not(hasItem(8)));
+
+		Assert.assertThat(store.getPossiblePatients(HivCareStatusStore.Status.IN_CARE), allOf(hasItems(6, 7), not(hasItem(8))));
+		Assert.assertThat(store.getPossiblePatients(HivCareStatusStore.Status.ON_ART), hasItem(8));
+	}
+
+	/**
+	 * @see HivCareStatusStore#getTimelines(java.util.Collection)
+	 */
+	@Test
+	public void getTimelines_shouldRecomputeTimelinesOfPatientsWithNewData() {
+		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
+		TestUtils.enrollInProgram(TestUtils.getPatient(6), hivProgram, TestUtils.date(2011, 1, 1));
+
+		HivCareStatusStore store = new HivCareStatusStore();
+		List<Integer> cohort = Arrays.asList(6, 7);
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), empty());
+
+		// Data created without marking the timeline stale, e.g. by an import
+		TestUtils.saveObs(TestUtils.getPatient(6), Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), TestUtils.date(2011, 4, 1), TestUtils.date(2011, 1, 1));
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), contains(6));
+	}
+
+	/**
+	 * @see HivCareStatusStore#markStale(Integer)
+	 */
+	@Test
+	public void markStale_shouldRecomputeTimelineWhenNextRequested() {
+		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
+		TestUtils.enrollInProgram(TestUtils.getPatient(6), hivProgram, TestUtils.date(2011, 1, 1));
+		Obs returnVisit = TestUtils.saveObs(TestUtils.getPatient(6), Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), TestUtils.date(2011, 4, 1), TestUtils.date(2011, 1, 1));
+
+		HivCareStatusStore store = new HivCareStatusStore();
+		List<Integer> cohort = Arrays.asList(6, 7);
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), contains(6));
+
+		// Voiding doesn't create new data so the stored timeline is used until it's marked stale
+		Context.getObsService().voidObs(returnVisit, "Testing");
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), contains(6));
+
+		store.markStale(6);
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), empty());
+	}
+
+	/**
+	 * @see HivCareStatusStore#getTimelines(java.util.Collection)
+	 */
+	@Test
+	public void getTimelines_shouldNotStoreTimelinesOfPatientsMarkedStaleWhileBeingComputed() {
+		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
+		TestUtils.enrollInProgram(TestUtils.getPatient(6), hivProgram, TestUtils.date(2011, 1, 1));
+		final Obs returnVisit = TestUtils.saveObs(TestUtils.getPatient(6), Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), TestUtils.date(2011, 4, 1), TestUtils.date(2011, 1, 1));
+
+		// Store where the return visit is voided just after the first timelines are computed
+		HivCareStatusStore store = new HivCareStatusStore() {
+			private boolean voided = false;
+
+			@Override
+			protected Map<Integer, List<StatusPeriod>> compute(Collection<Integer> batch) {
+				Map<Integer, List<StatusPeriod>> computed = super.compute(batch);
+				if (!voided) {
+					voided = true;
+					Context.getObsService().voidObs(returnVisit, "Testing");
+					markStale(6);
+				}
+				return computed;
+			}
+		};
+		List<Integer> cohort = Arrays.asList(6, 7);
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), contains(6));
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), empty());
+	}
+
+	/**
+	 * @see HivCareStatusStore#getTimelines(java.util.Collection)
+	 */
+	@Test
+	public void getTimelines_shouldUseStoredTimelinesUntilRecomputedOnNewDay() {
+		Program hivProgram = MetadataUtils.existing(Program.class, HivMetadata._Program.HIV);
+		TestUtils.enrollInProgram(TestUtils.getPatient(6), hivProgram, TestUtils.date(2011, 1, 1));
+		Obs returnVisit = TestUtils.saveObs(TestUtils.getPatient(6), Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE), TestUtils.date(2011, 4, 1), TestUtils.date(2011, 1, 1));
+
+		// Store where the day can be changed and recomputing is only queued
+		final Date[] today = { TestUtils.date(2012, 1, 1) };
+		final List<List<Integer>> queued = new ArrayList<List<Integer>>();
+		final List<Long> queuedVersions = new ArrayList<Long>();
+		HivCareStatusStore store = new HivCareStatusStore() {
+			@Override
+			protected Date getToday() {
+				return today[0];
+			}
+
+			@Override
+			protected void recomputeInBackground(List<Integer> patientIds, long version) {
+				queued.add(patientIds);
+				queuedVersions.add(version);
+			}
+		};
+		List<Integer> cohort = Arrays.asList(6, 7);
+
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), contains(6));
+
+		Context.getObsService().voidObs(returnVisit, "Testing");
+		today[0] = TestUtils.date(2012, 1, 2);
+
+		// Previous timelines are still used while the recompute is queued
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), contains(6));
+		Assert.assertThat(queued, hasSize(1));
+		Assert.assertThat(queued.get(0), containsInAnyOrder(6, 7));
+
+		store.computeAndStore(queued.get(0), queuedVersions.get(0));
+		Assert.assertThat(store.getPatientsWithStatus(cohort, HivCareStatusStore.Status.LOST_TO_FOLLOW_UP, TestUtils.date(2011, 7, 1)), empty());
+		Assert.assertThat(queued, hasSize(1));
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Obs;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculation;
+import org.openmrs.calculation.result.CalculationResult;
+import org.openmrs.calculation.result.SimpleResult;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.LastCd4CountCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.InitialArtStartDateCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.rdqa.PatientProgramEnrollmentCalculation;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link HivCareSummaryStore}
+ */
+public class HivCareSummaryStoreTest extends BaseModuleContextSensitiveTest {
+
+	private CountingSummaryStore store;
+
+	@Before
+	public void setup() {
+		store = new CountingSummaryStore();
+	}
+
+	/**
+	 * @see HivCareSummaryStore#getSummaries(java.util.Collection)
+	 */
+	@Test
+	public void getSummaries_shouldOnlyComputeMissingOrStaleSummaries() {
+		Assert.assertThat(store.getSummaries(Arrays.asList(6, 7)).keySet(), containsInAnyOrder(6, 7));
+		Assert.assertThat(store.computed, contains(6, 7));
+
+		Assert.assertThat(store.getSummaries(Arrays.asList(7, 8)).keySet(), containsInAnyOrder(7, 8));
+		Assert.assertThat(store.computed, contains(6, 7, 8));
+
+		store.markStale(7);
+		Assert.assertThat(store.getSummary(6).isStale(), is(false));
+
+		Assert.assertThat(store.getSummaries(Arrays.asList(6, 7)).get(7).isStale(), is(false));
+		Assert.assertThat(store.computed, contains(6, 7, 8, 7));
+
+		store.refresh();
+		store.getSummary(6);
+		Assert.assertThat(store.computed, contains(6, 7, 8, 7, 6));
+	}
+
+	/**
+	 * @see HivCareSummaryStore#getSummaries(java.util.Collection)
+	 */
+	@Test
+	public void getSummaries_shouldNotKeepSummariesOfPatientsMarkedStaleWhileBeingComputed() {
+		store.markStaleDuringCompute = 7;
+
+		store.getSummaries(Arrays.asList(6, 7));
+		store.getSummaries(Arrays.asList(6, 7));
+		Assert.assertThat(store.computed, contains(6, 7, 7));
+	}
+
+	/**
+	 * @see HivCareSummaryStore.HivCareSummary#getResult(Class)
+	 */
+	@Test
+	public void getResult_shouldReturnValuesLoadedInCurrentSession() {
+		Date artStartDate = TestUtils.date(2012, 1, 1);
+		Obs lastCd4 = Context.getObsService().getObs(7);
+
+		Map<Class<? extends PatientCalculation>, CalculationResult> results = new HashMap<Class<? extends PatientCalculation>, CalculationResult>();
+		results.put(InitialArtStartDateCalculation.class, new SimpleResult(artStartDate, null));
+		results.put(LastCd4CountCalculation.class, new SimpleResult(lastCd4, null));
+		HivCareSummaryStore.HivCareSummary summary = new HivCareSummaryStore.HivCareSummary(TestUtils.date(2012, 1, 1), results);
+
+		// Changing the original value shouldn't change the stored value
+		artStartDate.setTime(0);
+
+		Assert.assertThat((Date) summary.getValue(InitialArtStartDateCalculation.class), is(TestUtils.date(2012, 1, 1)));
+		Assert.assertThat(((Obs) summary.getValue(LastCd4CountCalculation.class)).getObsId(), is(7));
+		Assert.assertThat(summary.getResult(LastCd4CountCalculation.class), not(sameInstance(results.get(LastCd4CountCalculation.class))));
+	}
+
+	/**
+	 * @see HivCareSummaryStore.HivCareSummary#getResult(Class)
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void getResult_shouldThrowExceptionForCalculationWhichIsNotSummarized() {
+		store.getSummary(7).getResult(PatientProgramEnrollmentCalculation.class);
+	}
+
+	/**
+	 * @see HivCareSummaryStore.HivCareSummary#getValue(Class)
+	 */
+	@Test
+	public void getValue_shouldReturnNullForMissingResult() {
+		Assert.assertThat(store.getSummary(7).getValue(InitialArtStartDateCalculation.class), nullValue());
+	}
+
+	/**
+	 * Summary store which records which patients it computes summaries for, rather than evaluating calculations
+	 */
+	private static class CountingSummaryStore extends HivCareSummaryStore {
+
+		private List<Integer> computed = new ArrayList<Integer>();
+
+		private Integer markStaleDuringCompute;
+
+		@Override
+		protected Map<Integer, HivCareSummary> compute(Collection<Integer> batch, Date today) {
+			Map<Integer, HivCareSummary> summaries = new HashMap<Integer, HivCareSummary>();
+			for (Integer patientId : batch) {
+				computed.add(patientId);
+
+				// As if the patient's data changed while their summary was being computed
+				if (patientId.equals(markStaleDuringCompute)) {
+					markStale(patientId);
+				}
+
+				summaries.put(patientId, new HivCareSummary(today, new HashMap<Class<? extends PatientCalculation>, CalculationResult>()));
+			}
+			return summaries;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.result.BooleanResult;
+import org.openmrs.calculation.result.CalculationResultMap;
+import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
+import org.openmrs.module.kenyacore.calculation.PatientFlagCalculation;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link PatientFlagCache}
+ */
+public class PatientFlagCacheTest extends BaseModuleContextSensitiveTest {
+
+	@Autowired
+	private PatientFlagCache flagCache;
+
+	@Before
+	public void setup() {
+		flagCache.refresh();
+	}
+
+	/**
+	 * @see PatientFlagCache#getFlagMessages(Integer, java.util.Collection)
+	 */
+	@Test
+	public void getFlagMessages_shouldEvaluateFlagsOnceUntilInvalidated() {
+		CountingFlagCalculation flagSet = new CountingFlagCalculation("Flag set", true);
+		CountingFlagCalculation flagNotSet = new CountingFlagCalculation("Flag not set", false);
+		List<PatientFlagCalculation> calculations = Arrays.<PatientFlagCalculation>asList(flagSet, flagNotSet);
+
+		Assert.assertThat(flagCache.getFlagMessages(7, calculations), contains("Flag set"));
+		Assert.assertThat(flagCache.getFlagMessages(7, calculations), contains("Flag set"));
+		Assert.assertThat(flagSet.evaluations, is(1));
+		Assert.assertThat(flagNotSet.evaluations, is(1));
+
+		flagCache.invalidate(7);
+
+		Assert.assertThat(flagCache.getFlagMessages(7, calculations), contains("Flag set"));
+		Assert.assertThat(flagSet.evaluations, is(2));
+	}
+
+	/**
+	 * @see PatientFlagCache#getFlagMessages(Integer, java.util.Collection)
+	 */
+	@Test
+	public void getFlagMessages_shouldNotCacheFlagsEvaluatedWhilePatientWasInvalidated() {
+		CountingFlagCalculation flagSet = new CountingFlagCalculation("Flag set", true) {
+			@Override
+			public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
+				flagCache.invalidate(7); // As if the patient's data changed during evaluation
+				return super.evaluate(cohort, parameterValues, context);
+			}
+		};
+		List<PatientFlagCalculation> calculations = Arrays.<PatientFlagCalculation>asList(flagSet);
+
+		Assert.assertThat(flagCache.getFlagMessages(7, calculations), contains("Flag set"));
+		Assert.assertThat(flagCache.getFlagMessages(7, calculations), contains("Flag set"));
+		Assert.assertThat(flagSet.evaluations, is(2));
+	}
+
+	/**
+	 * @see PatientFlagCache#getFlagMessages(Integer, java.util.Collection)
+	 */
+	@Test(expected = PatientFlagCache.FlagEvaluationException.class)
+	public void getFlagMessages_shouldThrowExceptionIfFlagCalculationFails() {
+		List<PatientFlagCalculation> calculations = Arrays.<PatientFlagCalculation>asList(new CountingFlagCalculation("Flag", null));
+
+		flagCache.getFlagMessages(7, calculations);
+	}
+
+	/**
+	 * Flag calculation which counts how many times it is evaluated
+	 */
+	public static class CountingFlagCalculation extends AbstractPatientCalculation implements PatientFlagCalculation {
+
+		private final String message;
+		private final Boolean value;
+		private int evaluations = 0;
+
+		public CountingFlagCalculation(String message, Boolean value) {
+			this.message = message;
+			this.value = value;
+		}
+
+		@Override
+		public String getFlagMessage() {
+			return message;
+		}
+
+		@Override
+		public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> parameterValues, PatientCalculationContext context) {
+			++evaluations;
+
+			if (value == null) {
+				throw new RuntimeException("Flag calculation failed");
+			}
+
+			CalculationResultMap ret = new CalculationResultMap();
+			for (Integer ptId : cohort) {
+				ret.put(ptId, new BooleanResult(value, this, context));
+			}
+			return ret;
+		}
+	}
+}
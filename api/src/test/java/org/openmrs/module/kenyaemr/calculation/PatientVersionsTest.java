@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link PatientVersions}
+ */
+public class PatientVersionsTest {
+
+	/**
+	 * @see PatientVersions#changedSince(Integer, long)
+	 */
+	@Test
+	public void changedSince_shouldOnlyReturnTrueForPatientsChangedAfterVersion() {
+		PatientVersions versions = new PatientVersions(10);
+		versions.changed(6);
+		long version = versions.getCurrent();
+		versions.changed(7);
+
+		Assert.assertThat(versions.changedSince(6, version), is(false));
+		Assert.assertThat(versions.changedSince(7, version), is(true));
+		Assert.assertThat(versions.changedSince(8, version), is(false));
+
+		versions.changedAll();
+
+		Assert.assertThat(versions.changedSince(8, version), is(true));
+		Assert.assertThat(versions.changedSince(8, versions.getCurrent()), is(false));
+	}
+
+	/**
+	 * @see PatientVersions#changedSince(Integer, long)
+	 */
+	@Test
+	public void changedSince_shouldReturnTrueForAllPatientsOnceChangesSinceVersionAreForgotten() {
+		PatientVersions versions = new PatientVersions(2);
+		long version = versions.getCurrent();
+		versions.changed(6);
+		versions.changed(7);
+
+		Assert.assertThat(versions.changedSince(8, version), is(false));
+
+		versions.changed(6); // Forgets nothing as #6 is just moved to the end
+		versions.changed(2); // Forgets the change to #7
+
+		Assert.assertThat(versions.changedSince(8, version), is(true));
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.calculation;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Patient;
+import org.openmrs.RelationshipType;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.patient.PatientCalculationService;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.metadata.CommonMetadata;
+import org.openmrs.module.metadatadeploy.MetadataUtils;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link RelationshipGraph}
+ */
+public class RelationshipGraphTest extends BaseModuleContextSensitiveTest {
+
+	@Autowired
+	private CommonMetadata commonMetadata;
+
+	@Before
+	public void setup() throws Exception {
+		commonMetadata.install();
+
+		RelationshipType parentChild = Context.getPersonService().getRelationshipType(2);
+		RelationshipType guardianDependant = MetadataUtils.existing(RelationshipType.class, CommonMetadata._RelationshipType.GUARDIAN_DEPENDANT);
+
+		Patient child = TestUtils.getPatient(2);
+		Patient mother = TestUtils.getPatient(7);
+		mother.setGender("F");
+		Patient father = TestUtils.getPatient(8);
+		father.setGender("M");
+		Patient guardian = TestUtils.getPatient(6);
+
+		TestUtils.saveRelationship(mother, parentChild, child);
+		TestUtils.saveRelationship(father, parentChild, child);
+		TestUtils.saveRelationship(guardian, guardianDependant, child);
+	}
+
+	/**
+	 * @see RelationshipGraph#load(java.util.Collection)
+	 */
+	@Test
+	public void load_shouldIndexParentsAndGuardiansByChild() {
+		RelationshipGraph graph = RelationshipGraph.load(Arrays.asList(2, 7, 999));
+
+		Assert.assertThat(graph.getMothers(2), contains(7));
+		Assert.assertThat(graph.getFathers(2), hasItem(8));
+		Assert.assertThat(graph.getGuardians(2), contains(6));
+
+		// Parent isn't the child of their own child
+		Assert.assertThat(graph.getMothers(7), not(hasItem(2)));
+		Assert.assertThat(graph.getFathers(7), not(hasItem(2)));
+
+		Assert.assertThat(graph.getMothers(999), is(empty()));
+		Assert.assertThat(graph.getGuardians(999), is(empty()));
+	}
+
+	/**
+	 * @see RelationshipGraph#forCohort(java.util.Collection, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	@Test
+	public void forCohort_shouldIndexAllPatientsOfCachedDemographics() {
+		PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
+
+		// Demographics are loaded for a larger cohort by another calculation
+		CohortDemographics.forCohort(Arrays.asList(2, 6, 7, 8), context);
+
+		RelationshipGraph graph = RelationshipGraph.forCohort(Arrays.asList(7), context);
+		Assert.assertThat(graph.getMothers(7), is(empty()));
+
+		graph = RelationshipGraph.forCohort(Arrays.asList(2), context);
+		Assert.assertThat(graph.getMothers(2), contains(7));
+		Assert.assertThat(graph.getGuardians(2), contains(6));
+	}
+}
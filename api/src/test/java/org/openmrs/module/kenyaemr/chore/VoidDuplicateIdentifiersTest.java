@@ -14,6 +14,7 @@
 
 package org.openmrs.module.kenyaemr.chore;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.kenyacore.test.TestUtils;
@@ -24,6 +25,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.io.PrintWriter;
 import java.sql.PreparedStatement;
 
+import static org.hamcrest.Matchers.*;
+
 /**
  * Tests for {@link VoidDuplicateIdentifiers}
  */
@@ -50,6 +53,26 @@ public class VoidDuplicateIdentifiersTest extends BaseModuleContextSensitiveTest
 
 		ValidateUtil.validate(TestUtils.getPatient(7));
 		ValidateUtil.validate(TestUtils.getPatient(8));
+
+		Assert.assertThat(Context.getPatientService().getPatientIdentifier(5).isVoided(), is(true));
+	}
+
+	/**
+	 * @see VoidDuplicateIdentifiers#perform(java.io.PrintWriter)
+	 */
+	@Test
+	public void perform_shouldIgnoreIdentifiersOfVoidedPatients() throws Exception {
+		// Update OpenMRS ID of patient #8 to be duplicate of that of patient #7, and void patient #7
+		executeSql("UPDATE patient_identifier SET identifier = '6TS-4' WHERE patient_identifier_id = 5;");
+		executeSql("UPDATE patient SET voided = 1 WHERE patient_id = 7;");
+		executeSql("UPDATE person SET voided = 1 WHERE person_id = 7;");
+
+		chore.perform(new PrintWriter(System.out));
+
+		Context.flushSession();
+
+		// Patient #8 is the only active patient with that identifier so keeps it
+		Assert.assertThat(Context.getPatientService().getPatientIdentifier(5).isVoided(), is(false));
 	}
 
 	/**
@@ -22,6 +22,8 @@ import org.openmrs.Concept;
 import org.openmrs.DrugOrder;
 import org.openmrs.Patient;
 import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.patient.PatientCalculationService;
 import org.openmrs.module.kenyacore.test.TestUtils;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.test.EmrTestUtils;
@@ -31,6 +33,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -124,6 +127,25 @@ public class RegimenChangeHistoryTest extends BaseModuleContextSensitiveTest {
 		Assert.assertEquals(4, regimenHistory.getChanges().size());
 	}
 
+	/**
+	 * @see RegimenChangeHistory#forCohort(java.util.Collection, org.openmrs.Concept, org.openmrs.calculation.patient.PatientCalculationContext)
+	 */
+	@Test
+	public void forCohort_shouldCreateRegimenHistoriesForCohort() {
+		Concept arvs = Dictionary.getConcept(Dictionary.ANTIRETROVIRAL_DRUGS);
+		PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
+
+		Map<Integer, RegimenChangeHistory> histories = RegimenChangeHistory.forCohort(Arrays.asList(6, 7), arvs, context);
+
+		// Patient #6 should end up on D4T only, patient #7 has no drug orders
+		EmrTestUtils.assertRegimenContainsDrugOrders(histories.get(6).getLastChange().getStarted(), order3);
+		Assert.assertEquals(0, histories.get(7).getChanges().size());
+
+		// Histories should be reused by later calls with the same context
+		Map<Integer, RegimenChangeHistory> cached = RegimenChangeHistory.forCohort(Arrays.asList(6), arvs, context);
+		Assert.assertSame(histories.get(6), cached.get(6));
+	}
+
 	/**
 	 * @see RegimenChangeHistory#undoLastChange()
 	 */
@@ -126,5 +126,11 @@ public class RegimenManagerTest extends BaseModuleContextSensitiveTest {
 		Assert.assertEquals(2, defsNonExact.size());
 		Assert.assertEquals("regimen2", defsNonExact.get(0).getName());
 		Assert.assertEquals("regimen3", defsNonExact.get(1).getName());
+
+		// Test regimen with an extra drug doesn't match
+		DrugOrder extra = new DrugOrder();
+		extra.setConcept(Context.getConceptService().getConcept(86663));
+		regimen = new RegimenOrder(new HashSet<DrugOrder>(Arrays.asList(lamivudine, stavudine, extra)));
+		Assert.assertEquals(0, regimenManager.findDefinitions("category1", regimen, false).size());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.regimen;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.DrugOrder;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link RegimenNameResolver}
+ */
+public class RegimenNameResolverTest extends BaseModuleContextSensitiveTest {
+
+	@Autowired
+	private RegimenManager regimenManager;
+
+	@Autowired
+	private RegimenNameResolver regimenNameResolver;
+
+	@Before
+	public void setup() throws Exception {
+		executeDataSet("dataset/test-concepts.xml");
+		executeDataSet("dataset/test-drugs.xml");
+
+		regimenManager.refresh();
+		regimenNameResolver.refresh();
+	}
+
+	/**
+	 * @see RegimenNameResolver#getRegimenName(RegimenOrder)
+	 */
+	@Test
+	public void getRegimenName_shouldResolveStandardRegimens() {
+		// AZT + 3TC + NVP
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(86663, 78643, 80586)), is("AZT+3TC+NVP"));
+
+		// d4T + 3TC + EFV
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(84309, 78643, 75523)), is("d4T+3TC+EFV"));
+
+		// AZT + 3TC + ATV + RTV
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(
+				Dictionary.getConcept(Dictionary.ZIDOVUDINE).getConceptId(),
+				Dictionary.getConcept(Dictionary.LAMIVUDINE).getConceptId(),
+				Dictionary.getConcept(Dictionary.ATAZANAVIR).getConceptId(),
+				Dictionary.getConcept(Dictionary.RITONAVIR).getConceptId()
+		)), is("AZT+3TC+ATV/r"));
+	}
+
+	/**
+	 * @see RegimenNameResolver#getRegimenName(RegimenOrder)
+	 */
+	@Test
+	public void getRegimenName_shouldResolveLegacyStandardRegimens() {
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(84795, 78643, 70056)), is("TDF+3TC+ABC"));
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(70056, 78643, 86663)), is("ABC+3TC+AZT"));
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(84309, 70056, 79040, 83412)), is("d4T+ABC+LPV/r"));
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(86663, 74807, 79040, 83412)), is("AZT+ddI+LPV/r"));
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(84795, 86663, 79040, 83412)), is("TDF+AZT+LPV/r"));
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(86663, 70056, 79040, 83412)), is("AZT+ABC+LPV/r"));
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(86663, 78643, 74258, 83412)), is("AZT+3TC+DRV/r"));
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(70056, 78643, 74258, 83412)), is("ABC+3TC+DRV/r"));
+	}
+
+	/**
+	 * @see RegimenNameResolver#getRegimenName(RegimenOrder)
+	 */
+	@Test
+	public void getRegimenName_shouldNotNameRegimenWithDrugsNotTaken() {
+		// TDF + AZT + LPV/r is included by the defined AZT + TDF + 3TC + LPV/r regimen
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(84795, 86663, 79040, 83412)), is("TDF+AZT+LPV/r"));
+
+		// AZT + 3TC is included by several standard regimens
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(86663, 78643)), is("AZT+3TC"));
+
+		// AZT + LPV + RTV
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(86663, 79040, 83412)), is("AZT+LPV/r"));
+	}
+
+	/**
+	 * @see RegimenNameResolver#getRegimenName(RegimenOrder)
+	 */
+	@Test
+	public void getRegimenName_shouldReturnNullForNonStandardRegimen() {
+		// Dapsone + 3TC
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen(74250, 78643)), nullValue());
+
+		Assert.assertThat(regimenNameResolver.getRegimenName(regimen()), nullValue());
+	}
+
+	/**
+	 * Creates a regimen with a drug order for each of the given drug concepts
+	 * @param conceptIds the drug concept ids
+	 * @return the regimen
+	 */
+	private RegimenOrder regimen(Integer... conceptIds) {
+		HashSet<DrugOrder> orders = new HashSet<DrugOrder>();
+		for (Integer conceptId : Arrays.asList(conceptIds)) {
+			DrugOrder order = new DrugOrder();
+			order.setConcept(Context.getConceptService().getConcept(conceptId));
+			orders.add(order);
+		}
+		return new RegimenOrder(orders);
+	}
+}
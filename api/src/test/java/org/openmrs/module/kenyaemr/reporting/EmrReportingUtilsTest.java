@@ -0,0 +1,83 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.result.CalculationResultMap;
+import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link EmrReportingUtils}
+ */
+public class EmrReportingUtilsTest {
+
+	/**
+	 * @see EmrReportingUtils#getFingerprint(Object)
+	 */
+	@Test
+	public void getFingerprint_shouldDistinguishDifferentlyConfiguredCalculations() {
+		String fingerprint1 = EmrReportingUtils.getFingerprint(new DaysCalculation(30));
+		String fingerprint2 = EmrReportingUtils.getFingerprint(new DaysCalculation(90));
+
+		Assert.assertThat(fingerprint1, not(fingerprint2));
+		Assert.assertThat(EmrReportingUtils.getFingerprint(new DaysCalculation(30)), is(fingerprint1));
+	}
+
+	/**
+	 * @see EmrReportingUtils#getFingerprint(Object)
+	 */
+	@Test
+	public void getFingerprint_shouldIncludeFieldsDeclaredBySuperclasses() {
+		String fingerprint1 = EmrReportingUtils.getFingerprint(new ExtendedDaysCalculation(30));
+		String fingerprint2 = EmrReportingUtils.getFingerprint(new ExtendedDaysCalculation(90));
+
+		Assert.assertThat(fingerprint1, not(fingerprint2));
+		Assert.assertThat(EmrReportingUtils.getFingerprint(new ExtendedDaysCalculation(30)), is(fingerprint1));
+	}
+
+	/**
+	 * Calculation which is configured through its constructor
+	 */
+	public static class DaysCalculation extends AbstractPatientCalculation {
+
+		private final int days;
+
+		public DaysCalculation(int days) {
+			this.days = days;
+		}
+
+		@Override
+		public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> params, PatientCalculationContext context) {
+			return new CalculationResultMap();
+		}
+	}
+
+	/**
+	 * Calculation with no fields of its own
+	 */
+	public static class ExtendedDaysCalculation extends DaysCalculation {
+
+		public ExtendedDaysCalculation(int days) {
+			super(days);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Cohort;
+import org.openmrs.Obs;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.report.ReportData;
+import org.openmrs.module.reporting.report.definition.ReportDefinition;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link ReportResultCache}
+ */
+public class ReportResultCacheTest extends BaseModuleContextSensitiveTest {
+
+	@Autowired
+	private ReportResultCache resultCache;
+
+	@Before
+	public void setup() throws Exception {
+		executeDataSet("dataset/test-concepts.xml");
+
+		resultCache.refresh();
+	}
+
+	/**
+	 * @see ReportResultCache#get(String)
+	 * @see ReportResultCache#put(String, org.openmrs.module.reporting.report.ReportData)
+	 */
+	@Test
+	public void get_shouldReturnCachedResultAndCountHitsAndMisses() {
+		long hits = resultCache.getHits(), misses = resultCache.getMisses();
+		ReportData data = new ReportData();
+
+		Assert.assertThat(resultCache.get("test"), nullValue());
+
+		resultCache.put("test", data);
+		Assert.assertThat(resultCache.get("test"), sameInstance(data));
+		Assert.assertThat(resultCache.getSize(), is(1));
+		Assert.assertThat(resultCache.getHits(), is(hits + 1));
+		Assert.assertThat(resultCache.getMisses(), is(misses + 1));
+	}
+
+	/**
+	 * @see ReportResultCache#getKey(Object, org.openmrs.module.reporting.evaluation.EvaluationContext)
+	 */
+	@Test
+	public void getKey_shouldChangeWhenParametersOrDataChange() {
+		ReportDefinition definition = new ReportDefinition();
+		EvaluationContext context = new EvaluationContext();
+		context.addParameterValue("startDate", TestUtils.date(2012, 1, 1));
+
+		String key = resultCache.getKey(definition, context);
+		Assert.assertThat(resultCache.getKey(definition, context), is(key));
+
+		context.addParameterValue("startDate", TestUtils.date(2012, 2, 1));
+		String otherParamsKey = resultCache.getKey(definition, context);
+		Assert.assertThat(otherParamsKey, not(key));
+
+		TestUtils.saveObs(TestUtils.getPatient(7), Dictionary.getConcept(Dictionary.CD4_COUNT), 300.0, TestUtils.date(2012, 1, 15));
+		Assert.assertThat(resultCache.getKey(definition, context), not(otherParamsKey));
+	}
+
+	/**
+	 * @see ReportResultCache#getKey(Object, org.openmrs.module.reporting.evaluation.EvaluationContext)
+	 */
+	@Test
+	public void getKey_shouldChangeWhenBaseCohortChanges() {
+		ReportDefinition definition = new ReportDefinition();
+		EvaluationContext context = new EvaluationContext();
+
+		String key = resultCache.getKey(definition, context);
+
+		context.setBaseCohort(new Cohort(Arrays.asList(7, 6)));
+		String cohortKey = resultCache.getKey(definition, context);
+		Assert.assertThat(cohortKey, not(key));
+
+		context.setBaseCohort(new Cohort(Arrays.asList(6, 7)));
+		Assert.assertThat(resultCache.getKey(definition, context), is(cohortKey));
+
+		context.setBaseCohort(new Cohort(Arrays.asList(7)));
+		Assert.assertThat(resultCache.getKey(definition, context), not(cohortKey));
+	}
+
+	/**
+	 * @see ReportResultCache#markDataChanged()
+	 */
+	@Test
+	public void markDataChanged_shouldChangeKeysWithoutClearingCache() {
+		ReportDefinition definition = new ReportDefinition();
+		EvaluationContext context = new EvaluationContext();
+		String key = resultCache.getKey(definition, context);
+		resultCache.put(key, new ReportData());
+
+		// Voiding an obs doesn't create any new rows, so only the service advice would notice it
+		Obs obs = Context.getObsService().getObs(7);
+		Context.getObsService().voidObs(obs, "Testing");
+		Assert.assertThat(resultCache.getKey(definition, context), is(key));
+
+		resultCache.markDataChanged();
+
+		String changedKey = resultCache.getKey(definition, context);
+		Assert.assertThat(changedKey, not(key));
+		Assert.assertThat(resultCache.get(changedKey), nullValue());
+		Assert.assertThat(resultCache.getSize(), is(1));
+	}
+
+	/**
+	 * @see ReportResultCache#describe(Object)
+	 */
+	@Test
+	public void describe_shouldDescribeValuesIndependentlyOfMapOrder() {
+		Assert.assertThat(ReportResultCache.describe(null), is("null"));
+		Assert.assertThat(ReportResultCache.describe(TestUtils.date(2012, 1, 1)), is(String.valueOf(TestUtils.date(2012, 1, 1).getTime())));
+		Assert.assertThat(ReportResultCache.describe(Arrays.asList(1, "a")), is("[1, a]"));
+		Assert.assertThat(ReportResultCache.describe(new Object[] { 1, null }), is("[1, null]"));
+		Assert.assertThat(ReportResultCache.describe(TestUtils.getPatient(7)), is(TestUtils.getPatient(7).getUuid()));
+		Assert.assertThat(ReportResultCache.describe(Collections.singletonMap("x", 2)), is("{x=2}"));
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openmrs.GlobalProperty;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyaemr.EmrConstants;
+import org.openmrs.module.kenyaemr.util.UserContextSnapshot;
+import org.openmrs.module.reporting.evaluation.parameter.Mapped;
+import org.openmrs.module.reporting.report.ReportRequest;
+import org.openmrs.module.reporting.report.definition.ReportDefinition;
+import org.openmrs.module.reporting.report.definition.service.ReportDefinitionService;
+import org.openmrs.module.reporting.report.service.ReportService;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Date;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link ReportScheduler}
+ */
+public class ReportSchedulerTest extends BaseModuleContextSensitiveTest {
+
+	@Autowired
+	private ReportScheduler reportScheduler;
+
+	/**
+	 * @see ReportScheduler#getConfiguredWorkers()
+	 */
+	@Test
+	public void getConfiguredWorkers_shouldUseGlobalPropertyOrDefault() {
+		Assert.assertThat(reportScheduler.getConfiguredWorkers(), is(Integer.parseInt(EmrConstants.DEFAULT_REPORT_WORKERS)));
+
+		Context.getAdministrationService().saveGlobalProperty(new GlobalProperty(EmrConstants.GP_REPORT_WORKERS, "4"));
+		Assert.assertThat(reportScheduler.getConfiguredWorkers(), is(4));
+
+		Context.getAdministrationService().saveGlobalProperty(new GlobalProperty(EmrConstants.GP_REPORT_WORKERS, "xxx"));
+		Assert.assertThat(reportScheduler.getConfiguredWorkers(), is(Integer.parseInt(EmrConstants.DEFAULT_REPORT_WORKERS)));
+	}
+
+	/**
+	 * @see ReportScheduler.Task#compareTo(org.openmrs.module.kenyaemr.reporting.ReportScheduler.Task)
+	 */
+	@Test
+	public void compareTo_shouldOrderTasksByPriorityThenSubmission() {
+		ReportScheduler.Task normal1 = reportScheduler.new Task(1, ReportRequest.Priority.NORMAL, 1, null);
+		ReportScheduler.Task normal2 = reportScheduler.new Task(2, ReportRequest.Priority.NORMAL, 2, null);
+		ReportScheduler.Task high = reportScheduler.new Task(3, ReportRequest.Priority.HIGH, 3, null);
+
+		Assert.assertThat(normal1.compareTo(normal2), lessThan(0));
+		Assert.assertThat(high.compareTo(normal1), lessThan(0));
+		Assert.assertThat(normal2.compareTo(high), greaterThan(0));
+	}
+
+	/**
+	 * @see ReportScheduler#save(org.openmrs.module.reporting.report.ReportRequest)
+	 */
+	@Test
+	public void save_shouldSaveRequestWithStatusSkippedByReportingQueue() {
+		ReportRequest request = reportScheduler.save(createRequest());
+
+		Assert.assertThat(request.getId(), notNullValue());
+		Assert.assertThat(request.getStatus(), is(ReportRequest.Status.PROCESSING));
+		Assert.assertThat(request.getRequestedBy(), is(Context.getAuthenticatedUser()));
+	}
+
+	/**
+	 * @see ReportScheduler.Task#execute()
+	 */
+	@Test
+	public void execute_shouldRunSavedRequest() {
+		ReportRequest request = reportScheduler.save(createRequest());
+
+		reportScheduler.new Task(request.getId(), request.getPriority(), 1, new UserContextSnapshot(Context.getUserContext())).execute();
+
+		request = Context.getService(ReportService.class).getReportRequest(request.getId());
+		Assert.assertThat(request.getStatus(), is(ReportRequest.Status.COMPLETED));
+		Assert.assertThat(request.getEvaluateStartDatetime(), notNullValue());
+	}
+
+	/**
+	 * @see ReportScheduler#cancel(org.openmrs.module.reporting.report.ReportRequest)
+	 */
+	@Test
+	public void cancel_shouldLeaveTakenRequestForItsWorkerToPurge() {
+		ReportService reportService = Context.getService(ReportService.class);
+		ReportRequest request = reportScheduler.save(createRequest());
+
+		// Task which isn't in the worker pool's queue, i.e. which a worker has already taken
+		ReportScheduler.Task task = reportScheduler.new Task(request.getId(), request.getPriority(), 1, new UserContextSnapshot(Context.getUserContext()));
+		reportScheduler.tasks.put(request.getId(), task);
+
+		reportScheduler.cancel(request);
+
+		Assert.assertThat(reportScheduler.tasks.containsKey(request.getId()), is(false));
+		Assert.assertThat(reportService.getReportRequest(request.getId()), notNullValue());
+
+		task.execute();
+
+		Assert.assertThat(reportService.getReportRequest(request.getId()), nullValue());
+	}
+
+	/**
+	 * @see ReportScheduler#cancel(org.openmrs.module.reporting.report.ReportRequest)
+	 */
+	@Test
+	public void cancel_shouldPurgeRequestWhichIsNotScheduled() {
+		ReportService reportService = Context.getService(ReportService.class);
+		ReportRequest request = reportScheduler.save(createRequest());
+
+		reportScheduler.cancel(request);
+
+		Assert.assertThat(reportService.getReportRequest(request.getId()), nullValue());
+	}
+
+	/**
+	 * @see ReportScheduler#requeueAbandonedRequests()
+	 */
+	@Test
+	public void requeueAbandonedRequests_shouldRequeueSavedRequestsWhichNeverStarted() {
+		ReportService reportService = Context.getService(ReportService.class);
+		ReportRequest abandoned = reportScheduler.save(createRequest());
+
+		// Request which a worker had started when the server stopped
+		ReportRequest started = reportScheduler.save(createRequest());
+		started.setEvaluateStartDatetime(new Date());
+		reportService.saveReportRequest(started);
+
+		Assert.assertThat(reportScheduler.requeueAbandonedRequests(), is(1));
+
+		Assert.assertThat(reportService.getReportRequest(abandoned.getId()).getStatus(), is(ReportRequest.Status.REQUESTED));
+		Assert.assertThat(reportService.getReportRequest(started.getId()).getStatus(), is(ReportRequest.Status.PROCESSING));
+	}
+
+	/**
+	 * @see ReportScheduler#getQueuePosition(Integer)
+	 */
+	@Test
+	public void getQueuePosition_shouldReturnNullForRequestNotQueued() {
+		Assert.assertThat(reportScheduler.getQueuePosition(123), nullValue());
+	}
+
+	/**
+	 * Creates a request for an empty report
+	 * @return the report request
+	 */
+	protected ReportRequest createRequest() {
+		ReportDefinition definition = new ReportDefinition();
+		definition.setName("Test report");
+		Context.getService(ReportDefinitionService.class).saveDefinition(definition);
+
+		ReportRequest request = new ReportRequest();
+		request.setReportDefinition(new Mapped<ReportDefinition>(definition, null));
+		request.setPriority(ReportRequest.Priority.NORMAL);
+		return request;
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting.cohort.definition;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Cohort;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationContext;
+import org.openmrs.calculation.result.CalculationResultMap;
+import org.openmrs.module.kenyacore.calculation.AbstractPatientCalculation;
+import org.openmrs.module.kenyacore.calculation.BooleanResult;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.reporting.cohort.definition.service.CohortDefinitionService;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.evaluation.parameter.Parameter;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link CalculationCachingStrategy}
+ */
+public class CalculationCachingStrategyTest extends BaseModuleContextSensitiveTest {
+
+	private CohortDefinitionService service;
+
+	@Before
+	public void setup() throws Exception {
+		service = Context.getService(CohortDefinitionService.class);
+
+		CountingCalculation.evaluations = 0;
+	}
+
+	/**
+	 * @see CalculationCachingStrategy#getCacheKey(Object)
+	 */
+	@Test
+	public void getCacheKey_shouldBeEqualForSeparatelyConstructedDefinitionsOfSameCalculation() {
+		CalculationCachingStrategy strategy = new CalculationCachingStrategy();
+
+		String key1 = strategy.getCacheKey(new CachedCalculationCohortDefinition(new CountingCalculation()));
+		String key2 = strategy.getCacheKey(new CachedCalculationCohortDefinition(new CountingCalculation()));
+
+		Assert.assertThat(key1, is(key2));
+	}
+
+	/**
+	 * @see CalculationCachingStrategy#getCacheKey(Object)
+	 */
+	@Test
+	public void evaluate_shouldReuseCachedResultForSameParametersOnly() throws Exception {
+		EvaluationContext context = new EvaluationContext();
+		context.setBaseCohort(new Cohort(Arrays.asList(6, 7)));
+		context.addParameterValue("onDate", TestUtils.date(2012, 6, 1));
+
+		service.evaluate(cachedDefinition(), context);
+		Assert.assertThat(CountingCalculation.evaluations, is(1));
+
+		// Second evaluation of an equivalent definition should be served from the cache
+		service.evaluate(cachedDefinition(), context);
+		Assert.assertThat(CountingCalculation.evaluations, is(1));
+
+		// Different parameter value shouldn't be
+		context.addParameterValue("onDate", TestUtils.date(2012, 7, 1));
+		service.evaluate(cachedDefinition(), context);
+		Assert.assertThat(CountingCalculation.evaluations, is(2));
+	}
+
+	/**
+	 * Creates a new cached definition of the counting calculation
+	 * @return the cohort definition
+	 */
+	private static CachedCalculationCohortDefinition cachedDefinition() {
+		CachedCalculationCohortDefinition cd = new CachedCalculationCohortDefinition(new CountingCalculation());
+		cd.addParameter(new Parameter("onDate", "On Date", Date.class));
+		return cd;
+	}
+
+	/**
+	 * Calculation which counts how many times it has been evaluated
+	 */
+	public static class CountingCalculation extends AbstractPatientCalculation {
+
+		protected static int evaluations = 0;
+
+		@Override
+		public CalculationResultMap evaluate(Collection<Integer> cohort, Map<String, Object> params, PatientCalculationContext context) {
+			evaluations++;
+
+			CalculationResultMap ret = new CalculationResultMap();
+			for (Integer ptId : cohort) {
+				ret.put(ptId, new BooleanResult(true, this, context));
+			}
+			return ret;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.reporting.data.patient.definition.evaluator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Cohort;
+import org.openmrs.Concept;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.CachedPatientDataDefinition;
+import org.openmrs.module.reporting.common.TimeQualifier;
+import org.openmrs.module.reporting.data.patient.EvaluatedPatientData;
+import org.openmrs.module.reporting.data.patient.service.PatientDataService;
+import org.openmrs.module.reporting.data.person.definition.ObsForPersonDataDefinition;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link CachedPatientDataEvaluator}
+ */
+public class CachedPatientDataEvaluatorTest extends BaseModuleContextSensitiveTest {
+
+	private Concept cd4;
+
+	@Before
+	public void setup() throws Exception {
+		executeDataSet("dataset/test-concepts.xml");
+
+		cd4 = Dictionary.getConcept(Dictionary.CD4_COUNT);
+
+		TestUtils.saveObs(TestUtils.getPatient(7), cd4, 123.0, TestUtils.date(2012, 1, 1));
+		TestUtils.saveObs(TestUtils.getPatient(7), cd4, 456.0, TestUtils.date(2012, 2, 1));
+	}
+
+	/**
+	 * @see CachedPatientDataEvaluator#evaluate(org.openmrs.module.reporting.data.patient.definition.PatientDataDefinition, org.openmrs.module.reporting.evaluation.EvaluationContext)
+	 */
+	@Test
+	public void evaluate_shouldEvaluateEquivalentDefinitionsOnce() throws Exception {
+		CachedPatientDataDefinition firstCd4 = new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First CD4", TimeQualifier.FIRST, cd4, null, null));
+		CachedPatientDataDefinition firstCd4Date = new CachedPatientDataDefinition(new ObsForPersonDataDefinition("First CD4 date", TimeQualifier.FIRST, cd4, null, null));
+		CachedPatientDataDefinition lastCd4 = new CachedPatientDataDefinition(new ObsForPersonDataDefinition("Last CD4", TimeQualifier.LAST, cd4, null, null));
+
+		EvaluationContext context = new EvaluationContext();
+		context.setBaseCohort(new Cohort(Arrays.asList(6, 7)));
+
+		PatientDataService service = Context.getService(PatientDataService.class);
+		EvaluatedPatientData data1 = service.evaluate(firstCd4, context);
+		EvaluatedPatientData data2 = service.evaluate(firstCd4Date, context);
+		EvaluatedPatientData data3 = service.evaluate(lastCd4, context);
+
+		Assert.assertThat(data2, sameInstance(data1));
+		Assert.assertThat(data3, not(sameInstance(data1)));
+		Assert.assertThat(data1.getData().get(7), is(notNullValue()));
+
+		// Check that a different base cohort isn't served from the cache
+		context.setBaseCohort(new Cohort(Arrays.asList(7)));
+
+		Assert.assertThat(service.evaluate(firstCd4, context), not(sameInstance(data1)));
+	}
+}
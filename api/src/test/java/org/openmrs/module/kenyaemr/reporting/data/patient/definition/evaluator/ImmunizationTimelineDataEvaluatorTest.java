@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+
+package org.openmrs.module.kenyaemr.reporting.data.patient.definition.evaluator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Cohort;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.reporting.data.converter.VaccinationDateConverter;
+import org.openmrs.module.kenyaemr.reporting.data.patient.definition.ImmunizationTimelineDataDefinition;
+import org.openmrs.module.reporting.data.patient.EvaluatedPatientData;
+import org.openmrs.module.reporting.data.patient.service.PatientDataService;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link ImmunizationTimelineDataEvaluator}
+ */
+public class ImmunizationTimelineDataEvaluatorTest extends BaseModuleContextSensitiveTest {
+
+	@Before
+	public void setup() throws Exception {
+		executeDataSet("dataset/test-concepts.xml");
+	}
+
+	/**
+	 * @see ImmunizationTimelineDataEvaluator#evaluate(org.openmrs.module.reporting.data.patient.definition.PatientDataDefinition, org.openmrs.module.reporting.evaluation.EvaluationContext)
+	 */
+	@Test
+	public void evaluate_shouldGetEarliestDateOfEachDoseUpToEvaluationDate() throws Exception {
+		String opv = Dictionary.POLIO_VACCINATION_ORAL;
+		String dpt = Dictionary.DIPHTHERIA_TETANUS_AND_PERTUSSIS_VACCINATION;
+
+		saveImmunization(TestUtils.getPatient(6), opv, 1, TestUtils.date(2012, 1, 1));
+		saveImmunization(TestUtils.getPatient(6), opv, 2, TestUtils.date(2012, 2, 1));
+		saveImmunization(TestUtils.getPatient(6), opv, 1, TestUtils.date(2012, 3, 1));
+		saveImmunization(TestUtils.getPatient(7), dpt, 1, TestUtils.date(2012, 5, 1));
+
+		EvaluationContext context = new EvaluationContext(TestUtils.date(2012, 4, 1));
+		context.setBaseCohort(new Cohort(Arrays.asList(6, 7, 8)));
+
+		EvaluatedPatientData data = Context.getService(PatientDataService.class).evaluate(new ImmunizationTimelineDataDefinition(), context);
+
+		Map<?, ?> timeline = (Map<?, ?>) data.getData().get(6);
+		Assert.assertThat(timeline.size(), is(2));
+		Assert.assertThat((Date) timeline.get(ImmunizationTimelineDataDefinition.getKey(opv, 1)), is(TestUtils.date(2012, 1, 1)));
+		Assert.assertThat((Date) timeline.get(ImmunizationTimelineDataDefinition.getKey(opv, 2)), is(TestUtils.date(2012, 2, 1)));
+
+		// Patient #7's dose was given after the evaluation date
+		Assert.assertThat(data.getData().containsKey(7), is(false));
+
+		Assert.assertThat(new VaccinationDateConverter(opv, 2).convert(timeline), is((Object) "01/02/2012"));
+		Assert.assertThat(new VaccinationDateConverter(opv, 3).convert(timeline), is((Object) "Missing"));
+		Assert.assertThat(new VaccinationDateConverter(opv, 1).convert(null), is((Object) "Missing"));
+	}
+
+	/**
+	 * Saves an immunization history obs group
+	 * @param patient the patient
+	 * @param vaccine the vaccine concept identifier
+	 * @param sequence the dose sequence number
+	 * @param date the date
+	 */
+	private void saveImmunization(Patient patient, String vaccine, int sequence, Date date) {
+		Obs vaccineObs = new Obs(patient, Dictionary.getConcept(Dictionary.IMMUNIZATIONS), date, null);
+		vaccineObs.setValueCoded(Dictionary.getConcept(vaccine));
+
+		Obs sequenceObs = new Obs(patient, Dictionary.getConcept(Dictionary.IMMUNIZATION_SEQUENCE_NUMBER), date, null);
+		sequenceObs.setValueNumeric((double) sequence);
+
+		Obs group = new Obs(patient, Dictionary.getConcept(Dictionary.IMMUNIZATION_HISTORY), date, null);
+		group.addGroupMember(vaccineObs);
+		group.addGroupMember(sequenceObs);
+
+		Context.getObsService().saveObs(group, null);
+	}
+}
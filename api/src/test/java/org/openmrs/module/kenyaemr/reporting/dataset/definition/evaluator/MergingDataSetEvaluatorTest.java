@@ -115,6 +115,36 @@ public class MergingDataSetEvaluatorTest extends BaseModuleContextSensitiveTest
 		checkIndicatorDataSet(Arrays.asList("test-2", "test-1", "test-3"), Arrays.asList(2, 2, 1), dataSet);
 	}
 
+	@Test
+	public void evaluate_shouldEvaluateInParallelAndMergeInDeclaredOrder() throws EvaluationException {
+		MergingDataSetDefinition mergedDsd = new MergingDataSetDefinition();
+		mergedDsd.addDataSetDefinition(cohortDsd1);
+		mergedDsd.addDataSetDefinition(cohortDsd2);
+		mergedDsd.setParallel(true);
+
+		MapDataSet dataSet = evaluator.evaluate(mergedDsd, evaluationContext);
+		checkIndicatorDataSet(Arrays.asList("test-1", "test-3", "test-2"), Arrays.asList(2, 1, 2), dataSet);
+
+		mergedDsd.setMergeOrder(MergingDataSetDefinition.MergeOrder.NAME);
+
+		dataSet = evaluator.evaluate(mergedDsd, evaluationContext);
+		checkIndicatorDataSet(Arrays.asList("test-1", "test-2", "test-3"), Arrays.asList(2, 2, 1), dataSet);
+	}
+
+	/**
+	 * @see MergingDataSetEvaluator#copyContext(org.openmrs.module.reporting.evaluation.EvaluationContext)
+	 */
+	@Test
+	public void copyContext_shouldCopyCachedEntries() {
+		evaluationContext.addToCache("test", "value");
+
+		EvaluationContext copy = MergingDataSetEvaluator.copyContext(evaluationContext);
+		Assert.assertEquals("value", copy.getFromCache("test"));
+
+		copy.addToCache("other", "value");
+		Assert.assertNull(evaluationContext.getFromCache("other"));
+	}
+
 	/**
 	 * Checks the column names and values of a indicator data set
 	 * @param expectedColumnNames the expected column names
@@ -21,6 +21,7 @@ import org.openmrs.EncounterType;
 import org.openmrs.Program;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.metadata.CommonMetadata;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.module.kenyacore.test.ReportingTestUtils;
@@ -99,6 +100,29 @@ public class Moh731CohortLibraryTest extends BaseModuleContextSensitiveTest {
 		ReportingTestUtils.assertCohortEquals(Arrays.asList(7, 8), evaluated);
 	}
 
+	/**
+	 * @see Moh731CohortLibrary#nextAppointmentAfterDate()
+	 */
+	@Test
+	public void nextAppointmentAfterDate() throws Exception {
+		Concept returnVisitDate = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
+
+		// Give patient #6 an appointment after the end of the period
+		TestUtils.saveObs(TestUtils.getPatient(6), returnVisitDate, TestUtils.date(2012, 7, 15), TestUtils.date(2012, 6, 15));
+
+		// Give patient #7 an appointment during the period
+		TestUtils.saveObs(TestUtils.getPatient(7), returnVisitDate, TestUtils.date(2012, 6, 20), TestUtils.date(2012, 6, 1));
+
+		// Give patient #8 an appointment after the period which was then replaced by one during the period
+		TestUtils.saveObs(TestUtils.getPatient(8), returnVisitDate, TestUtils.date(2012, 8, 1), TestUtils.date(2012, 5, 1));
+		TestUtils.saveObs(TestUtils.getPatient(8), returnVisitDate, TestUtils.date(2012, 6, 10), TestUtils.date(2012, 6, 1));
+
+		CohortDefinition cd = moh731Cohorts.nextAppointmentAfterDate();
+		context.addParameterValue("onDate", PERIOD_END);
+		EvaluatedCohort evaluated = Context.getService(CohortDefinitionService.class).evaluate(cd, context);
+		ReportingTestUtils.assertCohortEquals(Arrays.asList(6), evaluated);
+	}
+
 	/**
 	 * @see Moh731CohortLibrary#revisitsArt()
 	 */
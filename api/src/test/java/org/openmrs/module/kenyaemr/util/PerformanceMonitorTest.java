@@ -0,0 +1,80 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link PerformanceMonitor}
+ */
+public class PerformanceMonitorTest {
+
+	@Before
+	public void setup() {
+		PerformanceMonitor.reset();
+	}
+
+	@Test
+	public void integration() {
+		new PerformanceMonitor();
+	}
+
+	/**
+	 * @see PerformanceMonitor#record(String, String, long)
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void record_shouldAccumulateCountTotalMaxAndPercentile() {
+		for (int i = 0; i < 19; ++i) {
+			PerformanceMonitor.record("test", "fast", 5);
+		}
+		PerformanceMonitor.record("test", "fast", 400);
+
+		Map<String, Object> group = (Map<String, Object>) PerformanceMonitor.getAllMetrics().get("test");
+		Map<String, Object> fast = (Map<String, Object>) group.get("fast");
+
+		Assert.assertThat(fast.get("count"), is((Object) 20L));
+		Assert.assertThat(fast.get("total"), is((Object) 495L));
+		Assert.assertThat(fast.get("max"), is((Object) 400L));
+		Assert.assertThat(fast.get("p95"), is((Object) 10L));
+
+		Map<String, Object> histogram = (Map<String, Object>) fast.get("histogram");
+		Assert.assertThat(histogram.get("<=10"), is((Object) 19L));
+		Assert.assertThat(histogram.get("<=500"), is((Object) 1L));
+		Assert.assertThat(histogram.get(">60000"), is((Object) 0L));
+	}
+
+	/**
+	 * @see PerformanceMonitor#recordCacheLookups(String, long, long)
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void recordCacheLookups_shouldCalculateHitRate() {
+		PerformanceMonitor.recordCacheLookups("test", 3, 1);
+
+		Map<String, Object> caches = (Map<String, Object>) PerformanceMonitor.getAllMetrics().get("caches");
+		Map<String, Object> cache = (Map<String, Object>) caches.get("test");
+
+		Assert.assertThat(cache.get("hits"), is((Object) 3L));
+		Assert.assertThat(cache.get("misses"), is((Object) 1L));
+		Assert.assertThat(cache.get("hitRate"), is((Object) 0.75));
+	}
+}
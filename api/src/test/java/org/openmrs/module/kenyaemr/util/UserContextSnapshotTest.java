@@ -0,0 +1,57 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.context.UserContext;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link UserContextSnapshot}
+ */
+public class UserContextSnapshotTest extends BaseModuleContextSensitiveTest {
+
+	/**
+	 * @see UserContextSnapshot#createUserContext()
+	 */
+	@Test
+	public void createUserContext_shouldCreateNewUserContextForSameUser() {
+		UserContext original = Context.getUserContext();
+		UserContext copy = new UserContextSnapshot(original).createUserContext();
+
+		Assert.assertThat(copy, not(sameInstance(original)));
+		Assert.assertThat(copy.getAuthenticatedUser(), is(original.getAuthenticatedUser()));
+		Assert.assertThat(copy.getLocale(), is(original.getLocale()));
+		Assert.assertThat(copy.getLocationId(), is(original.getLocationId()));
+
+		// Logging out of the copy doesn't affect the original
+		copy.logout();
+		Assert.assertThat(original.getAuthenticatedUser(), notNullValue());
+	}
+
+	/**
+	 * @see UserContextSnapshot#createUserContext()
+	 */
+	@Test
+	public void createUserContext_shouldCreateUnauthenticatedUserContextIfNoUserWasAuthenticated() {
+		UserContext copy = new UserContextSnapshot(new UserContext()).createUserContext();
+
+		Assert.assertThat(copy.getAuthenticatedUser(), nullValue());
+	}
+}
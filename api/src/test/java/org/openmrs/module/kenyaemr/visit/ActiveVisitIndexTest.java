@@ -0,0 +1,86 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.visit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Patient;
+import org.openmrs.Visit;
+import org.openmrs.VisitType;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.metadata.CommonMetadata;
+import org.openmrs.module.metadatadeploy.MetadataUtils;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Date;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link ActiveVisitIndex}
+ */
+public class ActiveVisitIndexTest extends BaseModuleContextSensitiveTest {
+
+	@Autowired
+	private CommonMetadata commonMetadata;
+
+	@Autowired
+	private ActiveVisitIndex activeVisitIndex;
+
+	@Before
+	public void setup() {
+		commonMetadata.install();
+
+		activeVisitIndex.refresh();
+	}
+
+	/**
+	 * @see ActiveVisitIndex#getActiveVisit(org.openmrs.Patient)
+	 */
+	@Test
+	public void getActiveVisit_shouldGetMostRecentActiveVisit() {
+		Patient patient = TestUtils.getPatient(8);
+		VisitType outpatient = MetadataUtils.existing(VisitType.class, CommonMetadata._VisitType.OUTPATIENT);
+
+		Visit visit = TestUtils.saveVisit(patient, outpatient, new Date(), null);
+
+		Assert.assertThat(activeVisitIndex.getActiveVisit(patient), is(visit));
+		Assert.assertThat(activeVisitIndex.getPatientIds(), hasItem(8));
+	}
+
+	/**
+	 * @see ActiveVisitIndex#update(org.openmrs.Visit)
+	 */
+	@Test
+	public void update_shouldAddAndRemoveVisitsAsTheyChange() {
+		Patient patient = TestUtils.getPatient(8);
+		VisitType outpatient = MetadataUtils.existing(VisitType.class, CommonMetadata._VisitType.OUTPATIENT);
+
+		// Build index before visit exists
+		activeVisitIndex.getPatientIds();
+
+		Visit visit = TestUtils.saveVisit(patient, outpatient, new Date(), null);
+		activeVisitIndex.update(visit);
+
+		Assert.assertThat(activeVisitIndex.getActiveVisit(patient), is(visit));
+
+		visit.setStopDatetime(new Date());
+		activeVisitIndex.update(visit);
+
+		Assert.assertThat(activeVisitIndex.getActiveVisit(patient), not(is(visit)));
+	}
+}
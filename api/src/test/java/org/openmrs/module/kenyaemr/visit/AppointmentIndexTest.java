@@ -0,0 +1,90 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.visit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Concept;
+import org.openmrs.Obs;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.reporting.common.DateUtil;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Date;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link AppointmentIndex}
+ */
+public class AppointmentIndexTest extends BaseModuleContextSensitiveTest {
+
+	@Autowired
+	private AppointmentIndex appointmentIndex;
+
+	private Concept returnVisitDate;
+
+	@Before
+	public void setup() throws Exception {
+		executeDataSet("dataset/test-concepts.xml");
+
+		returnVisitDate = Dictionary.getConcept(Dictionary.RETURN_VISIT_DATE);
+
+		// Patient #7 has scheduled visit on 1-Jan-2012
+		TestUtils.saveObs(TestUtils.getPatient(7), returnVisitDate, TestUtils.date(2012, 1, 1), TestUtils.date(2011, 12, 30));
+
+		appointmentIndex.refresh();
+	}
+
+	/**
+	 * @see AppointmentIndex#getPatientIdsScheduledBetween(java.util.Date, java.util.Date)
+	 */
+	@Test
+	public void getPatientIdsScheduledBetween_shouldGetPatientsWithReturnVisitDateInRange() {
+		Assert.assertThat(appointmentIndex.getPatientIdsScheduledBetween(startOfDay(2012, 1, 1), endOfDay(2012, 1, 1)), contains(7));
+		Assert.assertThat(appointmentIndex.getPatientIdsScheduledBetween(startOfDay(2012, 1, 2), endOfDay(2012, 1, 2)), empty());
+	}
+
+	/**
+	 * @see AppointmentIndex#update(org.openmrs.Obs)
+	 */
+	@Test
+	public void update_shouldAddAndRemoveAppointmentsAsObsChange() {
+		// Build index before obs exists
+		appointmentIndex.getPatientIdsScheduledBetween(startOfDay(2012, 1, 2), endOfDay(2012, 1, 2));
+
+		Obs obs = TestUtils.saveObs(TestUtils.getPatient(8), returnVisitDate, TestUtils.date(2012, 1, 2), TestUtils.date(2011, 12, 30));
+		appointmentIndex.update(obs);
+
+		Assert.assertThat(appointmentIndex.getPatientIdsScheduledBetween(startOfDay(2012, 1, 2), endOfDay(2012, 1, 2)), contains(8));
+
+		Context.getObsService().voidObs(obs, "Testing");
+		appointmentIndex.update(obs);
+
+		Assert.assertThat(appointmentIndex.getPatientIdsScheduledBetween(startOfDay(2012, 1, 2), endOfDay(2012, 1, 2)), empty());
+	}
+
+	private static Date startOfDay(int year, int month, int day) {
+		return DateUtil.getStartOfDay(TestUtils.date(year, month, day));
+	}
+
+	private static Date endOfDay(int year, int month, int day) {
+		return DateUtil.getEndOfDay(TestUtils.date(year, month, day));
+	}
+}
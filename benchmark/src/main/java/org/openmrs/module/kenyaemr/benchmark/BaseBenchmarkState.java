@@ -0,0 +1,165 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.benchmark;
+
+import org.openmrs.Concept;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PersonName;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.regimen.RegimenManager;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.context.TestContextManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for benchmark states. Starts the same Spring context and in-memory database used by the API tests, and
+ * generates a cohort of patients with ART histories of the requested size.
+ *
+ * This extends the base test class only to reuse its context configuration and dataset loading. The context is
+ * prepared manually as there is no JUnit runner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public abstract class BaseBenchmarkState extends BaseModuleContextSensitiveTest {
+
+	/**
+	 * Identifier type and location from the standard test dataset
+	 */
+	private static final int IDENTIFIER_TYPE_ID = 2;
+	private static final int LOCATION_ID = 1;
+
+	/**
+	 * Number of patients created per session flush
+	 */
+	private static final int FLUSH_INTERVAL = 100;
+
+	@Param({ "100", "1000", "5000" })
+	public int cohortSize;
+
+	/**
+	 * The ids of the generated patients
+	 */
+	protected List<Integer> cohort;
+
+	/**
+	 * Starts the context, loads the test datasets and creates the benchmark cohort
+	 */
+	@Setup(Level.Trial)
+	public void startup() throws Exception {
+		new TestContextManager(getClass()).prepareTestInstance(this);
+
+		baseSetupWithStandardDataAndAuthentication();
+		executeDataSet("dataset/test-concepts.xml");
+		executeDataSet("dataset/test-drugs.xml");
+
+		Context.getRegisteredComponents(RegimenManager.class).get(0).refresh();
+
+		cohort = createPatients(cohortSize);
+
+		Context.flushSession();
+		Context.clearSession();
+
+		prepare();
+	}
+
+	/**
+	 * Closes the session opened by {@link #startup()}
+	 */
+	@TearDown(Level.Trial)
+	public void shutdown() {
+		if (Context.isSessionOpen()) {
+			Context.closeSession();
+		}
+	}
+
+	/**
+	 * Prepares anything needed by the benchmarks once the cohort exists
+	 */
+	protected void prepare() throws Exception {
+	}
+
+	/**
+	 * Creates patients, each started on D4T/3TC and every other one later switched to AZT/3TC/NVP
+	 * @param count the number of patients
+	 * @return the patient ids
+	 */
+	protected List<Integer> createPatients(int count) {
+		Concept stavudine = Dictionary.getConcept(Dictionary.STAVUDINE);
+		Concept lamivudine = Dictionary.getConcept(Dictionary.LAMIVUDINE);
+		Concept zidovudine = Dictionary.getConcept(Dictionary.ZIDOVUDINE);
+		Concept nevirapine = Dictionary.getConcept(Dictionary.NEVIRAPINE);
+
+		Date started = TestUtils.date(2010, 1, 1);
+		Date switched = TestUtils.date(2012, 6, 1);
+
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int p = 0; p < count; ++p) {
+			Patient patient = new Patient();
+			patient.setGender(p % 2 == 0 ? "M" : "F");
+			patient.setBirthdate(TestUtils.date(1950 + (p % 60), 1 + (p % 12), 1));
+			patient.addName(new PersonName("Benchmark", null, "Patient " + p));
+
+			PatientIdentifier identifier = new PatientIdentifier("BM-" + p,
+					Context.getPatientService().getPatientIdentifierType(IDENTIFIER_TYPE_ID),
+					Context.getLocationService().getLocation(LOCATION_ID));
+			identifier.setPreferred(true);
+			patient.addIdentifier(identifier);
+
+			Context.getPatientService().savePatient(patient);
+
+			if (p % 2 == 0) {
+				TestUtils.saveDrugOrder(patient, stavudine, started, null);
+				TestUtils.saveDrugOrder(patient, lamivudine, started, null);
+			}
+			else {
+				TestUtils.saveDrugOrder(patient, stavudine, started, switched);
+				TestUtils.saveDrugOrder(patient, lamivudine, started, null);
+				TestUtils.saveDrugOrder(patient, zidovudine, switched, null);
+				TestUtils.saveDrugOrder(patient, nevirapine, switched, null);
+			}
+
+			ids.add(patient.getPatientId());
+
+			if (p % FLUSH_INTERVAL == 0) {
+				Context.flushSession();
+				Context.clearSession();
+			}
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.kenyaemr.benchmark;
+
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculation;
+import org.openmrs.calculation.patient.PatientCalculationService;
+import org.openmrs.calculation.result.CalculationResultMap;
+import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.CurrentArtRegimenCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.InitialArtRegimenCalculation;
+import org.openmrs.module.kenyaemr.calculation.library.hiv.art.OnArtCalculation;
+import org.openmrs.module.kenyaemr.regimen.RegimenOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks representative calculations and the calculation utility methods
+ */
+public class CalculationBenchmark extends BaseBenchmarkState {
+
+	private static final List<Class<? extends PatientCalculation>> CALCULATIONS = Arrays.<Class<? extends PatientCalculation>>asList(
+			OnArtCalculation.class,
+			InitialArtRegimenCalculation.class,
+			CurrentArtRegimenCalculation.class
+	);
+
+	private PatientCalculationService calculationService;
+
+	/**
+	 * Current regimen results for the cohort, for benchmarking the result helpers
+	 */
+	private CalculationResultMap currentRegimens;
+
+	/**
+	 * @see BaseBenchmarkState#prepare()
+	 */
+	@Override
+	protected void prepare() {
+		calculationService = Context.getService(PatientCalculationService.class);
+		currentRegimens = calculationService.evaluate(cohort, new CurrentArtRegimenCalculation());
+	}
+
+	@Benchmark
+	public CalculationResultMap onArtCalculation() {
+		return calculationService.evaluate(cohort, new OnArtCalculation());
+	}
+
+	@Benchmark
+	public CalculationResultMap initialArtRegimenCalculation() {
+		return calculationService.evaluate(cohort, new InitialArtRegimenCalculation());
+	}
+
+	@Benchmark
+	public CalculationResultMap currentArtRegimenCalculation() {
+		return calculationService.evaluate(cohort, new CurrentArtRegimenCalculation());
+	}
+
+	@Benchmark
+	public Map<Class<? extends PatientCalculation>, CalculationResultMap> evaluateForCohort() {
+		return EmrCalculationUtils.evaluateForCohort(CALCULATIONS, cohort, calculationService.createCalculationContext());
+	}
+
+	@Benchmark
+	public int regimenInGroup() {
+		int inGroup = 0;
+		for (Integer ptId : cohort) {
+			RegimenOrder regimen = EmrCalculationUtils.resultForPatient(currentRegimens, ptId);
+			if (regimen != null && EmrCalculationUtils.regimenInGroup(regimen, "category1", "group1")) {
+				++inGroup;
+			}
+		}
+		return inGroup;
+	}
+}
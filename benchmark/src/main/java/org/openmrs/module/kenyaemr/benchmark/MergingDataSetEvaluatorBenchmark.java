@@ -0,0 +1,92 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.kenyaemr.benchmark;
+
+import org.openmrs.Cohort;
+import org.openmrs.module.kenyacore.report.ReportUtils;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.reporting.dataset.definition.MergingDataSetDefinition;
+import org.openmrs.module.kenyaemr.reporting.dataset.definition.evaluator.MergingDataSetEvaluator;
+import org.openmrs.module.reporting.cohort.definition.AgeCohortDefinition;
+import org.openmrs.module.reporting.cohort.definition.GenderCohortDefinition;
+import org.openmrs.module.reporting.dataset.MapDataSet;
+import org.openmrs.module.reporting.dataset.definition.CohortIndicatorDataSetDefinition;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.evaluation.EvaluationException;
+import org.openmrs.module.reporting.evaluation.parameter.Parameter;
+import org.openmrs.module.reporting.indicator.CohortIndicator;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Date;
+
+/**
+ * Benchmarks merging of indicator datasets
+ */
+public class MergingDataSetEvaluatorBenchmark extends BaseBenchmarkState {
+
+	private MergingDataSetEvaluator evaluator = new MergingDataSetEvaluator();
+
+	private MergingDataSetDefinition mergedDsd;
+
+	/**
+	 * @see BaseBenchmarkState#prepare()
+	 */
+	@Override
+	protected void prepare() {
+		GenderCohortDefinition males = new GenderCohortDefinition();
+		males.setName("Gender = Male");
+		males.setMaleIncluded(true);
+
+		GenderCohortDefinition females = new GenderCohortDefinition();
+		females.setName("Gender = Female");
+		females.setFemaleIncluded(true);
+
+		AgeCohortDefinition adults = new AgeCohortDefinition();
+		adults.setName("Age >= 15");
+		adults.addParameter(new Parameter("effectiveDate", "Date", Date.class));
+		adults.setMinAge(15);
+
+		CohortIndicator malesIndicator = new CohortIndicator("Count of males");
+		malesIndicator.setCohortDefinition(males, "");
+
+		CohortIndicator femalesIndicator = new CohortIndicator("Count of females");
+		femalesIndicator.setCohortDefinition(females, "");
+
+		CohortIndicator adultsIndicator = new CohortIndicator("Count of adults");
+		adultsIndicator.addParameter(new Parameter("date", "Date", Date.class));
+		adultsIndicator.setCohortDefinition(adults, "effectiveDate=${date}");
+
+		CohortIndicatorDataSetDefinition dsd1 = new CohortIndicatorDataSetDefinition();
+		dsd1.setName("DSD1");
+		dsd1.addColumn("males", "Count of males", ReportUtils.map(malesIndicator, ""), "");
+		dsd1.addColumn("adults", "Count of adults", ReportUtils.map(adultsIndicator, "date=${date}"), "");
+
+		CohortIndicatorDataSetDefinition dsd2 = new CohortIndicatorDataSetDefinition();
+		dsd2.setName("DSD2");
+		dsd2.addColumn("females", "Count of females", ReportUtils.map(femalesIndicator, ""), "");
+
+		mergedDsd = new MergingDataSetDefinition();
+		mergedDsd.addDataSetDefinition(dsd1);
+		mergedDsd.addDataSetDefinition(dsd2);
+		mergedDsd.setMergeOrder(MergingDataSetDefinition.MergeOrder.NAME);
+	}
+
+	@Benchmark
+	public MapDataSet evaluate() throws EvaluationException {
+		EvaluationContext context = new EvaluationContext();
+		context.addParameterValue("date", TestUtils.date(2012, 1, 1));
+		context.setBaseCohort(new Cohort(cohort));
+		return evaluator.evaluate(mergedDsd, context);
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.kenyaemr.benchmark;
+
+import org.openmrs.Concept;
+import org.openmrs.Patient;
+import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculationService;
+import org.openmrs.module.kenyaemr.Dictionary;
+import org.openmrs.module.kenyaemr.regimen.RegimenChange;
+import org.openmrs.module.kenyaemr.regimen.RegimenChangeHistory;
+import org.openmrs.module.kenyaemr.regimen.RegimenManager;
+import org.openmrs.module.kenyaemr.regimen.RegimenOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks regimen history construction and regimen definition matching
+ */
+public class RegimenBenchmark extends BaseBenchmarkState {
+
+	private static final String CATEGORY = "category1";
+
+	private RegimenManager regimenManager;
+
+	private Concept arvs;
+
+	/**
+	 * The current regimen of each patient in the cohort
+	 */
+	private List<RegimenOrder> regimens;
+
+	/**
+	 * @see BaseBenchmarkState#prepare()
+	 */
+	@Override
+	protected void prepare() {
+		regimenManager = Context.getRegisteredComponents(RegimenManager.class).get(0);
+		arvs = Dictionary.getConcept(Dictionary.ANTIRETROVIRAL_DRUGS);
+
+		regimens = new ArrayList<RegimenOrder>();
+		for (RegimenChangeHistory history : regimenHistoriesForCohort().values()) {
+			RegimenChange lastChange = history.getLastChange();
+			if (lastChange != null && lastChange.getStarted() != null) {
+				regimens.add(lastChange.getStarted());
+			}
+		}
+	}
+
+	@Benchmark
+	public int findDefinitions() {
+		int matched = 0;
+		for (RegimenOrder regimen : regimens) {
+			matched += regimenManager.findDefinitions(CATEGORY, regimen, false).size();
+		}
+		return matched;
+	}
+
+	@Benchmark
+	public Map<Integer, RegimenChangeHistory> regimenHistoriesForCohort() {
+		return RegimenChangeHistory.forCohort(cohort, arvs, Context.getService(PatientCalculationService.class).createCalculationContext());
+	}
+
+	@Benchmark
+	public List<RegimenChangeHistory> regimenHistoriesForEachPatient() {
+		List<RegimenChangeHistory> histories = new ArrayList<RegimenChangeHistory>();
+		for (Integer ptId : cohort) {
+			Patient patient = Context.getPatientService().getPatient(ptId);
+			histories.add(RegimenChangeHistory.forPatient(patient, arvs));
+		}
+		return histories;
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Interceptor which records the number of database statements executed by each request. Hibernate only keeps
+ * statistics for the whole session factory, so counts of requests which overlap with others are approximate.
+ * Statistics add overhead to every session, so this interceptor only turns them on while the
+ * {@link EmrConstants#GP_RECORD_REQUEST_STATEMENTS} global property is true. It turns them back off if they were only
+ * turned on by this interceptor. Otherwise it leaves the setting untouched, and counts are only recorded if something
+ * else has turned on statistics.
+ */
+public class EmrPerformanceInterceptor extends HandlerInterceptorAdapter {
+
+	protected static final String START_COUNT_ATTRIBUTE = EmrPerformanceInterceptor.class.getName() + ".startCount";
+
+	/**
+	 * How often the global property is re-read, so that it isn't fetched on every request
+	 */
+	protected static final long SETTING_CHECK_INTERVAL = 60 * 1000L;
+
+	@Autowired
+	protected SessionFactory sessionFactory;
+
+	private Boolean enabled;
+
+	private long enabledCheckedAt;
+
+	private boolean statisticsEnabledHere = false;
+
+	/**
+	 * @see HandlerInterceptorAdapter#preHandle(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, Object)
+	 */
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+		Statistics statistics = sessionFactory.getStatistics();
+
+		synchronized (this) {
+			if (isEnabled()) {
+				if (!statistics.isStatisticsEnabled()) {
+					statistics.setStatisticsEnabled(true);
+					statisticsEnabledHere = true;
+				}
+			}
+			else if (statisticsEnabledHere) {
+				statistics.setStatisticsEnabled(false);
+				statisticsEnabledHere = false;
+			}
+		}
+
+		if (statistics.isStatisticsEnabled()) {
+			request.setAttribute(START_COUNT_ATTRIBUTE, statistics.getPrepareStatementCount());
+		}
+		return true;
+	}
+
+	/**
+	 * @see HandlerInterceptorAdapter#afterCompletion(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, Object, Exception)
+	 */
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+		Object startCount = request.getAttribute(START_COUNT_ATTRIBUTE);
+		if (startCount instanceof Long) {
+			long statements = sessionFactory.getStatistics().getPrepareStatementCount() - (Long) startCount;
+			String path = request.getRequestURI().substring(request.getContextPath().length());
+
+			PerformanceMonitor.record(PerformanceMonitor.GROUP_REQUEST_STATEMENTS, path, Math.max(statements, 0));
+		}
+	}
+
+	/**
+	 * Gets whether recording of request statements is enabled by the global property
+	 * @return true if enabled
+	 */
+	protected synchronized boolean isEnabled() {
+		long now = System.currentTimeMillis();
+
+		if (enabled == null || now - enabledCheckedAt > SETTING_CHECK_INTERVAL) {
+			String value = Context.getAdministrationService().getGlobalProperty(EmrConstants.GP_RECORD_REQUEST_STATEMENTS, EmrConstants.DEFAULT_RECORD_REQUEST_STATEMENTS);
+			enabled = Boolean.parseBoolean(value.trim());
+			enabledCheckedAt = now;
+		}
+		return enabled;
+	}
+}
@@ -16,6 +16,7 @@ package org.openmrs.module.kenyaemr;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
 import org.openmrs.module.kenyaemr.util.ServerInformation;
 import org.openmrs.ui.framework.SimpleObject;
 import org.openmrs.util.OpenmrsUtil;
@@ -60,6 +61,7 @@ public class SystemMonitorController {
 	protected SimpleObject getMonitoredData() {
 		SimpleObject stats = new SimpleObject();
 		stats.put("server", ServerInformation.getAllInformation());
+		stats.put("performance", PerformanceMonitor.getAllMetrics());
 		return stats;
 	}
 
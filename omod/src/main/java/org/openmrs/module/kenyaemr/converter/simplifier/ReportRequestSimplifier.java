@@ -15,6 +15,7 @@
 package org.openmrs.module.kenyaemr.converter.simplifier;
 
 import org.openmrs.api.context.Context;
+import org.openmrs.module.kenyaemr.reporting.ReportScheduler;
 import org.openmrs.module.kenyaui.KenyaUiUtils;
 import org.openmrs.module.kenyaui.simplifier.AbstractSimplifier;
 import org.openmrs.module.reporting.dataset.DataSet;
@@ -46,6 +47,9 @@ public class ReportRequestSimplifier extends AbstractSimplifier<ReportRequest> {
 	@Autowired
 	private ReportDefinitionSimplifier definitionSimplifier;
 
+	@Autowired
+	private ReportScheduler reportScheduler;
+
 	/**
 	 * @see AbstractSimplifier#simplify(Object)
 	 */
@@ -61,6 +65,8 @@ public class ReportRequestSimplifier extends AbstractSimplifier<ReportRequest> {
 		ret.put("requestDate", kenyaui.formatDateParam(request.getRequestDate()));
 		ret.put("requestedBy", ui.simplifyObject(request.getRequestedBy()));
 		ret.put("status", request.getStatus());
+		ret.put("priority", request.getPriority());
+		ret.put("queuePosition", reportScheduler.getQueuePosition(request.getId()));
 		ret.put("finished", request.getStatus().equals(ReportRequest.Status.COMPLETED) || request.getStatus().equals(ReportRequest.Status.FAILED));
 		ret.put("timeTaken", timeTaken != null ? kenyaui.formatDuration(timeTaken) : null);
 		ret.put("parameters", getDate(request));
@@ -30,7 +30,10 @@ import org.openmrs.api.ConceptService;
 import org.openmrs.api.LocationService;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.kenyacore.CoreConstants;
+import org.openmrs.module.kenyacore.CoreContext;
 import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+import org.openmrs.module.kenyaemr.util.PerformanceMonitor;
+import org.openmrs.module.kenyaemr.visit.ActiveVisitIndex;
 import org.openmrs.ui.framework.SimpleObject;
 import org.openmrs.ui.framework.UiUtils;
 import org.openmrs.ui.framework.fragment.action.FailureResult;
@@ -89,18 +92,28 @@ public class SearchFragmentController {
 			return Collections.emptyList();
 		}
 
+		long start = System.currentTimeMillis();
+
 		// Run main patient search query based on id/name
 		List<Patient> matchedByNameOrID = Context.getPatientService().getPatients(query);
 
-		// Gather up active visits for all patients. These are attached to the returned patient representations.
-		Map<Patient, Visit> patientActiveVisits = getActiveVisitsByPatients();
+		// Active visits are attached to the returned patient representations
+		ActiveVisitIndex activeVisitIndex = CoreContext.getInstance().getManager(ActiveVisitIndex.class);
+		Map<Patient, Visit> patientActiveVisits = new HashMap<Patient, Visit>();
 
 		List<Patient> matched = new ArrayList<Patient>();
 
 		// If query wasn't long enough to be searched on, and they've requested checked-in patients, return the list
 		// of checked in patients
 		if (StringUtils.isBlank(query) && "checked-in".equals(which)) {
-			matched.addAll(patientActiveVisits.keySet());
+			for (Integer patientId : activeVisitIndex.getPatientIds()) {
+				Patient patient = Context.getPatientService().getPatient(patientId);
+				Visit activeVisit = patient != null ? activeVisitIndex.getActiveVisit(patient) : null;
+				if (activeVisit != null) {
+					matched.add(patient);
+					patientActiveVisits.put(patient, activeVisit);
+				}
+			}
 			Collections.sort(matched, new PersonByNameComparator()); // Sort by person name
 		}
 		else {
@@ -109,8 +122,10 @@ public class SearchFragmentController {
 			}
 			else if ("checked-in".equals(which)) {
 				for (Patient patient : matchedByNameOrID) {
-					if (patientActiveVisits.containsKey(patient)) {
+					Visit activeVisit = activeVisitIndex.getActiveVisit(patient);
+					if (activeVisit != null) {
 						matched.add(patient);
+						patientActiveVisits.put(patient, activeVisit);
 					}
 				}
 			}
@@ -132,12 +147,14 @@ public class SearchFragmentController {
 		for (Patient patient : matched) {
 			SimpleObject simplePatient = ui.simplifyObject(patient);
 
-			Visit activeVisit = patientActiveVisits.get(patient);
+			Visit activeVisit = patientActiveVisits.containsKey(patient) ? patientActiveVisits.get(patient) : activeVisitIndex.getActiveVisit(patient);
 			simplePatient.put("activeVisit", activeVisit != null ? ui.simplifyObject(activeVisit) : null);
 
 			simplePatients.add(simplePatient);
 		}
 
+		PerformanceMonitor.recordSince(PerformanceMonitor.GROUP_SEARCHES, "patients." + which, start);
+
 		return simplePatients;
 	}
 
@@ -336,19 +353,6 @@ public class SearchFragmentController {
 		return simpleConcepts;
 	}
 
-	/**
-	 * Helper method to get all active visits organised by patient
-	 * @return the map of patients to active visits
-	 */
-	protected Map<Patient, Visit> getActiveVisitsByPatients() {
-		List<Visit> activeVisits = Context.getVisitService().getVisits(null, null, null, null, null, null, null, null, null, false, false);
-		Map<Patient, Visit> patientToVisits = new HashMap<Patient, Visit>();
-		for (Visit visit : activeVisits) {
-			patientToVisits.put(visit.getPatient(), visit);
-		}
-		return patientToVisits;
-	}
-
 	/**
 	 * Helper method to get users organised by person
 	 * @param query the name query
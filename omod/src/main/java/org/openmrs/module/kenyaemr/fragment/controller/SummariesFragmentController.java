@@ -3,8 +3,6 @@ package org.openmrs.module.kenyaemr.fragment.controller;
 import org.joda.time.DateTime;
 import org.joda.time.Years;
 import org.openmrs.Concept;
-import org.openmrs.ConceptName;
-import org.openmrs.DrugOrder;
 import org.openmrs.Obs;
 import org.openmrs.Patient;
 import org.openmrs.PatientIdentifier;
@@ -14,17 +12,19 @@ import org.openmrs.PersonName;
 import org.openmrs.Program;
 import org.openmrs.api.PatientService;
 import org.openmrs.api.context.Context;
+import org.openmrs.calculation.patient.PatientCalculation;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.patient.PatientCalculationService;
 import org.openmrs.calculation.result.CalculationResult;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.ListResult;
-import org.openmrs.module.kenyacore.CoreConstants;
+import org.openmrs.module.kenyacore.CoreContext;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
 import org.openmrs.module.kenyacore.calculation.Calculations;
 import org.openmrs.module.kenyaemr.Dictionary;
 import org.openmrs.module.kenyaemr.api.KenyaEmrService;
 import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
+import org.openmrs.module.kenyaemr.calculation.HivCareSummaryStore;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.LastReturnVisitDateCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.LastWhoStageCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.*;
@@ -32,9 +32,11 @@ import org.openmrs.module.kenyaemr.calculation.library.models.PatientSummary;
 import org.openmrs.module.kenyaemr.calculation.library.rdqa.DateOfDeathCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.rdqa.PatientProgramEnrollmentCalculation;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
+import org.openmrs.module.kenyaemr.regimen.RegimenNameResolver;
 import org.openmrs.module.kenyaemr.regimen.RegimenOrder;
 import org.openmrs.module.metadatadeploy.MetadataUtils;
 import org.openmrs.ui.framework.annotation.FragmentParam;
+import org.openmrs.ui.framework.annotation.SpringBean;
 import org.openmrs.ui.framework.fragment.FragmentModel;
 
 import java.text.DateFormat;
@@ -48,7 +50,8 @@ import java.util.*;
 public class SummariesFragmentController {
 
     public void controller(@FragmentParam("patient") Patient patient,
-                           FragmentModel model){
+                           FragmentModel model,
+                           @SpringBean HivCareSummaryStore summaryStore){
         PatientSummary patientSummary = new PatientSummary();
         PatientService patientService = Context.getPatientService();
         KenyaEmrService kenyaEmrService = Context.getService(KenyaEmrService.class);
@@ -81,6 +84,19 @@ public class SummariesFragmentController {
         PatientCalculationContext context = Context.getService(PatientCalculationService.class).createCalculationContext();
         context.setNow(new Date());
 
+        // evaluate the remaining summary calculations together so they share one calculation context
+        Map<Class<? extends PatientCalculation>, CalculationResult> calculationResults = EmrCalculationUtils.evaluateForPatient(Arrays.<Class<? extends PatientCalculation>>asList(
+                PatientProgramEnrollmentCalculation.class,
+                LastCd4CountDateCalculation.class,
+                LastReturnVisitDateCalculation.class
+        ), patient, context);
+
+        // the HIV care calculations are read from the precomputed summary
+        HivCareSummaryStore.HivCareSummary hivCareSummary = summaryStore.getSummary(patient.getPatientId());
+        for (Class<? extends PatientCalculation> calculationClass : HivCareSummaryStore.SUMMARY_CALCULATIONS) {
+            calculationResults.put(calculationClass, hivCareSummary.getResult(calculationClass));
+        }
+
         //get civil status
         CalculationResultMap civilStatus = Calculations.lastObs(Dictionary.getConcept(Dictionary.CIVIL_STATUS), Arrays.asList(patient.getId()), context);
         Concept status = EmrCalculationUtils.codedObsResultForPatient(civilStatus, patient.getPatientId());
@@ -152,7 +168,7 @@ public class SummariesFragmentController {
         }
 
         //transfer in date
-        CalculationResult transferInResults = EmrCalculationUtils.evaluateForPatient(TransferInDateCalculation.class, null, patient);
+        CalculationResult transferInResults = calculationResults.get(TransferInDateCalculation.class);
         String tiDate;
         if(transferInResults.isEmpty()){
             tiDate = "N/A";
@@ -252,7 +268,7 @@ public class SummariesFragmentController {
             patientSummary.setArtPurpose(purposeString);
 
         //art start date
-        CalculationResult artStartDateResults = EmrCalculationUtils.evaluateForPatient(InitialArtStartDateCalculation.class, null, patient);
+        CalculationResult artStartDateResults = calculationResults.get(InitialArtStartDateCalculation.class);
         if(artStartDateResults != null) {
             artStartDate = (Date) artStartDateResults.getValue();
             patientSummary.setDateStartedArt(formatDate((Date) artStartDateResults.getValue()));
@@ -262,7 +278,7 @@ public class SummariesFragmentController {
         }
 
         //Clinical stage at art start
-        CalculationResult whoStageAtArtStartResults = EmrCalculationUtils.evaluateForPatient(WhoStageAtArtStartCalculation.class, null,patient);
+        CalculationResult whoStageAtArtStartResults = calculationResults.get(WhoStageAtArtStartCalculation.class);
         if(whoStageAtArtStartResults != null){
             patientSummary.setClinicalStageAtArtStart(intergerToRoman(whoStageAtArtStartResults.getValue().toString()));
         }
@@ -271,7 +287,7 @@ public class SummariesFragmentController {
         }
 
         //cd4 at art initiation
-        CalculationResult cd4AtArtStartResults = EmrCalculationUtils.evaluateForPatient(CD4AtARTInitiationCalculation.class, null,patient);
+        CalculationResult cd4AtArtStartResults = calculationResults.get(CD4AtARTInitiationCalculation.class);
         if(cd4AtArtStartResults != null){
             patientSummary.setCd4AtArtStart(cd4AtArtStartResults.getValue().toString());
         }
@@ -280,7 +296,7 @@ public class SummariesFragmentController {
         }
 
         //weight at art initiation
-        CalculationResult weightAtArtStartResults = EmrCalculationUtils.evaluateForPatient(WeightAtArtInitiationCalculation.class, null,patient);
+        CalculationResult weightAtArtStartResults = calculationResults.get(WeightAtArtInitiationCalculation.class);
         if(weightAtArtStartResults != null){
             patientSummary.setWeightAtArtStart(weightAtArtStartResults.getValue().toString());
         }
@@ -289,26 +305,18 @@ public class SummariesFragmentController {
         }
 
         //first regimen for the patient
-        CalculationResult firstRegimenResults = EmrCalculationUtils.evaluateForPatient(InitialArtRegimenCalculation.class, null, patient);
+        CalculationResult firstRegimenResults = calculationResults.get(InitialArtRegimenCalculation.class);
         String firstRegimen;
         if(firstRegimenResults == null || firstRegimenResults.isEmpty()){
             firstRegimen = "";
         }
         else {
             RegimenOrder ro = (RegimenOrder) firstRegimenResults.getValue();
-            List<String> components = new ArrayList<String>();
             if(ro.getDrugOrders() == null || ro.getDrugOrders().isEmpty()){
                 firstRegimen = "";
             }
             else {
-                for (DrugOrder o : ro.getDrugOrders()) {
-                    ConceptName cn = o.getConcept().getPreferredName(CoreConstants.LOCALE);
-                    if (cn == null) {
-                        cn = o.getConcept().getName(CoreConstants.LOCALE);
-                    }
-                    components.add(cn.getName());
-                }
-                firstRegimen = getRegimenName(standardRegimens(), components);
+                firstRegimen = CoreContext.getInstance().getManager(RegimenNameResolver.class).getRegimenName(ro);
             }
         }
         //previous drugs/regimens and dates
@@ -368,20 +376,12 @@ public class SummariesFragmentController {
             }
         }
         //current art regimen
-        CalculationResult currentRegimenResults = EmrCalculationUtils.evaluateForPatient(CurrentArtRegimenCalculation.class, null, patient);
+        CalculationResult currentRegimenResults = calculationResults.get(CurrentArtRegimenCalculation.class);
         if(currentRegimenResults != null) {
             RegimenOrder roCurrent = (RegimenOrder) currentRegimenResults.getValue();
-            List<String> componentsCurrent = new ArrayList<String>();
 
             if (roCurrent != null) {
-                for (DrugOrder drugOrder : roCurrent.getDrugOrders()) {
-                    ConceptName cnn = drugOrder.getConcept().getPreferredName(CoreConstants.LOCALE);
-                    if (cnn == null) {
-                        cnn = drugOrder.getConcept().getName(CoreConstants.LOCALE);
-                    }
-                    componentsCurrent.add(cnn.getName());
-                }
-                patientSummary.setCurrentArtRegimen(getRegimenName(standardRegimens(), componentsCurrent));
+                patientSummary.setCurrentArtRegimen(CoreContext.getInstance().getManager(RegimenNameResolver.class).getRegimenName(roCurrent));
             }
         }
         else {
@@ -389,7 +389,7 @@ public class SummariesFragmentController {
         }
 
         //current who staging
-        CalculationResult currentWhoStaging = EmrCalculationUtils.evaluateForPatient(LastWhoStageCalculation.class, null, patient);
+        CalculationResult currentWhoStaging = calculationResults.get(LastWhoStageCalculation.class);
         if(currentWhoStaging != null){
             patientSummary.setCurrentWhoStaging(whoStaging(((Obs) currentWhoStaging.getValue()).getValueCoded()));
         }
@@ -460,7 +460,7 @@ public class SummariesFragmentController {
         }
 
         //find clinics enrolled
-        CalculationResult clinicsEnrolledResult = EmrCalculationUtils.evaluateForPatient(PatientProgramEnrollmentCalculation.class, null, patient);
+        CalculationResult clinicsEnrolledResult = calculationResults.get(PatientProgramEnrollmentCalculation.class);
         Set<String> patientProgramList= new HashSet<String>();
         List<String> setToList = new ArrayList<String>();
         if(clinicsEnrolledResult != null){
@@ -481,7 +481,7 @@ public class SummariesFragmentController {
             }
         }
     //most recent cd4
-        CalculationResult cd4Results = EmrCalculationUtils.evaluateForPatient(LastCd4CountDateCalculation.class, null, patient);
+        CalculationResult cd4Results = calculationResults.get(LastCd4CountDateCalculation.class);
         if(cd4Results != null && cd4Results.getValue() != null){
             patientSummary.setMostRecentCd4(((Obs) cd4Results.getValue()).getValueNumeric().toString());
             patientSummary.setMostRecentCd4Date(formatDate(((Obs) cd4Results.getValue()).getObsDatetime()));
@@ -493,7 +493,7 @@ public class SummariesFragmentController {
 
 
         //most recent viral load
-        CalculationResult vlResults = EmrCalculationUtils.evaluateForPatient(ViralLoadAndLdlCalculation.class, null, patient);
+        CalculationResult vlResults = calculationResults.get(ViralLoadAndLdlCalculation.class);
 
         String viralLoadValue = "None";
         String viralLoadDate = "None";
@@ -523,7 +523,7 @@ public class SummariesFragmentController {
 
 
         // find deceased date
-        CalculationResult deadResults = EmrCalculationUtils.evaluateForPatient(DateOfDeathCalculation.class, null, patient);
+        CalculationResult deadResults = calculationResults.get(DateOfDeathCalculation.class);
         String dead;
         if(deadResults.isEmpty()){
             dead = "N/A";
@@ -533,7 +533,7 @@ public class SummariesFragmentController {
         }
 
         // next appointment date
-        CalculationResult returnVisitResults = EmrCalculationUtils.evaluateForPatient(LastReturnVisitDateCalculation.class, null, patient);
+        CalculationResult returnVisitResults = calculationResults.get(LastReturnVisitDateCalculation.class);
         if(returnVisitResults != null){
             patientSummary.setNextAppointmentDate(formatDate((Date) returnVisitResults.getValue()));
         }
@@ -541,7 +541,7 @@ public class SummariesFragmentController {
             patientSummary.setNextAppointmentDate("");
         }
         // transfer out date
-        CalculationResult totResults = EmrCalculationUtils.evaluateForPatient(TransferOutDateCalculation.class, null, patient);
+        CalculationResult totResults = calculationResults.get(TransferOutDateCalculation.class);
         String toDate;
         if(totResults.isEmpty()){
             toDate = "N/A";
@@ -749,64 +749,6 @@ public class SummariesFragmentController {
         return value;
     }
 
-    Map<String, List<String>> standardRegimens(){
-
-        Map<String, List<String>> listMap = new HashMap<String, List<String>>();
-        listMap.put("AZT+3TC+NVP", Arrays.asList("ZIDOVUDINE","LAMIVUDINE", "NEVIRAPINE" ));
-        listMap.put("AZT+3TC+EFV", Arrays.asList("ZIDOVUDINE","LAMIVUDINE", "EFAVIRENZ" ));
-        listMap.put("AZT+3TC+ABC", Arrays.asList("ZIDOVUDINE","LAMIVUDINE", "ABACAVIR" ));
-
-        listMap.put("TDF+3TC+NVP", Arrays.asList("TENOFOVIR","LAMIVUDINE", "NEVIRAPINE" ));
-        listMap.put("TDF+3TC+EFV", Arrays.asList("TENOFOVIR","LAMIVUDINE", "EFAVIRENZ" ));
-        listMap.put("TDF+3TC+ABC", Arrays.asList("TENOFOVIR","LAMIVUDINE", "ABACAVIR" ));
-        listMap.put("TDF+3TC+AZT", Arrays.asList("TENOFOVIR","LAMIVUDINE", "ZIDOVUDINE" ));
-
-        listMap.put("d4T+3TC+NVP", Arrays.asList("STAVUDINE","LAMIVUDINE", "NEVIRAPINE" ));
-        listMap.put("d4T+3TC+EFV", Arrays.asList("STAVUDINE","LAMIVUDINE", "EFAVIRENZ" ));
-        listMap.put("d4T+3TC+ABC", Arrays.asList("STAVUDINE","LAMIVUDINE", "ABACAVIR" ));
-
-        listMap.put("AZT+3TC+LPV/r", Arrays.asList("ZIDOVUDINE","LAMIVUDINE", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("AZT+3TC+ATV/r", Arrays.asList("ZIDOVUDINE","LAMIVUDINE", "ATAZANAVIR", "RITONAVIR" ));
-        listMap.put("TDF+3TC+LPV/r", Arrays.asList("TENOFOVIR","LAMIVUDINE", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("TDF+ABC+LPV/r", Arrays.asList("TENOFOVIR","ABACAVIR", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("TDF+3TC+ATV/r", Arrays.asList("TENOFOVIR","LAMIVUDINE", "ATAZANAVIR", "RITONAVIR" ));
-        listMap.put("ABC+ddI+LPV/r", Arrays.asList("ABACAVIR","DIDANOSINE", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("d4T+3TC+LPV/r", Arrays.asList("STAVUDINE","LAMIVUDINE", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("d4T+ABC+LPV/r", Arrays.asList("STAVUDINE","ABACAVIR", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("AZT+ddI+LPV/r", Arrays.asList("ZIDOVUDINE","DIDANOSINE", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("TDF+AZT+LPV/r", Arrays.asList("TENOFOVIR","ZIDOVUDINE", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("AZT+ABC+LPV/r", Arrays.asList("ZIDOVUDINE","ABACAVIR", "LOPINAVIR", "RITONAVIR" ));
-
-        listMap.put("ABC+3TC+NVP", Arrays.asList("ABACAVIR","LAMIVUDINE", "NEVIRAPINE" ));
-        listMap.put("ABC+3TC+EFV", Arrays.asList("ABACAVIR","LAMIVUDINE", "EFAVIRENZ" ));
-        listMap.put("ABC+3TC+AZT", Arrays.asList("ABACAVIR","LAMIVUDINE", "ZIDOVUDINE" ));
-
-        listMap.put("ABC+3TC+LPV/r", Arrays.asList("ABACAVIR","LAMIVUDINE", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("ABC+ddI+LPV/r", Arrays.asList("ABACAVIR","DIDANOSINE", "LOPINAVIR", "RITONAVIR" ));
-        listMap.put("AZT+3TC+DRV/r", Arrays.asList("ZIDOVUDINE","LAMIVUDINE", "DARUNAVIR", "RITONAVIR" ));
-        listMap.put("ABC+3TC+DRV/r", Arrays.asList("ABACAVIR","LAMIVUDINE", "DARUNAVIR", "RITONAVIR" ));
-
-        return listMap;
-
-    }
-    String getRegimenName(Map<String, List<String>> standardRegimens, List<String> drugs){
-        if (standardRegimens.size() ==0 )
-            return null;
-
-        if (drugs.size() == 0)
-            return null;
-        String regimen = null;
-
-        for (String key : standardRegimens.keySet()){
-            List<String> value = standardRegimens.get(key);
-            if (value.containsAll(drugs)) {
-                regimen = key;
-                break;
-            }
-
-        }
-        return regimen;
-    }
     String programs(int value){
        String prog="";
         if(value == 160541){
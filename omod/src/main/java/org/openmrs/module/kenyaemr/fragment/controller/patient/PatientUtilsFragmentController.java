@@ -18,21 +18,22 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.openmrs.Patient;
 import org.openmrs.Person;
-import org.openmrs.Relationship;
 import org.openmrs.Visit;
 import org.openmrs.api.PatientService;
 import org.openmrs.api.context.Context;
 import org.openmrs.calculation.patient.PatientCalculationContext;
 import org.openmrs.calculation.patient.PatientCalculationService;
-import org.openmrs.calculation.result.CalculationResult;
 import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.calculation.result.ListResult;
 import org.openmrs.module.kenyacore.calculation.CalculationManager;
 import org.openmrs.module.kenyacore.calculation.CalculationUtils;
-import org.openmrs.module.kenyacore.calculation.PatientFlagCalculation;
 import org.openmrs.module.kenyaemr.EmrConstants;
+import org.openmrs.module.kenyaemr.api.KenyaEmrService;
+import org.openmrs.module.kenyaemr.calculation.PatientFlagCache;
+import org.openmrs.module.kenyaemr.calculation.RelationshipGraph;
 import org.openmrs.module.kenyaemr.calculation.library.ScheduledVisitOnDayCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.VisitsOnDayCalculation;
+import org.openmrs.module.kenyaemr.visit.AppointmentIndex;
 import org.openmrs.module.kenyaui.annotation.AppAction;
 import org.openmrs.module.kenyaui.annotation.SharedAction;
 import org.openmrs.module.reporting.common.DateUtil;
@@ -44,7 +45,6 @@ import org.openmrs.util.PersonByNameComparator;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -60,29 +60,29 @@ public class PatientUtilsFragmentController {
 	protected static final Log log = LogFactory.getLog(PatientUtilsFragmentController.class);
 
 	/**
-	 * Gets the patient flags for the given patient. If any of the calculations throws an exception, this will return a single
-	 * flag with a message with the name of the offending calculation
+	 * Gets the patient flags for the given patient. Flags are evaluated together and cached until the patient's data
+	 * changes. If any of the calculations throws an exception, this will return a single flag with a message with the
+	 * name of the offending calculation
 	 * @param patientId the patient id
 	 * @param calculationManager the calculation manager
+	 * @param flagCache the patient flag cache
 	 * @return the flags as simple objects
 	 */
 	@SharedAction
-	public List<SimpleObject> getFlags(@RequestParam("patientId") Integer patientId, @SpringBean CalculationManager calculationManager) {
+	public List<SimpleObject> getFlags(@RequestParam("patientId") Integer patientId, @SpringBean CalculationManager calculationManager, @SpringBean PatientFlagCache flagCache) {
 
-		List<SimpleObject> flags = new ArrayList<SimpleObject>();
+		List<String> messages;
+		try {
+			messages = flagCache.getFlagMessages(patientId, calculationManager.getFlagCalculations());
+		}
+		catch (PatientFlagCache.FlagEvaluationException ex) {
+			log.error(ex.getMessage(), ex.getCause());
+			return Collections.singletonList(SimpleObject.create("message", "ERROR EVALUATING '" +  ex.getCalculation().getFlagMessage() + "'"));
+		}
 
-		// Gather all flag calculations that evaluate to true
-		for (PatientFlagCalculation calc : calculationManager.getFlagCalculations()) {
-			try {
-				CalculationResult result = Context.getService(PatientCalculationService.class).evaluate(patientId, calc);
-				if (result != null && (Boolean) result.getValue()) {
-					flags.add(SimpleObject.create("message", calc.getFlagMessage()));
-				}
-			}
-			catch (Exception ex) {
-				log.error("Error evaluating " + calc.getClass(), ex);
-				return Collections.singletonList(SimpleObject.create("message", "ERROR EVALUATING '" +  calc.getFlagMessage() + "'"));
-			}
+		List<SimpleObject> flags = new ArrayList<SimpleObject>();
+		for (String message : messages) {
+			flags.add(SimpleObject.create("message", message));
 		}
 		return flags;
 	}
@@ -91,19 +91,22 @@ public class PatientUtilsFragmentController {
 	 * Gets scheduled patients
 	 * @param date the date
 	 * @param ui the UI utils
+	 * @param appointmentIndex the appointment index
 	 * @return the simplified patients
 	 */
 	@SharedAction
-	public List<SimpleObject> getScheduled(@RequestParam("date") Date date, UiUtils ui) {
+	public List<SimpleObject> getScheduled(@RequestParam("date") Date date, UiUtils ui, @SpringBean AppointmentIndex appointmentIndex) {
+		// Only patients with an indexed appointment on that day need to be checked
+		Set<Integer> candidates = appointmentIndex.getPatientIdsScheduledBetween(DateUtil.getStartOfDay(date), DateUtil.getEndOfDay(date));
+
 		// Run the calculations to get patients with scheduled visits
 		PatientCalculationService cs = Context.getService(PatientCalculationService.class);
-		Set<Integer> allPatients = Context.getPatientSetService().getAllPatients().getMemberIds();
 
 		Map<String, Object> params = new HashMap<String, Object>();
 		params.put("date", date);
 		PatientCalculationContext calcContext = cs.createCalculationContext();
 
-		Set<Integer> scheduled = CalculationUtils.patientsThatPass(cs.evaluate(allPatients, new ScheduledVisitOnDayCalculation(), params, calcContext));
+		Set<Integer> scheduled = CalculationUtils.patientsThatPass(cs.evaluate(candidates, new ScheduledVisitOnDayCalculation(), params, calcContext));
 		CalculationResultMap actual = cs.evaluate(scheduled, new VisitsOnDayCalculation(), params, calcContext);
 
 		// Sort patients and convert to simple objects
@@ -112,6 +115,10 @@ public class PatientUtilsFragmentController {
 
 		List<SimpleObject> simplified = new ArrayList<SimpleObject>();
 		for (Patient p : scheduledPatients) {
+			if (p.isVoided()) {
+				continue;
+			}
+
 			SimpleObject so = ui.simplifyObject(p);
 
 			ListResult visitsResult = (ListResult) actual.get(p.getPatientId());
@@ -124,33 +131,29 @@ public class PatientUtilsFragmentController {
 		return simplified;
 	}
 
+	/**
+	 * Gets patients with visits which started on the given day
+	 * @param date the date
+	 * @param start the index of the first patient to return (optional)
+	 * @param limit the maximum number of patients to return (optional)
+	 * @param ui the UI utils
+	 * @return the simplified patients with their visits
+	 */
 	@SharedAction
-	public List<SimpleObject> getSeenPatients(@RequestParam("date") Date date, UiUtils ui) {
+	public List<SimpleObject> getSeenPatients(@RequestParam("date") Date date, @RequestParam(value = "start", required = false) Integer start, @RequestParam(value = "limit", required = false) Integer limit, UiUtils ui) {
 
 		Date startOfDay = DateUtil.getStartOfDay(date);
 		Date endOfDay = DateUtil.getEndOfDay(date);
-		List<Patient> allPatients = Context.getPatientService().getAllPatients();
-		List<Patient> requiredPatients = new ArrayList<Patient>();
-		List<SimpleObject> simplifiedObj = new ArrayList<SimpleObject>();
 
-		// look for visits that started before endOfDay and ended after startOfDay
-		List<Visit> visits = Context.getVisitService().getVisits(null, allPatients, null, null, startOfDay, endOfDay, null, null, null, true, true);
-
-		if(visits.size() > 0){
-			for (Visit visit : visits) {
-				requiredPatients.add(visit.getPatient());
-			}
-		}
-		for(Patient p:requiredPatients) {
-			SimpleObject so = ui.simplifyObject(p);
-			List<Visit> patientVisit = Context.getVisitService().getVisits(null, Arrays.asList(p), null, null, startOfDay, endOfDay, null, null, null, true, true);
-			so.put("visits", ui.simplifyCollection(patientVisit));
-			simplifiedObj.add(so);
+		Map<Integer, List<Visit>> visitsByPatient = Context.getService(KenyaEmrService.class).getVisitsStartedBetween(startOfDay, endOfDay, start, limit);
 
+		List<SimpleObject> simplified = new ArrayList<SimpleObject>();
+		for (List<Visit> patientVisits : visitsByPatient.values()) {
+			SimpleObject so = ui.simplifyObject(patientVisits.get(0).getPatient());
+			so.put("visits", ui.simplifyCollection(patientVisits));
+			simplified.add(so);
 		}
-
-
-		return simplifiedObj;
+		return simplified;
 	}
 
 	/**
@@ -189,20 +192,8 @@ public class PatientUtilsFragmentController {
 	 * @return list of mothers
 	 */
 	public SimpleObject[] getMothers(@RequestParam("patientId") Patient patient,UiUtils ui) {
-		List<Person> people = new ArrayList<Person>();
-			for (Relationship relationship : Context.getPersonService().getRelationshipsByPerson(patient)) {
-				if (relationship.getRelationshipType().getbIsToA().equals("Parent")) {
-					if (relationship.getPersonB().getGender().equals("F")) {
-						people.add(relationship.getPersonB());
-					}
-				}
-				if (relationship.getRelationshipType().getaIsToB().equals("Parent")) {
-					if (relationship.getPersonA().getGender().equals("F")) {
-						people.add(relationship.getPersonA());
-					}
-				}
-			}
-		return ui.simplifyCollection(people);
+		RelationshipGraph graph = RelationshipGraph.load(Collections.singleton(patient.getPatientId()));
+		return ui.simplifyCollection(getPersons(graph.getMothers(patient.getPatientId())));
 	}
 
 	/**
@@ -212,20 +203,8 @@ public class PatientUtilsFragmentController {
 	 * @return list of fathers
 	 */
 	public SimpleObject[] getFathers(@RequestParam("patientId") Patient patient,UiUtils ui) {
-		List<Person> people = new ArrayList<Person>();
-		for (Relationship relationship : Context.getPersonService().getRelationshipsByPerson(patient)) {
-			if (relationship.getRelationshipType().getbIsToA().equals("Parent")) {
-				if (relationship.getPersonB().getGender().equals("M")) {
-					people.add(relationship.getPersonB());
-				}
-			}
-			if (relationship.getRelationshipType().getaIsToB().equals("Parent")) {
-				if (relationship.getPersonA().getGender().equals("M")) {
-					people.add(relationship.getPersonA());
-				}
-			}
-		}
-		return ui.simplifyCollection(people);
+		RelationshipGraph graph = RelationshipGraph.load(Collections.singleton(patient.getPatientId()));
+		return ui.simplifyCollection(getPersons(graph.getFathers(patient.getPatientId())));
 	}
 
 	/**
@@ -242,4 +221,17 @@ public class PatientUtilsFragmentController {
 		}
 		return givenName;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Gets persons by their ids
+	 * @param personIds the person ids
+	 * @return the persons
+	 */
+	private List<Person> getPersons(Set<Integer> personIds) {
+		List<Person> people = new ArrayList<Person>();
+		for (Integer personId : personIds) {
+			people.add(Context.getPersonService().getPerson(personId));
+		}
+		return people;
+	}
+}
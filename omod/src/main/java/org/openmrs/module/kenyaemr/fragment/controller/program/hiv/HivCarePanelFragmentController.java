@@ -18,7 +18,7 @@ import org.openmrs.Concept;
 import org.openmrs.Patient;
 import org.openmrs.calculation.result.CalculationResult;
 import org.openmrs.module.kenyaemr.Dictionary;
-import org.openmrs.module.kenyaemr.calculation.EmrCalculationUtils;
+import org.openmrs.module.kenyaemr.calculation.HivCareSummaryStore;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.LastCd4CountCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.LastCd4PercentageCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.LastWhoStageCalculation;
@@ -42,28 +42,30 @@ public class HivCarePanelFragmentController {
 	public void controller(@FragmentParam("patient") Patient patient,
 						   @FragmentParam("complete") Boolean complete,
 						   FragmentModel model,
-						   @SpringBean RegimenManager regimenManager) {
+						   @SpringBean RegimenManager regimenManager,
+						   @SpringBean HivCareSummaryStore summaryStore) {
 
 		Map<String, CalculationResult> calculationResults = new HashMap<String, CalculationResult>();
+		HivCareSummaryStore.HivCareSummary summary = summaryStore.getSummary(patient.getPatientId());
 
 		if (complete != null && complete.booleanValue()) {
-			calculationResults.put("initialArtRegimen", EmrCalculationUtils.evaluateForPatient(InitialArtRegimenCalculation.class, null, patient));
-			calculationResults.put("initialArtStartDate", EmrCalculationUtils.evaluateForPatient(InitialArtStartDateCalculation.class, null, patient));
+			calculationResults.put("initialArtRegimen", summary.getResult(InitialArtRegimenCalculation.class));
+			calculationResults.put("initialArtStartDate", summary.getResult(InitialArtStartDateCalculation.class));
 		}
 
-		calculationResults.put("lastWHOStage", EmrCalculationUtils.evaluateForPatient(LastWhoStageCalculation.class, null, patient));
-		calculationResults.put("lastCD4Count", EmrCalculationUtils.evaluateForPatient(LastCd4CountCalculation.class, null, patient));
-		calculationResults.put("lastCD4Percent", EmrCalculationUtils.evaluateForPatient(LastCd4PercentageCalculation.class, null, patient));
-		CalculationResult lastViralLoad = EmrCalculationUtils.evaluateForPatient(ViralLoadAndLdlCalculation.class, null, patient);
+		calculationResults.put("lastWHOStage", summary.getResult(LastWhoStageCalculation.class));
+		calculationResults.put("lastCD4Count", summary.getResult(LastCd4CountCalculation.class));
+		calculationResults.put("lastCD4Percent", summary.getResult(LastCd4PercentageCalculation.class));
+		CalculationResult lastViralLoad = summary.getResult(ViralLoadAndLdlCalculation.class);
 		String valuesRequired = "None";
 		Date datesRequired = null;
-		if(!lastViralLoad.isEmpty()) {
+		if(lastViralLoad != null && !lastViralLoad.isEmpty()) {
 			calculationResults.put("lastViralLoad", lastViralLoad);
 		}
 
 		model.addAttribute("calculations", calculationResults);
 
-		if(!lastViralLoad.isEmpty()){
+		if(lastViralLoad != null && !lastViralLoad.isEmpty()){
 			String values = lastViralLoad.getValue().toString();
 			//split by brace
 			String value = values.replaceAll("\\{", "").replaceAll("\\}","");
@@ -23,6 +23,7 @@ import org.openmrs.module.kenyacore.CoreUtils;
 import org.openmrs.module.kenyacore.report.ReportDescriptor;
 import org.openmrs.module.kenyacore.report.ReportManager;
 import org.openmrs.module.kenyaemr.EmrConstants;
+import org.openmrs.module.kenyaemr.reporting.ReportScheduler;
 import org.openmrs.module.kenyaui.KenyaUiUtils;
 import org.openmrs.module.kenyaui.annotation.AppAction;
 import org.openmrs.module.kenyaui.annotation.SharedAction;
@@ -67,16 +68,18 @@ public class ReportUtilsFragmentController {
 	/**
 	 * Requests a report evaluation
 	 * @param reportUuid the report definition UUID
+	 * @param priority the request priority (optional)
 	 * @param reportManager the report manager
 	 * @return the report request id
 	 */
 	@SharedAction
 	public Object requestReport(@RequestParam("reportUuid") String reportUuid,
+							    @RequestParam(value = "priority", required = false) ReportRequest.Priority priority,
 							    UiUtils ui,
 							    @SpringBean KenyaUiUtils kenyaui,
 							    @SpringBean FragmentActionRequest actionRequest,
 							    @SpringBean ReportManager reportManager,
-							    @SpringBean ReportService reportService,
+							    @SpringBean ReportScheduler reportScheduler,
 							    @SpringBean ReportDefinitionService definitionService) throws ParseException {
 
 		ReportDefinition definition = definitionService.getDefinitionByUuid(reportUuid);
@@ -113,9 +116,11 @@ public class ReportUtilsFragmentController {
 		ReportRequest request = new ReportRequest();
 		request.setReportDefinition(mappedDefinition);
 		request.setRenderingMode(mode);
+		if (priority != null) {
+			request.setPriority(priority);
+		}
 
-		request = reportService.queueReport(request);
-		reportService.processNextQueuedReports();
+		request = reportScheduler.submit(request);
 
 		log.info("Requested report '" + definition.getName() + "' with params " + parameterValues);
 
@@ -131,13 +136,13 @@ public class ReportUtilsFragmentController {
 	@AppAction(EmrConstants.APP_ADMIN)
 	public Object cancelRequest(@RequestParam("requestId") ReportRequest request,
 									  UiUtils ui,
-									  @SpringBean ReportService reportService) {
+									  @SpringBean ReportScheduler reportScheduler) {
 
 		boolean cancelable = ReportRequest.Status.REQUESTED.equals(request.getStatus())
 				|| ReportRequest.Status.PROCESSING.equals(request.getStatus());
 
 		if (cancelable) {
-			reportService.purgeReportRequest(request);
+			reportScheduler.cancel(request);
 			return new SuccessResult(ui.message("Report request cancelled"));
 		}
 
@@ -40,14 +40,15 @@ import org.openmrs.module.reporting.report.renderer.ExcelTemplateRenderer;
 import org.openmrs.module.reporting.report.renderer.ReportRenderer;
 import org.openmrs.module.reporting.report.service.ReportService;
 import org.openmrs.ui.framework.annotation.SpringBean;
-import org.openmrs.ui.framework.page.FileDownload;
 import org.openmrs.ui.framework.page.PageRequest;
 import org.openmrs.ui.framework.resource.ResourceFactory;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.io.ByteArrayOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
@@ -55,7 +56,8 @@ import java.util.GregorianCalendar;
 import java.util.Properties;
 
 /**
- * Download report data as Excel or CSV
+ * Download report data as Excel, CSV or ADX. Exports are streamed straight to the response rather than being buffered
+ * in memory, so the size of a download doesn't affect heap usage
  */
 @SharedPage
 public class ReportExportPageController {
@@ -65,11 +67,18 @@ public class ReportExportPageController {
 	private static final String EXPORT_TYPE_ADX = "adx";
 
 	/**
-	 * Exports report data as the given type
+	 * Size of the buffer between renderers and the response
 	 */
-	public FileDownload get(@RequestParam("request") ReportRequest reportRequest,
+	private static final int RESPONSE_BUFFER_SIZE = 8192;
+
+	/**
+	 * Exports report data as the given type. The export is written directly to the response, which is committed
+	 * before this returns, so there is no view to render.
+	 */
+	public void get(@RequestParam("request") ReportRequest reportRequest,
 							@RequestParam("type") String type,
 					PageRequest pageRequest,
+					HttpServletResponse response,
 					@SpringBean ReportManager reportManager,
 					@SpringBean KenyaUiUtils kenyaUi,
 					@SpringBean ResourceFactory resourceFactory,
@@ -83,13 +92,13 @@ public class ReportExportPageController {
 		ReportData reportData = reportService.loadReportData(reportRequest);
 
 		if (EXPORT_TYPE_EXCEL.equals(type)) {
-			return renderAsExcel(report, reportData, resourceFactory);
+			renderAsExcel(report, reportData, resourceFactory, response);
 		}
 		else if (EXPORT_TYPE_CSV.equals(type)) {
-			return renderAsCsv(report, reportData);
+			renderAsCsv(report, reportData, response);
 		}
 		else if (EXPORT_TYPE_ADX.equals(type)) {
-			return renderAsAdx(report, reportData);
+			renderAsAdx(report, reportData, response);
 		}
 		else {
 			throw new RuntimeException("Unrecognised export type: " + type);
@@ -100,12 +109,13 @@ public class ReportExportPageController {
 	 * Renders an indicator report as Excel
 	 * @param report the report
 	 * @param data the evaluated report data
-	 * @return the Excel file as a download
+	 * @param response the response to write to
 	 * @throws IOException
 	 */
-	protected FileDownload renderAsExcel(ReportDescriptor report,
+	protected void renderAsExcel(ReportDescriptor report,
 										 ReportData data,
-										 ResourceFactory resourceFactory) throws IOException {
+										 ResourceFactory resourceFactory,
+										 HttpServletResponse response) throws IOException {
 
 
 		if (!(report instanceof IndicatorReportDescriptor) && !(report instanceof HybridReportDescriptor)) {
@@ -155,14 +165,8 @@ public class ReportExportPageController {
 
 		addExtraContextValues(data, data.getContext());
 
-		ByteArrayOutputStream out = new ByteArrayOutputStream();
-		renderer.render(data, null, out);
-
-		return new FileDownload(
-				getDownloadFilename(definition, data.getContext(), "xls"),
-				ContentType.EXCEL.getContentType(),
-				out.toByteArray()
-		);
+		String filename = getDownloadFilename(definition, data.getContext(), "xls");
+		renderToResponse(renderer, data, filename, ContentType.EXCEL.getContentType(), response);
 	}
 
 	/**
@@ -222,25 +226,48 @@ public class ReportExportPageController {
 	 * Renders an indicator report as CSV
 	 * @param report the report
 	 * @param data the evaluated report data
-	 * @return the file as a download
+	 * @param response the response to write to
 	 * @throws IOException
 	 */
-	protected FileDownload renderAsCsv(ReportDescriptor report, ReportData data) throws IOException {
+	protected void renderAsCsv(ReportDescriptor report, ReportData data, HttpServletResponse response) throws IOException {
 		ReportRenderer renderer = (report instanceof IndicatorReportDescriptor) ? new MergedCsvReportRenderer() : new CsvReportRenderer();
 
-		ByteArrayOutputStream out = new ByteArrayOutputStream();
-		renderer.render(data, null, out);
-
-		return new FileDownload(getDownloadFilename(report.getTarget(), data.getContext(), "csv"), ContentType.CSV.getContentType(), out.toByteArray());
+		String filename = getDownloadFilename(report.getTarget(), data.getContext(), "csv");
+		renderToResponse(renderer, data, filename, ContentType.CSV.getContentType(), response);
 	}
 
-	protected FileDownload renderAsAdx(ReportDescriptor report, ReportData data) throws IOException {
+	/**
+	 * Renders an indicator report as ADX
+	 * @param report the report
+	 * @param data the evaluated report data
+	 * @param response the response to write to
+	 * @throws IOException
+	 */
+	protected void renderAsAdx(ReportDescriptor report, ReportData data, HttpServletResponse response) throws IOException {
 		ReportRenderer renderer = new AdxReportRenderer();
 
-		ByteArrayOutputStream out = new ByteArrayOutputStream();
-		renderer.render(data, null, out);
+		String filename = getDownloadFilename(report.getTarget(), data.getContext(), "xml");
+		renderToResponse(renderer, data, filename, ContentType.XML.getContentType(), response);
+	}
+
+	/**
+	 * Renders report data directly to the response as a file download. No content length is set so the container
+	 * sends the output in chunks as the buffer fills, rather than holding the whole file in memory
+	 * @param renderer the renderer
+	 * @param data the evaluated report data
+	 * @param filename the download filename
+	 * @param contentType the content type
+	 * @param response the response to write to
+	 * @throws IOException
+	 */
+	protected void renderToResponse(ReportRenderer renderer, ReportData data, String filename, String contentType, HttpServletResponse response) throws IOException {
+		response.setContentType(contentType);
+		response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
 
-		return new FileDownload(getDownloadFilename(report.getTarget(), data.getContext(), "xml"), ContentType.XML.getContentType(), out.toByteArray());
+		OutputStream out = new BufferedOutputStream(response.getOutputStream(), RESPONSE_BUFFER_SIZE);
+		renderer.render(data, null, out);
+		out.flush();
+		response.flushBuffer();
 	}
 
 	/**
@@ -15,7 +15,11 @@
 package org.openmrs.module.kenyaemr.page.controller.admin;
 
 import org.openmrs.module.kenyaemr.EmrConstants;
+import org.openmrs.module.kenyaemr.reporting.ReportResultCache;
+import org.openmrs.module.kenyaemr.reporting.ReportScheduler;
 import org.openmrs.module.kenyaui.annotation.AppPage;
+import org.openmrs.ui.framework.annotation.SpringBean;
+import org.openmrs.ui.framework.page.PageModel;
 
 /**
  * Manage report queue page for the admin app
@@ -23,6 +27,14 @@ import org.openmrs.module.kenyaui.annotation.AppPage;
 @AppPage(EmrConstants.APP_ADMIN)
 public class ManageReportQueuePageController {
 
-	public void controller() {
+	public void controller(PageModel model, @SpringBean ReportScheduler reportScheduler, @SpringBean ReportResultCache resultCache) {
+		model.addAttribute("workerCount", reportScheduler.getWorkerCount());
+		model.addAttribute("runningCount", reportScheduler.getRunningCount());
+		model.addAttribute("waitingCount", reportScheduler.getWaitingCount());
+
+		model.addAttribute("cacheSize", resultCache.getSize());
+		model.addAttribute("cacheHits", resultCache.getHits());
+		model.addAttribute("cacheMisses", resultCache.getMisses());
+		model.addAttribute("cacheEvictions", resultCache.getEvictions());
 	}
 }
\ No newline at end of file
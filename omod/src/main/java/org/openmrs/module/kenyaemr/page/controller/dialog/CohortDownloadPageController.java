@@ -15,14 +15,11 @@ import org.openmrs.Patient;
 import org.openmrs.PatientIdentifier;
 import org.openmrs.PatientIdentifierType;
 import org.openmrs.api.context.Context;
-import org.openmrs.calculation.patient.PatientCalculationContext;
-import org.openmrs.calculation.patient.PatientCalculationService;
-import org.openmrs.calculation.result.CalculationResult;
-import org.openmrs.calculation.result.CalculationResultMap;
 import org.openmrs.module.kenyacore.CoreUtils;
 import org.openmrs.module.kenyacore.report.ReportDescriptor;
 import org.openmrs.module.kenyacore.report.ReportManager;
 import org.openmrs.module.kenyaemr.api.impl.CsvMaker;
+import org.openmrs.module.kenyaemr.calculation.HivCareSummaryStore;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.DateOfEnrollmentArtCalculation;
 import org.openmrs.module.kenyaemr.calculation.library.hiv.art.InitialArtStartDateCalculation;
 import org.openmrs.module.kenyaemr.metadata.CommonMetadata;
@@ -45,6 +42,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for cohort dialog
@@ -63,7 +61,8 @@ public class CohortDownloadPageController {
                     @SpringBean ReportManager reportManager,
                     @SpringBean KenyaUiUtils kenyaUi,
                     @SpringBean ReportService reportService,
-                    @SpringBean CsvMaker csvMaker
+                    @SpringBean CsvMaker csvMaker,
+                    @SpringBean HivCareSummaryStore summaryStore
             ) {
         ReportDefinition definition = reportRequest.getReportDefinition().getParameterizable();
         ReportDescriptor report = reportManager.getReportDescriptor(definition);
@@ -87,16 +86,10 @@ public class CohortDownloadPageController {
 
         List<Patient> patients = Context.getPatientSetService().getPatients(cohort.getMemberIds());
 
-        PatientCalculationService calculationService = Context.getService(PatientCalculationService.class);
-        PatientCalculationContext calculationContext = calculationService.createCalculationContext();
         Date endDate = (Date) reportRequest.getReportDefinition().getParameterMappings().get("endDate");
-        calculationContext.setNow(endDate);
 
-        DateOfEnrollmentArtCalculation dateOfEnrollmentArtCalculation = new DateOfEnrollmentArtCalculation();
-        CalculationResultMap enrollmentDates = dateOfEnrollmentArtCalculation.evaluate(cohort.getMemberIds(), null, calculationContext);
-
-        InitialArtStartDateCalculation initialArtStartDateCalculation = new InitialArtStartDateCalculation();
-        CalculationResultMap artInitializationDates = initialArtStartDateCalculation.evaluate(cohort.getMemberIds(), null, calculationContext);
+        // both dates are the first of their kind, so the precomputed values only need limiting to the report end date
+        Map<Integer, HivCareSummaryStore.HivCareSummary> summaries = summaryStore.getSummaries(cohort.getMemberIds());
 
 
         List<Object> data = new ArrayList<Object>();
@@ -116,19 +109,10 @@ public class CohortDownloadPageController {
             row.add(patient.getGender());
             row.add(getUpn(patient));
 
-            String enrollmentDate = null;
-            CalculationResult enrollmentDateCalcResult = enrollmentDates.get(patient.getId());
-            if (enrollmentDateCalcResult != null && enrollmentDateCalcResult.getValue() != null) {
-                enrollmentDate = DATE_FORMAT.format((Date) enrollmentDateCalcResult.getValue());
-            }
-            row.add(enrollmentDate);
+            HivCareSummaryStore.HivCareSummary summary = summaries.get(patient.getId());
 
-            String artInitializationDate = null;
-            CalculationResult artInitializationDateCalcResult = artInitializationDates.get(patient.getId());
-            if (artInitializationDateCalcResult != null && artInitializationDateCalcResult.getValue() != null) {
-                artInitializationDate = DATE_FORMAT.format((Date) artInitializationDateCalcResult.getValue());
-            }
-            row.add(artInitializationDate);
+            row.add(formatDateOnOrBefore((Date) summary.getValue(DateOfEnrollmentArtCalculation.class), endDate));
+            row.add(formatDateOnOrBefore((Date) summary.getValue(InitialArtStartDateCalculation.class), endDate));
 
             data.add(row.toArray());
         }
@@ -138,6 +122,13 @@ public class CohortDownloadPageController {
         return fileDownload;
     }
 
+    private String formatDateOnOrBefore(Date date, Date endDate) {
+        if (date == null || (endDate != null && date.after(endDate))) {
+            return null;
+        }
+        return DATE_FORMAT.format(date);
+    }
+
     private PatientIdentifier getUpn(Patient patient) {
         PatientIdentifierType upnIdType = MetadataUtils.existing(PatientIdentifierType.class, CommonMetadata._PatientIdentifierType.PATIENT_CLINIC_NUMBER);
         for (PatientIdentifier patientIdentifier : patient.getIdentifiers()) {
@@ -0,0 +1,88 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr;
+
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.GlobalProperty;
+import org.openmrs.api.context.Context;
+import org.openmrs.web.test.BaseModuleWebContextSensitiveTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link EmrPerformanceInterceptor}
+ */
+public class EmrPerformanceInterceptorTest extends BaseModuleWebContextSensitiveTest {
+
+	@Autowired
+	private SessionFactory sessionFactory;
+
+	private boolean statisticsWereEnabled;
+
+	@Before
+	public void setup() {
+		statisticsWereEnabled = sessionFactory.getStatistics().isStatisticsEnabled();
+		sessionFactory.getStatistics().setStatisticsEnabled(false);
+	}
+
+	@After
+	public void cleanup() {
+		sessionFactory.getStatistics().setStatisticsEnabled(statisticsWereEnabled);
+	}
+
+	/**
+	 * @see EmrPerformanceInterceptor#preHandle(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, Object)
+	 */
+	@Test
+	public void preHandle_shouldNotEnableStatisticsUnlessGlobalPropertyIsTrue() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+
+		createInterceptor().preHandle(request, new MockHttpServletResponse(), null);
+
+		Assert.assertThat(sessionFactory.getStatistics().isStatisticsEnabled(), is(false));
+		Assert.assertThat(request.getAttribute(EmrPerformanceInterceptor.START_COUNT_ATTRIBUTE), nullValue());
+	}
+
+	/**
+	 * @see EmrPerformanceInterceptor#preHandle(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, Object)
+	 */
+	@Test
+	public void preHandle_shouldEnableStatisticsAndRecordStartCountIfGlobalPropertyIsTrue() throws Exception {
+		Context.getAdministrationService().saveGlobalProperty(new GlobalProperty(EmrConstants.GP_RECORD_REQUEST_STATEMENTS, "true"));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+
+		createInterceptor().preHandle(request, new MockHttpServletResponse(), null);
+
+		Assert.assertThat(sessionFactory.getStatistics().isStatisticsEnabled(), is(true));
+		Assert.assertThat(request.getAttribute(EmrPerformanceInterceptor.START_COUNT_ATTRIBUTE), instanceOf(Long.class));
+	}
+
+	/**
+	 * Creates an interceptor using the test session factory
+	 * @return the interceptor
+	 */
+	protected EmrPerformanceInterceptor createInterceptor() {
+		EmrPerformanceInterceptor interceptor = new EmrPerformanceInterceptor();
+		interceptor.sessionFactory = sessionFactory;
+		return interceptor;
+	}
+}
@@ -21,6 +21,7 @@ import org.openmrs.Patient;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.kenyacore.calculation.CalculationManager;
 import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.kenyaemr.calculation.PatientFlagCache;
 import org.openmrs.module.kenyaemr.metadata.CommonMetadata;
 import org.openmrs.module.kenyaemr.metadata.HivMetadata;
 import org.openmrs.module.kenyaemr.metadata.MchMetadata;
@@ -54,6 +55,9 @@ public class PatientUtilsFragmentControllerTest extends BaseModuleWebContextSens
 	@Autowired
 	private CalculationManager calculationManager;
 
+	@Autowired
+	private PatientFlagCache flagCache;
+
 	@Autowired
 	private TestUiUtils ui;
 
@@ -91,11 +95,11 @@ public class PatientUtilsFragmentControllerTest extends BaseModuleWebContextSens
 	}
 
 	/**
-	 * @see PatientUtilsFragmentController#getFlags(Integer, org.openmrs.module.kenyacore.calculation.CalculationManager)
+	 * @see PatientUtilsFragmentController#getFlags(Integer, org.openmrs.module.kenyacore.calculation.CalculationManager, org.openmrs.module.kenyaemr.calculation.PatientFlagCache)
 	 */
 	@Test
 	public void getFlags_shouldReturnAllFlags() {
-		List<SimpleObject> flags = controller.getFlags(7, calculationManager);
+		List<SimpleObject> flags = controller.getFlags(7, calculationManager, flagCache);
 
 		// Check that every flag object has a message and that it doesn't start with "ERROR..."
 	 	for (SimpleObject flag : flags) {
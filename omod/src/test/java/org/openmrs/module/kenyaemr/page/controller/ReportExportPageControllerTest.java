@@ -0,0 +1,86 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+
+package org.openmrs.module.kenyaemr.page.controller;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.module.kenyacore.test.TestUtils;
+import org.openmrs.module.reporting.dataset.DataSetColumn;
+import org.openmrs.module.reporting.dataset.DataSetRow;
+import org.openmrs.module.reporting.dataset.SimpleDataSet;
+import org.openmrs.module.reporting.evaluation.EvaluationContext;
+import org.openmrs.module.reporting.report.ReportData;
+import org.openmrs.module.reporting.report.definition.ReportDefinition;
+import org.openmrs.module.reporting.report.renderer.CsvReportRenderer;
+import org.openmrs.web.test.BaseModuleWebContextSensitiveTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tests for {@link ReportExportPageController}
+ */
+public class ReportExportPageControllerTest extends BaseModuleWebContextSensitiveTest {
+
+	private ReportExportPageController controller;
+
+	private ReportDefinition definition;
+
+	private ReportData data;
+
+	/**
+	 * Setup each test
+	 */
+	@Before
+	public void setup() {
+		controller = new ReportExportPageController();
+
+		definition = new ReportDefinition();
+		definition.setName("Test Report");
+
+		EvaluationContext context = new EvaluationContext(TestUtils.date(2012, 6, 1));
+
+		DataSetRow row = new DataSetRow();
+		row.addColumnValue(new DataSetColumn("name", "Name", String.class), "Test Value");
+		SimpleDataSet dataSet = new SimpleDataSet(null, context);
+		dataSet.addRow(row);
+
+		data = new ReportData();
+		data.setDefinition(definition);
+		data.setContext(context);
+		data.getDataSets().put("test", dataSet);
+	}
+
+	/**
+	 * @see ReportExportPageController#renderToResponse(org.openmrs.module.reporting.report.renderer.ReportRenderer, org.openmrs.module.reporting.report.ReportData, String, String, javax.servlet.http.HttpServletResponse)
+	 */
+	@Test
+	public void renderToResponse_shouldStreamRenderedDataAsDownload() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		String filename = controller.getDownloadFilename(definition, data.getContext(), "csv");
+
+		controller.renderToResponse(new CsvReportRenderer(), data, filename, "text/csv", response);
+
+		Assert.assertThat(filename, is("Test Report_Jun-2012.csv"));
+		Assert.assertThat(response.getContentType(), is("text/csv"));
+		Assert.assertThat((String) response.getHeader("Content-Disposition"), is("attachment; filename=\"Test Report_Jun-2012.csv\""));
+		Assert.assertThat(response.isCommitted(), is(true));
+
+		String content = response.getContentAsString();
+		Assert.assertThat(content, containsString("Name"));
+		Assert.assertThat(content, containsString("Test Value"));
+	}
+}